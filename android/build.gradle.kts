@@ -42,6 +42,13 @@ android {
         getByName("test").java.srcDirs("src/test/kotlin")
     }
 
+    testOptions {
+        unitTests.all {
+            // The *Benchmark tests only run with -PflutterBlue.benchmarks=true
+            it.systemProperty("flutterBlue.benchmarks", project.findProperty("flutterBlue.benchmarks") ?: "false")
+        }
+    }
+
     dependencies {
         testImplementation("org.jetbrains.kotlin:kotlin-test:1.9.0")
         testImplementation("org.mockito:mockito-core:5.7.0")
@@ -0,0 +1,124 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue;
+
+import java.util.Arrays;
+
+/**
+ * Hash table keyed by packed device addresses (see {@link MacAddress}), with a fixed number
+ * of {@code long} values per address.
+ *
+ * Each entry is the key followed by its values, laid out inline in one array and placed by
+ * open addressing with linear probing, so a lookup costs a handful of array reads and never
+ * allocates. Callers read and write the values in {@link #entries()} at the offset a lookup
+ * returns. {@link MacAddress#INVALID} marks empty entries and is never a key. Not thread-safe.
+ */
+class AddressTable {
+
+    private static final long EMPTY = MacAddress.INVALID;
+    static final int INITIAL_CAPACITY = 256;
+
+    private final int stride;
+    private long[] entries;
+    private int size;
+
+    /** @param values number of values kept with each address. */
+    AddressTable(int values) {
+        stride = values + 1;
+        entries = allocate(INITIAL_CAPACITY);
+    }
+
+    /** The array holding the values; replaced when the table grows, so fetch it after {@link #add}. */
+    long[] entries() {
+        return entries;
+    }
+
+    /** Offset of the key's first value in {@link #entries()}, or -1 if the key is absent. */
+    int find(long key) {
+        if(key == EMPTY) {
+            return -1;
+        }
+        int i = slot(entries, key);
+        return (entries[i] == key) ? i + 1 : -1;
+    }
+
+    /**
+     * Adds the key, with values of zero, if it is absent.
+     *
+     * @return the offset of the key's first value if the key was already present, otherwise
+     *         {@code -(offset + 1)}.
+     * @throws IllegalArgumentException if the key is {@link MacAddress#INVALID}.
+     */
+    int add(long key) {
+        if(key == EMPTY) {
+            throw new IllegalArgumentException("invalid address");
+        }
+        int i = slot(entries, key);
+        if(entries[i] == key) {
+            return i + 1;
+        }
+        // Keep the load factor at or below one half so probe sequences stay short.
+        if(size + 1 > capacity() >> 1) {
+            grow();
+            i = slot(entries, key);
+        }
+        entries[i] = key;
+        size++;
+        int offset = i + 1;
+        return -(offset + 1);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Removes every key, keeping the capacity. */
+    void clear() {
+        Arrays.fill(entries, 0);
+        for(int i = 0; i < entries.length; i += stride) {
+            entries[i] = EMPTY;
+        }
+        size = 0;
+    }
+
+    private int capacity() {
+        return entries.length / stride;
+    }
+
+    // Index of the key's entry, or of the empty entry where it belongs.
+    private int slot(long[] table, long key) {
+        int mask = table.length / stride - 1;
+        int i = mix(key) & mask;
+        long current;
+        while((current = table[i * stride]) != EMPTY && current != key) {
+            i = (i + 1) & mask;
+        }
+        return i * stride;
+    }
+
+    private long[] allocate(int capacity) {
+        long[] table = new long[capacity * stride];
+        for(int i = 0; i < table.length; i += stride) {
+            table[i] = EMPTY;
+        }
+        return table;
+    }
+
+    private void grow() {
+        long[] old = entries;
+        entries = allocate((old.length / stride) << 1);
+        for(int j = 0; j < old.length; j += stride) {
+            if(old[j] != EMPTY) {
+                System.arraycopy(old, j, entries, slot(entries, old[j]), stride);
+            }
+        }
+    }
+
+    // Fibonacci hashing; vendor prefixes make the high octets highly repetitive.
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
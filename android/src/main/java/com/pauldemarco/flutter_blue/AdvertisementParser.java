@@ -30,16 +30,32 @@ package com.pauldemarco.flutter_blue;
 import com.google.protobuf.ByteString;
 import com.pauldemarco.flutter_blue.Protos.AdvertisementData;
 
-import java.io.UnsupportedEncodingException;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.util.UUID;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Parser of Bluetooth Advertisement packets.
  */
 class AdvertisementParser {
 
+  static final int TYPE_FLAGS = 0x01;
+  static final int TYPE_INCOMPLETE_16_BIT_UUIDS = 0x02;
+  static final int TYPE_COMPLETE_16_BIT_UUIDS = 0x03;
+  static final int TYPE_INCOMPLETE_32_BIT_UUIDS = 0x04;
+  static final int TYPE_COMPLETE_32_BIT_UUIDS = 0x05;
+  static final int TYPE_INCOMPLETE_128_BIT_UUIDS = 0x06;
+  static final int TYPE_COMPLETE_128_BIT_UUIDS = 0x07;
+  static final int TYPE_SHORT_LOCAL_NAME = 0x08;
+  static final int TYPE_COMPLETE_LOCAL_NAME = 0x09;
+  static final int TYPE_TX_POWER_LEVEL = 0x0A;
+  static final int TYPE_SOLICITATION_16_BIT_UUIDS = 0x14;
+  static final int TYPE_SOLICITATION_128_BIT_UUIDS = 0x15;
+  static final int TYPE_SERVICE_DATA_16_BIT = 0x16;
+  static final int TYPE_APPEARANCE = 0x19;
+  static final int TYPE_SOLICITATION_32_BIT_UUIDS = 0x1F;
+  static final int TYPE_SERVICE_DATA_32_BIT = 0x20;
+  static final int TYPE_SERVICE_DATA_128_BIT = 0x21;
+  static final int TYPE_MANUFACTURER_SPECIFIC_DATA = 0xFF;
+
   /**
    * Parses packet data into {@link AdvertisementData} structure.
    *
@@ -48,89 +64,316 @@ class AdvertisementParser {
    * @throws ArrayIndexOutOfBoundsException if the input is truncated.
    */
   static AdvertisementData parse(byte[] rawData) {
-    ByteBuffer data = ByteBuffer.wrap(rawData).asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
-    AdvertisementData.Builder ret = AdvertisementData.newBuilder();
-    boolean seenLongLocalName = false;
-    do {
-      int length = data.get() & 0xFF;
-      if (length == 0) {
-        break;
-      }
-      if (length > data.remaining()) {
-        throw new ArrayIndexOutOfBoundsException("Not enough data.");
-      }
+    return toProto(new Cursor(rawData));
+  }
 
-      int type = data.get() & 0xFF;
-      length--;
+  /**
+   * Materializes every AD structure remaining in {@code cursor} into an
+   * {@link AdvertisementData} proto. This is the only place bytes are copied.
+   *
+   * @throws ArrayIndexOutOfBoundsException if the input is truncated.
+   */
+  static AdvertisementData toProto(Cursor cursor) {
+    return toBuilder(cursor).build();
+  }
 
-      switch (type) {
-        case 0x08: // Short local name.
-        case 0x09: { // Long local name.
+  /**
+   * Like {@link #toProto(Cursor)}, for callers that add to the result.
+   *
+   * @throws ArrayIndexOutOfBoundsException if the input is truncated.
+   */
+  static AdvertisementData.Builder toBuilder(Cursor cursor) {
+    AdvertisementData.Builder ret = AdvertisementData.newBuilder();
+    byte[] data = cursor.data();
+    boolean seenLongLocalName = false;
+    while (cursor.next()) {
+      switch (cursor.type()) {
+        case TYPE_FLAGS: {
+          if (cursor.length() >= 1) {
+            ret.setFlags(Protos.Int32Value.newBuilder().setValue(data[cursor.offset()] & 0xFF));
+          }
+          break;
+        }
+        case TYPE_INCOMPLETE_16_BIT_UUIDS:
+        case TYPE_COMPLETE_16_BIT_UUIDS:
+        case TYPE_INCOMPLETE_32_BIT_UUIDS:
+        case TYPE_COMPLETE_32_BIT_UUIDS:
+        case TYPE_INCOMPLETE_128_BIT_UUIDS:
+        case TYPE_COMPLETE_128_BIT_UUIDS: {
+          for (int i = 0, n = cursor.uuidCount(); i < n; i++) {
+            ret.addServiceUuids(ShortUuid.toString(cursor.uuidMsb(i), cursor.uuidLsb(i)));
+          }
+          break;
+        }
+        case TYPE_SOLICITATION_16_BIT_UUIDS:
+        case TYPE_SOLICITATION_32_BIT_UUIDS:
+        case TYPE_SOLICITATION_128_BIT_UUIDS: {
+          for (int i = 0, n = cursor.uuidCount(); i < n; i++) {
+            ret.addSolicitedServiceUuids(ShortUuid.toString(cursor.uuidMsb(i), cursor.uuidLsb(i)));
+          }
+          break;
+        }
+        case TYPE_APPEARANCE: {
+          if (cursor.length() >= 2) {
+            ret.setAppearance(Protos.Int32Value.newBuilder().setValue(cursor.appearance()));
+          }
+          break;
+        }
+        case TYPE_SHORT_LOCAL_NAME:
+        case TYPE_COMPLETE_LOCAL_NAME: {
           if (seenLongLocalName) {
             // Prefer the long name over the short.
-            data.position(data.position() + length);
             break;
           }
-          byte[] name = new byte[length];
-          data.get(name);
-          try {
-            ret.setLocalName(new String(name, "UTF-8"));
-          } catch (UnsupportedEncodingException e) {
-            throw new RuntimeException(e);
-          }
-          if (type == 0x09) {
+          ret.setLocalName(new String(data, cursor.offset(), cursor.length(), StandardCharsets.UTF_8));
+          if (cursor.type() == TYPE_COMPLETE_LOCAL_NAME) {
             seenLongLocalName = true;
           }
           break;
         }
-        case 0x0A: { // Power level.
-          ret.setTxPowerLevel(Protos.Int32Value.newBuilder().setValue(data.get()));
+        case TYPE_TX_POWER_LEVEL: {
+          if (cursor.length() >= 1) {
+            ret.setTxPowerLevel(Protos.Int32Value.newBuilder().setValue(cursor.txPowerLevel()));
+          }
           break;
         }
-        case 0x16: // Service Data with 16 bit UUID.
-        case 0x20: // Service Data with 32 bit UUID.
-        case 0x21: { // Service Data with 128 bit UUID.
-          UUID uuid;
-          int remainingDataLength = 0;
-          if (type == 0x16 || type == 0x20) {
-            long uuidValue;
-            if (type == 0x16) {
-              uuidValue = data.getShort() & 0xFFFF;
-              remainingDataLength = length - 2;
-            } else {
-              uuidValue = data.getInt() & 0xFFFFFFFF;
-              remainingDataLength = length - 4;
-            }
-            uuid = UUID.fromString(String.format("%08x-0000-1000-8000-00805f9b34fb", uuidValue));
-          } else {
-            long msb = data.getLong();
-            long lsb = data.getLong();
-            uuid = new UUID(msb, lsb);
-            remainingDataLength = length - 16;
+        case TYPE_SERVICE_DATA_16_BIT:
+        case TYPE_SERVICE_DATA_32_BIT:
+        case TYPE_SERVICE_DATA_128_BIT: {
+          if (!cursor.hasServiceUuid()) {
+            throw new ArrayIndexOutOfBoundsException("Not enough data for Service data.");
           }
-          byte[] remainingData = new byte[remainingDataLength];
-          data.get(remainingData);
-          ret.putServiceData(uuid.toString(), ByteString.copyFrom(remainingData));
+          ret.putServiceData(ShortUuid.toString(cursor.serviceUuidMsb(), cursor.serviceUuidLsb()),
+              ByteString.copyFrom(data, cursor.payloadOffset(), cursor.payloadLength()));
           break;
         }
-        case 0xFF: {// Manufacturer specific data.
-          if(length < 2) {
+        case TYPE_MANUFACTURER_SPECIFIC_DATA: {
+          if (cursor.length() < 2) {
             throw new ArrayIndexOutOfBoundsException("Not enough data for Manufacturer specific data.");
           }
-          int manufacturerId = data.getShort();
-          if((length - 2) > 0) {
-            byte[] msd = new byte[length - 2];
-            data.get(msd);
-            ret.putManufacturerData(manufacturerId, ByteString.copyFrom(msd));
-          }
+          ret.putManufacturerData(cursor.manufacturerId(),
+              ByteString.copyFrom(data, cursor.payloadOffset(), cursor.payloadLength()));
           break;
         }
-        default: {
-          data.position(data.position() + length);
+        default:
           break;
-        }
       }
-    } while (true);
-    return ret.build();
+    }
+    return ret;
+  }
+
+  /**
+   * Walks the AD structures of a scan record in place.
+   *
+   * <p>The cursor only tracks offsets into the original array, so callers on the scan
+   * path can inspect and reject an advertisement without allocating. A cursor can be
+   * reused for another record with {@link #reset(byte[])}.
+   *
+   * <pre>
+   *   Cursor c = new Cursor(record);
+   *   while (c.next()) {
+   *     if (c.type() == TYPE_MANUFACTURER_SPECIFIC_DATA &amp;&amp; c.manufacturerId() == 0x004C) ...
+   *   }
+   * </pre>
+   */
+  static final class Cursor {
+    private byte[] data;
+    private int position;
+    private int end;
+    private int type;
+    private int offset;
+    private int length;
+
+    Cursor() {
+      this(new byte[0]);
+    }
+
+    Cursor(byte[] data) {
+      reset(data);
+    }
+
+    /** Rewinds the cursor onto a new record. */
+    Cursor reset(byte[] data) {
+      return reset(data, 0, data.length);
+    }
+
+    /** Rewinds the cursor onto {@code length} bytes of {@code data} starting at {@code offset}. */
+    Cursor reset(byte[] data, int offset, int length) {
+      this.data = data;
+      this.position = offset;
+      this.end = offset + length;
+      this.type = -1;
+      this.offset = offset;
+      this.length = 0;
+      return this;
+    }
+
+    /**
+     * Advances to the next AD structure.
+     *
+     * @return false once the end of the record or the zero-length terminator is reached.
+     * @throws ArrayIndexOutOfBoundsException if a structure claims more bytes than remain.
+     */
+    boolean next() {
+      if (position >= end) {
+        return false;
+      }
+      int structureLength = data[position] & 0xFF;
+      if (structureLength == 0) {
+        position = end;
+        return false;
+      }
+      if (structureLength > end - position - 1) {
+        throw new ArrayIndexOutOfBoundsException("Not enough data.");
+      }
+      type = data[position + 1] & 0xFF;
+      offset = position + 2;
+      length = structureLength - 1;
+      position += structureLength + 1;
+      return true;
+    }
+
+    /** The backing array that {@link #offset()} and {@link #payloadOffset()} index into. */
+    byte[] data() {
+      return data;
+    }
+
+    /** AD type of the current structure. */
+    int type() {
+      return type;
+    }
+
+    /** Offset of the current structure's data, just past the AD type. */
+    int offset() {
+      return offset;
+    }
+
+    /** Length of the current structure's data, excluding the AD type. */
+    int length() {
+      return length;
+    }
+
+    /** Signed Tx power level in dBm; only meaningful for {@link #TYPE_TX_POWER_LEVEL}. */
+    int txPowerLevel() {
+      return data[offset];
+    }
+
+    /** Appearance value of a {@link #TYPE_APPEARANCE} structure. */
+    int appearance() {
+      return (data[offset] & 0xFF) | (data[offset + 1] & 0xFF) << 8;
+    }
+
+    /** Company identifier of a {@link #TYPE_MANUFACTURER_SPECIFIC_DATA} structure. */
+    int manufacturerId() {
+      return (data[offset] & 0xFF) | (data[offset + 1] & 0xFF) << 8;
+    }
+
+    /** Whether the current structure is service data with a complete UUID. */
+    boolean hasServiceUuid() {
+      return uuidLength() > 0 && length >= uuidLength();
+    }
+
+    /** Most significant bits of the service data UUID, expanded to 128 bits. */
+    long serviceUuidMsb() {
+      switch (type) {
+        case TYPE_SERVICE_DATA_16_BIT:
+          return ShortUuid.msb(readLittleEndian(offset, 2));
+        case TYPE_SERVICE_DATA_32_BIT:
+          return ShortUuid.msb(readLittleEndian(offset, 4));
+        default:
+          return readLittleEndian(offset + 8, 8);
+      }
+    }
+
+    /** Least significant bits of the service data UUID, expanded to 128 bits. */
+    long serviceUuidLsb() {
+      switch (type) {
+        case TYPE_SERVICE_DATA_16_BIT:
+        case TYPE_SERVICE_DATA_32_BIT:
+          return ShortUuid.BASE_UUID_LSB;
+        default:
+          return readLittleEndian(offset, 8);
+      }
+    }
+
+    /** Number of UUIDs in a service or solicitation UUID list structure, 0 for any other type. */
+    int uuidCount() {
+      int width = uuidListWidth();
+      return (width == 0) ? 0 : length / width;
+    }
+
+    /** Most significant bits of the {@code index}th UUID of a service UUID list, expanded to 128 bits. */
+    long uuidMsb(int index) {
+      int width = uuidListWidth();
+      int from = offset + index * width;
+      return (width == 16) ? readLittleEndian(from + 8, 8) : ShortUuid.msb(readLittleEndian(from, width));
+    }
+
+    /** Least significant bits of the {@code index}th UUID of a service UUID list, expanded to 128 bits. */
+    long uuidLsb(int index) {
+      int width = uuidListWidth();
+      return (width == 16) ? readLittleEndian(offset + index * 16, 8) : ShortUuid.BASE_UUID_LSB;
+    }
+
+    /**
+     * Offset of the value carried by the current structure: the bytes after the company
+     * identifier for manufacturer data, after the UUID for service data, otherwise the
+     * whole structure.
+     */
+    int payloadOffset() {
+      return offset + headerLength();
+    }
+
+    /** Length of the slice starting at {@link #payloadOffset()}. */
+    int payloadLength() {
+      return Math.max(0, length - headerLength());
+    }
+
+    private int headerLength() {
+      if (type == TYPE_MANUFACTURER_SPECIFIC_DATA) {
+        return 2;
+      }
+      return uuidLength();
+    }
+
+    private int uuidListWidth() {
+      switch (type) {
+        case TYPE_INCOMPLETE_16_BIT_UUIDS:
+        case TYPE_COMPLETE_16_BIT_UUIDS:
+        case TYPE_SOLICITATION_16_BIT_UUIDS:
+          return 2;
+        case TYPE_INCOMPLETE_32_BIT_UUIDS:
+        case TYPE_COMPLETE_32_BIT_UUIDS:
+        case TYPE_SOLICITATION_32_BIT_UUIDS:
+          return 4;
+        case TYPE_INCOMPLETE_128_BIT_UUIDS:
+        case TYPE_COMPLETE_128_BIT_UUIDS:
+        case TYPE_SOLICITATION_128_BIT_UUIDS:
+          return 16;
+        default:
+          return 0;
+      }
+    }
+
+    private int uuidLength() {
+      switch (type) {
+        case TYPE_SERVICE_DATA_16_BIT:
+          return 2;
+        case TYPE_SERVICE_DATA_32_BIT:
+          return 4;
+        case TYPE_SERVICE_DATA_128_BIT:
+          return 16;
+        default:
+          return 0;
+      }
+    }
+
+    private long readLittleEndian(int from, int count) {
+      long value = 0;
+      for (int i = count - 1; i >= 0; i--) {
+        value = (value << 8) | (data[from + i] & 0xFF);
+      }
+      return value;
+    }
   }
 }
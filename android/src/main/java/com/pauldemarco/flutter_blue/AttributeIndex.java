@@ -0,0 +1,96 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue;
+
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattDescriptor;
+import android.bluetooth.BluetoothGattService;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves the attributes of one connection from the uuid strings of a request.
+ *
+ * Built once from the services of a discovery, after which it is never modified, so it can
+ * be published to other threads through a volatile field. Keys are the strings that
+ * {@link ProtoMaker} sends to Dart and that Dart sends back, so no request has to parse a
+ * {@link java.util.UUID}. Where a service holds several attributes with the same uuid the
+ * first one wins, like {@link BluetoothGattService#getCharacteristic}.
+ */
+class AttributeIndex {
+
+    private static final class Service {
+        final Map<String, Service> included = new HashMap<>();
+        final Map<String, Characteristic> characteristics = new HashMap<>();
+    }
+
+    private static final class Characteristic {
+        final BluetoothGattCharacteristic characteristic;
+        final Map<String, BluetoothGattDescriptor> descriptors = new HashMap<>();
+
+        Characteristic(BluetoothGattCharacteristic characteristic) {
+            this.characteristic = characteristic;
+        }
+    }
+
+    final ServiceParents parents;
+    private final Map<String, Service> services = new HashMap<>();
+
+    AttributeIndex(List<BluetoothGattService> gattServices) {
+        parents = new ServiceParents(gattServices);
+        for(BluetoothGattService s : gattServices) {
+            String key = s.getUuid().toString();
+            if(services.containsKey(key)) {
+                continue;
+            }
+            Service service = index(s);
+            for(BluetoothGattService ss : s.getIncludedServices()) {
+                service.included.put(ss.getUuid().toString(), index(ss));
+            }
+            services.put(key, service);
+        }
+    }
+
+    /** The characteristic, or null if the index does not know it. */
+    BluetoothGattCharacteristic characteristic(String serviceId, String secondaryServiceId, String characteristicId) {
+        Characteristic c = find(serviceId, secondaryServiceId, characteristicId);
+        return (c != null) ? c.characteristic : null;
+    }
+
+    /** The descriptor, or null if the index does not know it. */
+    BluetoothGattDescriptor descriptor(String serviceId, String secondaryServiceId, String characteristicId, String descriptorId) {
+        Characteristic c = find(serviceId, secondaryServiceId, characteristicId);
+        return (c != null) ? c.descriptors.get(descriptorId) : null;
+    }
+
+    private Characteristic find(String serviceId, String secondaryServiceId, String characteristicId) {
+        Service service = services.get(serviceId);
+        if(service != null && secondaryServiceId.length() > 0) {
+            service = service.included.get(secondaryServiceId);
+        }
+        return (service != null) ? service.characteristics.get(characteristicId) : null;
+    }
+
+    private static Service index(BluetoothGattService s) {
+        Service service = new Service();
+        for(BluetoothGattCharacteristic c : s.getCharacteristics()) {
+            String key = c.getUuid().toString();
+            if(service.characteristics.containsKey(key)) {
+                continue;
+            }
+            Characteristic characteristic = new Characteristic(c);
+            for(BluetoothGattDescriptor d : c.getDescriptors()) {
+                String descriptorKey = d.getUuid().toString();
+                if(!characteristic.descriptors.containsKey(descriptorKey)) {
+                    characteristic.descriptors.put(descriptorKey, d);
+                }
+            }
+            service.characteristics.put(key, characteristic);
+        }
+        return service;
+    }
+}
@@ -0,0 +1,170 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue;
+
+import android.bluetooth.BluetoothGatt;
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.os.SystemClock;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Writes a payload of any size to a characteristic as a series of chunks that each fit one
+ * ATT write, reporting {@link Protos.BulkWriteProgress} along the way.
+ *
+ * The transfer occupies its device's {@link GattOperationQueue} as one operation. The next
+ * chunk is issued from the write callback of the previous one, which is also how Android
+ * paces writes without response, so the transfer runs as fast as the link accepts data
+ * instead of at one method channel round trip per chunk. Each chunk restarts the queue's
+ * timeout, and a timeout or disconnect ends the transfer with an error. A transfer that ends
+ * with an error answers its method call with that error, after its last progress report.
+ *
+ * When the queue gives up on a transfer, the chunk in flight may still call back later. The
+ * transfer keeps its slot until then and drops that callback, which would otherwise look like
+ * the response to a single write.
+ */
+class BulkWrite implements GattOperationQueue.Cancellable {
+
+    static final int DEFAULT_PROGRESS_INTERVAL_MS = 100;
+
+    interface Sink {
+        void onProgress(byte[] progress);
+    }
+
+    private final BluetoothGatt gatt;
+    private final BluetoothGattCharacteristic characteristic;
+    private final byte[] value;
+    private final int chunkSize;
+    private final int writeType;
+    private final long progressIntervalNanos;
+    private final GattOperationQueue queue;
+    private final AtomicReference<BulkWrite> active;
+    private final Sink sink;
+    private final Protos.BulkWriteProgress.Builder progress;
+
+    private int offset;
+    private int pending;
+    private long startNanos;
+    private long reportedNanos;
+    private boolean done;
+    private String error = "";
+    // Cancelled with a chunk in flight whose callback has not arrived yet.
+    private boolean abandoned;
+
+    /**
+     * @param chunkSize bytes per write, at most the ATT MTU less 3.
+     * @param active slot of the connection that holds the transfer while it runs, so that
+     *               write callbacks can be routed to it.
+     */
+    BulkWrite(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic, Protos.WriteCharacteristicBulkRequest request,
+              int chunkSize, GattOperationQueue queue, AtomicReference<BulkWrite> active, Sink sink) {
+        this.gatt = gatt;
+        this.characteristic = characteristic;
+        this.value = request.getValue().toByteArray();
+        this.chunkSize = chunkSize;
+        this.writeType = (request.getWriteType() == Protos.WriteCharacteristicRequest.WriteType.WITHOUT_RESPONSE)
+                ? BluetoothGattCharacteristic.WRITE_TYPE_NO_RESPONSE
+                : BluetoothGattCharacteristic.WRITE_TYPE_DEFAULT;
+        int intervalMs = (request.getProgressIntervalMs() > 0) ? request.getProgressIntervalMs() : DEFAULT_PROGRESS_INTERVAL_MS;
+        this.progressIntervalNanos = intervalMs * 1000000L;
+        this.queue = queue;
+        this.active = active;
+        this.sink = sink;
+        this.progress = Protos.BulkWriteProgress.newBuilder()
+                .setRemoteId(request.getRemoteId())
+                .setTransferId(request.getTransferId())
+                .setTotalBytes(value.length)
+                .setChunkSize(chunkSize);
+    }
+
+    /** Whether write callbacks for the characteristic belong to this transfer. */
+    synchronized boolean writes(BluetoothGattCharacteristic c) {
+        return (!done || abandoned) && c == characteristic;
+    }
+
+    @Override
+    public synchronized void start() throws Exception {
+        startNanos = SystemClock.elapsedRealtimeNanos();
+        reportedNanos = startNanos;
+        characteristic.setWriteType(writeType);
+        // Before the first write, whose callback may come at once
+        active.set(this);
+        if(!writeChunk()) {
+            // Reported as well, so that Dart stops waiting for the last progress
+            finish("writeCharacteristic failed");
+            throw new Exception(error);
+        }
+    }
+
+    /** To be called from the write callback of each chunk. */
+    void onChunkWritten(boolean success) {
+        boolean finished;
+        synchronized(this) {
+            if(done && !abandoned) {
+                return;
+            }
+            if(abandoned) {
+                // The late callback of the chunk in flight when the queue gave up. The queue
+                // answered the call already and only waits for it to unblock, if at all.
+                abandoned = false;
+                active.compareAndSet(this, null);
+            } else if(!success) {
+                finish("write failed at offset " + offset);
+            } else {
+                offset += pending;
+                if(offset >= value.length) {
+                    finish("");
+                } else if(!writeChunk()) {
+                    finish("writeCharacteristic failed at offset " + offset);
+                } else if(SystemClock.elapsedRealtimeNanos() - reportedNanos >= progressIntervalNanos) {
+                    report(false, "");
+                }
+            }
+            finished = done;
+        }
+        // Outside the lock: the queue calls cancel() with its own lock held.
+        if(!finished) {
+            queue.extend();
+        } else if(error.isEmpty()) {
+            queue.onComplete(GattOperationQueue.Kind.WRITE_CHARACTERISTIC, characteristic);
+        } else {
+            queue.onFailed(GattOperationQueue.Kind.WRITE_CHARACTERISTIC, characteristic, error);
+        }
+    }
+
+    @Override
+    public synchronized void cancel(String reason) {
+        if(!done) {
+            // Keeps the slot for the late callback of the chunk in flight
+            abandoned = true;
+            finish(reason);
+        }
+    }
+
+    private boolean writeChunk() {
+        pending = Math.min(chunkSize, value.length - offset);
+        characteristic.setValue(Arrays.copyOfRange(value, offset, offset + pending));
+        return gatt.writeCharacteristic(characteristic);
+    }
+
+    private void finish(String error) {
+        done = true;
+        this.error = error;
+        if(!abandoned) {
+            active.compareAndSet(this, null);
+        }
+        report(true, error);
+    }
+
+    private void report(boolean finished, String error) {
+        reportedNanos = SystemClock.elapsedRealtimeNanos();
+        progress.setBytesWritten(offset)
+                .setElapsedUs((reportedNanos - startNanos) / 1000)
+                .setDone(finished)
+                .setError(error);
+        sink.onProgress(progress.build().toByteArray());
+    }
+}
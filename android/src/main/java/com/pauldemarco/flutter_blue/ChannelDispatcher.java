@@ -0,0 +1,90 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue;
+
+import android.os.Handler;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.flutter.plugin.common.MethodChannel;
+
+/**
+ * Delivers events to Dart from any thread, in the order they were submitted.
+ *
+ * Flutter only accepts outgoing channel messages on the platform thread, so events are
+ * queued here and drained by the given main-looper {@link Handler}; this works whether or
+ * not an activity is attached. A burst of events costs a single handler message, and a pass
+ * delivers at most {@link #MAX_EVENTS_PER_PASS} before yielding to frame work.
+ *
+ * Anything else that has to reach Dart in order with the events, such as method channel
+ * replies, can be submitted through {@link #execute}.
+ */
+class ChannelDispatcher implements Executor {
+
+    static final int MAX_EVENTS_PER_PASS = 64;
+
+    private final Handler handler;
+    private final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile MethodChannel channel;
+
+    private final Runnable drainTask = new Runnable() {
+        @Override
+        public void run() {
+            drain();
+        }
+    };
+
+    ChannelDispatcher(Handler handler) {
+        this.handler = handler;
+    }
+
+    void attach(MethodChannel channel) {
+        this.channel = channel;
+    }
+
+    /** Events submitted after this, or still queued, are dropped. */
+    void detach() {
+        this.channel = null;
+    }
+
+    void invokeMethod(final String name, final Object arguments) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                MethodChannel c = channel;
+                if(c != null) {
+                    c.invokeMethod(name, arguments);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        queue.offer(task);
+        if(scheduled.compareAndSet(false, true)) {
+            handler.post(drainTask);
+        }
+    }
+
+    private void drain() {
+        for(int i = 0; i < MAX_EVENTS_PER_PASS; i++) {
+            Runnable task = queue.poll();
+            if(task == null) {
+                scheduled.set(false);
+                // A producer may have queued after the poll but seen scheduled still set.
+                if(!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+                    handler.post(drainTask);
+                }
+                return;
+            }
+            task.run();
+        }
+        handler.post(drainTask);
+    }
+}
@@ -0,0 +1,115 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue;
+
+import android.bluetooth.BluetoothDevice;
+import android.os.SystemClock;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Recently built {@link Protos.BluetoothDevice} messages, by address.
+ *
+ * {@link BluetoothDevice#getName()} and {@link BluetoothDevice#getType()} are binder calls
+ * into the Bluetooth service, too slow to make for every advertisement. An entry is reused
+ * until it is {@code ttlMs} old or the device advertises a local name other than the one it
+ * advertised when the entry was built. The least recently used entry is dropped beyond
+ * {@code capacity}.
+ */
+class DeviceProtoCache {
+
+    static final int DEFAULT_CAPACITY = 512;
+    static final long DEFAULT_TTL_MS = 10000;
+
+    private static final class Entry {
+        final Protos.BluetoothDevice device;
+        final byte[] encoded;
+        final String advertisedName;
+        final long expiresMs;
+
+        Entry(Protos.BluetoothDevice device, String advertisedName, long expiresMs) {
+            this.device = device;
+            this.encoded = device.toByteArray();
+            this.advertisedName = advertisedName;
+            this.expiresMs = expiresMs;
+        }
+    }
+
+    private final int capacity;
+    private final long ttlMs;
+    private final LinkedHashMap<String, Entry> entries;
+
+    private long hits;
+    private long misses;
+    private long expired;
+    private long renamed;
+    private long evicted;
+
+    DeviceProtoCache(int capacity, long ttlMs) {
+        this.capacity = capacity;
+        this.ttlMs = ttlMs;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if(size() > DeviceProtoCache.this.capacity) {
+                    evicted++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * The message for the device.
+     *
+     * @param advertisedName the local name of the advertisement at hand, or null if there is
+     *                       none or the caller has no advertisement.
+     */
+    Protos.BluetoothDevice get(BluetoothDevice device, String advertisedName) {
+        return entry(device, advertisedName).device;
+    }
+
+    /** Like {@link #get}, serialized; the array is shared and must not be modified. */
+    byte[] getEncoded(BluetoothDevice device, String advertisedName) {
+        return entry(device, advertisedName).encoded;
+    }
+
+    private Entry entry(BluetoothDevice device, String advertisedName) {
+        String address = device.getAddress();
+        long now = SystemClock.elapsedRealtime();
+        synchronized(this) {
+            Entry e = entries.get(address);
+            if(e == null) {
+                misses++;
+            } else if(now >= e.expiresMs) {
+                expired++;
+            } else if(advertisedName != null && !advertisedName.equals(e.advertisedName)) {
+                renamed++;
+            } else {
+                hits++;
+                return e;
+            }
+        }
+        // Built without the lock, since this is where the binder calls are
+        Entry built = new Entry(ProtoMaker.from(device), advertisedName, now + ttlMs);
+        synchronized(this) {
+            entries.put(address, built);
+        }
+        return built;
+    }
+
+    synchronized Protos.DeviceCacheStats stats() {
+        return Protos.DeviceCacheStats.newBuilder()
+                .setHits(hits)
+                .setMisses(misses)
+                .setExpired(expired)
+                .setRenamed(renamed)
+                .setEvicted(evicted)
+                .setSize(entries.size())
+                .build();
+    }
+}
@@ -0,0 +1,53 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-device state shared between the platform thread, which connects and disconnects, and
+ * the binder threads that deliver GATT callbacks.
+ *
+ * Entries are keyed by the packed device address (see {@link MacAddress}). Registration and
+ * removal are atomic.
+ */
+class DeviceRegistry<T> {
+
+    private final ConcurrentHashMap<Long, T> devices = new ConcurrentHashMap<>();
+
+    /** The entry for the address, or null if there is none or the address is malformed. */
+    T get(String remoteId) {
+        long key = MacAddress.pack(remoteId);
+        return (key == MacAddress.INVALID) ? null : devices.get(key);
+    }
+
+    /**
+     * Registers the entry unless the address already has one.
+     *
+     * @return the existing entry, or null if {@code value} was registered.
+     * @throws IllegalArgumentException if the address is malformed.
+     */
+    T putIfAbsent(String remoteId, T value) {
+        return devices.putIfAbsent(key(remoteId), value);
+    }
+
+    /** Removes and returns the entry for the address, if any. */
+    T remove(String remoteId) {
+        long key = MacAddress.pack(remoteId);
+        return (key == MacAddress.INVALID) ? null : devices.remove(key);
+    }
+
+    int size() {
+        return devices.size();
+    }
+
+    private static long key(String remoteId) {
+        long key = MacAddress.pack(remoteId);
+        if(key == MacAddress.INVALID) {
+            throw new IllegalArgumentException("invalid device address: " + remoteId);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,171 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Frames high-rate events for Dart into one direct {@link ByteBuffer} instead of sending a
+ * method channel message each. Dart is only signalled with the write cursor, at most once per
+ * read, and takes everything written since its last read at once.
+ *
+ * Layout, little-endian: the write cursor at {@link #WRITE_CURSOR_OFFSET} and the read cursor
+ * at {@link #READ_CURSOR_OFFSET}, each a byte count that only grows, then the data region of
+ * {@code capacity} bytes from {@link #DATA_OFFSET}. A frame is an int32 payload length, an
+ * int32 index into {@link #METHODS} and the payload, padded to 8 bytes. A frame that would
+ * cross the end of the region is written at its start instead, after a length of -1.
+ *
+ * The buffer is direct so that a native reader can consume frames in place and store its read
+ * cursor in the header. Dart has no such reader yet: a Dart FFI reader needs the buffer's
+ * address, which takes a native shim calling JNI {@code GetDirectBufferAddress}, and the
+ * plugin has no native code. Until then {@link #read()} copies the unread frames out in bulk,
+ * one channel call per signal instead of one message per event. Writers are serialized, so
+ * there is a single producer at any time. An event that does not fit in the space not yet read
+ * is dropped and counted, as is the highest fill.
+ *
+ * Events in the ring are not ordered with respect to those still sent as channel messages.
+ */
+class EventRing {
+
+    /** The method channel events carried by the ring, by frame index. */
+    static final String[] METHODS = {
+            "ScanResult",
+            "ScanResultBatch",
+            "RawScanResults",
+            "OnCharacteristicChanged",
+            "OnCharacteristicValue",
+            "OnCharacteristicValueBatch",
+    };
+
+    static final int WRITE_CURSOR_OFFSET = 0;
+    // On its own cache line, since the reader writes it
+    static final int READ_CURSOR_OFFSET = 64;
+    static final int DATA_OFFSET = 128;
+    static final int FRAME_HEADER_LENGTH = 8;
+    static final int MIN_CAPACITY = 4096;
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private static final int WRAP = -1;
+
+    interface Sink {
+        void onCursor(long writeCursor);
+    }
+
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private final Sink sink;
+    private long writeCursor;
+    private boolean signalPending;
+
+    private long events;
+    private long bytes;
+    private long droppedEvents;
+    private long droppedBytes;
+    private long maxFill;
+    private long signals;
+
+    /** @param capacity bytes of the data region, rounded up to a power of two. */
+    EventRing(int capacity, Sink sink) {
+        int bounded = Math.min(Math.max(capacity, MIN_CAPACITY), MAX_CAPACITY);
+        this.capacity = Integer.highestOneBit(bounded - 1) << 1;
+        this.buffer = ByteBuffer.allocateDirect(DATA_OFFSET + this.capacity).order(ByteOrder.LITTLE_ENDIAN);
+        this.sink = sink;
+    }
+
+    /** The shared buffer, for a native reader. */
+    ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * Writes the event unless the ring does not carry its method.
+     *
+     * @return false if the event has to be sent as a method channel message.
+     */
+    boolean offer(String method, byte[] payload) {
+        for(int i = 0; i < METHODS.length; i++) {
+            if(METHODS[i].equals(method)) {
+                write(i, payload);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void write(int index, byte[] payload) {
+        int frameLength = align(FRAME_HEADER_LENGTH + payload.length);
+        int position = (int) (writeCursor & (capacity - 1));
+        int skip = (position + frameLength > capacity) ? capacity - position : 0;
+        long fill = writeCursor - buffer.getLong(READ_CURSOR_OFFSET);
+        if(fill + skip + frameLength > capacity) {
+            droppedEvents++;
+            droppedBytes += payload.length;
+            return;
+        }
+        if(skip > 0) {
+            buffer.putInt(DATA_OFFSET + position, WRAP);
+            position = 0;
+        }
+        buffer.putInt(DATA_OFFSET + position, payload.length);
+        buffer.putInt(DATA_OFFSET + position + 4, index);
+        buffer.position(DATA_OFFSET + position + FRAME_HEADER_LENGTH);
+        buffer.put(payload);
+        writeCursor += skip + frameLength;
+        buffer.putLong(WRITE_CURSOR_OFFSET, writeCursor);
+        events++;
+        bytes += payload.length;
+        maxFill = Math.max(maxFill, fill + skip + frameLength);
+        if(!signalPending) {
+            signalPending = true;
+            signals++;
+            sink.onCursor(writeCursor);
+        }
+    }
+
+    /**
+     * The frames written since the last read, back to back without the padding before a wrap,
+     * and marks them read. Re-arms the signal.
+     */
+    synchronized byte[] read() {
+        signalPending = false;
+        long readCursor = buffer.getLong(READ_CURSOR_OFFSET);
+        byte[] out = new byte[(int) (writeCursor - readCursor)];
+        int length = 0;
+        while(readCursor < writeCursor) {
+            int position = (int) (readCursor & (capacity - 1));
+            int payloadLength = buffer.getInt(DATA_OFFSET + position);
+            if(payloadLength == WRAP) {
+                readCursor += capacity - position;
+                continue;
+            }
+            int frameLength = align(FRAME_HEADER_LENGTH + payloadLength);
+            buffer.position(DATA_OFFSET + position);
+            buffer.get(out, length, frameLength);
+            length += frameLength;
+            readCursor += frameLength;
+        }
+        buffer.putLong(READ_CURSOR_OFFSET, readCursor);
+        return (length == out.length) ? out : Arrays.copyOf(out, length);
+    }
+
+    synchronized Protos.EventRingStats stats() {
+        return Protos.EventRingStats.newBuilder()
+                .setCapacity(capacity)
+                .setEvents(events)
+                .setBytes(bytes)
+                .setDroppedEvents(droppedEvents)
+                .setDroppedBytes(droppedBytes)
+                .setFill(writeCursor - buffer.getLong(READ_CURSOR_OFFSET))
+                .setMaxFill(maxFill)
+                .setSignals(signals)
+                .build();
+    }
+
+    private static int align(int length) {
+        return (length + 7) & ~7;
+    }
+}
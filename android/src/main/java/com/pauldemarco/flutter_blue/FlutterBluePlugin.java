@@ -21,6 +21,7 @@ import android.bluetooth.BluetoothProfile;
 import android.bluetooth.le.BluetoothLeScanner;
 import android.bluetooth.le.ScanCallback;
 import android.bluetooth.le.ScanFilter;
+import android.bluetooth.le.ScanRecord;
 import android.bluetooth.le.ScanResult;
 import android.bluetooth.le.ScanSettings;
 import android.content.BroadcastReceiver;
@@ -29,17 +30,25 @@ import android.content.Intent;
 import android.content.IntentFilter;
 import android.content.pm.PackageManager;
 import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
 import android.os.ParcelUuid;
+import android.os.SystemClock;
 import android.util.Log;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 
+import java.io.File;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import androidx.core.app.ActivityCompat;
 import androidx.core.content.ContextCompat;
@@ -61,7 +70,6 @@ import io.flutter.plugin.common.PluginRegistry;
 public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCallHandler, PluginRegistry.RequestPermissionsResultListener {
     private static final String TAG = "FlutterBluePlugin";
     private Object initializationLock = new Object();
-    private Object tearDownLock = new Object();
     private Context context;
     private MethodChannel channel;
     private static final String NAMESPACE = "plugins.pauldemarco.com/flutter_blue";
@@ -78,14 +86,33 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
 
     private static final int REQUEST_FINE_LOCATION_PERMISSIONS = 1452;
     static final private UUID CCCD_ID = UUID.fromString("00002902-0000-1000-8000-00805f9b34fb");
-    private final Map<String, BluetoothDeviceCache> mDevices = new HashMap<>();
+    private final DeviceRegistry<BluetoothDeviceCache> mDevices = new DeviceRegistry<>();
+    // Connections closed so far, so that none is closed twice; weak, as closed ones are dead
+    private final Set<BluetoothGatt> closedConnections = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<BluetoothGatt, Boolean>()));
     private LogLevel logLevel = LogLevel.EMERGENCY;
 
     // Pending call and result for startScan, in the case where permissions are needed
     private MethodCall pendingCall;
     private Result pendingResult;
-    private ArrayList<String> macDeviceScanned = new ArrayList<>();
+    private final ScannedDeviceSet macDeviceScanned = new ScannedDeviceSet();
     private boolean allowDuplicates = false;
+    private volatile ScanResultBatcher scanResultBatcher;
+    private volatile RawScanFrames rawScanFrames;
+    private volatile ScanResultCoalescer scanResultCoalescer;
+    private volatile PayloadChangeFilter payloadChangeFilter;
+    private volatile ScanFilterPredicate scanFilterPredicate;
+    private volatile ScanResultPipeline<ScanResult> scanPipeline;
+    private Protos.ScanPipelineStats lastScanPipelineStats = Protos.ScanPipelineStats.getDefaultInstance();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ChannelDispatcher dispatcher = new ChannelDispatcher(mainHandler);
+    // Null while detached; binder threads read it.
+    private volatile GattDatabaseCache mGattDatabaseCache;
+    private final DeviceProtoCache deviceProtoCache = new DeviceProtoCache(DeviceProtoCache.DEFAULT_CAPACITY, DeviceProtoCache.DEFAULT_TTL_MS);
+    // Encodes scan results without building them, unless the coalescer needs the message
+    private final ScanResultEncoder scanResultEncoder = new ScanResultEncoder();
+    // Carries scan results and notifications instead of the method channel when set
+    private volatile EventRing eventRing;
 
     public FlutterBluePlugin() {}
 
@@ -144,34 +171,42 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
             this.context = application;
             channel = new MethodChannel(messenger, NAMESPACE + "/methods");
             channel.setMethodCallHandler(this);
+            dispatcher.attach(channel);
             stateChannel = new EventChannel(messenger, NAMESPACE + "/state");
             stateChannel.setStreamHandler(stateHandler);
             mBluetoothManager = (BluetoothManager) application.getSystemService(Context.BLUETOOTH_SERVICE);
             mBluetoothAdapter = mBluetoothManager.getAdapter();
             mBluetoothAdvertiser = new BluetoothAdvertiser(application);
+            if(mGattDatabaseCache == null) {
+                mGattDatabaseCache = new GattDatabaseCache(new File(application.getCacheDir(), "flutter_blue_gatt"));
+            }
         }
     }
 
     private void tearDown() {
-        synchronized(tearDownLock){
-            Log.i(TAG, "teardown");
-            context = null;
-            if (activityBinding != null) {
-                activityBinding.removeRequestPermissionsResultListener(this);
-                activityBinding = null;
-            }
-            if (channel != null) {
-                channel.setMethodCallHandler(null);
-                channel = null;
-            }
-            if (stateChannel != null) {
-                stateChannel.setStreamHandler(null);
-                stateChannel = null;
-            }
-            mBluetoothAdapter = null;
-            mBluetoothManager = null;
-            application = null;
+        Log.i(TAG, "teardown");
+        context = null;
+        if (activityBinding != null) {
+            activityBinding.removeRequestPermissionsResultListener(this);
+            activityBinding = null;
+        }
+        if (channel != null) {
+            // The dispatcher drains on this thread as well, so nothing is using the channel now
+            dispatcher.detach();
+            channel.setMethodCallHandler(null);
+            channel = null;
         }
+        if (stateChannel != null) {
+            stateChannel.setStreamHandler(null);
+            stateChannel = null;
+        }
+        mBluetoothAdapter = null;
+        mBluetoothManager = null;
+        if (mGattDatabaseCache != null) {
+            mGattDatabaseCache.shutdown();
+            mGattDatabaseCache = null;
+        }
+        application = null;
     }
 
 
@@ -256,12 +291,54 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
                 break;
             }
 
+            case "scanPipelineStats":
+            {
+                ScanResultPipeline<ScanResult> pipeline = scanPipeline;
+                Protos.ScanPipelineStats stats = (pipeline != null) ? pipeline.stats() : lastScanPipelineStats;
+                result.success(stats.toByteArray());
+                break;
+            }
+
+            case "deviceCacheStats":
+            {
+                result.success(deviceProtoCache.stats().toByteArray());
+                break;
+            }
+
+            case "setEventRing":
+            {
+                int capacity = (int)call.arguments;
+                eventRing = (capacity > 0) ? new EventRing(capacity, new EventRing.Sink() {
+                    @Override
+                    public void onCursor(long writeCursor) {
+                        dispatcher.invokeMethod("EventRingCursor", writeCursor);
+                    }
+                }) : null;
+                result.success(null);
+                break;
+            }
+
+            case "eventRingRead":
+            {
+                EventRing ring = eventRing;
+                result.success((ring != null) ? ring.read() : new byte[0]);
+                break;
+            }
+
+            case "eventRingStats":
+            {
+                EventRing ring = eventRing;
+                Protos.EventRingStats stats = (ring != null) ? ring.stats() : Protos.EventRingStats.getDefaultInstance();
+                result.success(stats.toByteArray());
+                break;
+            }
+
             case "getConnectedDevices":
             {
                 List<BluetoothDevice> devices = mBluetoothManager.getConnectedDevices(BluetoothProfile.GATT);
                 Protos.ConnectedDevicesResponse.Builder p = Protos.ConnectedDevicesResponse.newBuilder();
                 for(BluetoothDevice d : devices) {
-                    p.addDevices(ProtoMaker.from(d));
+                    p.addDevices(deviceProtoCache.get(d, null));
                 }
                 result.success(p.build().toByteArray());
                 log(LogLevel.EMERGENCY, "mDevices size: " + mDevices.size());
@@ -282,15 +359,17 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
                 BluetoothDevice device = mBluetoothAdapter.getRemoteDevice(deviceId);
                 boolean isConnected = mBluetoothManager.getConnectedDevices(BluetoothProfile.GATT).contains(device);
 
+                BluetoothDeviceCache existing = mDevices.get(deviceId);
+
                 // If device is already connected, return error
-                if(mDevices.containsKey(deviceId) && isConnected) {
+                if(existing != null && isConnected) {
                     result.error("already_connected", "connection with device already exists", null);
                     return;
                 }
 
                 // If device was connected to previously but is now disconnected, attempt a reconnect
-                if(mDevices.containsKey(deviceId) && !isConnected) {
-                    if(mDevices.get(deviceId).gatt.connect()){
+                if(existing != null) {
+                    if(existing.gatt.connect()){
                         result.success(null);
                     } else {
                         result.error("reconnect_error", "error when reconnecting to device", null);
@@ -305,7 +384,13 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
                 } else {
                     gattServer = device.connectGatt(context, options.getAndroidAutoConnect(), mGattCallback);
                 }
-                mDevices.put(deviceId, new BluetoothDeviceCache(gattServer));
+                // Another connect for the same device may have registered in the meantime
+                if(mDevices.putIfAbsent(deviceId, new BluetoothDeviceCache(gattServer, options.getAndroidGattTimeoutMs(), options.getAndroidCacheServices())) != null) {
+                    gattServer.disconnect();
+                    closeConnection(gattServer);
+                    result.error("already_connected", "connection with device already exists", null);
+                    return;
+                }
                 result.success(null);
                 break;
             }
@@ -313,14 +398,18 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
             case "disconnect":
             {
                 String deviceId = (String)call.arguments;
-                BluetoothDevice device = mBluetoothAdapter.getRemoteDevice(deviceId);
-                int state = mBluetoothManager.getConnectionState(device, BluetoothProfile.GATT);
                 BluetoothDeviceCache cache = mDevices.remove(deviceId);
                 if(cache != null) {
+                    cache.operations.cancelAll("device disconnected");
+                    cache.flushNotifications();
+                    cache.resumeDeferred();
                     BluetoothGatt gattServer = cache.gatt;
                     gattServer.disconnect();
-                    if(state == BluetoothProfile.STATE_DISCONNECTED) {
-                        gattServer.close();
+                    // Read after the removal: if the link is already down, its callback may have
+                    // run while the connection was still registered, and will not come again.
+                    // Otherwise the callback of this disconnect finds it removed and closes it.
+                    if(cache.connectionState == BluetoothProfile.STATE_DISCONNECTED) {
+                        closeConnection(gattServer);
                     }
                 }
                 result.success(null);
@@ -344,9 +433,20 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
             {
                 String deviceId = (String)call.arguments;
                 try {
-                    BluetoothGatt gatt = locateGatt(deviceId);
-                    if(gatt.discoverServices()) {
+                    BluetoothDeviceCache cache = locateCache(deviceId);
+                    cache.invalidateServices();
+                    int discoveries = cache.discoveries();
+                    if(cache.gatt.discoverServices()) {
                         result.success(null);
+                        if(cache.persistServices) {
+                            // Dart can go on with the stored tree, but Android needs its own discovery
+                            // before any GATT operation, so those wait until it is done: this saves
+                            // Dart-side latency only, not air time. The stored tree is keyed by
+                            // address and not checked against the Database Hash; the discovery's
+                            // result replaces it.
+                            cache.discoveryPending = true;
+                            answerFromStore(cache, deviceId, discoveries);
+                        }
                     } else {
                         result.error("discover_services_error", "unknown reason", null);
                     }
@@ -360,11 +460,18 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
             {
                 String deviceId = (String)call.arguments;
                 try {
-                    BluetoothGatt gatt = locateGatt(deviceId);
+                    BluetoothDeviceCache cache = locateCache(deviceId);
+                    byte[] discovered = cache.servicesResult;
+                    if(discovered != null) {
+                        result.success(discovered);
+                        break;
+                    }
+                    BluetoothGatt gatt = cache.gatt;
+                    ServiceParents parents = new ServiceParents(gatt.getServices());
                     Protos.DiscoverServicesResult.Builder p = Protos.DiscoverServicesResult.newBuilder();
                     p.setRemoteId(deviceId);
                     for(BluetoothGattService s : gatt.getServices()){
-                        p.addServices(ProtoMaker.from(gatt.getDevice(), s, gatt));
+                        p.addServices(ProtoMaker.from(gatt.getDevice(), s, parents));
                     }
                     result.success(p.build().toByteArray());
                 } catch(Exception e) {
@@ -384,21 +491,27 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
                     break;
                 }
 
-                BluetoothGatt gattServer;
-                BluetoothGattCharacteristic characteristic;
+                final BluetoothDeviceCache cache;
+                final BluetoothGattCharacteristic characteristic;
                 try {
-                    gattServer = locateGatt(request.getRemoteId());
-                    characteristic = locateCharacteristic(gattServer, request.getServiceUuid(), request.getSecondaryServiceUuid(), request.getCharacteristicUuid());
+                    cache = locateCache(request.getRemoteId());
+                    if(cache.deferUntilDiscovered(call, result)) {
+                        return;
+                    }
+                    characteristic = locateCharacteristic(cache, request.getServiceUuid(), request.getSecondaryServiceUuid(), request.getCharacteristicUuid());
                 } catch(Exception e) {
                     result.error("read_characteristic_error", e.getMessage(), null);
                     return;
                 }
 
-                if(gattServer.readCharacteristic(characteristic)) {
-                    result.success(null);
-                } else {
-                    result.error("read_characteristic_error", "unknown reason, may occur if readCharacteristic was called before last read finished.", null);
-                }
+                cache.operations.enqueue(GattOperationQueue.Kind.READ_CHARACTERISTIC, characteristic, "read_characteristic_error", result, new GattOperationQueue.Operation() {
+                    @Override
+                    public void start() throws Exception {
+                        if(!cache.gatt.readCharacteristic(characteristic)) {
+                            throw new Exception("readCharacteristic failed");
+                        }
+                    }
+                });
                 break;
             }
 
@@ -413,23 +526,27 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
                     break;
                 }
 
-                BluetoothGatt gattServer;
-                BluetoothGattCharacteristic characteristic;
-                BluetoothGattDescriptor descriptor;
+                final BluetoothDeviceCache cache;
+                final BluetoothGattDescriptor descriptor;
                 try {
-                    gattServer = locateGatt(request.getRemoteId());
-                    characteristic = locateCharacteristic(gattServer, request.getServiceUuid(), request.getSecondaryServiceUuid(), request.getCharacteristicUuid());
-                    descriptor = locateDescriptor(characteristic, request.getDescriptorUuid());
+                    cache = locateCache(request.getRemoteId());
+                    if(cache.deferUntilDiscovered(call, result)) {
+                        return;
+                    }
+                    descriptor = locateDescriptor(cache, request.getServiceUuid(), request.getSecondaryServiceUuid(), request.getCharacteristicUuid(), request.getDescriptorUuid());
                 } catch(Exception e) {
                     result.error("read_descriptor_error", e.getMessage(), null);
                     return;
                 }
 
-                if(gattServer.readDescriptor(descriptor)) {
-                    result.success(null);
-                } else {
-                    result.error("read_descriptor_error", "unknown reason, may occur if readDescriptor was called before last read finished.", null);
-                }
+                cache.operations.enqueue(GattOperationQueue.Kind.READ_DESCRIPTOR, descriptor, "read_descriptor_error", result, new GattOperationQueue.Operation() {
+                    @Override
+                    public void start() throws Exception {
+                        if(!cache.gatt.readDescriptor(descriptor)) {
+                            throw new Exception("readDescriptor failed");
+                        }
+                    }
+                });
                 break;
             }
 
@@ -444,34 +561,80 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
                     break;
                 }
 
-                BluetoothGatt gattServer;
-                BluetoothGattCharacteristic characteristic;
+                final BluetoothDeviceCache cache;
+                final BluetoothGattCharacteristic characteristic;
                 try {
-                    gattServer = locateGatt(request.getRemoteId());
-                    characteristic = locateCharacteristic(gattServer, request.getServiceUuid(), request.getSecondaryServiceUuid(), request.getCharacteristicUuid());
+                    cache = locateCache(request.getRemoteId());
+                    if(cache.deferUntilDiscovered(call, result)) {
+                        return;
+                    }
+                    characteristic = locateCharacteristic(cache, request.getServiceUuid(), request.getSecondaryServiceUuid(), request.getCharacteristicUuid());
                 } catch(Exception e) {
                     result.error("write_characteristic_error", e.getMessage(), null);
                     return;
                 }
 
-                // Set characteristic to new value
-                if(!characteristic.setValue(request.getValue().toByteArray())){
-                    result.error("write_characteristic_error", "could not set the local value of characteristic", null);
-                }
+                final Protos.WriteCharacteristicRequest writeRequest = request;
+                cache.operations.enqueue(GattOperationQueue.Kind.WRITE_CHARACTERISTIC, characteristic, "write_characteristic_error", result, new GattOperationQueue.Operation() {
+                    @Override
+                    public void start() throws Exception {
+                        // The value and write type live on the shared characteristic object, so they
+                        // are only applied once this write is next in line.
+                        if(!characteristic.setValue(writeRequest.getValue().toByteArray())) {
+                            throw new Exception("could not set the local value of characteristic");
+                        }
 
-                // Apply the correct write type
-                if(request.getWriteType() == Protos.WriteCharacteristicRequest.WriteType.WITHOUT_RESPONSE) {
-                    characteristic.setWriteType(BluetoothGattCharacteristic.WRITE_TYPE_NO_RESPONSE);
-                } else {
-                    characteristic.setWriteType(BluetoothGattCharacteristic.WRITE_TYPE_DEFAULT);
+                        // Apply the correct write type
+                        if(writeRequest.getWriteType() == Protos.WriteCharacteristicRequest.WriteType.WITHOUT_RESPONSE) {
+                            characteristic.setWriteType(BluetoothGattCharacteristic.WRITE_TYPE_NO_RESPONSE);
+                        } else {
+                            characteristic.setWriteType(BluetoothGattCharacteristic.WRITE_TYPE_DEFAULT);
+                        }
+
+                        if(!cache.gatt.writeCharacteristic(characteristic)) {
+                            throw new Exception("writeCharacteristic failed");
+                        }
+                    }
+                });
+                break;
+            }
+
+            case "writeCharacteristicBulk":
+            {
+                byte[] data = call.arguments();
+                Protos.WriteCharacteristicBulkRequest request;
+                try {
+                    request = Protos.WriteCharacteristicBulkRequest.newBuilder().mergeFrom(data).build();
+                } catch (InvalidProtocolBufferException e) {
+                    result.error("RuntimeException", e.getMessage(), e);
+                    break;
                 }
 
-                if(!gattServer.writeCharacteristic(characteristic)){
-                    result.error("write_characteristic_error", "writeCharacteristic failed", null);
+                final BluetoothDeviceCache cache;
+                final BluetoothGattCharacteristic characteristic;
+                try {
+                    cache = locateCache(request.getRemoteId());
+                    if(cache.deferUntilDiscovered(call, result)) {
+                        return;
+                    }
+                    characteristic = locateCharacteristic(cache, request.getServiceUuid(), request.getSecondaryServiceUuid(), request.getCharacteristicUuid());
+                    if(request.getValue().isEmpty()) {
+                        throw new Exception("nothing to write");
+                    }
+                } catch(Exception e) {
+                    result.error("write_characteristic_bulk_error", e.getMessage(), null);
                     return;
                 }
 
-                result.success(null);
+                // An ATT write carries at most MTU - 3 bytes
+                int chunkSize = Math.max(cache.mtu - 3, 20);
+                cache.operations.enqueue(GattOperationQueue.Kind.WRITE_CHARACTERISTIC, characteristic, "write_characteristic_bulk_error", result,
+                        new BulkWrite(cache.gatt, characteristic, request, chunkSize, cache.operations, cache.bulkWrite, new BulkWrite.Sink() {
+                            @Override
+                            public void onProgress(byte[] progress) {
+                                invokeMethodUIThread("BulkWriteProgress", progress);
+                            }
+                        }));
                 break;
             }
 
@@ -486,29 +649,33 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
                     break;
                 }
 
-                BluetoothGatt gattServer;
-                BluetoothGattCharacteristic characteristic;
-                BluetoothGattDescriptor descriptor;
+                final BluetoothDeviceCache cache;
+                final BluetoothGattDescriptor descriptor;
                 try {
-                    gattServer = locateGatt(request.getRemoteId());
-                    characteristic = locateCharacteristic(gattServer, request.getServiceUuid(), request.getSecondaryServiceUuid(), request.getCharacteristicUuid());
-                    descriptor = locateDescriptor(characteristic, request.getDescriptorUuid());
+                    cache = locateCache(request.getRemoteId());
+                    if(cache.deferUntilDiscovered(call, result)) {
+                        return;
+                    }
+                    descriptor = locateDescriptor(cache, request.getServiceUuid(), request.getSecondaryServiceUuid(), request.getCharacteristicUuid(), request.getDescriptorUuid());
                 } catch(Exception e) {
                     result.error("write_descriptor_error", e.getMessage(), null);
                     return;
                 }
 
-                // Set descriptor to new value
-                if(!descriptor.setValue(request.getValue().toByteArray())){
-                    result.error("write_descriptor_error", "could not set the local value for descriptor", null);
-                }
-
-                if(!gattServer.writeDescriptor(descriptor)){
-                    result.error("write_descriptor_error", "writeCharacteristic failed", null);
-                    return;
-                }
+                final byte[] value = request.getValue().toByteArray();
+                cache.operations.enqueue(GattOperationQueue.Kind.WRITE_DESCRIPTOR, descriptor, "write_descriptor_error", result, new GattOperationQueue.Operation() {
+                    @Override
+                    public void start() throws Exception {
+                        // Set descriptor to new value
+                        if(!descriptor.setValue(value)) {
+                            throw new Exception("could not set the local value for descriptor");
+                        }
 
-                result.success(null);
+                        if(!cache.gatt.writeDescriptor(descriptor)) {
+                            throw new Exception("writeDescriptor failed");
+                        }
+                    }
+                });
                 break;
             }
 
@@ -523,12 +690,15 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
                     break;
                 }
 
-                BluetoothGatt gattServer;
-                BluetoothGattCharacteristic characteristic;
-                BluetoothGattDescriptor cccDescriptor;
+                final BluetoothDeviceCache cache;
+                final BluetoothGattCharacteristic characteristic;
+                final BluetoothGattDescriptor cccDescriptor;
                 try {
-                    gattServer = locateGatt(request.getRemoteId());
-                    characteristic = locateCharacteristic(gattServer, request.getServiceUuid(), request.getSecondaryServiceUuid(), request.getCharacteristicUuid());
+                    cache = locateCache(request.getRemoteId());
+                    if(cache.deferUntilDiscovered(call, result)) {
+                        return;
+                    }
+                    characteristic = locateCharacteristic(cache, request.getServiceUuid(), request.getSecondaryServiceUuid(), request.getCharacteristicUuid());
                     cccDescriptor = characteristic.getDescriptor(CCCD_ID);
                     if(cccDescriptor == null) {
                         throw new Exception("could not locate CCCD descriptor for characteristic: " +characteristic.getUuid().toString());
@@ -538,41 +708,62 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
                     return;
                 }
 
-                byte[] value = null;
+                final byte[] value;
+                final boolean enable = request.getEnable();
+                // Compact and batched notifications name the characteristic by its handle
+                final int handle = ProtoMaker.handle(characteristic);
+                final boolean compact = enable && request.getCompact() && handle != 0;
+                final Protos.SetNotificationRequest notificationRequest = request;
 
-                if(request.getEnable()) {
+                if(enable) {
                     boolean canNotify = (characteristic.getProperties() & BluetoothGattCharacteristic.PROPERTY_NOTIFY) > 0;
                     boolean canIndicate = (characteristic.getProperties() & BluetoothGattCharacteristic.PROPERTY_INDICATE) > 0;
                     if(!canIndicate && !canNotify) {
                         result.error("set_notification_error", "the characteristic cannot notify or indicate", null);
                         return;
                     }
-                    if(canIndicate) {
-                        value = BluetoothGattDescriptor.ENABLE_INDICATION_VALUE;
-                    }
                     if(canNotify) {
                         value = BluetoothGattDescriptor.ENABLE_NOTIFICATION_VALUE;
+                    } else {
+                        value = BluetoothGattDescriptor.ENABLE_INDICATION_VALUE;
                     }
                 } else {
                     value = BluetoothGattDescriptor.DISABLE_NOTIFICATION_VALUE;
                 }
 
-                if(!gattServer.setCharacteristicNotification(characteristic, request.getEnable())){
-                    result.error("set_notification_error", "could not set characteristic notifications to :" + request.getEnable(), null);
-                    return;
-                }
+                cache.operations.enqueue(GattOperationQueue.Kind.WRITE_DESCRIPTOR, cccDescriptor, "set_notification_error", result, new GattOperationQueue.Operation() {
+                    @Override
+                    public void start() throws Exception {
+                        if(!cache.gatt.setCharacteristicNotification(characteristic, enable)) {
+                            throw new Exception("could not set characteristic notifications to :" + enable);
+                        }
+                        if(!cccDescriptor.setValue(value)) {
+                            cache.gatt.setCharacteristicNotification(characteristic, !enable);
+                            throw new Exception("error when setting the descriptor value to: " + value);
+                        }
 
-                if(!cccDescriptor.setValue(value)) {
-                    result.error("set_notification_error", "error when setting the descriptor value to: " + value, null);
-                    return;
-                }
+                        // Applied by onDescriptorWrite once the device has taken the write.
+                        PendingNotification pending = new PendingNotification(cccDescriptor, handle, compact, notificationRequest);
+                        cache.pendingNotification.set(pending);
+                        if(!cache.gatt.writeDescriptor(cccDescriptor)) {
+                            cache.pendingNotification.compareAndSet(pending, null);
+                            cache.gatt.setCharacteristicNotification(characteristic, !enable);
+                            throw new Exception("error when writing the descriptor");
+                        }
+                    }
+                });
+                break;
+            }
 
-                if(!gattServer.writeDescriptor(cccDescriptor)) {
-                    result.error("set_notification_error", "error when writing the descriptor", null);
-                    return;
+            case "gattQueueStats":
+            {
+                String deviceId = (String)call.arguments;
+                BluetoothDeviceCache cache = mDevices.get(deviceId);
+                if(cache != null) {
+                    result.success(cache.operations.stats().toByteArray());
+                } else {
+                    result.error("gattQueueStats", "no instance of BluetoothGatt, have you connected first?", null);
                 }
-
-                result.success(null);
                 break;
             }
 
@@ -693,6 +884,14 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
         return false;
     }
 
+    private BluetoothDeviceCache locateCache(String remoteId) throws Exception {
+        BluetoothDeviceCache cache = mDevices.get(remoteId);
+        if(cache == null || cache.gatt == null) {
+            throw new Exception("no instance of BluetoothGatt, have you connected first?");
+        }
+        return cache;
+    }
+
     private BluetoothGatt locateGatt(String remoteId) throws Exception {
         BluetoothDeviceCache cache = mDevices.get(remoteId);
         if(cache == null || cache.gatt == null) {
@@ -702,6 +901,16 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
         }
     }
 
+    private BluetoothGattCharacteristic locateCharacteristic(BluetoothDeviceCache cache, String serviceId, String secondaryServiceId, String characteristicId) throws Exception {
+        AttributeIndex attributes = cache.attributes;
+        BluetoothGattCharacteristic indexed = (attributes != null) ? attributes.characteristic(serviceId, secondaryServiceId, characteristicId) : null;
+        if(indexed != null) {
+            return indexed;
+        }
+        // Not discovered yet, or uuids not spelled the way ProtoMaker does
+        return locateCharacteristic(cache.gatt, serviceId, secondaryServiceId, characteristicId);
+    }
+
     private BluetoothGattCharacteristic locateCharacteristic(BluetoothGatt gattServer, String serviceId, String secondaryServiceId, String characteristicId) throws Exception {
         BluetoothGattService primaryService = gattServer.getService(UUID.fromString(serviceId));
         if(primaryService == null) {
@@ -726,6 +935,15 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
         return characteristic;
     }
 
+    private BluetoothGattDescriptor locateDescriptor(BluetoothDeviceCache cache, String serviceId, String secondaryServiceId, String characteristicId, String descriptorId) throws Exception {
+        AttributeIndex attributes = cache.attributes;
+        BluetoothGattDescriptor indexed = (attributes != null) ? attributes.descriptor(serviceId, secondaryServiceId, characteristicId, descriptorId) : null;
+        if(indexed != null) {
+            return indexed;
+        }
+        return locateDescriptor(locateCharacteristic(cache.gatt, serviceId, secondaryServiceId, characteristicId), descriptorId);
+    }
+
     private BluetoothGattDescriptor locateDescriptor(BluetoothGattCharacteristic characteristic, String descriptorId) throws Exception {
         BluetoothGattDescriptor descriptor = characteristic.getDescriptor(UUID.fromString(descriptorId));
         if(descriptor == null) {
@@ -782,8 +1000,42 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
         Protos.ScanSettings settings;
         try {
             settings = Protos.ScanSettings.newBuilder().mergeFrom(data).build();
+            // Rejects bad filters before any of the previous scan's state is touched
+            ScanFilterPredicate predicate = ScanFilterPredicate.compile(settings);
             allowDuplicates = settings.getAllowDuplicates();
             macDeviceScanned.clear();
+            scanFilterPredicate = predicate;
+            payloadChangeFilter = PayloadChangeFilter.isEnabled(settings)
+                    ? new PayloadChangeFilter(settings.getUnchangedPayloadHeartbeatMs()) : null;
+            shutdownScanPipeline();
+            flushScanResults();
+            if(RawScanFrames.isEnabled(settings)) {
+                // Frames bypass conversion, so none of the ScanResult stages below apply.
+                rawScanFrames = new RawScanFrames(mainHandler, settings.getBatchMaxSize(), settings.getBatchMaxLatencyMs(), new RawScanFrames.Sink() {
+                    @Override
+                    public void onFrames(byte[] frames) {
+                        invokeMethodUIThread("RawScanResults", frames);
+                    }
+                });
+            } else if(ScanResultBatcher.isEnabled(settings)) {
+                scanResultBatcher = new ScanResultBatcher(mainHandler, settings.getBatchMaxSize(), settings.getBatchMaxLatencyMs(), new ScanResultBatcher.Sink() {
+                    @Override
+                    public void onBatch(byte[] batch) {
+                        invokeMethodUIThread("ScanResultBatch", batch);
+                    }
+                });
+            }
+            if(rawScanFrames == null && ScanResultCoalescer.isEnabled(settings)) {
+                scanResultCoalescer = new ScanResultCoalescer(mainHandler, settings, new ScanResultCoalescer.Sink() {
+                    @Override
+                    public void onScanResult(Protos.ScanResult result) {
+                        sendScanResult(result);
+                    }
+                });
+            }
+            if(rawScanFrames == null && ScanResultPipeline.isEnabled(settings) && Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+                scanPipeline = createScanPipeline21(settings);
+            }
             if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
                 startScan21(settings);
             } else {
@@ -801,6 +1053,89 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
         } else {
             stopScan18();
         }
+        shutdownScanPipeline();
+        flushScanResults();
+    }
+
+    @TargetApi(21)
+    private ScanResultPipeline<ScanResult> createScanPipeline21(Protos.ScanSettings settings) {
+        return new ScanResultPipeline<>(settings.getAndroidPipelineCapacity(), settings.getAndroidOverflowPolicy(),
+                new ScanResultPipeline.Converter<ScanResult>() {
+                    @Override
+                    public long deviceKey(ScanResult r) {
+                        return MacAddress.pack(r.getDevice().getAddress());
+                    }
+
+                    @Override
+                    public Protos.ScanResult convert(ScanResult r) {
+                        return ProtoMaker.from(r.getDevice(), r, deviceProtoCache);
+                    }
+                },
+                new ScanResultPipeline.Sink() {
+                    @Override
+                    public void onScanResult(Protos.ScanResult result) {
+                        deliverScanResult(result);
+                    }
+                });
+    }
+
+    // Stops the conversion worker before the scan stages are flushed or replaced, so that its
+    // last results cannot reach the next scan's; keeps its counters for scanPipelineStats.
+    private void shutdownScanPipeline() {
+        ScanResultPipeline<ScanResult> pipeline = scanPipeline;
+        scanPipeline = null;
+        if(pipeline != null) {
+            pipeline.shutdown(ScanResultPipeline.SHUTDOWN_TIMEOUT_MS);
+            lastScanPipelineStats = pipeline.stats();
+        }
+    }
+
+    // Hands a converted scan result to the per-device coalescer, or straight on to sendScanResult.
+    private void deliverScanResult(Protos.ScanResult scanResult) {
+        ScanResultCoalescer coalescer = scanResultCoalescer;
+        if(coalescer != null) {
+            coalescer.add(scanResult);
+        } else {
+            sendScanResult(scanResult);
+        }
+    }
+
+    // Sends a scan result to Dart, either on its own or as part of the current batch.
+    private void sendScanResult(Protos.ScanResult scanResult) {
+        ScanResultBatcher batcher = scanResultBatcher;
+        if(batcher != null) {
+            batcher.add(scanResult);
+        } else {
+            invokeMethodUIThread("ScanResult", scanResult.toByteArray());
+        }
+    }
+
+    // Like sendScanResult, for a result from the encoder; called with the encoder locked.
+    private void sendScanResult(ScanResultEncoder.Output scanResult) {
+        ScanResultBatcher batcher = scanResultBatcher;
+        if(batcher != null) {
+            batcher.add(scanResult);
+        } else {
+            invokeMethodUIThread("ScanResult", scanResult.toByteArray());
+        }
+    }
+
+    private void flushScanResults() {
+        ScanResultCoalescer coalescer = scanResultCoalescer;
+        scanResultCoalescer = null;
+        if(coalescer != null) {
+            coalescer.flush();
+        }
+        ScanResultBatcher batcher = scanResultBatcher;
+        scanResultBatcher = null;
+        if(batcher != null) {
+            batcher.flush();
+        }
+        RawScanFrames frames = rawScanFrames;
+        rawScanFrames = null;
+        if(frames != null) {
+            frames.flush();
+        }
     }
 
     private  ScanCallback scanCallback21;
@@ -815,25 +1150,27 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
                 @Override
                 public void onScanResult(int callbackType, ScanResult result) {
                     super.onScanResult(callbackType, result);
-                    if (!allowDuplicates && result != null && result.getDevice() != null && result.getDevice().getAddress() != null) {
-                        if (macDeviceScanned.contains(result.getDevice().getAddress())) return;
-                        macDeviceScanned.add(result.getDevice().getAddress());
-                    }
-                    if(result != null && result.getDevice() != null){
-                        Protos.ScanResult scanResult = ProtoMaker.from(result.getDevice(), result);
-                        invokeMethodUIThread("ScanResult", scanResult.toByteArray());
+                    if(callbackType == ScanSettings.CALLBACK_TYPE_MATCH_LOST) {
+                        handleMatchLost21(result);
+                    } else {
+                        handleScanResult21(result);
                     }
                 }
 
                 @Override
                 public void onBatchScanResults(List<ScanResult> results) {
                     super.onBatchScanResults(results);
-
+                    if(results == null) return;
+                    for(ScanResult result : results) {
+                        handleScanResult21(result);
+                    }
                 }
 
                 @Override
                 public void onScanFailed(int errorCode) {
                     super.onScanFailed(errorCode);
+                    log(LogLevel.ERROR, "[onScanFailed] errorCode: " + errorCode);
+                    dispatcher.invokeMethod("ScanFailed", errorCode);
                 }
             };
             }catch(Exception e){
@@ -843,20 +1180,92 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
         return scanCallback21;
     }
 
+    // Shared by onScanResult and onBatchScanResults so both go through the same de-dup and conversion.
+    @TargetApi(21)
+    private void handleScanResult21(ScanResult result) {
+        if(result == null || result.getDevice() == null) return;
+        ScanRecord record = result.getScanRecord();
+        byte[] recordBytes = (record != null) ? record.getBytes() : null;
+        // Filters go first so that a rejected advertisement does not mark the device as seen.
+        ScanFilterPredicate predicate = scanFilterPredicate;
+        if(predicate != null && !predicate.matches(recordBytes, result.getRssi())) return;
+        if (!allowDuplicates && result.getDevice().getAddress() != null) {
+            if (!macDeviceScanned.add(result.getDevice().getAddress())) return;
+        }
+        // Checked on the raw record so that repeats skip parsing and conversion entirely.
+        PayloadChangeFilter changeFilter = payloadChangeFilter;
+        if(changeFilter != null && !changeFilter.shouldReport(result.getDevice().getAddress(), recordBytes)) return;
+        RawScanFrames frames = rawScanFrames;
+        if(frames != null) {
+            frames.add(MacAddress.pack(result.getDevice().getAddress()), result.getRssi(), result.getTimestampNanos(), recordBytes);
+            return;
+        }
+        ScanResultPipeline<ScanResult> pipeline = scanPipeline;
+        if(pipeline != null) {
+            pipeline.offer(result);
+            return;
+        }
+        if(scanResultCoalescer == null) {
+            synchronized(scanResultEncoder) {
+                sendScanResult(scanResultEncoder.encode(result, deviceProtoCache).output());
+            }
+            return;
+        }
+        Protos.ScanResult scanResult = ProtoMaker.from(result.getDevice(), result, deviceProtoCache);
+        deliverScanResult(scanResult);
+    }
+
+    // A device that stopped matching the filters. Sent past de-dup, payload suppression and
+    // coalescing, which would all hold it back as a repeat of the device's last result.
+    @TargetApi(21)
+    private void handleMatchLost21(ScanResult result) {
+        if(result == null || result.getDevice() == null) return;
+        ScanRecord record = result.getScanRecord();
+        ScanFilterPredicate predicate = scanFilterPredicate;
+        if(predicate != null && !predicate.matches((record != null) ? record.getBytes() : null, result.getRssi())) return;
+        Protos.ScanResult lost = ProtoMaker.from(result.getDevice(), result, deviceProtoCache).toBuilder()
+                .setMatchLost(true)
+                .build();
+        sendScanResult(lost);
+    }
+
     @TargetApi(21)
     private void startScan21(Protos.ScanSettings proto) throws IllegalStateException {
         BluetoothLeScanner scanner = mBluetoothAdapter.getBluetoothLeScanner();
         if(scanner == null) throw new IllegalStateException("getBluetoothLeScanner() is null. Is the Adapter on?");
         int scanMode = proto.getAndroidScanMode();
-        int count = proto.getServiceUuidsCount();
-        List<ScanFilter> filters = new ArrayList<>(count);
-        for(int i = 0; i < count; i++) {
-            String uuid = proto.getServiceUuids(i);
-            ScanFilter f = new ScanFilter.Builder().setServiceUuid(ParcelUuid.fromString(uuid)).build();
-            filters.add(f);
-        }
-        ScanSettings settings = new ScanSettings.Builder().setScanMode(scanMode).build();
-        scanner.startScan(filters, settings, getScanCallback21());
+        List<ScanFilter> filters;
+        if(proto.getFiltersCount() > 0) {
+            filters = ScanFilterPredicate.toScanFilters(proto);
+        } else {
+            int count = proto.getServiceUuidsCount();
+            filters = new ArrayList<>(count);
+            for(int i = 0; i < count; i++) {
+                String uuid = proto.getServiceUuids(i);
+                ScanFilter f = new ScanFilter.Builder().setServiceUuid(ParcelUuid.fromString(uuid)).build();
+                filters.add(f);
+            }
+        }
+        ScanSettings.Builder builder = new ScanSettings.Builder().setScanMode(scanMode);
+        if(proto.getAndroidReportDelayMs() > 0) {
+            if(mBluetoothAdapter.isOffloadedScanBatchingSupported()) {
+                builder.setReportDelay(proto.getAndroidReportDelayMs());
+            } else {
+                log(LogLevel.WARNING, "[startScan21] offloaded scan batching is not supported, ignoring report delay");
+            }
+        }
+        if(Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            if(proto.getAndroidMatchMode() > 0) {
+                builder.setMatchMode(proto.getAndroidMatchMode());
+            }
+            if(proto.getAndroidNumOfMatches() > 0) {
+                builder.setNumOfMatches(proto.getAndroidNumOfMatches());
+            }
+            if(proto.getAndroidCallbackType() > 0) {
+                builder.setCallbackType(proto.getAndroidCallbackType());
+            }
+        }
+        scanner.startScan(filters, builder.build(), getScanCallback21());
     }
 
     @TargetApi(21)
@@ -873,13 +1282,29 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
                 @Override
                 public void onLeScan(final BluetoothDevice bluetoothDevice, int rssi,
                                      byte[] scanRecord) {
+                    // Filters go first so that a rejected advertisement does not mark the device as seen.
+                    ScanFilterPredicate predicate = scanFilterPredicate;
+                    if(predicate != null && !predicate.matches(scanRecord, rssi)) return;
                     if (!allowDuplicates && bluetoothDevice != null && bluetoothDevice.getAddress() != null) {
-                        if (macDeviceScanned.contains(bluetoothDevice.getAddress())) return;
-                        macDeviceScanned.add(bluetoothDevice.getAddress());
+                        if (!macDeviceScanned.add(bluetoothDevice.getAddress())) return;
+                    }
+                    PayloadChangeFilter changeFilter = payloadChangeFilter;
+                    if(changeFilter != null && bluetoothDevice != null
+                            && !changeFilter.shouldReport(bluetoothDevice.getAddress(), scanRecord)) return;
+                    RawScanFrames frames = rawScanFrames;
+                    if(frames != null && bluetoothDevice != null) {
+                        frames.add(MacAddress.pack(bluetoothDevice.getAddress()), rssi, SystemClock.elapsedRealtimeNanos(), scanRecord);
+                        return;
                     }
 
-                    Protos.ScanResult scanResult = ProtoMaker.from(bluetoothDevice, scanRecord, rssi);
-                    invokeMethodUIThread("ScanResult", scanResult.toByteArray());
+                    if(scanResultCoalescer == null) {
+                        synchronized(scanResultEncoder) {
+                            sendScanResult(scanResultEncoder.encode(bluetoothDevice, scanRecord, rssi, deviceProtoCache).output());
+                        }
+                        return;
+                    }
+                    Protos.ScanResult scanResult = ProtoMaker.from(bluetoothDevice, scanRecord, rssi, deviceProtoCache);
+                    deliverScanResult(scanResult);
                 }
             };
         }
@@ -904,9 +1329,31 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
         @Override
         public void onConnectionStateChange(BluetoothGatt gatt, int status, int newState) {
             log(LogLevel.DEBUG, "[onConnectionStateChange] status: " + status + " newState: " + newState);
+            String address = gatt.getDevice().getAddress();
+            BluetoothDeviceCache cache = mDevices.get(address);
+            if(cache != null && cache.gatt != gatt) {
+                // A connection that was replaced since; its state no longer describes the device
+                if(newState == BluetoothProfile.STATE_DISCONNECTED) {
+                    closeConnection(gatt);
+                }
+                return;
+            }
+            if(cache != null) {
+                // Written before the registry is checked again below, see "disconnect"
+                cache.connectionState = newState;
+            }
             if(newState == BluetoothProfile.STATE_DISCONNECTED) {
-                if(!mDevices.containsKey(gatt.getDevice().getAddress())) {
-                    gatt.close();
+                if(cache == null) {
+                    closeConnection(gatt);
+                } else {
+                    cache.operations.cancelAll("device disconnected");
+                    cache.flushNotifications();
+                    cache.invalidateServices();
+                    resumeDeferred(cache);
+                    if(mDevices.get(address) != cache) {
+                        // Removed by a disconnect that saw the link still up
+                        closeConnection(gatt);
+                    }
                 }
             }
             invokeMethodUIThread("DeviceState", ProtoMaker.from(gatt.getDevice(), newState).toByteArray());
@@ -915,12 +1362,45 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
         @Override
         public void onServicesDiscovered(BluetoothGatt gatt, int status) {
             log(LogLevel.DEBUG, "[onServicesDiscovered] count: " + gatt.getServices().size() + " status: " + status);
+            List<BluetoothGattService> services = gatt.getServices();
+            AttributeIndex attributes = new AttributeIndex(services);
+            ServiceParents parents = attributes.parents;
             Protos.DiscoverServicesResult.Builder p = Protos.DiscoverServicesResult.newBuilder();
             p.setRemoteId(gatt.getDevice().getAddress());
-            for(BluetoothGattService s : gatt.getServices()) {
-                p.addServices(ProtoMaker.from(gatt.getDevice(), s, gatt));
+            for(BluetoothGattService s : services) {
+                p.addServices(ProtoMaker.from(gatt.getDevice(), s, parents));
+            }
+            p.setFailed(status != BluetoothGatt.GATT_SUCCESS);
+            byte[] bytes = p.build().toByteArray();
+            BluetoothDeviceCache cache = cacheFor(gatt);
+            if(cache != null) {
+                cache.invalidateServices();
+                if(status == BluetoothGatt.GATT_SUCCESS) {
+                    cache.attributes = attributes;
+                    cache.servicesResult = bytes;
+                    GattDatabaseCache store = mGattDatabaseCache;
+                    if(cache.persistServices && store != null) {
+                        store.storeAsync(gatt.getDevice().getAddress(), bytes);
+                    }
+                }
+                // Counted and sent together, so a stored tree is never sent after this result.
+                synchronized(cache) {
+                    cache.discoveries++;
+                    invokeMethodUIThread("DiscoverServicesResult", bytes);
+                }
+                resumeDeferred(cache);
+            } else {
+                invokeMethodUIThread("DiscoverServicesResult", bytes);
+            }
+        }
+
+        // BluetoothGattCallback#onServiceChanged, API 31+; older releases never call it.
+        public void onServiceChanged(BluetoothGatt gatt) {
+            log(LogLevel.DEBUG, "[onServiceChanged]");
+            BluetoothDeviceCache cache = cacheFor(gatt);
+            if(cache != null) {
+                cache.invalidateServices();
             }
-            invokeMethodUIThread("DiscoverServicesResult", p.build().toByteArray());
         }
 
         @Override
@@ -928,13 +1408,21 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
             log(LogLevel.DEBUG, "[onCharacteristicRead] uuid: " + characteristic.getUuid().toString() + " status: " + status);
             Protos.ReadCharacteristicResponse.Builder p = Protos.ReadCharacteristicResponse.newBuilder();
             p.setRemoteId(gatt.getDevice().getAddress());
-            p.setCharacteristic(ProtoMaker.from(gatt.getDevice(), characteristic, gatt));
+            p.setCharacteristic(ProtoMaker.from(gatt.getDevice(), characteristic, serviceParents(gatt)));
+            completeGattOperation(gatt, GattOperationQueue.Kind.READ_CHARACTERISTIC, characteristic);
             invokeMethodUIThread("ReadCharacteristicResponse", p.build().toByteArray());
         }
 
         @Override
         public void onCharacteristicWrite(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic, int status) {
             log(LogLevel.DEBUG, "[onCharacteristicWrite] uuid: " + characteristic.getUuid().toString() + " status: " + status);
+            BluetoothDeviceCache cache = cacheFor(gatt);
+            BulkWrite bulkWrite = (cache != null) ? cache.bulkWrite.get() : null;
+            if(bulkWrite != null && bulkWrite.writes(characteristic)) {
+                // A chunk; the transfer reports progress and completes the operation itself.
+                bulkWrite.onChunkWritten(status == BluetoothGatt.GATT_SUCCESS);
+                return;
+            }
             Protos.WriteCharacteristicRequest.Builder request = Protos.WriteCharacteristicRequest.newBuilder();
             request.setRemoteId(gatt.getDevice().getAddress());
             request.setCharacteristicUuid(characteristic.getUuid().toString());
@@ -942,15 +1430,35 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
             Protos.WriteCharacteristicResponse.Builder p = Protos.WriteCharacteristicResponse.newBuilder();
             p.setRequest(request);
             p.setSuccess(status == BluetoothGatt.GATT_SUCCESS);
+            completeGattOperation(gatt, GattOperationQueue.Kind.WRITE_CHARACTERISTIC, characteristic);
             invokeMethodUIThread("WriteCharacteristicResponse", p.build().toByteArray());
         }
 
         @Override
         public void onCharacteristicChanged(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic) {
             log(LogLevel.DEBUG, "[onCharacteristicChanged] uuid: " + characteristic.getUuid().toString());
+            BluetoothDeviceCache cache = cacheFor(gatt);
+            int handle = ProtoMaker.handle(characteristic);
+            NotificationBatcher batcher = (cache != null && handle != 0) ? cache.notificationBatchers.get(handle) : null;
+            if(batcher != null) {
+                batcher.add(characteristic.getValue());
+                return;
+            }
+            if(cache != null && handle != 0 && cache.compactNotifications.contains(handle)) {
+                // Dart already knows the characteristic by its handle from discoverServices.
+                Protos.OnCharacteristicValue.Builder v = Protos.OnCharacteristicValue.newBuilder();
+                v.setRemoteId(gatt.getDevice().getAddress());
+                v.setHandle(handle);
+                byte[] value = characteristic.getValue();
+                if(value != null) {
+                    v.setValue(ByteString.copyFrom(value));
+                }
+                invokeMethodUIThread("OnCharacteristicValue", v.build().toByteArray());
+                return;
+            }
             Protos.OnCharacteristicChanged.Builder p = Protos.OnCharacteristicChanged.newBuilder();
             p.setRemoteId(gatt.getDevice().getAddress());
-            p.setCharacteristic(ProtoMaker.from(gatt.getDevice(), characteristic, gatt));
+            p.setCharacteristic(ProtoMaker.from(gatt.getDevice(), characteristic, serviceParents(gatt)));
             invokeMethodUIThread("OnCharacteristicChanged", p.build().toByteArray());
         }
 
@@ -965,20 +1473,17 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
             if(descriptor.getCharacteristic().getService().getType() == BluetoothGattService.SERVICE_TYPE_PRIMARY) {
                 q.setServiceUuid(descriptor.getCharacteristic().getService().getUuid().toString());
             } else {
-                // Reverse search to find service
-                for(BluetoothGattService s : gatt.getServices()) {
-                    for(BluetoothGattService ss : s.getIncludedServices()) {
-                        if(ss.getUuid().equals(descriptor.getCharacteristic().getService().getUuid())){
-                            q.setServiceUuid(s.getUuid().toString());
-                            q.setSecondaryServiceUuid(ss.getUuid().toString());
-                            break;
-                        }
-                    }
+                UUID secondary = descriptor.getCharacteristic().getService().getUuid();
+                UUID primary = serviceParents(gatt).parentOf(secondary);
+                if(primary != null) {
+                    q.setServiceUuid(primary.toString());
+                    q.setSecondaryServiceUuid(secondary.toString());
                 }
             }
             Protos.ReadDescriptorResponse.Builder p = Protos.ReadDescriptorResponse.newBuilder();
             p.setRequest(q);
             p.setValue(ByteString.copyFrom(descriptor.getValue()));
+            completeGattOperation(gatt, GattOperationQueue.Kind.READ_DESCRIPTOR, descriptor);
             invokeMethodUIThread("ReadDescriptorResponse", p.build().toByteArray());
         }
 
@@ -993,13 +1498,21 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
             Protos.WriteDescriptorResponse.Builder p = Protos.WriteDescriptorResponse.newBuilder();
             p.setRequest(request);
             p.setSuccess(status == BluetoothGatt.GATT_SUCCESS);
-            invokeMethodUIThread("WriteDescriptorResponse", p.build().toByteArray());
 
+            Protos.SetNotificationResponse.Builder q = null;
             if(descriptor.getUuid().compareTo(CCCD_ID) == 0) {
                 // SetNotificationResponse
-                Protos.SetNotificationResponse.Builder q = Protos.SetNotificationResponse.newBuilder();
+                q = Protos.SetNotificationResponse.newBuilder();
                 q.setRemoteId(gatt.getDevice().getAddress());
-                q.setCharacteristic(ProtoMaker.from(gatt.getDevice(), descriptor.getCharacteristic(), gatt));
+                q.setCharacteristic(ProtoMaker.from(gatt.getDevice(), descriptor.getCharacteristic(), serviceParents(gatt)));
+                BluetoothDeviceCache cache = cacheFor(gatt);
+                if(cache != null) {
+                    finishSetNotification(cache, descriptor, status == BluetoothGatt.GATT_SUCCESS);
+                }
+            }
+            completeGattOperation(gatt, GattOperationQueue.Kind.WRITE_DESCRIPTOR, descriptor);
+            invokeMethodUIThread("WriteDescriptorResponse", p.build().toByteArray());
+            if(q != null) {
                 invokeMethodUIThread("SetNotificationResponse", q.build().toByteArray());
             }
         }
@@ -1018,8 +1531,8 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
         public void onMtuChanged(BluetoothGatt gatt, int mtu, int status) {
             log(LogLevel.DEBUG, "[onMtuChanged] mtu: " + mtu + " status: " + status);
             if(status == BluetoothGatt.GATT_SUCCESS) {
-                if(mDevices.containsKey(gatt.getDevice().getAddress())) {
-                    BluetoothDeviceCache cache = mDevices.get(gatt.getDevice().getAddress());
+                BluetoothDeviceCache cache = cacheFor(gatt);
+                if(cache != null) {
                     cache.mtu = mtu;
                     Protos.MtuSizeResponse.Builder p = Protos.MtuSizeResponse.newBuilder();
                     p.setRemoteId(gatt.getDevice().getAddress());
@@ -1030,6 +1543,119 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
         }
     };
 
+    // Applies the setNotification whose CCCD write this is. Its routing only changes once the
+    // device has taken the write; after a failed write, notifications stay as they were.
+    private void finishSetNotification(BluetoothDeviceCache cache, BluetoothGattDescriptor descriptor, boolean success) {
+        PendingNotification pending = cache.pendingNotification.get();
+        if(pending == null || pending.descriptor != descriptor || !cache.pendingNotification.compareAndSet(pending, null)) {
+            return;
+        }
+        boolean enable = pending.request.getEnable();
+        if(!success) {
+            // setCharacteristicNotification already switched the local registration
+            cache.gatt.setCharacteristicNotification(descriptor.getCharacteristic(), !enable);
+            // A batcher stays in place; what it holds is sent now rather than after its latency.
+            NotificationBatcher batcher = (pending.handle != 0) ? cache.notificationBatchers.get(pending.handle) : null;
+            if(batcher != null) {
+                batcher.flush();
+            }
+            return;
+        }
+        // Without a handle unique on the device, notifications take the UUID path.
+        if(pending.handle == 0) {
+            return;
+        }
+        if(pending.compact) {
+            cache.compactNotifications.add(pending.handle);
+        } else {
+            cache.compactNotifications.remove(pending.handle);
+        }
+        updateNotificationBatcher(cache, pending.handle, pending.request);
+    }
+
+    // Routes the characteristic's notifications as batches or not; a replaced batcher sends
+    // what it holds first.
+    private void updateNotificationBatcher(BluetoothDeviceCache cache, int handle, Protos.SetNotificationRequest request) {
+        NotificationBatcher batcher = null;
+        if(NotificationBatcher.isEnabled(request)) {
+            batcher = new NotificationBatcher(mainHandler, request.getRemoteId(), handle,
+                    request.getBatchMaxSize(), request.getBatchMaxLatencyMs(),
+                    new NotificationBatcher.Sink() {
+                        @Override
+                        public void onBatch(byte[] batch) {
+                            invokeMethodUIThread("OnCharacteristicValueBatch", batch);
+                        }
+                    });
+        }
+        NotificationBatcher previous = (batcher != null)
+                ? cache.notificationBatchers.put(handle, batcher)
+                : cache.notificationBatchers.remove(handle);
+        if(previous != null) {
+            previous.flush();
+        }
+    }
+
+    // Answers the device's current operation and starts its next one. Callbacks call this after
+    // building their response from the attribute, which the next operation may change, and
+    // before sending it, so that Dart has the reply first.
+    private void completeGattOperation(BluetoothGatt gatt, GattOperationQueue.Kind kind, Object target) {
+        BluetoothDeviceCache cache = cacheFor(gatt);
+        if(cache != null) {
+            cache.operations.onComplete(kind, target);
+        }
+    }
+
+    // Sends Dart the device's stored tree once it is loaded, unless the discovery started after
+    // the given count of discoveries has already called back, or the connection is gone.
+    private void answerFromStore(final BluetoothDeviceCache cache, final String deviceId, final int discoveries) {
+        GattDatabaseCache store = mGattDatabaseCache;
+        if(store == null) {
+            return;
+        }
+        store.loadAsync(deviceId, new GattDatabaseCache.Callback() {
+            @Override
+            public void onLoaded(byte[] stored) {
+                synchronized(cache) {
+                    if(stored != null && cache.discoveries == discoveries
+                            && cache.connectionState == BluetoothProfile.STATE_CONNECTED
+                            && mDevices.get(deviceId) == cache) {
+                        invokeMethodUIThread("DiscoverServicesResult", GattDatabaseCache.fromCache(stored));
+                    }
+                }
+            }
+        });
+    }
+
+    // Replays, on the main thread, the calls that waited for a discovery.
+    private void resumeDeferred(final BluetoothDeviceCache cache) {
+        mainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                cache.resumeDeferred();
+            }
+        });
+    }
+
+    // Secondary service parents of the last discovery, or worked out afresh if there is none.
+    private ServiceParents serviceParents(BluetoothGatt gatt) {
+        BluetoothDeviceCache cache = cacheFor(gatt);
+        AttributeIndex attributes = (cache != null) ? cache.attributes : null;
+        return (attributes != null) ? attributes.parents : new ServiceParents(gatt.getServices());
+    }
+
+    // Closes a connection unless that was done already; safe from any thread.
+    private void closeConnection(BluetoothGatt gatt) {
+        if(closedConnections.add(gatt)) {
+            gatt.close();
+        }
+    }
+
+    // The registered cache of the callback's connection, or null if it was since removed or replaced.
+    private BluetoothDeviceCache cacheFor(BluetoothGatt gatt) {
+        BluetoothDeviceCache cache = mDevices.get(gatt.getDevice().getAddress());
+        return (cache != null && cache.gatt == gatt) ? cache : null;
+    }
+
     enum LogLevel
     {
         EMERGENCY, ALERT, CRITICAL, ERROR, WARNING, NOTICE, INFO, DEBUG;
@@ -1041,31 +1667,112 @@ public class FlutterBluePlugin implements FlutterPlugin, ActivityAware, MethodCa
         }
     }
 
+    // Safe from any thread; see ChannelDispatcher.
     private void invokeMethodUIThread(final String name, final byte[] byteArray)
     {
-        activity.runOnUiThread(
-                new Runnable() {
-                    @Override
-                    public void run() {
-                        synchronized(tearDownLock){
-                            if(channel != null){
-                                channel.invokeMethod(name, byteArray);
-                            }
-                        }
-                    }
-                });
+        EventRing ring = eventRing;
+        if(ring != null && ring.offer(name, byteArray)) {
+            return;
+        }
+        dispatcher.invokeMethod(name, byteArray);
     }
 
     // BluetoothDeviceCache contains any other cached information not stored in Android Bluetooth API
     // but still needed Dart side.
+    // A setNotification waiting for the result of its CCCD write.
+    static final class PendingNotification {
+        final BluetoothGattDescriptor descriptor;
+        // ProtoMaker.handle() of the characteristic; 0 if it has none unique on the device.
+        final int handle;
+        final boolean compact;
+        final Protos.SetNotificationRequest request;
+
+        PendingNotification(BluetoothGattDescriptor descriptor, int handle, boolean compact, Protos.SetNotificationRequest request) {
+            this.descriptor = descriptor;
+            this.handle = handle;
+            this.compact = compact;
+            this.request = request;
+        }
+    }
+
     class BluetoothDeviceCache {
         final BluetoothGatt gatt;
+        final GattOperationQueue operations;
+        // Handles of the characteristics whose notifications are sent as OnCharacteristicValue.
+        // Keyed by ProtoMaker.handle(), which is unique on the device; a handle of 0 is never added.
+        final Set<Integer> compactNotifications = Collections.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
+        // Batchers of the characteristics whose notifications are sent as OnCharacteristicValueBatch,
+        // by handle as above.
+        final Map<Integer, NotificationBatcher> notificationBatchers = new ConcurrentHashMap<>();
+        // The bulk write whose chunks are being written, if any.
+        final AtomicReference<BulkWrite> bulkWrite = new AtomicReference<>();
+        // The setNotification whose CCCD write is in flight, if any.
+        final AtomicReference<PendingNotification> pendingNotification = new AtomicReference<>();
+        // Attributes of the last successful discovery; null until then and after a disconnect.
+        volatile AttributeIndex attributes;
+        // DiscoverServicesResult of the last successful discovery, answered to "services" as is.
+        // Values in it are those read before the discovery; Dart tracks later ones itself.
+        volatile byte[] servicesResult;
+        // Whether discoveries are stored in, and first answered from, the GattDatabaseCache.
+        final boolean persistServices;
+        // The state its last connection state callback reported.
+        volatile int connectionState = BluetoothProfile.STATE_DISCONNECTED;
+        // Main thread only.
+        boolean discoveryPending;
+        // Discoveries that have called back; guarded by this.
+        int discoveries;
+        private final List<Runnable> deferred = new ArrayList<>();
         int mtu;
 
-        BluetoothDeviceCache(BluetoothGatt gatt) {
+        BluetoothDeviceCache(BluetoothGatt gatt, long gattTimeoutMs, boolean persistServices) {
             this.gatt = gatt;
+            this.operations = new GattOperationQueue(mainHandler, dispatcher, gattTimeoutMs);
+            this.persistServices = persistServices;
             mtu = 20;
         }
+
+        // Holds back a GATT method call while a discovery answered from disk is running.
+        boolean deferUntilDiscovered(final MethodCall call, final Result result) {
+            if(!discoveryPending) {
+                return false;
+            }
+            deferred.add(new Runnable() {
+                @Override
+                public void run() {
+                    onMethodCall(call, result);
+                }
+            });
+            return true;
+        }
+
+        // Replays the held back calls; they fail as usual if the discovery did.
+        void resumeDeferred() {
+            discoveryPending = false;
+            List<Runnable> calls = new ArrayList<>(deferred);
+            deferred.clear();
+            for(Runnable c : calls) {
+                c.run();
+            }
+        }
+
+        synchronized int discoveries() {
+            return discoveries;
+        }
+
+        // Forgets the last discovery, until the next one succeeds.
+        void invalidateServices() {
+            attributes = null;
+            servicesResult = null;
+        }
+
+        // Sends what the notification batchers hold and drops them; notifications must be
+        // enabled again after a reconnect anyway.
+        void flushNotifications() {
+            for(NotificationBatcher batcher : notificationBatchers.values()) {
+                batcher.flush();
+            }
+            notificationBatchers.clear();
+        }
     }
 
 }
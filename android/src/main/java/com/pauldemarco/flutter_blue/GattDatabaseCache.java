@@ -0,0 +1,137 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue;
+
+import android.util.AtomicFile;
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Discovered service trees of previously connected devices, kept on disk across connections
+ * and app restarts.
+ *
+ * Each device has one file, named after its packed address, that holds the serialized
+ * {@link Protos.DiscoverServicesResult} of its last successful discovery. Files are written
+ * atomically, so a crash leaves either the old tree or the new one. The asynchronous forms
+ * keep the file I/O off the main and binder threads; they run one at a time, in order.
+ */
+class GattDatabaseCache {
+
+    private static final String TAG = "GattDatabaseCache";
+    private static final long IDLE_TIMEOUT_S = 10;
+
+    interface Callback {
+        /** Called on the I/O thread, with null if nothing is stored. */
+        void onLoaded(byte[] result);
+    }
+
+    private final File dir;
+    private final ThreadPoolExecutor io;
+
+    GattDatabaseCache(File dir) {
+        this.dir = dir;
+        // The thread only lives while there is I/O to do.
+        this.io = new ThreadPoolExecutor(1, 1, IDLE_TIMEOUT_S, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+        this.io.allowCoreThreadTimeOut(true);
+    }
+
+    /** Loads the device's tree on the I/O thread. */
+    void loadAsync(final String remoteId, final Callback callback) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                callback.onLoaded(load(remoteId));
+            }
+        });
+    }
+
+    /** Stores the device's tree on the I/O thread, see {@link #store}. */
+    void storeAsync(final String remoteId, final byte[] result) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                store(remoteId, result);
+            }
+        });
+    }
+
+    /**
+     * Stops the I/O thread once the loads and stores already queued are done. Asynchronous
+     * calls after this are dropped.
+     */
+    void shutdown() {
+        io.shutdown();
+    }
+
+    /** The last stored tree of the device, or null if there is none. */
+    byte[] load(String remoteId) {
+        AtomicFile file = file(remoteId);
+        if(file == null || !file.getBaseFile().exists()) {
+            return null;
+        }
+        try {
+            return file.readFully();
+        } catch(IOException e) {
+            Log.w(TAG, "could not read the services of " + remoteId, e);
+            return null;
+        }
+    }
+
+    /** Stores the tree unless it is already what is stored. */
+    void store(String remoteId, byte[] result) {
+        AtomicFile file = file(remoteId);
+        if(file == null || Arrays.equals(result, load(remoteId))) {
+            return;
+        }
+        if(!dir.isDirectory() && !dir.mkdirs()) {
+            Log.w(TAG, "could not create " + dir);
+            return;
+        }
+        FileOutputStream out = null;
+        try {
+            out = file.startWrite();
+            out.write(result);
+            file.finishWrite(out);
+        } catch(IOException e) {
+            Log.w(TAG, "could not store the services of " + remoteId, e);
+            if(out != null) {
+                file.failWrite(out);
+            }
+        }
+    }
+
+    /**
+     * The stored tree with {@code from_cache} set. A field appended to a serialized message
+     * overrides it when parsed, so the tree does not have to be parsed and rebuilt.
+     */
+    static byte[] fromCache(byte[] result) {
+        byte[] marked = Arrays.copyOf(result, result.length + 2);
+        marked[result.length] = (byte) (Protos.DiscoverServicesResult.FROM_CACHE_FIELD_NUMBER << 3);
+        marked[result.length + 1] = 1;
+        return marked;
+    }
+
+    private void execute(Runnable task) {
+        try {
+            io.execute(task);
+        } catch(RejectedExecutionException e) {
+            // Shut down; a callback racing the plugin's detach.
+            Log.w(TAG, "dropped after shutdown");
+        }
+    }
+
+    private AtomicFile file(String remoteId) {
+        long key = MacAddress.pack(remoteId);
+        return (key == MacAddress.INVALID) ? null : new AtomicFile(new File(dir, Long.toHexString(key)));
+    }
+}
@@ -0,0 +1,258 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue;
+
+import android.os.Handler;
+import android.os.SystemClock;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+
+import io.flutter.plugin.common.MethodChannel.Result;
+
+/**
+ * Serializes the GATT operations of one device.
+ *
+ * Android allows a single outstanding operation per {@link android.bluetooth.BluetoothGatt}
+ * and refuses the others, so requests are queued here instead of being issued directly.
+ * The next operation is started when the {@link android.bluetooth.BluetoothGattCallback}
+ * reports completion of the current one. A completion only counts if its kind and attribute
+ * match the operation in flight.
+ *
+ * A request's method channel {@link Result} is answered when its operation is over: success
+ * once its callback arrived, an error if the stack refused it, it timed out or the device
+ * disconnected. Replies go through the same executor as the plugin's events, and the
+ * callbacks complete the operation before they send its response event, so Dart always sees
+ * the reply first.
+ *
+ * An operation that timed out is answered with an error right away, but Android still holds
+ * its request and would refuse the next one, so the queue stays blocked until the late
+ * callback arrives, which is then dropped, or the device disconnects.
+ */
+class GattOperationQueue {
+
+    static final long DEFAULT_TIMEOUT_MS = 10000;
+
+    /** Which callback completes an operation. */
+    enum Kind {
+        READ_CHARACTERISTIC,
+        WRITE_CHARACTERISTIC,
+        READ_DESCRIPTOR,
+        WRITE_DESCRIPTOR,
+    }
+
+    interface Operation {
+        /**
+         * Issues the request to the stack.
+         *
+         * @throws Exception with a message for Dart if the request could not be issued.
+         */
+        void start() throws Exception;
+    }
+
+    /**
+     * An operation that spans several callbacks and must learn when the queue gives up on it,
+     * because it would otherwise carry on issuing requests.
+     */
+    interface Cancellable extends Operation {
+        /** Called with the queue locked, so it must not call back into the queue. */
+        void cancel(String reason);
+    }
+
+    private static final class Op {
+        final Kind kind;
+        final Object target;
+        final String errorCode;
+        final Result result;
+        final Operation operation;
+        final long enqueuedNanos;
+        long startedNanos;
+        boolean expired;
+
+        Op(Kind kind, Object target, String errorCode, Result result, Operation operation, long enqueuedNanos) {
+            this.kind = kind;
+            this.target = target;
+            this.errorCode = errorCode;
+            this.result = result;
+            this.operation = operation;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+
+    private final Handler handler;
+    private final Executor replies;
+    private final long timeoutMs;
+    private final ArrayDeque<Op> pending = new ArrayDeque<>();
+    private Op inFlight;
+
+    private long maxDepth;
+    private long started;
+    private long completed;
+    private long failed;
+    private long timedOut;
+    private long cancelled;
+    private long waitNanos;
+    private long opNanos;
+
+    private final Runnable timeoutTask = new Runnable() {
+        @Override
+        public void run() {
+            onTimeout();
+        }
+    };
+
+    /**
+     * @param handler main thread handler that timeouts run on.
+     * @param replies executor on the main thread that results are answered on.
+     * @param timeoutMs how long an operation may wait for its callback, <= 0 for the default.
+     */
+    GattOperationQueue(Handler handler, Executor replies, long timeoutMs) {
+        this.handler = handler;
+        this.replies = replies;
+        this.timeoutMs = (timeoutMs > 0) ? timeoutMs : DEFAULT_TIMEOUT_MS;
+    }
+
+    /**
+     * @param target the characteristic or descriptor the operation acts on, as its callback
+     *               will report it.
+     */
+    synchronized void enqueue(Kind kind, Object target, String errorCode, Result result, Operation operation) {
+        pending.addLast(new Op(kind, target, errorCode, result, operation, SystemClock.elapsedRealtimeNanos()));
+        long depth = pending.size();
+        if(depth > maxDepth) {
+            maxDepth = depth;
+        }
+        dispatchNext();
+    }
+
+    /**
+     * To be called from the callback that matches {@code kind}, with the attribute it reports;
+     * completions that do not match the operation in flight are ignored.
+     */
+    synchronized void onComplete(Kind kind, Object target) {
+        complete(kind, target, null);
+    }
+
+    /**
+     * Like {@link #onComplete}, for an operation whose callback reports that it failed and
+     * whose request must be answered with {@code message} as the error.
+     */
+    synchronized void onFailed(Kind kind, Object target, String message) {
+        complete(kind, target, message);
+    }
+
+    /** Restarts the timeout of the operation in flight, for one that is still making progress. */
+    synchronized void extend() {
+        if(inFlight == null || inFlight.expired) {
+            return;
+        }
+        handler.removeCallbacks(timeoutTask);
+        handler.postDelayed(timeoutTask, timeoutMs);
+    }
+
+    /** Fails the operation in flight and every queued one, e.g. on disconnect. */
+    synchronized void cancelAll(String message) {
+        handler.removeCallbacks(timeoutTask);
+        if(inFlight != null && !inFlight.expired) {
+            cancelled++;
+            cancelInFlight(message);
+            replyError(inFlight, message);
+        }
+        inFlight = null;
+        Op op;
+        while((op = pending.pollFirst()) != null) {
+            cancelled++;
+            replyError(op, message);
+        }
+    }
+
+    synchronized Protos.GattQueueStats stats() {
+        return Protos.GattQueueStats.newBuilder()
+                .setQueueDepth(pending.size())
+                .setMaxQueueDepth(maxDepth)
+                .setInFlight(inFlight != null)
+                .setCompleted(completed)
+                .setFailed(failed)
+                .setTimedOut(timedOut)
+                .setCancelled(cancelled)
+                .setAvgWaitLatencyUs(waitNanos / Math.max(1, started + failed) / 1000)
+                .setAvgOpLatencyUs(opNanos / Math.max(1, completed) / 1000)
+                .build();
+    }
+
+    private synchronized void onTimeout() {
+        if(inFlight == null || inFlight.expired) {
+            return;
+        }
+        timedOut++;
+        inFlight.expired = true;
+        cancelInFlight("timed out");
+        replyError(inFlight, "timed out");
+    }
+
+    private void complete(Kind kind, Object target, String error) {
+        if(inFlight == null || inFlight.kind != kind || inFlight.target != target) {
+            return;
+        }
+        handler.removeCallbacks(timeoutTask);
+        Op op = inFlight;
+        inFlight = null;
+        // An expired operation was answered when it timed out; this only unblocks the queue.
+        if(!op.expired) {
+            completed++;
+            opNanos += SystemClock.elapsedRealtimeNanos() - op.startedNanos;
+            if(error == null) {
+                replySuccess(op);
+            } else {
+                replyError(op, error);
+            }
+        }
+        dispatchNext();
+    }
+
+    private void cancelInFlight(String reason) {
+        if(inFlight.operation instanceof Cancellable) {
+            ((Cancellable) inFlight.operation).cancel(reason);
+        }
+    }
+
+    private void dispatchNext() {
+        while(inFlight == null && !pending.isEmpty()) {
+            Op op = pending.pollFirst();
+            long now = SystemClock.elapsedRealtimeNanos();
+            waitNanos += now - op.enqueuedNanos;
+            try {
+                op.operation.start();
+            } catch(Exception e) {
+                failed++;
+                replyError(op, e.getMessage());
+                continue;
+            }
+            started++;
+            op.startedNanos = now;
+            inFlight = op;
+            handler.postDelayed(timeoutTask, timeoutMs);
+        }
+    }
+
+    // Completions arrive on a binder thread, but Results must be answered on the main thread.
+    private void replySuccess(final Op op) {
+        replies.execute(new Runnable() {
+            @Override
+            public void run() {
+                op.result.success(null);
+            }
+        });
+    }
+
+    private void replyError(final Op op, final String message) {
+        replies.execute(new Runnable() {
+            @Override
+            public void run() {
+                op.result.error(op.errorCode, message, null);
+            }
+        });
+    }
+}
@@ -0,0 +1,56 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue;
+
+/**
+ * Helpers for working with 48-bit Bluetooth device addresses packed into a {@code long}.
+ */
+final class MacAddress {
+
+    /** Returned by {@link #pack(String)} when the input is not a valid address. */
+    static final long INVALID = -1L;
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private MacAddress() {}
+
+    /**
+     * Packs an address of the form "AA:BB:CC:DD:EE:FF" into the low 48 bits of a long,
+     * most significant octet first. Does not allocate.
+     *
+     * @return the packed address, or {@link #INVALID} if the string is malformed.
+     */
+    static long pack(String address) {
+        if(address == null || address.length() != 17) {
+            return INVALID;
+        }
+        long value = 0;
+        for(int i = 0; i < 17; i += 3) {
+            int hi = Character.digit(address.charAt(i), 16);
+            int lo = Character.digit(address.charAt(i + 1), 16);
+            if(hi < 0 || lo < 0 || (i < 15 && address.charAt(i + 2) != ':')) {
+                return INVALID;
+            }
+            value = (value << 8) | (hi << 4) | lo;
+        }
+        return value;
+    }
+
+    /**
+     * Formats a packed address back into the upper-case form used by {@link android.bluetooth.BluetoothDevice}.
+     */
+    static String unpack(long value) {
+        char[] out = new char[17];
+        for(int i = 0; i < 6; i++) {
+            int octet = (int) (value >>> (40 - 8 * i)) & 0xFF;
+            out[i * 3] = HEX[octet >>> 4];
+            out[i * 3 + 1] = HEX[octet & 0xF];
+            if(i < 5) {
+                out[i * 3 + 2] = ':';
+            }
+        }
+        return new String(out);
+    }
+}
@@ -0,0 +1,76 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue;
+
+import android.os.Handler;
+import android.os.SystemClock;
+
+import com.google.protobuf.ByteString;
+
+/**
+ * Aggregates the notifications of one characteristic into
+ * {@link Protos.OnCharacteristicValueBatch} messages, each value stamped with the
+ * monotonic time it arrived at.
+ *
+ * A batch is flushed when it reaches {@code maxSize} values or when its oldest value has
+ * waited {@code maxLatencyMs}, whichever comes first.
+ */
+class NotificationBatcher {
+
+    static final int DEFAULT_MAX_LATENCY_MS = 50;
+
+    interface Sink {
+        void onBatch(byte[] batch);
+    }
+
+    private final Handler handler;
+    private final int maxSize;
+    private final long maxLatencyMs;
+    private final Sink sink;
+    private final Protos.OnCharacteristicValueBatch.Builder batch;
+
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    NotificationBatcher(Handler handler, String remoteId, int handle, int maxSize, long maxLatencyMs, Sink sink) {
+        this.handler = handler;
+        this.maxSize = maxSize;
+        this.maxLatencyMs = (maxLatencyMs > 0) ? maxLatencyMs : DEFAULT_MAX_LATENCY_MS;
+        this.sink = sink;
+        this.batch = Protos.OnCharacteristicValueBatch.newBuilder().setRemoteId(remoteId).setHandle(handle);
+    }
+
+    /** Whether the request asks for batched notifications at all. */
+    static boolean isEnabled(Protos.SetNotificationRequest request) {
+        return request.getEnable() && request.getBatchMaxSize() > 1;
+    }
+
+    /** Adds a value; the array is copied, so the stack may reuse it afterwards. */
+    synchronized void add(byte[] value) {
+        batch.addValues((value != null) ? ByteString.copyFrom(value) : ByteString.EMPTY);
+        batch.addTimestampsUs(SystemClock.elapsedRealtimeNanos() / 1000);
+        int count = batch.getValuesCount();
+        if(count >= maxSize) {
+            flush();
+        } else if(count == 1) {
+            handler.postDelayed(flushTask, maxLatencyMs);
+        }
+    }
+
+    synchronized void flush() {
+        handler.removeCallbacks(flushTask);
+        if(batch.getValuesCount() == 0) {
+            return;
+        }
+        byte[] bytes = batch.build().toByteArray();
+        batch.clearValues();
+        batch.clearTimestampsUs();
+        sink.onBatch(bytes);
+    }
+}
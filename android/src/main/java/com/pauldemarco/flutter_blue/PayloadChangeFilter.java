@@ -0,0 +1,99 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue;
+
+import android.os.SystemClock;
+
+/**
+ * Drops advertisements whose raw payload is the same as the last one reported for the device.
+ *
+ * For every device the filter remembers a 64-bit hash of the last reported scan record and
+ * when it was reported, in an {@link AddressTable}; a repeat is let through again once the
+ * heartbeat interval has passed, if one is set. The check runs on the raw bytes, before any
+ * parsing or proto conversion.
+ * Not thread-safe; it is only touched from the scan callback and from startScan.
+ */
+class PayloadChangeFilter {
+
+    // Values kept per address in the table
+    private static final int HASH = 0;
+    private static final int EMIT_TIME = 1;
+
+    private final long heartbeatMs;
+    private final AddressTable table = new AddressTable(2);
+
+    PayloadChangeFilter(long heartbeatMs) {
+        this.heartbeatMs = heartbeatMs;
+    }
+
+    /** Whether the settings ask for unchanged payloads to be suppressed at all. */
+    static boolean isEnabled(Protos.ScanSettings settings) {
+        return settings.getSuppressUnchangedPayloads();
+    }
+
+    /**
+     * Records the payload and tells whether it should be reported.
+     *
+     * @return false only if the device's last reported payload had the same hash and the
+     *         heartbeat, if any, has not elapsed. Malformed addresses and missing records
+     *         always return true.
+     */
+    boolean shouldReport(String address, byte[] record) {
+        long key = MacAddress.pack(address);
+        if(key == MacAddress.INVALID || record == null) {
+            return true;
+        }
+        long hash = hash(record, 0, record.length);
+        long now = SystemClock.elapsedRealtime();
+        int offset = table.add(key);
+        long[] entries = table.entries();
+        if(offset >= 0) {
+            if(entries[offset + HASH] == hash && (heartbeatMs <= 0 || now - entries[offset + EMIT_TIME] < heartbeatMs)) {
+                return false;
+            }
+        } else {
+            offset = -offset - 1;
+        }
+        entries[offset + HASH] = hash;
+        entries[offset + EMIT_TIME] = now;
+        return true;
+    }
+
+    /**
+     * 64-bit hash of a byte range: eight bytes at a time through a multiply-xorshift mix,
+     * with the length folded in so that trailing zero bytes change the result.
+     */
+    static long hash(byte[] data, int offset, int length) {
+        long h = 0x9E3779B97F4A7C15L ^ (length * 0xC2B2AE3D27D4EB4FL);
+        int end = offset + length;
+        int i = offset;
+        for(; i + 8 <= end; i += 8) {
+            long k = (data[i] & 0xFFL)
+                    | (data[i + 1] & 0xFFL) << 8
+                    | (data[i + 2] & 0xFFL) << 16
+                    | (data[i + 3] & 0xFFL) << 24
+                    | (data[i + 4] & 0xFFL) << 32
+                    | (data[i + 5] & 0xFFL) << 40
+                    | (data[i + 6] & 0xFFL) << 48
+                    | (data[i + 7] & 0xFFL) << 56;
+            h = avalanche(h ^ avalanche(k));
+        }
+        if(i < end) {
+            long k = 0;
+            for(int shift = 0; i < end; i++, shift += 8) {
+                k |= (data[i] & 0xFFL) << shift;
+            }
+            h = avalanche(h ^ avalanche(k));
+        }
+        return h;
+    }
+
+    // Finalizer of SplitMix64.
+    private static long avalanche(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,119 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue;
+
+import android.os.Handler;
+
+import java.util.Arrays;
+
+/**
+ * Encodes scan results as fixed-layout binary frames for consumers that parse advertisements
+ * themselves, skipping {@link ProtoMaker} and protobuf serialization altogether.
+ *
+ * Each frame is, big-endian:
+ * <pre>
+ *   6 bytes  device address
+ *   1 byte   RSSI, signed
+ *   8 bytes  timestamp, nanoseconds of elapsedRealtime
+ *   2 bytes  record length n
+ *   n bytes  raw advertisement record, without the zero padding
+ * </pre>
+ * Frames are sent back to back in one message, either one per message or batched like
+ * {@link ScanResultBatcher} does.
+ */
+class RawScanFrames {
+
+    static final int HEADER_LENGTH = 17;
+
+    interface Sink {
+        void onFrames(byte[] frames);
+    }
+
+    private final Handler handler;
+    private final int maxSize;
+    private final long maxLatencyMs;
+    private final Sink sink;
+    private byte[] buffer = new byte[512];
+    private int length;
+    private int count;
+
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    RawScanFrames(Handler handler, int maxSize, long maxLatencyMs, Sink sink) {
+        this.handler = handler;
+        this.maxSize = Math.max(1, maxSize);
+        this.maxLatencyMs = (maxLatencyMs > 0) ? maxLatencyMs : ScanResultBatcher.DEFAULT_MAX_LATENCY_MS;
+        this.sink = sink;
+    }
+
+    /** Whether the settings ask for raw frames instead of ScanResult messages. */
+    static boolean isEnabled(Protos.ScanSettings settings) {
+        return settings.getAndroidRawScanFrames();
+    }
+
+    /** Adds a frame; the record is copied, so the caller may reuse it afterwards. */
+    synchronized void add(long address, int rssi, long timestampNanos, byte[] record) {
+        int recordLength = significantLength(record);
+        ensureCapacity(HEADER_LENGTH + recordLength);
+        int i = length;
+        for(int shift = 40; shift >= 0; shift -= 8) {
+            buffer[i++] = (byte) (address >>> shift);
+        }
+        buffer[i++] = (byte) rssi;
+        for(int shift = 56; shift >= 0; shift -= 8) {
+            buffer[i++] = (byte) (timestampNanos >>> shift);
+        }
+        buffer[i++] = (byte) (recordLength >>> 8);
+        buffer[i++] = (byte) recordLength;
+        if(recordLength > 0) {
+            System.arraycopy(record, 0, buffer, i, recordLength);
+        }
+        length = i + recordLength;
+        count++;
+        if(count >= maxSize) {
+            flush();
+        } else if(count == 1) {
+            handler.postDelayed(flushTask, maxLatencyMs);
+        }
+    }
+
+    synchronized void flush() {
+        handler.removeCallbacks(flushTask);
+        if(count == 0) {
+            return;
+        }
+        byte[] frames = Arrays.copyOf(buffer, length);
+        length = 0;
+        count = 0;
+        sink.onFrames(frames);
+    }
+
+    // Scan records come padded with zeros to the maximum size; only the AD structures are sent.
+    static int significantLength(byte[] record) {
+        if(record == null) {
+            return 0;
+        }
+        int i = 0;
+        while(i < record.length) {
+            int structureLength = record[i] & 0xFF;
+            if(structureLength == 0) {
+                break;
+            }
+            i += structureLength + 1;
+        }
+        return Math.min(i, record.length);
+    }
+
+    private void ensureCapacity(int extra) {
+        if(length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+}
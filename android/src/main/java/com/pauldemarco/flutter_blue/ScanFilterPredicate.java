@@ -0,0 +1,277 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue;
+
+import android.annotation.TargetApi;
+import android.bluetooth.le.ScanFilter;
+import android.os.ParcelUuid;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The {@link Protos.AdvertisementFilter}s of a scan, compiled for matching raw scan records.
+ *
+ * A result passes if it satisfies any one filter, and a filter is satisfied when every field
+ * it sets matches. Matching walks the record once per filter with an
+ * {@link AdvertisementParser.Cursor} and compares bytes in place, so results that are
+ * filtered out never reach the parser or {@link ProtoMaker}.
+ *
+ * The parts Android can evaluate itself are also handed to the scanner as
+ * {@link ScanFilter}s; since the scanner only reports that some filter matched, every result
+ * is still checked here in full. When filters are given, each of the settings' plain
+ * service_uuids counts as one more filter. Not thread-safe; it is only used from the scan callback.
+ */
+class ScanFilterPredicate {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final int NO_MANUFACTURER = -1;
+    private static final int NO_MIN_RSSI = 0;
+
+    private static final class Clause {
+        boolean hasServiceUuid;
+        long serviceUuidMsb;
+        long serviceUuidLsb;
+        int manufacturerId = NO_MANUFACTURER;
+        byte[] manufacturerData;
+        byte[] manufacturerDataMask;
+        byte[] deviceName;
+        byte[] namePrefix;
+        boolean hasServiceDataUuid;
+        long serviceDataUuidMsb;
+        long serviceDataUuidLsb;
+        byte[] serviceData;
+        byte[] serviceDataMask;
+        int minRssi = NO_MIN_RSSI;
+    }
+
+    private final Clause[] clauses;
+    private final AdvertisementParser.Cursor cursor = new AdvertisementParser.Cursor();
+
+    private ScanFilterPredicate(Clause[] clauses) {
+        this.clauses = clauses;
+    }
+
+    /**
+     * Compiles the filters of the settings, or returns null if there are none.
+     *
+     * @throws IllegalArgumentException if a filter is malformed, e.g. has data without its
+     *         manufacturer id or UUID, or a mask of a different length than its data.
+     */
+    static ScanFilterPredicate compile(Protos.ScanSettings settings) {
+        if(settings.getFiltersCount() == 0) {
+            return null;
+        }
+        List<Protos.AdvertisementFilter> filters = filters(settings);
+        Clause[] clauses = new Clause[filters.size()];
+        for(int i = 0; i < clauses.length; i++) {
+            clauses[i] = compile(filters.get(i));
+        }
+        return new ScanFilterPredicate(clauses);
+    }
+
+    private static List<Protos.AdvertisementFilter> filters(Protos.ScanSettings settings) {
+        List<Protos.AdvertisementFilter> filters = new ArrayList<>(settings.getFiltersList());
+        for(String uuid : settings.getServiceUuidsList()) {
+            filters.add(Protos.AdvertisementFilter.newBuilder().setServiceUuid(uuid).build());
+        }
+        return filters;
+    }
+
+    private static Clause compile(Protos.AdvertisementFilter f) {
+        Clause c = new Clause();
+        if(!f.getServiceUuid().isEmpty()) {
+            UUID uuid = UUID.fromString(f.getServiceUuid());
+            c.hasServiceUuid = true;
+            c.serviceUuidMsb = uuid.getMostSignificantBits();
+            c.serviceUuidLsb = uuid.getLeastSignificantBits();
+        }
+        if(f.hasManufacturerId()) {
+            c.manufacturerId = f.getManufacturerId().getValue() & 0xFFFF;
+            c.manufacturerData = f.getManufacturerData().toByteArray();
+            c.manufacturerDataMask = mask(f.getManufacturerDataMask().toByteArray(), c.manufacturerData);
+        } else if(!f.getManufacturerData().isEmpty()) {
+            throw new IllegalArgumentException("manufacturer_data requires manufacturer_id");
+        }
+        if(!f.getDeviceName().isEmpty()) {
+            c.deviceName = f.getDeviceName().getBytes(UTF8);
+        }
+        if(!f.getNamePrefix().isEmpty()) {
+            c.namePrefix = f.getNamePrefix().getBytes(UTF8);
+        }
+        if(!f.getServiceDataUuid().isEmpty()) {
+            UUID uuid = UUID.fromString(f.getServiceDataUuid());
+            c.hasServiceDataUuid = true;
+            c.serviceDataUuidMsb = uuid.getMostSignificantBits();
+            c.serviceDataUuidLsb = uuid.getLeastSignificantBits();
+            c.serviceData = f.getServiceData().toByteArray();
+            c.serviceDataMask = mask(f.getServiceDataMask().toByteArray(), c.serviceData);
+        } else if(!f.getServiceData().isEmpty()) {
+            throw new IllegalArgumentException("service_data requires service_data_uuid");
+        }
+        c.minRssi = f.getMinRssi();
+        return c;
+    }
+
+    private static byte[] mask(byte[] mask, byte[] data) {
+        if(mask.length == 0) {
+            return null;
+        }
+        if(mask.length != data.length) {
+            throw new IllegalArgumentException("data mask must be as long as its data");
+        }
+        return mask;
+    }
+
+    /**
+     * Translates the filters into the subset Android's scanner understands: service UUID,
+     * manufacturer data with mask, exact device name and service data with mask.
+     */
+    @TargetApi(21)
+    static List<ScanFilter> toScanFilters(Protos.ScanSettings settings) {
+        List<Protos.AdvertisementFilter> source = filters(settings);
+        List<ScanFilter> filters = new ArrayList<>(source.size());
+        for(Protos.AdvertisementFilter f : source) {
+            ScanFilter.Builder builder = new ScanFilter.Builder();
+            if(!f.getServiceUuid().isEmpty()) {
+                builder.setServiceUuid(ParcelUuid.fromString(f.getServiceUuid()));
+            }
+            if(f.hasManufacturerId()) {
+                byte[] mask = f.getManufacturerDataMask().toByteArray();
+                builder.setManufacturerData(f.getManufacturerId().getValue() & 0xFFFF,
+                        f.getManufacturerData().toByteArray(), (mask.length == 0) ? null : mask);
+            }
+            if(!f.getDeviceName().isEmpty()) {
+                builder.setDeviceName(f.getDeviceName());
+            }
+            if(!f.getServiceDataUuid().isEmpty()) {
+                byte[] mask = f.getServiceDataMask().toByteArray();
+                builder.setServiceData(ParcelUuid.fromString(f.getServiceDataUuid()),
+                        f.getServiceData().toByteArray(), (mask.length == 0) ? null : mask);
+            }
+            filters.add(builder.build());
+        }
+        return filters;
+    }
+
+    boolean matches(byte[] record, int rssi) {
+        for(Clause c : clauses) {
+            if(matches(c, record, rssi)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matches(Clause c, byte[] record, int rssi) {
+        if(c.minRssi != NO_MIN_RSSI && rssi < c.minRssi) {
+            return false;
+        }
+        boolean needUuid = c.hasServiceUuid;
+        boolean needManufacturer = c.manufacturerId != NO_MANUFACTURER;
+        boolean needName = c.deviceName != null || c.namePrefix != null;
+        boolean needServiceData = c.hasServiceDataUuid;
+        if(!needUuid && !needManufacturer && !needName && !needServiceData) {
+            return true;
+        }
+        if(record == null) {
+            return false;
+        }
+        cursor.reset(record);
+        try {
+            while(cursor.next()) {
+                switch(cursor.type()) {
+                    case AdvertisementParser.TYPE_INCOMPLETE_16_BIT_UUIDS:
+                    case AdvertisementParser.TYPE_COMPLETE_16_BIT_UUIDS:
+                    case AdvertisementParser.TYPE_INCOMPLETE_32_BIT_UUIDS:
+                    case AdvertisementParser.TYPE_COMPLETE_32_BIT_UUIDS:
+                    case AdvertisementParser.TYPE_INCOMPLETE_128_BIT_UUIDS:
+                    case AdvertisementParser.TYPE_COMPLETE_128_BIT_UUIDS:
+                        if(needUuid) {
+                            for(int i = 0, n = cursor.uuidCount(); i < n; i++) {
+                                if(cursor.uuidMsb(i) == c.serviceUuidMsb && cursor.uuidLsb(i) == c.serviceUuidLsb) {
+                                    needUuid = false;
+                                    break;
+                                }
+                            }
+                        }
+                        break;
+                    case AdvertisementParser.TYPE_MANUFACTURER_SPECIFIC_DATA:
+                        if(needManufacturer && cursor.length() >= 2 && cursor.manufacturerId() == c.manufacturerId
+                                && startsWith(cursor, c.manufacturerData, c.manufacturerDataMask)) {
+                            needManufacturer = false;
+                        }
+                        break;
+                    case AdvertisementParser.TYPE_SHORT_LOCAL_NAME:
+                    case AdvertisementParser.TYPE_COMPLETE_LOCAL_NAME:
+                        if(needName && nameMatches(c)) {
+                            needName = false;
+                        }
+                        break;
+                    case AdvertisementParser.TYPE_SERVICE_DATA_16_BIT:
+                    case AdvertisementParser.TYPE_SERVICE_DATA_32_BIT:
+                    case AdvertisementParser.TYPE_SERVICE_DATA_128_BIT:
+                        if(needServiceData && cursor.hasServiceUuid()
+                                && cursor.serviceUuidMsb() == c.serviceDataUuidMsb
+                                && cursor.serviceUuidLsb() == c.serviceDataUuidLsb
+                                && startsWith(cursor, c.serviceData, c.serviceDataMask)) {
+                            needServiceData = false;
+                        }
+                        break;
+                }
+                if(!needUuid && !needManufacturer && !needName && !needServiceData) {
+                    return true;
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // Truncated record: judge it on the structures read so far.
+        }
+        return !needUuid && !needManufacturer && !needName && !needServiceData;
+    }
+
+    private boolean nameMatches(Clause c) {
+        byte[] data = cursor.data();
+        int offset = cursor.offset();
+        int length = cursor.length();
+        if(c.deviceName != null) {
+            if(length != c.deviceName.length || !regionEquals(data, offset, c.deviceName, c.deviceName.length)) {
+                return false;
+            }
+        }
+        if(c.namePrefix != null) {
+            if(length < c.namePrefix.length || !regionEquals(data, offset, c.namePrefix, c.namePrefix.length)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Same rule as Android's ScanFilter: the payload must start with the masked data.
+    private static boolean startsWith(AdvertisementParser.Cursor cursor, byte[] expected, byte[] mask) {
+        if(cursor.payloadLength() < expected.length) {
+            return false;
+        }
+        byte[] data = cursor.data();
+        int offset = cursor.payloadOffset();
+        for(int i = 0; i < expected.length; i++) {
+            int m = (mask == null) ? 0xFF : mask[i];
+            if((data[offset + i] & m) != (expected[i] & m)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean regionEquals(byte[] data, int offset, byte[] expected, int length) {
+        for(int i = 0; i < length; i++) {
+            if(data[offset + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,82 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue;
+
+import android.os.Handler;
+
+/**
+ * Aggregates scan results into {@link Protos.ScanResultBatch} messages so that a burst of
+ * advertisements costs one method channel call instead of one per packet.
+ *
+ * A batch is flushed when it reaches {@code maxSize} results or when its oldest result
+ * has waited {@code maxLatencyMs}, whichever comes first. It is kept serialized, each result
+ * appended as one element of the repeated field, so results from a {@link ScanResultEncoder}
+ * are copied in as they are.
+ */
+class ScanResultBatcher {
+
+    static final int DEFAULT_MAX_LATENCY_MS = 100;
+
+    interface Sink {
+        void onBatch(byte[] batch);
+    }
+
+    private final Handler handler;
+    private final int maxSize;
+    private final long maxLatencyMs;
+    private final Sink sink;
+    private final ScanResultEncoder.Output batch = new ScanResultEncoder.Output(1024);
+    private int count;
+
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    ScanResultBatcher(Handler handler, int maxSize, long maxLatencyMs, Sink sink) {
+        this.handler = handler;
+        this.maxSize = maxSize;
+        this.maxLatencyMs = (maxLatencyMs > 0) ? maxLatencyMs : DEFAULT_MAX_LATENCY_MS;
+        this.sink = sink;
+    }
+
+    /** Whether the settings ask for batched delivery at all. */
+    static boolean isEnabled(Protos.ScanSettings settings) {
+        return settings.getBatchMaxSize() > 1;
+    }
+
+    synchronized void add(Protos.ScanResult result) {
+        byte[] bytes = result.toByteArray();
+        batch.writeField(Protos.ScanResultBatch.RESULTS_FIELD_NUMBER, bytes, 0, bytes.length);
+        added();
+    }
+
+    synchronized void add(ScanResultEncoder.Output result) {
+        batch.writeField(Protos.ScanResultBatch.RESULTS_FIELD_NUMBER, result);
+        added();
+    }
+
+    private void added() {
+        count++;
+        if(count >= maxSize) {
+            flush();
+        } else if(count == 1) {
+            handler.postDelayed(flushTask, maxLatencyMs);
+        }
+    }
+
+    synchronized void flush() {
+        handler.removeCallbacks(flushTask);
+        if(count == 0) {
+            return;
+        }
+        byte[] bytes = batch.toByteArray();
+        batch.clear();
+        count = 0;
+        sink.onBatch(bytes);
+    }
+}
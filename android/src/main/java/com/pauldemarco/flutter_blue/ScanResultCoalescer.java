@@ -0,0 +1,238 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue;
+
+import android.os.Handler;
+import android.os.SystemClock;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps one slot per device and reports each device at most once per interval.
+ *
+ * Every result replaces the previous one in its device's slot and feeds the device's RSSI
+ * filter. The first result of a device is reported at once; later ones are held until the
+ * interval since the last report has passed, and then only the latest result is sent, with
+ * the smoothed RSSI in place of the raw value.
+ */
+class ScanResultCoalescer {
+
+    static final float DEFAULT_EMA_ALPHA = 0.25f;
+    static final float DEFAULT_KALMAN_PROCESS_NOISE = 0.05f;
+    static final float DEFAULT_KALMAN_MEASUREMENT_NOISE = 4f;
+
+    interface Sink {
+        void onScanResult(Protos.ScanResult result);
+    }
+
+    private static final class Slot {
+        final RssiFilter filter;
+        Protos.ScanResult latest;
+        long lastEmitMs;
+        boolean pending;
+
+        Slot(RssiFilter filter) {
+            this.filter = filter;
+        }
+    }
+
+    private final Handler handler;
+    private final long intervalMs;
+    private final Protos.ScanSettings settings;
+    private final Sink sink;
+    private final Map<String, Slot> slots = new HashMap<>();
+    private final List<Slot> pending = new ArrayList<>();
+    private long scheduledDueMs = Long.MAX_VALUE;
+
+    private final Runnable emitTask = new Runnable() {
+        @Override
+        public void run() {
+            emitDue();
+        }
+    };
+
+    ScanResultCoalescer(Handler handler, Protos.ScanSettings settings, Sink sink) {
+        this.handler = handler;
+        this.intervalMs = settings.getCoalesceIntervalMs();
+        this.settings = settings;
+        this.sink = sink;
+    }
+
+    /** Whether the settings ask for per-device coalescing at all. */
+    static boolean isEnabled(Protos.ScanSettings settings) {
+        return settings.getCoalesceIntervalMs() > 0;
+    }
+
+    synchronized void add(Protos.ScanResult result) {
+        String id = result.getDevice().getRemoteId();
+        Slot slot = slots.get(id);
+        if(slot == null) {
+            slot = new Slot(RssiFilter.create(settings));
+            slots.put(id, slot);
+        }
+        slot.filter.update(result.getRssi());
+        slot.latest = result;
+        long now = SystemClock.elapsedRealtime();
+        if(!slot.pending && (slot.lastEmitMs == 0 || now - slot.lastEmitMs >= intervalMs)) {
+            emit(slot, now);
+        } else if(!slot.pending) {
+            slot.pending = true;
+            pending.add(slot);
+            schedule(slot.lastEmitMs + intervalMs, now);
+        }
+    }
+
+    /** Reports every held result now, e.g. when the scan stops. */
+    synchronized void flush() {
+        handler.removeCallbacks(emitTask);
+        scheduledDueMs = Long.MAX_VALUE;
+        long now = SystemClock.elapsedRealtime();
+        for(Slot slot : pending) {
+            emit(slot, now);
+        }
+        pending.clear();
+    }
+
+    private synchronized void emitDue() {
+        scheduledDueMs = Long.MAX_VALUE;
+        long now = SystemClock.elapsedRealtime();
+        long next = Long.MAX_VALUE;
+        for(int i = pending.size() - 1; i >= 0; i--) {
+            Slot slot = pending.get(i);
+            long due = slot.lastEmitMs + intervalMs;
+            if(due <= now) {
+                emit(slot, now);
+                pending.remove(i);
+            } else if(due < next) {
+                next = due;
+            }
+        }
+        if(!pending.isEmpty()) {
+            schedule(next, now);
+        }
+    }
+
+    // Makes sure emitTask runs no later than dueMs.
+    private void schedule(long dueMs, long now) {
+        if(dueMs >= scheduledDueMs) {
+            return;
+        }
+        handler.removeCallbacks(emitTask);
+        handler.postDelayed(emitTask, Math.max(0, dueMs - now));
+        scheduledDueMs = dueMs;
+    }
+
+    private void emit(Slot slot, long now) {
+        slot.pending = false;
+        // Never let lastEmitMs be 0, which marks a device that has not been reported yet.
+        slot.lastEmitMs = Math.max(1, now);
+        Protos.ScanResult result = slot.latest;
+        int rssi = slot.filter.value();
+        if(rssi != result.getRssi()) {
+            result = result.toBuilder().setRssi(rssi).build();
+        }
+        sink.onScanResult(result);
+    }
+
+    /** Smooths the RSSI readings of a single device. */
+    abstract static class RssiFilter {
+
+        abstract void update(int rssi);
+
+        abstract int value();
+
+        static RssiFilter create(Protos.ScanSettings settings) {
+            switch(settings.getRssiFilter()) {
+                case EMA:
+                    return new Ema(positiveOr(settings.getRssiEmaAlpha(), DEFAULT_EMA_ALPHA));
+                case KALMAN:
+                    return new Kalman(positiveOr(settings.getRssiKalmanProcessNoise(), DEFAULT_KALMAN_PROCESS_NOISE),
+                            positiveOr(settings.getRssiKalmanMeasurementNoise(), DEFAULT_KALMAN_MEASUREMENT_NOISE));
+                default:
+                    return new Latest();
+            }
+        }
+
+        private static float positiveOr(float value, float fallback) {
+            return (value > 0) ? value : fallback;
+        }
+    }
+
+    static final class Latest extends RssiFilter {
+        private int rssi;
+
+        @Override
+        void update(int rssi) {
+            this.rssi = rssi;
+        }
+
+        @Override
+        int value() {
+            return rssi;
+        }
+    }
+
+    /** Exponential moving average, seeded with the first reading. */
+    static final class Ema extends RssiFilter {
+        private final double alpha;
+        private double estimate;
+        private boolean seeded;
+
+        Ema(float alpha) {
+            this.alpha = Math.min(1f, alpha);
+        }
+
+        @Override
+        void update(int rssi) {
+            if(!seeded) {
+                estimate = rssi;
+                seeded = true;
+            } else {
+                estimate += alpha * (rssi - estimate);
+            }
+        }
+
+        @Override
+        int value() {
+            return (int) Math.round(estimate);
+        }
+    }
+
+    /** One-dimensional Kalman filter assuming a constant signal level between readings. */
+    static final class Kalman extends RssiFilter {
+        private final double processNoise;
+        private final double measurementNoise;
+        private double estimate;
+        private double errorCovariance;
+        private boolean seeded;
+
+        Kalman(float processNoise, float measurementNoise) {
+            this.processNoise = processNoise;
+            this.measurementNoise = measurementNoise;
+        }
+
+        @Override
+        void update(int rssi) {
+            if(!seeded) {
+                estimate = rssi;
+                errorCovariance = measurementNoise;
+                seeded = true;
+                return;
+            }
+            errorCovariance += processNoise;
+            double gain = errorCovariance / (errorCovariance + measurementNoise);
+            estimate += gain * (rssi - estimate);
+            errorCovariance *= (1 - gain);
+        }
+
+        @Override
+        int value() {
+            return (int) Math.round(estimate);
+        }
+    }
+}
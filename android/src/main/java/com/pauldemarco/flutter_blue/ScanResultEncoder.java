@@ -0,0 +1,369 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue;
+
+import android.annotation.TargetApi;
+import android.bluetooth.BluetoothDevice;
+import android.bluetooth.le.ScanRecord;
+import android.bluetooth.le.ScanResult;
+import android.os.Build;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Writes the {@link Protos.ScanResult} of an advertisement straight from its scan record,
+ * byte for byte what {@link ProtoMaker} and {@code toByteArray()} produce, without building
+ * the message.
+ *
+ * The record is walked with an {@link AdvertisementParser.Cursor} once per field, in field
+ * number order, and written into buffers that are reused from one result to the next. The
+ * device comes serialized from {@link DeviceProtoCache}. A record that repeats a company
+ * identifier or a service data UUID goes through {@link AdvertisementParser} instead, since
+ * only the map of the generated message knows which position and value each key ends up with.
+ *
+ * Not thread safe. The result stays in {@link #output()} until the next call.
+ */
+final class ScanResultEncoder {
+
+    static final int WIRE_VARINT = 0;
+    static final int WIRE_LENGTH_DELIMITED = 2;
+
+    // -1 for "from the flags": the API 21 path before API 26, like ScanRecord.getAdvertiseFlags()
+    private static final int CONNECTABLE_FROM_FLAGS = -1;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final Output result = new Output(128);
+    private final Output advertisement = new Output(128);
+    private final AdvertisementParser.Cursor cursor = new AdvertisementParser.Cursor();
+    private final AdvertisementParser.Cursor earlier = new AdvertisementParser.Cursor();
+
+    // Singular fields of the current record, found by scan()
+    private String localName;
+    private int txPowerLevel;
+    private boolean hasTxPowerLevel;
+    private int flags;
+    private boolean hasFlags;
+    private int appearance;
+    private boolean hasAppearance;
+    private boolean repeatsKey;
+
+    /** The encoded result of the last call. */
+    Output output() {
+        return result;
+    }
+
+    /**
+     * Encodes what {@link ProtoMaker#from(BluetoothDevice, byte[], int, DeviceProtoCache)}
+     * builds.
+     *
+     * @throws ArrayIndexOutOfBoundsException if the record is truncated, as the parser does.
+     */
+    ScanResultEncoder encode(BluetoothDevice device, byte[] record, int rssi, DeviceProtoCache devices) {
+        boolean hasAdvertisement = record != null && record.length > 0;
+        if(hasAdvertisement) {
+            encodeAdvertisement(record, 0);
+        } else {
+            localName = null;
+        }
+        return encodeResult(devices.getEncoded(device, advertisedName()), hasAdvertisement, rssi);
+    }
+
+    /** Encodes what {@link ProtoMaker#from(BluetoothDevice, ScanResult, DeviceProtoCache)} builds. */
+    @TargetApi(21)
+    ScanResultEncoder encode(ScanResult scanResult, DeviceProtoCache devices) {
+        ScanRecord scanRecord = scanResult.getScanRecord();
+        byte[] bytes = (scanRecord != null) ? scanRecord.getBytes() : null;
+        int connectable;
+        if(Build.VERSION.SDK_INT >= 26) {
+            connectable = scanResult.isConnectable() ? 1 : 0;
+        } else {
+            connectable = (scanRecord != null) ? CONNECTABLE_FROM_FLAGS : 0;
+        }
+        try {
+            encodeAdvertisement((bytes != null) ? bytes : EMPTY, connectable);
+        } catch(ArrayIndexOutOfBoundsException e) {
+            // A malformed record; report the device without its advertisement
+            localName = null;
+            hasFlags = false;
+            advertisement.clear();
+            writeConnectable(connectable);
+        }
+        return encodeResult(devices.getEncoded(scanResult.getDevice(), advertisedName()), true, scanResult.getRssi());
+    }
+
+    private String advertisedName() {
+        return (localName == null || localName.isEmpty()) ? null : localName;
+    }
+
+    private ScanResultEncoder encodeResult(byte[] device, boolean hasAdvertisement, int rssi) {
+        result.clear();
+        result.writeField(1, device, 0, device.length);
+        if(hasAdvertisement) {
+            result.writeField(2, advertisement);
+        }
+        if(rssi != 0) {
+            result.writeTag(3, WIRE_VARINT);
+            result.writeVarint(rssi);
+        }
+        return this;
+    }
+
+    /** Encodes {@link Protos.AdvertisementData} into {@link #advertisement}, setting localName. */
+    private void encodeAdvertisement(byte[] record, int connectable) {
+        scan(record);
+        advertisement.clear();
+        if(repeatsKey) {
+            byte[] bytes = fallback(record, connectable);
+            advertisement.writeBytes(bytes, 0, bytes.length);
+            return;
+        }
+        if(advertisedName() != null) {
+            byte[] name = localName.getBytes(StandardCharsets.UTF_8);
+            advertisement.writeField(1, name, 0, name.length);
+        }
+        if(hasTxPowerLevel) {
+            writeInt32Value(2, txPowerLevel);
+        }
+        writeConnectable(connectable);
+        cursor.reset(record);
+        while(cursor.next()) {
+            if(cursor.type() == AdvertisementParser.TYPE_MANUFACTURER_SPECIFIC_DATA) {
+                int id = cursor.manufacturerId();
+                int n = cursor.payloadLength();
+                advertisement.writeTag(4, WIRE_LENGTH_DELIMITED);
+                advertisement.writeVarint(1 + Output.varintSize(id) + 1 + Output.varintSize(n) + n);
+                advertisement.writeTag(1, WIRE_VARINT);
+                advertisement.writeVarint(id);
+                advertisement.writeField(2, cursor.data(), cursor.payloadOffset(), n);
+            }
+        }
+        cursor.reset(record);
+        while(cursor.next()) {
+            if(cursor.hasServiceUuid()) {
+                String uuid = ShortUuid.toString(cursor.serviceUuidMsb(), cursor.serviceUuidLsb());
+                int n = cursor.payloadLength();
+                advertisement.writeTag(5, WIRE_LENGTH_DELIMITED);
+                advertisement.writeVarint(1 + Output.varintSize(uuid.length()) + uuid.length() + 1 + Output.varintSize(n) + n);
+                advertisement.writeField(1, uuid);
+                advertisement.writeField(2, cursor.data(), cursor.payloadOffset(), n);
+            }
+        }
+        writeUuidLists(record, 6, false);
+        if(hasFlags) {
+            writeInt32Value(7, flags);
+        }
+        if(hasAppearance) {
+            writeInt32Value(8, appearance);
+        }
+        writeUuidLists(record, 9, true);
+    }
+
+    // Finds the singular fields and checks the record the way AdvertisementParser would.
+    private void scan(byte[] record) {
+        localName = null;
+        hasTxPowerLevel = false;
+        hasFlags = false;
+        hasAppearance = false;
+        repeatsKey = false;
+        boolean seenLongLocalName = false;
+        cursor.reset(record);
+        while(cursor.next()) {
+            switch(cursor.type()) {
+                case AdvertisementParser.TYPE_FLAGS:
+                    if(cursor.length() >= 1) {
+                        flags = record[cursor.offset()] & 0xFF;
+                        hasFlags = true;
+                    }
+                    break;
+                case AdvertisementParser.TYPE_APPEARANCE:
+                    if(cursor.length() >= 2) {
+                        appearance = cursor.appearance();
+                        hasAppearance = true;
+                    }
+                    break;
+                case AdvertisementParser.TYPE_SHORT_LOCAL_NAME:
+                case AdvertisementParser.TYPE_COMPLETE_LOCAL_NAME:
+                    if(!seenLongLocalName) {
+                        localName = new String(record, cursor.offset(), cursor.length(), StandardCharsets.UTF_8);
+                        seenLongLocalName = cursor.type() == AdvertisementParser.TYPE_COMPLETE_LOCAL_NAME;
+                    }
+                    break;
+                case AdvertisementParser.TYPE_TX_POWER_LEVEL:
+                    if(cursor.length() >= 1) {
+                        txPowerLevel = cursor.txPowerLevel();
+                        hasTxPowerLevel = true;
+                    }
+                    break;
+                case AdvertisementParser.TYPE_SERVICE_DATA_16_BIT:
+                case AdvertisementParser.TYPE_SERVICE_DATA_32_BIT:
+                case AdvertisementParser.TYPE_SERVICE_DATA_128_BIT:
+                    if(!cursor.hasServiceUuid()) {
+                        throw new ArrayIndexOutOfBoundsException("Not enough data for Service data.");
+                    }
+                    repeatsKey |= repeatsKey(record);
+                    break;
+                case AdvertisementParser.TYPE_MANUFACTURER_SPECIFIC_DATA:
+                    if(cursor.length() < 2) {
+                        throw new ArrayIndexOutOfBoundsException("Not enough data for Manufacturer specific data.");
+                    }
+                    repeatsKey |= repeatsKey(record);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    // Whether a structure before the cursor's carries the same map key.
+    private boolean repeatsKey(byte[] record) {
+        boolean manufacturer = cursor.type() == AdvertisementParser.TYPE_MANUFACTURER_SPECIFIC_DATA;
+        earlier.reset(record);
+        while(earlier.next() && earlier.offset() < cursor.offset()) {
+            if(manufacturer) {
+                if(earlier.type() == AdvertisementParser.TYPE_MANUFACTURER_SPECIFIC_DATA
+                        && earlier.manufacturerId() == cursor.manufacturerId()) {
+                    return true;
+                }
+            } else if(earlier.hasServiceUuid()
+                    && earlier.serviceUuidMsb() == cursor.serviceUuidMsb()
+                    && earlier.serviceUuidLsb() == cursor.serviceUuidLsb()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private byte[] fallback(byte[] record, int connectable) {
+        Protos.AdvertisementData.Builder a = AdvertisementParser.toBuilder(new AdvertisementParser.Cursor(record));
+        if(connectable != 0) {
+            a.setConnectable(isConnectable(connectable));
+        }
+        return a.build().toByteArray();
+    }
+
+    private boolean isConnectable(int connectable) {
+        if(connectable == CONNECTABLE_FROM_FLAGS) {
+            return ((hasFlags ? flags : -1) & 0x2) > 0;
+        }
+        return connectable == 1;
+    }
+
+    private void writeConnectable(int connectable) {
+        if(isConnectable(connectable)) {
+            advertisement.writeTag(3, WIRE_VARINT);
+            advertisement.writeVarint(1);
+        }
+    }
+
+    private void writeUuidLists(byte[] record, int field, boolean solicitation) {
+        cursor.reset(record);
+        while(cursor.next()) {
+            if(isSolicitation(cursor.type()) != solicitation) {
+                continue;
+            }
+            for(int i = 0, n = cursor.uuidCount(); i < n; i++) {
+                advertisement.writeField(field, ShortUuid.toString(cursor.uuidMsb(i), cursor.uuidLsb(i)));
+            }
+        }
+    }
+
+    private static boolean isSolicitation(int type) {
+        return type == AdvertisementParser.TYPE_SOLICITATION_16_BIT_UUIDS
+                || type == AdvertisementParser.TYPE_SOLICITATION_32_BIT_UUIDS
+                || type == AdvertisementParser.TYPE_SOLICITATION_128_BIT_UUIDS;
+    }
+
+    // An Int32Value message, whose value is left out when zero like any proto3 scalar.
+    private void writeInt32Value(int field, int value) {
+        advertisement.writeTag(field, WIRE_LENGTH_DELIMITED);
+        if(value == 0) {
+            advertisement.writeVarint(0);
+            return;
+        }
+        advertisement.writeVarint(1 + Output.varintSize(value));
+        advertisement.writeTag(1, WIRE_VARINT);
+        advertisement.writeVarint(value);
+    }
+
+    /** A growable byte array written with the primitives of the protobuf wire format. */
+    static final class Output {
+        private byte[] bytes;
+        private int length;
+
+        Output(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        int length() {
+            return length;
+        }
+
+        void clear() {
+            length = 0;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+
+        void writeTag(int field, int wireType) {
+            writeVarint((field << 3) | wireType);
+        }
+
+        /** Writes an int32 or int64; negative values take ten bytes, as in protobuf. */
+        void writeVarint(long value) {
+            ensureCapacity(10);
+            while((value & ~0x7FL) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        void writeBytes(byte[] src, int offset, int count) {
+            ensureCapacity(count);
+            System.arraycopy(src, offset, bytes, length, count);
+            length += count;
+        }
+
+        void writeField(int field, byte[] src, int offset, int count) {
+            writeTag(field, WIRE_LENGTH_DELIMITED);
+            writeVarint(count);
+            writeBytes(src, offset, count);
+        }
+
+        void writeField(int field, Output src) {
+            writeField(field, src.bytes, 0, src.length);
+        }
+
+        /** A string field of ASCII characters only, such as a UUID. */
+        void writeField(int field, String ascii) {
+            int count = ascii.length();
+            writeTag(field, WIRE_LENGTH_DELIMITED);
+            writeVarint(count);
+            ensureCapacity(count);
+            for(int i = 0; i < count; i++) {
+                bytes[length++] = (byte) ascii.charAt(i);
+            }
+        }
+
+        static int varintSize(long value) {
+            int size = 1;
+            while((value & ~0x7FL) != 0) {
+                value >>>= 7;
+                size++;
+            }
+            return size;
+        }
+
+        private void ensureCapacity(int extra) {
+            if(length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves scan result conversion off the scan callback thread.
+ *
+ * The callback {@link #offer}s raw results into a bounded lock-free ring (a Vyukov-style
+ * queue with a sequence number per cell) and returns immediately; a single worker thread
+ * takes them out, converts them with the {@link Converter} and hands the protos to the
+ * {@link Sink}. When the ring is full the {@link Protos.ScanSettings.OverflowPolicy}
+ * decides what is lost.
+ *
+ * Only one thread may call {@link #offer} at a time; Android delivers scan callbacks on a
+ * single thread.
+ */
+class ScanResultPipeline<T> {
+
+    /** How long {@link #shutdown} waits for the worker to deliver what is already queued. */
+    static final long SHUTDOWN_TIMEOUT_MS = 250;
+
+    interface Converter<T> {
+        /** Packed device address used to coalesce results, see {@link MacAddress#pack}. */
+        long deviceKey(T item);
+
+        Protos.ScanResult convert(T item);
+    }
+
+    interface Sink {
+        void onScanResult(Protos.ScanResult result);
+    }
+
+    private final int mask;
+    private final AtomicReferenceArray<T> items;
+    private final AtomicLongArray sequences;
+    private final long[] enqueueTimes;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    private final Protos.ScanSettings.OverflowPolicy policy;
+    private final Converter<T> converter;
+    private final Sink sink;
+    private final Thread worker;
+    private final AtomicBoolean waiting = new AtomicBoolean();
+    private volatile boolean running = true;
+    // Set, with the lock held, when shutdown gave up waiting; nothing is delivered after that.
+    private final Object deliveryLock = new Object();
+    private boolean abandoned;
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong maxDepth = new AtomicLong();
+    private final AtomicLong queueNanos = new AtomicLong();
+    private final AtomicLong convertNanos = new AtomicLong();
+
+    ScanResultPipeline(int capacity, Protos.ScanSettings.OverflowPolicy policy, Converter<T> converter, Sink sink) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.items = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        this.enqueueTimes = new long[size];
+        for(int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.policy = policy;
+        this.converter = converter;
+        this.sink = sink;
+        this.worker = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                drainLoop();
+            }
+        }, "FlutterBlueScanPipeline");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /** Whether the settings ask for the conversion to run on the pipeline worker. */
+    static boolean isEnabled(Protos.ScanSettings settings) {
+        return settings.getAndroidPipelineCapacity() > 0;
+    }
+
+    /** Queues a raw result for conversion. Never blocks. */
+    void offer(T item) {
+        received.incrementAndGet();
+        long now = System.nanoTime();
+        while(!tryEnqueue(item, now)) {
+            switch(policy) {
+                case DROP_NEWEST:
+                    dropped.incrementAndGet();
+                    return;
+                case COALESCE_BY_DEVICE:
+                    if(tryReplace(item)) {
+                        coalesced.incrementAndGet();
+                        return;
+                    }
+                    // Nothing pending for this device; make room like DROP_OLDEST.
+                    dropOldest();
+                    break;
+                default:
+                    dropOldest();
+                    break;
+            }
+        }
+        long depth = tail.get() - head.get();
+        if(depth > maxDepth.get()) {
+            maxDepth.set(depth);
+        }
+        if(waiting.get()) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    /**
+     * Stops the worker once the results already queued have been delivered, and waits up to
+     * {@code timeoutMs} for it. Results it has not delivered by then are dropped, so none
+     * reach the sink after this returns.
+     */
+    void shutdown(long timeoutMs) {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(timeoutMs);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized(deliveryLock) {
+            abandoned = worker.isAlive();
+        }
+    }
+
+    Protos.ScanPipelineStats stats() {
+        long count = Math.max(1, delivered.get());
+        return Protos.ScanPipelineStats.newBuilder()
+                .setReceived(received.get())
+                .setDelivered(delivered.get())
+                .setDropped(dropped.get())
+                .setCoalesced(coalesced.get())
+                .setQueueDepth(Math.max(0, tail.get() - head.get()))
+                .setMaxQueueDepth(maxDepth.get())
+                .setAvgQueueLatencyUs(queueNanos.get() / count / 1000)
+                .setAvgConvertLatencyUs(convertNanos.get() / count / 1000)
+                .build();
+    }
+
+    private void dropOldest() {
+        if(poll(false) != null) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private boolean tryEnqueue(T item, long now) {
+        long pos = tail.get();
+        int index = (int) pos & mask;
+        if(sequences.get(index) != pos) {
+            // The cell still holds an item from the previous lap: the ring is full.
+            return false;
+        }
+        // A volatile write, so that the worker's waiting flag and this cannot both be missed.
+        tail.set(pos + 1);
+        enqueueTimes[index] = now;
+        items.set(index, item);
+        sequences.set(index, pos + 1);
+        return true;
+    }
+
+    // Swaps a still-pending result for the same device with the newer one.
+    private boolean tryReplace(T item) {
+        long key = converter.deviceKey(item);
+        if(key == MacAddress.INVALID) {
+            return false;
+        }
+        for(long pos = tail.get() - 1; pos >= head.get(); pos--) {
+            int index = (int) pos & mask;
+            T pending = items.get(index);
+            if(pending != null && converter.deviceKey(pending) == key) {
+                // Fails if the worker took the item in the meantime.
+                return items.compareAndSet(index, pending, item);
+            }
+        }
+        return false;
+    }
+
+    private T poll(boolean account) {
+        while(true) {
+            long pos = head.get();
+            int index = (int) pos & mask;
+            long seq = sequences.get(index);
+            if(seq < pos + 1) {
+                return null;
+            }
+            if(seq == pos + 1 && head.compareAndSet(pos, pos + 1)) {
+                T item = items.getAndSet(index, null);
+                long enqueued = enqueueTimes[index];
+                sequences.set(index, pos + mask + 1);
+                if(account) {
+                    queueNanos.addAndGet(System.nanoTime() - enqueued);
+                }
+                return item;
+            }
+        }
+    }
+
+    private void drainLoop() {
+        while(true) {
+            T item = poll(true);
+            if(item == null) {
+                if(!running) {
+                    return;
+                }
+                waiting.set(true);
+                if(head.get() == tail.get() && running) {
+                    LockSupport.park(this);
+                }
+                waiting.set(false);
+                continue;
+            }
+            long start = System.nanoTime();
+            Protos.ScanResult result = converter.convert(item);
+            convertNanos.addAndGet(System.nanoTime() - start);
+            synchronized(deliveryLock) {
+                if(abandoned) {
+                    return;
+                }
+                delivered.incrementAndGet();
+                sink.onScanResult(result);
+            }
+        }
+    }
+}
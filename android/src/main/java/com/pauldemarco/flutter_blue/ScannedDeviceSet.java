@@ -0,0 +1,43 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue;
+
+/**
+ * Set of device addresses already reported during the current scan.
+ *
+ * Addresses are stored packed (see {@link MacAddress}) in an {@link AddressTable}, so a
+ * lookup never allocates. Not thread-safe; it is only touched from the scan callback and
+ * from startScan.
+ */
+class ScannedDeviceSet {
+
+    private final AddressTable table = new AddressTable(0);
+
+    /**
+     * Records the address if it has not been seen yet.
+     *
+     * @return true if the address was not already in the set. Malformed addresses are
+     *         never recorded and always return true so that the result is still delivered.
+     */
+    boolean add(String address) {
+        return add(MacAddress.pack(address));
+    }
+
+    boolean add(long key) {
+        return key == MacAddress.INVALID || table.add(key) < 0;
+    }
+
+    boolean contains(long key) {
+        return table.find(key) >= 0;
+    }
+
+    int size() {
+        return table.size();
+    }
+
+    void clear() {
+        table.clear();
+    }
+}
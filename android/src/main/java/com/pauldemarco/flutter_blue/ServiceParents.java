@@ -0,0 +1,39 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue;
+
+import android.bluetooth.BluetoothGattService;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Which service includes each secondary service of a connection.
+ *
+ * Android only links a service to the services it includes, not back, so attributes of a
+ * secondary service would otherwise need a search of the whole service tree each. Built in
+ * one pass over the discovered services; if several services include the same secondary
+ * service the last one wins, and a secondary service included by another secondary service
+ * maps to that one, both as the search did.
+ */
+class ServiceParents {
+
+    private final Map<UUID, UUID> parents = new HashMap<>();
+
+    ServiceParents(List<BluetoothGattService> services) {
+        for(BluetoothGattService s : services) {
+            for(BluetoothGattService ss : s.getIncludedServices()) {
+                parents.put(ss.getUuid(), s.getUuid());
+            }
+        }
+    }
+
+    /** The service including {@code secondaryService}, or null if there is none. */
+    UUID parentOf(UUID secondaryService) {
+        return parents.get(secondaryService);
+    }
+}
@@ -0,0 +1,73 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue;
+
+import java.util.UUID;
+
+/**
+ * Conversions between 16/32-bit Bluetooth SIG assigned numbers and their 128-bit form.
+ *
+ * Short UUIDs are expanded arithmetically against the Bluetooth Base UUID
+ * (00000000-0000-1000-8000-00805F9B34FB) rather than by formatting and re-parsing a
+ * string, and the canonical strings of the 16-bit range are cached once built.
+ */
+final class ShortUuid {
+
+    static final long BASE_UUID_MSB = 0x0000000000001000L;
+    static final long BASE_UUID_LSB = 0x800000805F9B34FBL;
+
+    private static final String BASE_SUFFIX = "-0000-1000-8000-00805f9b34fb";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    // Filled lazily; racing writers store equal strings, so no synchronization is needed.
+    private static final String[] CACHE = new String[0x10000];
+
+    private ShortUuid() {}
+
+    /** Most significant bits of the 128-bit UUID for a 16 or 32-bit value. */
+    static long msb(long shortValue) {
+        return ((shortValue & 0xFFFFFFFFL) << 32) | BASE_UUID_MSB;
+    }
+
+    static UUID toUuid(long shortValue) {
+        return new UUID(msb(shortValue), BASE_UUID_LSB);
+    }
+
+    /** Whether the UUID lies on the Bluetooth Base UUID, i.e. has a 32-bit short form. */
+    static boolean isShort(long msb, long lsb) {
+        return lsb == BASE_UUID_LSB && (msb & 0xFFFFFFFFL) == BASE_UUID_MSB;
+    }
+
+    /** Canonical lower-case string of a UUID, identical to {@link UUID#toString()}. */
+    static String toString(UUID uuid) {
+        return toString(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /** Canonical lower-case string of the UUID with the given bits, identical to {@link UUID#toString()}. */
+    static String toString(long msb, long lsb) {
+        if(!isShort(msb, lsb)) {
+            return new UUID(msb, lsb).toString();
+        }
+        long value = msb >>> 32;
+        if(value > 0xFFFF) {
+            return format(value);
+        }
+        String s = CACHE[(int) value];
+        if(s == null) {
+            s = format(value);
+            CACHE[(int) value] = s;
+        }
+        return s;
+    }
+
+    private static String format(long value) {
+        char[] out = new char[8];
+        for(int i = 7; i >= 0; i--) {
+            out[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        return new String(out).concat(BASE_SUFFIX);
+    }
+}
@@ -0,0 +1,112 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue
+
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertTrue
+
+class AddressTableTest {
+
+    // Keys whose home slot is the last one of a fresh table, so that their probes wrap to slot 0.
+    private fun keysInLastSlot(count: Int): List<Long> {
+        val mask = AddressTable.INITIAL_CAPACITY - 1
+        return generateSequence(1L) { it + 1 }
+            .filter { AddressTable.mix(it) and mask == mask }
+            .take(count)
+            .toList()
+    }
+
+    @Test
+    fun addTellsNewKeysFromPresentOnes() {
+        val table = AddressTable(1)
+        val key = MacAddress.pack("00:11:22:33:44:55")
+
+        val added = table.add(key)
+        assertTrue(added < 0)
+        assertEquals(-added - 1, table.add(key))
+        assertEquals(-added - 1, table.find(key))
+        assertEquals(1, table.size())
+    }
+
+    @Test
+    fun probesWrapAroundTheEndOfTheTable() {
+        val table = AddressTable(1)
+        val keys = keysInLastSlot(3)
+        for (key in keys) {
+            val offset = -table.add(key) - 1
+            table.entries()[offset] = key * 7
+        }
+
+        val offsets = keys.map { table.find(it) }
+        assertEquals(3, offsets.toSet().size)
+        for ((key, offset) in keys.zip(offsets)) {
+            assertEquals(key * 7, table.entries()[offset])
+        }
+        // Two of them sit at the start of the array, after the wrap
+        assertEquals(2, offsets.count { it < 2 * 2 })
+        // A miss that starts in the same slot stops at the first empty entry
+        assertEquals(-1, table.find(keysInLastSlot(4).last()))
+    }
+
+    @Test
+    fun growsPastHalfLoadAndKeepsValues() {
+        val table = AddressTable(2)
+        val count = AddressTable.INITIAL_CAPACITY * 4
+        for (i in 0 until count) {
+            val key = 0xC0FFEE000000L + i
+            val offset = -table.add(key) - 1
+            val entries = table.entries()
+            entries[offset] = i.toLong()
+            entries[offset + 1] = -i.toLong()
+        }
+
+        assertEquals(count, table.size())
+        assertTrue(table.entries().size >= count * 2 * 3)
+        for (i in 0 until count) {
+            val offset = table.find(0xC0FFEE000000L + i)
+            assertEquals(i.toLong(), table.entries()[offset])
+            assertEquals(-i.toLong(), table.entries()[offset + 1])
+        }
+    }
+
+    @Test
+    fun grownEntriesStartAtZero() {
+        val table = AddressTable(1)
+        for (i in 0..AddressTable.INITIAL_CAPACITY / 2) {
+            val offset = -table.add(i + 1L) - 1
+            table.entries()[offset] = 42
+        }
+        val offset = -table.add(0xABCDEFL) - 1
+        assertEquals(0, table.entries()[offset])
+    }
+
+    @Test
+    fun invalidAddressIsNeverAKey() {
+        val table = AddressTable(0)
+        assertEquals(-1, table.find(MacAddress.INVALID))
+        assertFailsWith<IllegalArgumentException> { table.add(MacAddress.INVALID) }
+        assertEquals(0, table.size())
+    }
+
+    @Test
+    fun clearRemovesEveryKey() {
+        val table = AddressTable(1)
+        for (i in 1..300) {
+            val offset = -table.add(i.toLong()) - 1
+            table.entries()[offset] = 9
+        }
+
+        table.clear()
+
+        assertEquals(0, table.size())
+        for (i in 1..300) {
+            assertEquals(-1, table.find(i.toLong()))
+        }
+        val offset = -table.add(5) - 1
+        assertEquals(0, table.entries()[offset])
+    }
+}
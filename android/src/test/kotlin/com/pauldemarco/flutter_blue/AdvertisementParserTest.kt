@@ -0,0 +1,152 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue
+
+import java.nio.ByteBuffer
+import java.util.UUID
+import kotlin.test.Test
+import kotlin.test.assertContentEquals
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+
+class AdvertisementParserTest {
+
+    private val nus = UUID.fromString("6e400001-b5a3-f393-e0a9-e50e24dcca9e")
+
+    // One AD structure: length, type, data
+    private fun ad(type: Int, vararg data: Int) =
+        byteArrayOf((data.size + 1).toByte(), type.toByte()) + ByteArray(data.size) { data[it].toByte() }
+
+    private fun ad(type: Int, data: ByteArray) = byteArrayOf((data.size + 1).toByte(), type.toByte()) + data
+
+    // A 128-bit UUID as it goes over the air, least significant byte first
+    private fun littleEndian(uuid: UUID): ByteArray {
+        val bytes = ByteBuffer.allocate(16).putLong(uuid.mostSignificantBits).putLong(uuid.leastSignificantBits).array()
+        bytes.reverse()
+        return bytes
+    }
+
+    @Test
+    fun readsServiceDataWithA128BitUuid() {
+        val record = ad(AdvertisementParser.TYPE_SERVICE_DATA_128_BIT, littleEndian(nus) + byteArrayOf(1, 2, 3))
+
+        val data = AdvertisementParser.parse(record)
+
+        assertEquals(setOf(nus.toString()), data.serviceDataMap.keys)
+        assertContentEquals(byteArrayOf(1, 2, 3), data.serviceDataMap[nus.toString()]!!.toByteArray())
+        val cursor = AdvertisementParser.Cursor(record)
+        assertTrue(cursor.next())
+        assertEquals(nus.mostSignificantBits, cursor.serviceUuidMsb())
+        assertEquals(nus.leastSignificantBits, cursor.serviceUuidLsb())
+    }
+
+    @Test
+    fun readsShortServiceDataUuids() {
+        val record = ad(AdvertisementParser.TYPE_SERVICE_DATA_16_BIT, 0x0F, 0x18, 0x64) +
+            ad(AdvertisementParser.TYPE_SERVICE_DATA_32_BIT, 0xEF, 0xBE, 0xED, 0xFE)
+
+        val data = AdvertisementParser.parse(record)
+
+        assertContentEquals(byteArrayOf(0x64), data.serviceDataMap["0000180f-0000-1000-8000-00805f9b34fb"]!!.toByteArray())
+        assertEquals(0, data.serviceDataMap["feedbeef-0000-1000-8000-00805f9b34fb"]!!.size())
+    }
+
+    @Test
+    fun readsServiceUuidLists() {
+        val record = ad(AdvertisementParser.TYPE_COMPLETE_16_BIT_UUIDS, 0x0D, 0x18, 0x0F, 0x18) +
+            ad(AdvertisementParser.TYPE_COMPLETE_128_BIT_UUIDS, littleEndian(nus)) +
+            ad(AdvertisementParser.TYPE_SOLICITATION_32_BIT_UUIDS, 0x01, 0x00, 0x01, 0x00)
+
+        val data = AdvertisementParser.parse(record)
+
+        assertEquals(
+            listOf("0000180d-0000-1000-8000-00805f9b34fb", "0000180f-0000-1000-8000-00805f9b34fb", nus.toString()),
+            data.serviceUuidsList)
+        assertEquals(listOf("00010001-0000-1000-8000-00805f9b34fb"), data.solicitedServiceUuidsList)
+    }
+
+    @Test
+    fun manufacturerIdsAreUnsigned() {
+        val record = ad(AdvertisementParser.TYPE_MANUFACTURER_SPECIFIC_DATA, 0x01, 0x80, 0xAA) +
+            ad(AdvertisementParser.TYPE_MANUFACTURER_SPECIFIC_DATA, 0xFF, 0xFF) +
+            ad(AdvertisementParser.TYPE_MANUFACTURER_SPECIFIC_DATA, 0x4C, 0x00, 0x02, 0x15)
+
+        val data = AdvertisementParser.parse(record)
+
+        assertEquals(setOf(0x8001, 0xFFFF, 0x004C), data.manufacturerDataMap.keys)
+        assertContentEquals(byteArrayOf(0xAA.toByte()), data.manufacturerDataMap[0x8001]!!.toByteArray())
+        assertEquals(0, data.manufacturerDataMap[0xFFFF]!!.size())
+        assertContentEquals(byteArrayOf(0x02, 0x15), data.manufacturerDataMap[0x004C]!!.toByteArray())
+    }
+
+    @Test
+    fun readsScalarFields() {
+        val record = ad(AdvertisementParser.TYPE_FLAGS, 0x06) +
+            ad(AdvertisementParser.TYPE_TX_POWER_LEVEL, 0xF4) +
+            ad(AdvertisementParser.TYPE_APPEARANCE, 0x41, 0x03) +
+            ad(AdvertisementParser.TYPE_COMPLETE_LOCAL_NAME, "Thermometer".toByteArray()) +
+            ad(AdvertisementParser.TYPE_SHORT_LOCAL_NAME, "Thermo".toByteArray())
+
+        val data = AdvertisementParser.parse(record)
+
+        assertEquals(6, data.flags.value)
+        assertEquals(-12, data.txPowerLevel.value)
+        assertEquals(0x0341, data.appearance.value)
+        // The complete name wins over the short one, whichever comes first
+        assertEquals("Thermometer", data.localName)
+    }
+
+    @Test
+    fun stopsAtTheTerminator() {
+        val record = ad(AdvertisementParser.TYPE_FLAGS, 0x06) + ByteArray(20)
+
+        val cursor = AdvertisementParser.Cursor(record)
+        assertTrue(cursor.next())
+        assertFalse(cursor.next())
+        assertFalse(cursor.next())
+        assertEquals(6, AdvertisementParser.parse(record).flags.value)
+    }
+
+    @Test
+    fun rejectsTruncatedStructures() {
+        // Claims five bytes of data, has two
+        val truncated = ad(AdvertisementParser.TYPE_FLAGS, 0x06) + byteArrayOf(6, 0xFF.toByte(), 0x4C, 0x00)
+        val cursor = AdvertisementParser.Cursor(truncated)
+        assertTrue(cursor.next())
+        assertFailsWith<ArrayIndexOutOfBoundsException> { cursor.next() }
+        assertFailsWith<ArrayIndexOutOfBoundsException> { AdvertisementParser.parse(truncated) }
+        // A length byte with nothing after it
+        assertFailsWith<ArrayIndexOutOfBoundsException> { AdvertisementParser.parse(byteArrayOf(1)) }
+    }
+
+    @Test
+    fun rejectsStructuresTooShortForTheirHeader() {
+        assertFailsWith<ArrayIndexOutOfBoundsException> {
+            AdvertisementParser.parse(ad(AdvertisementParser.TYPE_MANUFACTURER_SPECIFIC_DATA, 0x4C))
+        }
+        assertFailsWith<ArrayIndexOutOfBoundsException> {
+            AdvertisementParser.parse(ad(AdvertisementParser.TYPE_SERVICE_DATA_128_BIT, littleEndian(nus).copyOf(15)))
+        }
+        assertFailsWith<ArrayIndexOutOfBoundsException> {
+            AdvertisementParser.parse(ad(AdvertisementParser.TYPE_SERVICE_DATA_16_BIT, 0x0F))
+        }
+    }
+
+    @Test
+    fun cursorWalksASliceOfALargerArray() {
+        val record = ad(AdvertisementParser.TYPE_FLAGS, 0x06) + ad(AdvertisementParser.TYPE_TX_POWER_LEVEL, 0x00)
+        val framed = byteArrayOf(9, 9) + record + byteArrayOf(3, 9, 9, 9)
+
+        val cursor = AdvertisementParser.Cursor().reset(framed, 2, record.size)
+        val types = mutableListOf<Int>()
+        while (cursor.next()) {
+            types.add(cursor.type())
+        }
+
+        assertEquals(listOf(AdvertisementParser.TYPE_FLAGS, AdvertisementParser.TYPE_TX_POWER_LEVEL), types)
+    }
+}
@@ -0,0 +1,41 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue
+
+import java.lang.management.ManagementFactory
+import org.junit.Assume
+
+/**
+ * Timing harness of the *Benchmark classes. They are skipped unless the tests run with
+ * `./gradlew test -PflutterBlue.benchmarks=true`, and they print their figures rather than
+ * assert on them.
+ */
+internal object Benchmarks {
+
+    class Result(val nanosPerOp: Double, val bytesPerOp: Double)
+
+    val threads = ManagementFactory.getThreadMXBean() as com.sun.management.ThreadMXBean
+
+    fun assumeEnabled() {
+        Assume.assumeTrue("benchmarks are off", System.getProperty("flutterBlue.benchmarks") == "true")
+    }
+
+    /** Runs [op] with 0 until [ops] after as many warm-up calls, and prints time and allocation per call. */
+    inline fun measure(name: String, ops: Int, op: (Int) -> Unit): Result {
+        for (i in 0 until ops) {
+            op(i)
+        }
+        val thread = Thread.currentThread().id
+        val bytes = threads.getThreadAllocatedBytes(thread)
+        val start = System.nanoTime()
+        for (i in 0 until ops) {
+            op(i)
+        }
+        val nanos = System.nanoTime() - start
+        val result = Result(nanos.toDouble() / ops, (threads.getThreadAllocatedBytes(thread) - bytes).toDouble() / ops)
+        println(String.format("%-56s %10.1f ns/op %10.1f B/op", name, result.nanosPerOp, result.bytesPerOp))
+        return result
+    }
+}
@@ -0,0 +1,128 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue
+
+import android.bluetooth.BluetoothGatt
+import android.bluetooth.BluetoothGattCharacteristic
+import android.os.Handler
+import android.os.SystemClock
+import com.google.protobuf.ByteString
+import io.flutter.plugin.common.MethodChannel.Result
+import java.util.concurrent.atomic.AtomicReference
+import kotlin.test.AfterTest
+import kotlin.test.BeforeTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+import org.mockito.ArgumentMatchers.any
+import org.mockito.ArgumentMatchers.anyLong
+import org.mockito.MockedStatic
+import org.mockito.Mockito
+import org.mockito.Mockito.never
+import org.mockito.Mockito.verify
+
+class BulkWriteTest {
+
+    private val kind = GattOperationQueue.Kind.WRITE_CHARACTERISTIC
+
+    private var timeout: Runnable? = null
+    private val handler = Mockito.mock(Handler::class.java)
+    private val gatt = Mockito.mock(BluetoothGatt::class.java)
+    private val characteristic = Mockito.mock(BluetoothGattCharacteristic::class.java)
+    private val active = AtomicReference<BulkWrite>()
+    private val progress = ArrayList<Protos.BulkWriteProgress>()
+    private lateinit var clock: MockedStatic<SystemClock>
+    private lateinit var queue: GattOperationQueue
+
+    @BeforeTest
+    fun setUp() {
+        clock = Mockito.mockStatic(SystemClock::class.java)
+        Mockito.doAnswer { timeout = it.getArgument(0); true }.`when`(handler).postDelayed(any(), anyLong())
+        Mockito.doAnswer { timeout = null; null }.`when`(handler).removeCallbacks(any())
+        Mockito.`when`(gatt.writeCharacteristic(characteristic)).thenReturn(true)
+        queue = GattOperationQueue(handler, { it.run() }, 1000)
+    }
+
+    @AfterTest
+    fun tearDown() = clock.close()
+
+    // Enqueues a transfer of three chunks
+    private fun enqueue(result: Result): BulkWrite {
+        val request = Protos.WriteCharacteristicBulkRequest.newBuilder()
+                .setRemoteId("AA:BB:CC:DD:EE:01")
+                .setTransferId(1)
+                .setValue(ByteString.copyFrom(ByteArray(9)))
+                .build()
+        val transfer = BulkWrite(gatt, characteristic, request, 3, queue, active, BulkWrite.Sink { progress.add(Protos.BulkWriteProgress.parseFrom(it)) })
+        queue.enqueue(kind, characteristic, "write_characteristic_error", result, transfer)
+        return transfer
+    }
+
+    @Test
+    fun answersWithSuccessAfterTheLastChunk() {
+        val result = Mockito.mock(Result::class.java)
+        val transfer = enqueue(result)
+
+        repeat(3) { transfer.onChunkWritten(true) }
+
+        verify(result).success(null)
+        assertTrue(progress.last().done)
+        assertEquals(9, progress.last().bytesWritten)
+        assertNull(active.get())
+    }
+
+    @Test
+    fun answersAFailedChunkWithAnError() {
+        val result = Mockito.mock(Result::class.java)
+        val transfer = enqueue(result)
+
+        transfer.onChunkWritten(true)
+        transfer.onChunkWritten(false)
+
+        verify(result, never()).success(null)
+        verify(result).error("write_characteristic_error", "write failed at offset 3", null)
+        assertEquals("write failed at offset 3", progress.last().error)
+        assertFalse(queue.stats().inFlight)
+    }
+
+    @Test
+    fun reportsATransferThatCannotStart() {
+        Mockito.`when`(gatt.writeCharacteristic(characteristic)).thenReturn(false)
+        val result = Mockito.mock(Result::class.java)
+
+        enqueue(result)
+
+        verify(result).error("write_characteristic_error", "writeCharacteristic failed", null)
+        assertTrue(progress.single().done)
+        assertEquals("writeCharacteristic failed", progress.single().error)
+        assertNull(active.get())
+    }
+
+    @Test
+    fun dropsTheLateCallbackAfterATimeout() {
+        val result = Mockito.mock(Result::class.java)
+        val transfer = enqueue(result)
+        val next = Mockito.mock(Result::class.java)
+        queue.enqueue(GattOperationQueue.Kind.READ_CHARACTERISTIC, characteristic, "read_error", next, GattOperationQueue.Operation {})
+
+        timeout!!.run()
+
+        verify(result).error("write_characteristic_error", "timed out", null)
+        // Still owns the write callback of the chunk in flight
+        assertTrue(transfer.writes(characteristic))
+
+        transfer.onChunkWritten(true)
+
+        assertFalse(transfer.writes(characteristic))
+        assertNull(active.get())
+        verify(result, never()).success(null)
+        assertEquals(1, progress.size)
+        // The queue moved on to the next operation
+        queue.onComplete(GattOperationQueue.Kind.READ_CHARACTERISTIC, characteristic)
+        verify(next).success(null)
+    }
+}
@@ -0,0 +1,94 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue
+
+import android.os.Handler
+import io.flutter.plugin.common.BinaryMessenger
+import io.flutter.plugin.common.MethodChannel
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.test.AfterTest
+import kotlin.test.BeforeTest
+import kotlin.test.Test
+import org.mockito.ArgumentMatchers.any
+import org.mockito.Mockito
+
+// Events delivered per second from a binder-like thread, posting each event to the main thread
+// under a lock as invokeMethodUIThread used to, and through ChannelDispatcher. A single thread
+// executor stands in for the main looper; the mocked Handler.post costs more than a real one,
+// so posts per event is the figure that carries over to a device.
+class ChannelDispatcherBenchmark {
+
+    private val main = Executors.newSingleThreadExecutor()
+    private val posts = AtomicInteger()
+    private val handler = Mockito.mock(Handler::class.java, Mockito.withSettings().stubOnly())
+    private val payload = ByteArray(64)
+
+    // Counts the events instead of sending them to an engine
+    private class CountingChannel : MethodChannel(Mockito.mock(BinaryMessenger::class.java), "benchmark") {
+        @Volatile
+        var done = CountDownLatch(0)
+
+        override fun invokeMethod(method: String, arguments: Any?) {
+            done.countDown()
+        }
+    }
+
+    private val channel = CountingChannel()
+
+    @BeforeTest
+    fun setUp() {
+        Benchmarks.assumeEnabled()
+        Mockito.doAnswer {
+            posts.incrementAndGet()
+            main.execute(it.getArgument(0))
+            true
+        }.`when`(handler).post(any())
+    }
+
+    @AfterTest
+    fun tearDown() {
+        main.shutdownNow()
+    }
+
+    @Test
+    fun postPerEventUnderALock() {
+        val lock = Any()
+        run("Handler.post per event, under a lock", 100_000) {
+            handler.post {
+                synchronized(lock) {
+                    channel.invokeMethod("OnCharacteristicChanged", payload)
+                }
+            }
+        }
+    }
+
+    @Test
+    fun channelDispatcher() {
+        val dispatcher = ChannelDispatcher(handler)
+        dispatcher.attach(channel)
+        run("ChannelDispatcher", 100_000) {
+            dispatcher.invokeMethod("OnCharacteristicChanged", payload)
+        }
+    }
+
+    private fun run(name: String, events: Int, send: () -> Unit) {
+        for (round in 0..1) {
+            // The first round warms up
+            channel.done = CountDownLatch(events)
+            posts.set(0)
+            val start = System.nanoTime()
+            for (i in 0 until events) {
+                send()
+            }
+            channel.done.await()
+            val seconds = (System.nanoTime() - start) / 1e9
+            if (round == 1) {
+                println(String.format("%-56s %10.0f events/s %6.3f posts/event", name, events / seconds, posts.get().toDouble() / events))
+            }
+        }
+    }
+}
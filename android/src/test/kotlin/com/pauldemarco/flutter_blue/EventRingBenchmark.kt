@@ -0,0 +1,64 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue
+
+import kotlin.test.BeforeTest
+import kotlin.test.Test
+
+// The producer side of EventRing: the cost of offering a notification-sized event, with a
+// reader that keeps up by moving the read cursor in place as a native one would, with
+// read() copying the frames out, and with no reader at all until the ring overflows.
+class EventRingBenchmark {
+
+    private val payload = ByteArray(64)
+    private val ring = EventRing(1 shl 20, EventRing.Sink {})
+
+    @BeforeTest
+    fun setUp() {
+        Benchmarks.assumeEnabled()
+    }
+
+    private fun readInPlace() {
+        val buffer = ring.buffer()
+        buffer.putLong(EventRing.READ_CURSOR_OFFSET, buffer.getLong(EventRing.WRITE_CURSOR_OFFSET))
+    }
+
+    private fun printStats() {
+        val stats = ring.stats()
+        println(String.format("%-56s %d events, %d dropped, max fill %d of %d bytes, %d signals",
+                "", stats.events, stats.droppedEvents, stats.maxFill, stats.capacity, stats.signals))
+    }
+
+    @Test
+    fun offerWithAReaderInPlace() {
+        Benchmarks.measure("EventRing.offer, read in place every 1024", 1_000_000) { i ->
+            ring.offer("OnCharacteristicValue", payload)
+            if (i and 1023 == 1023) {
+                readInPlace()
+            }
+        }
+        printStats()
+    }
+
+    @Test
+    fun offerWithACopyingReader() {
+        Benchmarks.measure("EventRing.offer, read() every 1024", 1_000_000) { i ->
+            ring.offer("OnCharacteristicValue", payload)
+            if (i and 1023 == 1023) {
+                ring.read()
+            }
+        }
+        printStats()
+    }
+
+    @Test
+    fun offerIntoAFullRing() {
+        // The warm-up fills the ring, so every measured event is dropped
+        Benchmarks.measure("EventRing.offer, no reader", 1_000_000) {
+            ring.offer("OnCharacteristicValue", payload)
+        }
+        printStats()
+    }
+}
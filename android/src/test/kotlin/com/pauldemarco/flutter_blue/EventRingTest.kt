@@ -0,0 +1,83 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue
+
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+
+class EventRingTest {
+
+    private var cursors = ArrayList<Long>()
+    private val ring = EventRing(EventRing.MIN_CAPACITY) { cursors.add(it) }
+
+    // The frames of one read, as (method, payload) pairs
+    private fun frames(read: ByteArray): List<Pair<String, List<Byte>>> {
+        val data = ByteBuffer.wrap(read).order(ByteOrder.LITTLE_ENDIAN)
+        val frames = ArrayList<Pair<String, List<Byte>>>()
+        var offset = 0
+        while (offset < read.size) {
+            val length = data.getInt(offset)
+            val method = EventRing.METHODS[data.getInt(offset + 4)]
+            frames.add(method to read.copyOfRange(offset + 8, offset + 8 + length).toList())
+            offset += (8 + length + 7) and 7.inv()
+        }
+        return frames
+    }
+
+    @Test
+    fun carriesOnlyItsMethods() {
+        assertTrue(ring.offer("OnCharacteristicChanged", byteArrayOf(1, 2, 3)))
+        assertFalse(ring.offer("DeviceState", byteArrayOf(4)))
+
+        assertEquals(listOf("OnCharacteristicChanged" to listOf<Byte>(1, 2, 3)), frames(ring.read()))
+    }
+
+    @Test
+    fun signalsOncePerRead() {
+        ring.offer("ScanResult", ByteArray(5))
+        ring.offer("ScanResult", ByteArray(5))
+        assertEquals(listOf(16L), cursors)
+
+        ring.read()
+        ring.offer("ScanResult", ByteArray(5))
+        assertEquals(listOf(16L, 48L), cursors)
+        assertEquals(2L, ring.stats().signals)
+    }
+
+    @Test
+    fun wrapsFramesToTheStart() {
+        val payload = ByteArray(1000) { it.toByte() }
+        repeat(20) { round ->
+            ring.offer("OnCharacteristicValue", payload)
+            ring.offer("ScanResultBatch", byteArrayOf(round.toByte()))
+            assertEquals(listOf("OnCharacteristicValue" to payload.toList(), "ScanResultBatch" to listOf(round.toByte())), frames(ring.read()))
+        }
+        assertEquals(0L, ring.stats().droppedEvents)
+        assertEquals(0L, ring.stats().fill)
+    }
+
+    @Test
+    fun dropsWhatDoesNotFitAndCountsIt() {
+        val payload = ByteArray(1000)
+        repeat(5) { ring.offer("OnCharacteristicValue", payload) }
+
+        var stats = ring.stats()
+        assertEquals(4L, stats.events)
+        assertEquals(1L, stats.droppedEvents)
+        assertEquals(1000L, stats.droppedBytes)
+        assertEquals(4032L, stats.fill)
+        assertEquals(4032L, stats.maxFill)
+
+        assertEquals(4, frames(ring.read()).size)
+        stats = ring.stats()
+        assertEquals(0L, stats.fill)
+        assertEquals(4032L, stats.maxFill)
+        assertTrue(ring.offer("OnCharacteristicValue", payload))
+    }
+}
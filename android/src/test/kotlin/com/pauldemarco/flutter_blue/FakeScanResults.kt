@@ -0,0 +1,56 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue
+
+import android.bluetooth.BluetoothDevice
+import android.bluetooth.le.ScanRecord
+import android.bluetooth.le.ScanResult
+import android.os.SystemClock
+import org.mockito.MockedStatic
+import org.mockito.Mockito
+
+/**
+ * Scan callback inputs for JVM tests: mocks of the framework's final classes that answer only
+ * what the plugin reads from them.
+ */
+internal object FakeScanResults {
+
+    // Without recording calls, which the tests do not verify
+    private fun stubOnly() = Mockito.withSettings().stubOnly()
+
+    fun device(address: String, name: String? = null, type: Int = BluetoothDevice.DEVICE_TYPE_LE): BluetoothDevice {
+        val device = Mockito.mock(BluetoothDevice::class.java, stubOnly())
+        Mockito.`when`(device.address).thenReturn(address)
+        Mockito.`when`(device.name).thenReturn(name)
+        Mockito.`when`(device.type).thenReturn(type)
+        return device
+    }
+
+    /** A result for [device]; a null [record] stands for a result without a ScanRecord. */
+    fun result(device: BluetoothDevice, record: ByteArray?, rssi: Int, connectable: Boolean = true): ScanResult {
+        val result = Mockito.mock(ScanResult::class.java, stubOnly())
+        Mockito.`when`(result.device).thenReturn(device)
+        Mockito.`when`(result.rssi).thenReturn(rssi)
+        Mockito.`when`(result.isConnectable).thenReturn(connectable)
+        if (record != null) {
+            val scanRecord = Mockito.mock(ScanRecord::class.java, stubOnly())
+            Mockito.`when`(scanRecord.bytes).thenReturn(record)
+            Mockito.`when`(result.scanRecord).thenReturn(scanRecord)
+        }
+        return result
+    }
+
+    /** Stops the clock read by [DeviceProtoCache] at [millis], on the calling thread only. */
+    fun clock(millis: Long = 1000): MockedStatic<SystemClock> {
+        val clock = Mockito.mockStatic(SystemClock::class.java, stubOnly())
+        clock.`when`<Long> { SystemClock.elapsedRealtime() }.thenReturn(millis)
+        return clock
+    }
+
+    /** AD structure of [type] holding [data]. */
+    fun ad(type: Int, vararg data: Int) = byteArrayOf((data.size + 1).toByte(), type.toByte()) + ByteArray(data.size) { data[it].toByte() }
+
+    fun ad(type: Int, text: String) = byteArrayOf((text.length + 1).toByte(), type.toByte()) + text.toByteArray()
+}
@@ -0,0 +1,48 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue
+
+import android.bluetooth.BluetoothGattCharacteristic
+import android.bluetooth.BluetoothGattService
+import java.util.UUID
+import java.util.concurrent.atomic.AtomicLong
+import org.mockito.Mockito
+
+/**
+ * Discovered services for JVM tests: mocks of the framework classes that answer the getters
+ * the plugin walks the service tree with, and count how often they are called.
+ */
+internal class FakeServices {
+
+    /** Calls made to the getters of the services and characteristics built here. */
+    val calls = AtomicLong()
+
+    fun service(uuid: UUID, primary: Boolean, included: List<BluetoothGattService> = emptyList(), characteristics: Int = 0): BluetoothGattService {
+        lateinit var service: BluetoothGattService
+        val chars = ArrayList<BluetoothGattCharacteristic>()
+        service = Mockito.mock(BluetoothGattService::class.java, Mockito.withSettings().stubOnly().defaultAnswer { invocation ->
+            calls.incrementAndGet()
+            when (invocation.method.name) {
+                "getUuid" -> uuid
+                "getType" -> if (primary) BluetoothGattService.SERVICE_TYPE_PRIMARY else BluetoothGattService.SERVICE_TYPE_SECONDARY
+                "getIncludedServices" -> included
+                "getCharacteristics" -> chars
+                else -> null
+            }
+        })
+        for (i in 0 until characteristics) {
+            val charUuid = ShortUuid.toUuid(0x2A00L + i)
+            chars.add(Mockito.mock(BluetoothGattCharacteristic::class.java, Mockito.withSettings().stubOnly().defaultAnswer { invocation ->
+                calls.incrementAndGet()
+                when (invocation.method.name) {
+                    "getUuid" -> charUuid
+                    "getService" -> service
+                    else -> null
+                }
+            }))
+        }
+        return service
+    }
+}
@@ -0,0 +1,189 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue
+
+import android.bluetooth.BluetoothAdapter
+import android.bluetooth.BluetoothDevice
+import android.bluetooth.BluetoothGatt
+import android.bluetooth.BluetoothGattCallback
+import android.bluetooth.BluetoothManager
+import android.bluetooth.BluetoothProfile
+import android.os.Handler
+import android.os.Looper
+import io.flutter.plugin.common.MethodCall
+import io.flutter.plugin.common.MethodChannel.Result
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+import org.mockito.Mockito
+import org.mockito.invocation.InvocationOnMock
+
+// Connects and disconnects from two platform threads while two binder threads deliver connection
+// state callbacks, against a fake stack, and checks that every connection ends up closed once.
+class FlutterBluePluginConnectionTest {
+
+    private val addresses = listOf("AA:BB:CC:DD:EE:01", "AA:BB:CC:DD:EE:02", "AA:BB:CC:DD:EE:03")
+
+    /** One BluetoothGatt of the fake stack. */
+    private inner class Link(val device: BluetoothDevice, val callback: BluetoothGattCallback) {
+        val gatt: BluetoothGatt = Mockito.mock(BluetoothGatt::class.java, Mockito.withSettings().stubOnly().defaultAnswer(::answer))
+        val closes = AtomicInteger()
+        // Guarded by this
+        var state = BluetoothProfile.STATE_CONNECTING
+        var disconnectRequested = false
+
+        private fun answer(invocation: InvocationOnMock): Any? = when (invocation.method.name) {
+            "getDevice" -> device
+            "connect" -> synchronized(this) {
+                disconnectRequested = false
+                if (state == BluetoothProfile.STATE_DISCONNECTED) {
+                    state = BluetoothProfile.STATE_CONNECTING
+                }
+                closes.get() == 0
+            }
+            "disconnect" -> synchronized(this) {
+                disconnectRequested = state != BluetoothProfile.STATE_DISCONNECTED
+                null
+            }
+            "close" -> {
+                closes.incrementAndGet()
+                null
+            }
+            else -> null
+        }
+
+        val connected: Boolean
+            get() = synchronized(this) { closes.get() == 0 && state == BluetoothProfile.STATE_CONNECTED }
+
+        /** Delivers the link's next state change, if it has one; false if it is idle. */
+        fun step(random: ThreadLocalRandom): Boolean {
+            val newState = synchronized(this) {
+                if (closes.get() > 0 || state == BluetoothProfile.STATE_DISCONNECTED) {
+                    return false
+                }
+                state = when {
+                    disconnectRequested -> BluetoothProfile.STATE_DISCONNECTED
+                    state == BluetoothProfile.STATE_CONNECTING && random.nextInt(4) != 0 -> BluetoothProfile.STATE_CONNECTED
+                    random.nextInt(4) == 0 -> BluetoothProfile.STATE_DISCONNECTED
+                    else -> return false
+                }
+                disconnectRequested = false
+                state
+            }
+            // Outside the lock, as the stack does not wait for the app either; a close can race it
+            callback.onConnectionStateChange(gatt, BluetoothGatt.GATT_SUCCESS, newState)
+            return true
+        }
+    }
+
+    private val links = ConcurrentLinkedQueue<Link>()
+
+    private fun device(address: String): BluetoothDevice {
+        lateinit var device: BluetoothDevice
+        device = Mockito.mock(BluetoothDevice::class.java, Mockito.withSettings().stubOnly().defaultAnswer { invocation ->
+            when (invocation.method.name) {
+                "getAddress" -> address
+                "getType" -> BluetoothDevice.DEVICE_TYPE_LE
+                "connectGatt" -> Link(device, invocation.getArgument(2)).also { links.add(it) }.gatt
+                else -> null
+            }
+        })
+        return device
+    }
+
+    private val devices = addresses.associateWith { device(it) }
+
+    private val plugin: FlutterBluePlugin = Mockito.mockStatic(Looper::class.java).use {
+        Mockito.mockConstruction(Handler::class.java).use { FlutterBluePlugin() }
+    }
+
+    init {
+        val adapter = Mockito.mock(BluetoothAdapter::class.java, Mockito.withSettings().stubOnly().defaultAnswer { invocation ->
+            if (invocation.method.name == "getRemoteDevice") devices[invocation.getArgument<String>(0)] else null
+        })
+        val manager = Mockito.mock(BluetoothManager::class.java, Mockito.withSettings().stubOnly().defaultAnswer { invocation ->
+            if (invocation.method.name == "getConnectedDevices") links.filter { it.connected }.map { it.device }.distinct() else null
+        })
+        setField("mBluetoothAdapter", adapter)
+        setField("mBluetoothManager", manager)
+    }
+
+    private fun setField(name: String, value: Any) {
+        val field = FlutterBluePlugin::class.java.getDeclaredField(name)
+        field.isAccessible = true
+        field.set(plugin, value)
+    }
+
+    private val ignored = object : Result {
+        override fun success(result: Any?) {}
+
+        override fun error(errorCode: String, errorMessage: String?, errorDetails: Any?) {}
+
+        override fun notImplemented() {}
+    }
+
+    private fun connect(address: String) {
+        val request = Protos.ConnectRequest.newBuilder().setRemoteId(address).build()
+        plugin.onMethodCall(MethodCall("connect", request.toByteArray()), ignored)
+    }
+
+    private fun disconnect(address: String) = plugin.onMethodCall(MethodCall("disconnect", address), ignored)
+
+    @Test
+    fun closesEveryConnectionOnce() {
+        val running = AtomicBoolean(true)
+        val errors = ConcurrentLinkedQueue<Throwable>()
+        val done = CountDownLatch(4)
+        fun thread(body: (ThreadLocalRandom) -> Unit) = Thread {
+            try {
+                val random = ThreadLocalRandom.current()
+                while (running.get()) {
+                    body(random)
+                }
+            } catch (t: Throwable) {
+                errors.add(t)
+            } finally {
+                done.countDown()
+            }
+        }.start()
+
+        repeat(2) {
+            thread { random ->
+                val address = addresses[random.nextInt(addresses.size)]
+                if (random.nextBoolean()) connect(address) else disconnect(address)
+            }
+        }
+        repeat(2) {
+            thread { random ->
+                val live = links.filter { it.closes.get() == 0 }
+                if (live.isNotEmpty()) {
+                    live[random.nextInt(live.size)].step(random)
+                } else {
+                    Thread.yield()
+                }
+            }
+        }
+        Thread.sleep(2000)
+        running.set(false)
+        assertTrue(done.await(10, TimeUnit.SECONDS))
+        assertEquals(emptyList(), errors.toList())
+
+        // Disconnect everything and let the stack report it
+        addresses.forEach { disconnect(it) }
+        val random = ThreadLocalRandom.current()
+        while (links.any { it.step(random) }) {
+        }
+
+        assertTrue(links.size > 100, "only ${links.size} connections were made")
+        assertEquals(emptyList(), links.filter { it.closes.get() > 1 }.map { it.closes.get() }, "closed more than once")
+        assertEquals(0, links.count { it.closes.get() == 0 }, "never closed")
+    }
+}
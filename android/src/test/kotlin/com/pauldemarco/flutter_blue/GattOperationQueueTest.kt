@@ -0,0 +1,207 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue
+
+import android.os.Handler
+import android.os.SystemClock
+import io.flutter.plugin.common.MethodChannel.Result
+import kotlin.test.AfterTest
+import kotlin.test.BeforeTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+import org.mockito.ArgumentMatchers.any
+import org.mockito.ArgumentMatchers.anyLong
+import org.mockito.MockedStatic
+import org.mockito.Mockito
+import org.mockito.Mockito.never
+import org.mockito.Mockito.verify
+
+class GattOperationQueueTest {
+
+    private val kind = GattOperationQueue.Kind.READ_CHARACTERISTIC
+    private val characteristic = Any()
+
+    // The timeout posted to the handler, if one is pending
+    private var timeout: Runnable? = null
+    private val handler = Mockito.mock(Handler::class.java)
+    private lateinit var clock: MockedStatic<SystemClock>
+    private lateinit var queue: GattOperationQueue
+
+    private class Started : GattOperationQueue.Operation {
+        var count = 0
+
+        override fun start() {
+            count++
+        }
+    }
+
+    private class Transfer : GattOperationQueue.Cancellable {
+        var cancelledWith: String? = null
+
+        override fun start() {}
+
+        override fun cancel(reason: String) {
+            cancelledWith = reason
+        }
+    }
+
+    @BeforeTest
+    fun setUp() {
+        clock = Mockito.mockStatic(SystemClock::class.java)
+        Mockito.doAnswer { timeout = it.getArgument(0); true }.`when`(handler).postDelayed(any(), anyLong())
+        Mockito.doAnswer { timeout = null; null }.`when`(handler).removeCallbacks(any())
+        // Replies run at once instead of on the main thread
+        queue = GattOperationQueue(handler, { it.run() }, 1000)
+    }
+
+    @AfterTest
+    fun tearDown() = clock.close()
+
+    private fun result() = Mockito.mock(Result::class.java)
+
+    private fun fireTimeout() {
+        val task = timeout!!
+        timeout = null
+        task.run()
+    }
+
+    @Test
+    fun runsOneOperationAtATime() {
+        val first = Started()
+        val second = Started()
+        val firstResult = result()
+        val secondResult = result()
+
+        queue.enqueue(kind, characteristic, "read_error", firstResult, first)
+        queue.enqueue(kind, characteristic, "read_error", secondResult, second)
+
+        assertEquals(1, first.count)
+        assertEquals(0, second.count)
+        verify(firstResult, never()).success(null)
+
+        queue.onComplete(kind, characteristic)
+
+        verify(firstResult).success(null)
+        assertEquals(1, second.count)
+        verify(secondResult, never()).success(null)
+    }
+
+    @Test
+    fun ignoresCompletionsOfOtherOperations() {
+        val second = Started()
+        queue.enqueue(kind, characteristic, "read_error", result(), Started())
+        queue.enqueue(kind, characteristic, "read_error", result(), second)
+
+        queue.onComplete(GattOperationQueue.Kind.WRITE_CHARACTERISTIC, characteristic)
+        queue.onComplete(kind, Any())
+
+        assertEquals(0, second.count)
+    }
+
+    @Test
+    fun answersATimedOutOperationWithAnError() {
+        val timedOut = result()
+        queue.enqueue(kind, characteristic, "read_error", timedOut, Started())
+
+        fireTimeout()
+
+        verify(timedOut).error("read_error", "timed out", null)
+        assertEquals(1, queue.stats().timedOut)
+    }
+
+    @Test
+    fun staysBlockedUntilTheLateCallback() {
+        val next = Started()
+        val nextResult = result()
+        queue.enqueue(kind, characteristic, "read_error", result(), Started())
+        queue.enqueue(kind, characteristic, "read_error", nextResult, next)
+
+        fireTimeout()
+
+        // Android still holds the first read
+        assertEquals(0, next.count)
+        assertTrue(queue.stats().inFlight)
+
+        // The late callback of the first read, same kind and attribute as the next
+        queue.onComplete(kind, characteristic)
+
+        assertEquals(1, next.count)
+        verify(nextResult, never()).success(null)
+        queue.onComplete(kind, characteristic)
+        verify(nextResult).success(null)
+    }
+
+    @Test
+    fun doesNotTimeOutTwice() {
+        val timedOut = result()
+        queue.enqueue(kind, characteristic, "read_error", timedOut, Started())
+
+        fireTimeout()
+        queue.extend()
+
+        assertEquals(null, timeout)
+        verify(timedOut).error("read_error", "timed out", null)
+    }
+
+    @Test
+    fun cancelsATimedOutTransfer() {
+        val transfer = Transfer()
+        val transferResult = result()
+        queue.enqueue(GattOperationQueue.Kind.WRITE_CHARACTERISTIC, characteristic, "bulk_error", transferResult, transfer)
+
+        fireTimeout()
+
+        assertEquals("timed out", transfer.cancelledWith)
+        verify(transferResult).error("bulk_error", "timed out", null)
+    }
+
+    @Test
+    fun disconnectFailsEverythingAndUnblocks() {
+        val inFlight = result()
+        val queued = result()
+        queue.enqueue(kind, characteristic, "read_error", inFlight, Started())
+        queue.enqueue(kind, characteristic, "read_error", queued, Started())
+
+        queue.cancelAll("device disconnected")
+
+        verify(inFlight).error("read_error", "device disconnected", null)
+        verify(queued).error("read_error", "device disconnected", null)
+        assertFalse(queue.stats().inFlight)
+
+        val after = Started()
+        queue.enqueue(kind, characteristic, "read_error", result(), after)
+        assertEquals(1, after.count)
+    }
+
+    @Test
+    fun disconnectUnblocksATimedOutOperation() {
+        val timedOut = result()
+        val next = Started()
+        queue.enqueue(kind, characteristic, "read_error", timedOut, Started())
+        queue.enqueue(kind, characteristic, "read_error", result(), next)
+        fireTimeout()
+
+        queue.cancelAll("device disconnected")
+
+        // Already answered when it timed out
+        verify(timedOut, never()).error("read_error", "device disconnected", null)
+        assertEquals(0, next.count)
+        assertFalse(queue.stats().inFlight)
+    }
+
+    @Test
+    fun movesOnWhenTheStackRefuses() {
+        val refused = result()
+        val next = Started()
+        queue.enqueue(kind, characteristic, "read_error", refused, GattOperationQueue.Operation { throw Exception("readCharacteristic failed") })
+        queue.enqueue(kind, characteristic, "read_error", result(), next)
+
+        verify(refused).error("read_error", "readCharacteristic failed", null)
+        assertEquals(1, next.count)
+        assertEquals(1, queue.stats().failed)
+    }
+}
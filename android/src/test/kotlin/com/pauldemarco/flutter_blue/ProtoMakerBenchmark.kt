@@ -0,0 +1,44 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue
+
+import android.os.SystemClock
+import com.pauldemarco.flutter_blue.FakeScanResults.ad
+import kotlin.test.BeforeTest
+import kotlin.test.Test
+
+// Bytes allocated per scan result by ProtoMaker.from(device, ScanResult). Calls into the fakes
+// are slow and allocate, so the calls the conversion makes are measured alone and subtracted;
+// the difference in time is noise, the difference in bytes is what the conversion allocates.
+class ProtoMakerBenchmark {
+
+    private val devices = DeviceProtoCache(DeviceProtoCache.DEFAULT_CAPACITY, DeviceProtoCache.DEFAULT_TTL_MS)
+    private val device = FakeScanResults.device("AA:BB:CC:DD:EE:01", "Thermometer")
+
+    private val record = ad(AdvertisementParser.TYPE_FLAGS, 0x06) +
+            ad(AdvertisementParser.TYPE_COMPLETE_LOCAL_NAME, "Sensor") +
+            ad(AdvertisementParser.TYPE_COMPLETE_16_BIT_UUIDS, 0x1A, 0x18) +
+            ad(AdvertisementParser.TYPE_SERVICE_DATA_16_BIT, 0x1A, 0x18, 1, 2) +
+            ad(AdvertisementParser.TYPE_MANUFACTURER_SPECIFIC_DATA, 0x4C, 0x00, 3, 4) +
+            ByteArray(31)
+    private val result = FakeScanResults.result(device, record, -60)
+
+    // Keeps the results alive
+    private var sink = 0
+
+    @BeforeTest
+    fun enabled() = Benchmarks.assumeEnabled()
+
+    @Test
+    fun scanResultToProto() = FakeScanResults.clock().use {
+        val harness = Benchmarks.measure("fake ScanResult, record, address and clock", 50_000) {
+            sink += result.scanRecord!!.bytes.size + result.rssi + device.address.length + SystemClock.elapsedRealtime().toInt()
+        }
+        val total = Benchmarks.measure("ProtoMaker.from(device, ScanResult)", 50_000) {
+            sink += ProtoMaker.from(device, result, devices).rssi
+        }
+        println(String.format("%-56s %10s       %10.1f B/op", "  without the fakes", "", total.bytesPerOp - harness.bytesPerOp))
+    }
+}
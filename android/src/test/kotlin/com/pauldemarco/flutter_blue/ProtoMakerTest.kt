@@ -0,0 +1,99 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue
+
+import com.pauldemarco.flutter_blue.FakeScanResults.ad
+import kotlin.test.AfterTest
+import kotlin.test.BeforeTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+import org.mockito.MockedStatic
+
+// Runs with Build.VERSION.SDK_INT at 0, so connectable comes from the flags as before API 26.
+class ProtoMakerTest {
+
+    private lateinit var clock: MockedStatic<android.os.SystemClock>
+    private val devices = DeviceProtoCache(DeviceProtoCache.DEFAULT_CAPACITY, DeviceProtoCache.DEFAULT_TTL_MS)
+    private val device = FakeScanResults.device("AA:BB:CC:DD:EE:01", "Thermometer")
+
+    private val record = ad(AdvertisementParser.TYPE_FLAGS, 0x06) +
+            ad(AdvertisementParser.TYPE_COMPLETE_LOCAL_NAME, "Sensor") +
+            ad(AdvertisementParser.TYPE_COMPLETE_16_BIT_UUIDS, 0x1A, 0x18) +
+            ad(AdvertisementParser.TYPE_SERVICE_DATA_16_BIT, 0x1A, 0x18, 1, 2) +
+            ad(AdvertisementParser.TYPE_MANUFACTURER_SPECIFIC_DATA, 0x4C, 0x00, 3, 4) +
+            ad(AdvertisementParser.TYPE_TX_POWER_LEVEL, 0xF4)
+
+    @BeforeTest
+    fun stopClock() {
+        clock = FakeScanResults.clock()
+    }
+
+    @AfterTest
+    fun releaseClock() = clock.close()
+
+    @Test
+    fun buildsTheAdvertisementFromTheRawRecord() {
+        val result = ProtoMaker.from(device, FakeScanResults.result(device, record + ByteArray(20), -71), devices)
+
+        val expected = AdvertisementParser.parse(record).toBuilder().setConnectable(true).build()
+        assertEquals(expected, result.advertisementData)
+        assertEquals("Sensor", result.advertisementData.localName)
+        assertEquals(-12, result.advertisementData.txPowerLevel.value)
+        assertEquals(-71, result.rssi)
+        assertEquals("AA:BB:CC:DD:EE:01", result.device.remoteId)
+        assertEquals("Thermometer", result.device.name)
+        assertEquals(Protos.BluetoothDevice.Type.LE, result.device.type)
+    }
+
+    @Test
+    fun matchesTheApi18Path() {
+        val api21 = ProtoMaker.from(device, FakeScanResults.result(device, record, -50), devices)
+        val api18 = ProtoMaker.from(device, record, -50, devices)
+
+        assertEquals(api18.toBuilder().setAdvertisementData(api18.advertisementData.toBuilder().setConnectable(true)).build(), api21)
+    }
+
+    @Test
+    fun connectableFollowsTheFlags() {
+        val notConnectable = ad(AdvertisementParser.TYPE_FLAGS, 0x04)
+        assertFalse(ProtoMaker.from(device, FakeScanResults.result(device, notConnectable, -50), devices).advertisementData.connectable)
+
+        // Without flags, as ScanRecord.getAdvertiseFlags() gave -1
+        val noFlags = ad(AdvertisementParser.TYPE_COMPLETE_LOCAL_NAME, "Sensor")
+        assertTrue(ProtoMaker.from(device, FakeScanResults.result(device, noFlags, -50), devices).advertisementData.connectable)
+    }
+
+    @Test
+    fun reportsTheDeviceWithoutAScanRecord() {
+        val result = ProtoMaker.from(device, FakeScanResults.result(device, null, -60), devices)
+
+        assertEquals(Protos.AdvertisementData.getDefaultInstance(), result.advertisementData)
+        assertEquals("AA:BB:CC:DD:EE:01", result.device.remoteId)
+        assertEquals(-60, result.rssi)
+    }
+
+    @Test
+    fun dropsATruncatedAdvertisement() {
+        // The manufacturer data structure claims more bytes than the record has
+        val truncated = ad(AdvertisementParser.TYPE_COMPLETE_LOCAL_NAME, "Sensor") + byteArrayOf(9, 0xFF.toByte(), 0x4C, 0x00)
+
+        val result = ProtoMaker.from(device, FakeScanResults.result(device, truncated, -60), devices)
+
+        assertEquals("", result.advertisementData.localName)
+        assertTrue(result.advertisementData.manufacturerDataMap.isEmpty())
+        assertEquals("AA:BB:CC:DD:EE:01", result.device.remoteId)
+    }
+
+    @Test
+    fun reusesTheDeviceMessage() {
+        val first = ProtoMaker.from(device, FakeScanResults.result(device, record, -50), devices)
+        val second = ProtoMaker.from(device, FakeScanResults.result(device, record, -52), devices)
+
+        assertTrue(first.device === second.device)
+        assertEquals(1, devices.stats().hits)
+    }
+}
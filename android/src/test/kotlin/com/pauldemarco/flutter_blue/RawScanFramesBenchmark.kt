@@ -0,0 +1,77 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue
+
+import android.os.Handler
+import kotlin.test.BeforeTest
+import kotlin.test.Test
+import org.mockito.Mockito
+
+// Cost per scan result of producing what is sent to Dart: a parsed and serialized ScanResult
+// message, or a raw frame, one per message or batched. The mocked Handler that stands in for
+// the flush timer is slow and allocates, so its calls, one post and one removal per message at
+// most, are measured alone and subtracted; as in ProtoMakerBenchmark, the difference in time is
+// noise, the difference in bytes is what the frames allocate.
+class RawScanFramesBenchmark {
+
+    // A beacon-like record: flags, a name, a service UUID, service data and manufacturer data,
+    // zero padded like the records Android hands out
+    private val record = byteArrayOf(
+            2, 0x01, 0x06,
+            7, 0x09, 'S'.code.toByte(), 'e'.code.toByte(), 'n'.code.toByte(), 's'.code.toByte(), 'o'.code.toByte(), 'r'.code.toByte(),
+            3, 0x03, 0x1A, 0x18,
+            6, 0x16, 0x1A, 0x18, 1, 2, 3,
+            7, 0xFF.toByte(), 0x4C, 0x00, 1, 2, 3, 4) + ByteArray(31)
+
+    // 200 devices advertising in turn
+    private val addresses = LongArray(200) { 0x00AABB000000L + it }
+    private val remoteIds = Array(200) { MacAddress.unpack(addresses[it]) }
+
+    private val handler = Mockito.mock(Handler::class.java, Mockito.withSettings().stubOnly())
+
+    // Keeps the messages alive
+    private var sink = 0
+
+    @BeforeTest
+    fun enabled() = Benchmarks.assumeEnabled()
+
+    @Test
+    fun scanResultMessage() {
+        Benchmarks.measure("ScanResult, parsed and serialized", 100_000) {
+            val device = it % addresses.size
+            sink += Protos.ScanResult.newBuilder()
+                    .setDevice(Protos.BluetoothDevice.newBuilder().setRemoteId(remoteIds[device]))
+                    .setAdvertisementData(AdvertisementParser.toBuilder(AdvertisementParser.Cursor(record)))
+                    .setRssi(-40 - device % 50)
+                    .build()
+                    .toByteArray()
+                    .size
+        }
+    }
+
+    @Test
+    fun oneFramePerMessage() = frames("RawScanFrames.add, one frame per message", 1)
+
+    @Test
+    fun batchedFrames() = frames("RawScanFrames.add, 32 frames per message", 32)
+
+    private fun frames(name: String, batchSize: Int) {
+        val task = Runnable {}
+        val timer = Benchmarks.measure("  Handler calls alone", 100_000) {
+            if (it % batchSize == 0) {
+                if (batchSize > 1) {
+                    handler.postDelayed(task, ScanResultBatcher.DEFAULT_MAX_LATENCY_MS.toLong())
+                }
+                handler.removeCallbacks(task)
+            }
+        }
+        val frames = RawScanFrames(handler, batchSize, 0) { sink += it.size }
+        val total = Benchmarks.measure(name, 100_000) {
+            val device = it % addresses.size
+            frames.add(addresses[device], -40 - device % 50, it.toLong(), record)
+        }
+        println(String.format("%-56s %10s       %10.1f B/op", "  without the Handler", "", total.bytesPerOp - timer.bytesPerOp))
+    }
+}
@@ -0,0 +1,121 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue
+
+import com.pauldemarco.flutter_blue.FakeScanResults.ad
+import kotlin.test.AfterTest
+import kotlin.test.BeforeTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import org.mockito.MockedStatic
+
+// Checks ScanResultEncoder byte for byte against ProtoMaker and toByteArray(). Runs with
+// Build.VERSION.SDK_INT at 0, so connectable comes from the flags as before API 26.
+class ScanResultEncoderTest {
+
+    private lateinit var clock: MockedStatic<android.os.SystemClock>
+    private val devices = DeviceProtoCache(DeviceProtoCache.DEFAULT_CAPACITY, DeviceProtoCache.DEFAULT_TTL_MS)
+    private val encoder = ScanResultEncoder()
+    private val device = FakeScanResults.device("AA:BB:CC:DD:EE:01", "Thermometer")
+
+    private val flags = ad(AdvertisementParser.TYPE_FLAGS, 0x06)
+    private val name = ad(AdvertisementParser.TYPE_COMPLETE_LOCAL_NAME, "Sensor")
+
+    @BeforeTest
+    fun stopClock() {
+        clock = FakeScanResults.clock()
+    }
+
+    @AfterTest
+    fun releaseClock() = clock.close()
+
+    // Encodes the record through both API paths, each against what ProtoMaker builds for it.
+    private fun assertSameBytes(record: ByteArray?, rssi: Int = -60, device: android.bluetooth.BluetoothDevice = this.device) {
+        val result = FakeScanResults.result(device, record, rssi)
+        val expected = ProtoMaker.from(device, result, devices).toByteArray()
+        assertEquals(expected.toList(), encoder.encode(result, devices).output().toByteArray().toList(), "API 21")
+
+        val api18 = ProtoMaker.from(device, record, rssi, devices).toByteArray()
+        assertEquals(api18.toList(), encoder.encode(device, record, rssi, devices).output().toByteArray().toList(), "API 18")
+    }
+
+    @Test
+    fun writesTheFieldsInFieldNumberOrder() {
+        // Every field, in an order unlike the message's
+        val record = ad(AdvertisementParser.TYPE_SOLICITATION_16_BIT_UUIDS, 0x0D, 0x18) +
+                ad(AdvertisementParser.TYPE_APPEARANCE, 0x41, 0x03) +
+                ad(AdvertisementParser.TYPE_COMPLETE_16_BIT_UUIDS, 0x1A, 0x18, 0x0F, 0x18) +
+                ad(AdvertisementParser.TYPE_SERVICE_DATA_16_BIT, 0x1A, 0x18, 1, 2) +
+                ad(AdvertisementParser.TYPE_MANUFACTURER_SPECIFIC_DATA, 0x4C, 0x00, 3, 4) +
+                ad(AdvertisementParser.TYPE_TX_POWER_LEVEL, 4) +
+                ad(AdvertisementParser.TYPE_MANUFACTURER_SPECIFIC_DATA, 0x59, 0x00, 5) +
+                ad(AdvertisementParser.TYPE_SERVICE_DATA_16_BIT, 0x0F, 0x18, 6) +
+                name +
+                flags
+        assertSameBytes(record)
+        assertSameBytes(record + ByteArray(20))
+    }
+
+    @Test
+    fun keepsMapEntriesWithEmptyValues() {
+        val record = flags +
+                ad(AdvertisementParser.TYPE_MANUFACTURER_SPECIFIC_DATA, 0x4C, 0x00) +
+                ad(AdvertisementParser.TYPE_SERVICE_DATA_16_BIT, 0x1A, 0x18) +
+                ad(AdvertisementParser.TYPE_MANUFACTURER_SPECIFIC_DATA, 0x00, 0x00)
+        assertSameBytes(record)
+    }
+
+    @Test
+    fun fallsBackOnRepeatedMapKeys() {
+        val manufacturer = flags +
+                ad(AdvertisementParser.TYPE_MANUFACTURER_SPECIFIC_DATA, 0x4C, 0x00, 1) +
+                ad(AdvertisementParser.TYPE_MANUFACTURER_SPECIFIC_DATA, 0x59, 0x00, 2) +
+                ad(AdvertisementParser.TYPE_MANUFACTURER_SPECIFIC_DATA, 0x4C, 0x00, 3, 4)
+        assertSameBytes(manufacturer)
+
+        val serviceData = name +
+                ad(AdvertisementParser.TYPE_SERVICE_DATA_16_BIT, 0x1A, 0x18, 1) +
+                ad(AdvertisementParser.TYPE_SERVICE_DATA_16_BIT, 0x0F, 0x18, 2) +
+                ad(AdvertisementParser.TYPE_SERVICE_DATA_16_BIT, 0x1A, 0x18)
+        assertSameBytes(serviceData)
+
+        // The encoder's buffers are reused afterwards
+        assertSameBytes(flags + name)
+    }
+
+    @Test
+    fun handlesEmptyAndAbsentNames() {
+        assertSameBytes(flags + ad(AdvertisementParser.TYPE_COMPLETE_LOCAL_NAME, ""))
+        assertSameBytes(flags)
+        assertSameBytes(flags + ad(AdvertisementParser.TYPE_SHORT_LOCAL_NAME, "Sen") + name)
+
+        val unnamed = FakeScanResults.device("AA:BB:CC:DD:EE:02")
+        assertSameBytes(flags, device = unnamed)
+        assertSameBytes(flags + name, device = unnamed)
+    }
+
+    @Test
+    fun writesNegativeRssiAndTxPower() {
+        assertSameBytes(flags + ad(AdvertisementParser.TYPE_TX_POWER_LEVEL, 0xF4), rssi = -100)
+        assertSameBytes(flags + ad(AdvertisementParser.TYPE_TX_POWER_LEVEL, 0x80), rssi = -128)
+        assertSameBytes(flags + ad(AdvertisementParser.TYPE_TX_POWER_LEVEL, 0), rssi = 0)
+    }
+
+    @Test
+    fun matchesWithoutARecord() {
+        assertSameBytes(null)
+        assertSameBytes(ByteArray(0))
+        assertSameBytes(ByteArray(31))
+    }
+
+    @Test
+    fun dropsATruncatedAdvertisementLikeProtoMaker() {
+        val truncated = flags + ad(AdvertisementParser.TYPE_MANUFACTURER_SPECIFIC_DATA, 0x4C)
+        val result = FakeScanResults.result(device, truncated, -60)
+
+        val expected = ProtoMaker.from(device, result, devices).toByteArray()
+        assertEquals(expected.toList(), encoder.encode(result, devices).output().toByteArray().toList())
+    }
+}
@@ -0,0 +1,69 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue
+
+import kotlin.test.BeforeTest
+import kotlin.test.Test
+
+// Time spent on the scan callback thread per result, converting there versus offering to the pipeline.
+class ScanResultPipelineBenchmark {
+
+    private class Raw(val key: Long, val record: ByteArray, val rssi: Int)
+
+    private val converter = object : ScanResultPipeline.Converter<Raw> {
+        override fun deviceKey(item: Raw) = item.key
+
+        override fun convert(item: Raw): Protos.ScanResult = Protos.ScanResult.newBuilder()
+                .setDevice(Protos.BluetoothDevice.newBuilder().setRemoteId(MacAddress.unpack(item.key)))
+                .setAdvertisementData(AdvertisementParser.toBuilder(AdvertisementParser.Cursor(item.record)))
+                .setRssi(item.rssi)
+                .build()
+    }
+
+    // A beacon-like record: flags, a name, a service UUID, service data and manufacturer data
+    private val record = byteArrayOf(
+            2, 0x01, 0x06,
+            7, 0x09, 'S'.code.toByte(), 'e'.code.toByte(), 'n'.code.toByte(), 's'.code.toByte(), 'o'.code.toByte(), 'r'.code.toByte(),
+            3, 0x03, 0x1A, 0x18,
+            6, 0x16, 0x1A, 0x18, 1, 2, 3,
+            7, 0xFF.toByte(), 0x4C, 0x00, 1, 2, 3, 4) + ByteArray(31)
+
+    // 200 devices advertising in turn
+    private val results = Array(200) { Raw(0x00AABB000000L + it, record, -40 - it % 50) }
+
+    // Keeps the results alive
+    private var sink = 0
+
+    @BeforeTest
+    fun enabled() = Benchmarks.assumeEnabled()
+
+    @Test
+    fun convertOnCallbackThread() {
+        Benchmarks.measure("convert on the callback thread", 100_000) {
+            sink += converter.convert(results[it % results.size]).rssi
+        }
+    }
+
+    @Test
+    fun offerDropOldest() = offer(Protos.ScanSettings.OverflowPolicy.DROP_OLDEST)
+
+    @Test
+    fun offerCoalesceByDevice() = offer(Protos.ScanSettings.OverflowPolicy.COALESCE_BY_DEVICE)
+
+    private fun offer(policy: Protos.ScanSettings.OverflowPolicy) {
+        val pipeline = ScanResultPipeline(1024, policy, converter) { sink += it.rssi }
+        try {
+            Benchmarks.measure("offer, $policy", 100_000) {
+                pipeline.offer(results[it % results.size])
+            }
+        } finally {
+            pipeline.shutdown(ScanResultPipeline.SHUTDOWN_TIMEOUT_MS)
+        }
+        val stats = pipeline.stats()
+        println("    received ${stats.received} delivered ${stats.delivered} dropped ${stats.dropped} " +
+                "coalesced ${stats.coalesced} max depth ${stats.maxQueueDepth} " +
+                "convert ${stats.avgConvertLatencyUs} us queue ${stats.avgQueueLatencyUs} us")
+    }
+}
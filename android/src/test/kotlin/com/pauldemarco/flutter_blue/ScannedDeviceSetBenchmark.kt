@@ -0,0 +1,27 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue
+
+import kotlin.test.BeforeTest
+import kotlin.test.Test
+
+// Per-advertisement de-dup cost as the number of devices seen grows; it should stay flat.
+class ScannedDeviceSetBenchmark {
+
+    @BeforeTest
+    fun enabled() = Benchmarks.assumeEnabled()
+
+    @Test
+    fun repeatedAdvertisements() {
+        for (devices in listOf(100, 1000, 3000, 10000)) {
+            val addresses = Array(devices) { MacAddress.unpack(0x7C2F80000000L + it * 0x10001L) }
+            val set = ScannedDeviceSet()
+            addresses.forEach { set.add(it) }
+            Benchmarks.measure("ScannedDeviceSet.add, $devices devices seen", 1_000_000) {
+                set.add(addresses[it % devices])
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue
+
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+
+class ScannedDeviceSetTest {
+
+    @Test
+    fun reportsEachAddressOnce() {
+        val set = ScannedDeviceSet()
+        assertTrue(set.add("00:11:22:33:44:55"))
+        assertFalse(set.add("00:11:22:33:44:55"))
+        // Same address, other case
+        assertFalse(set.add("00:11:22:33:44:55".lowercase()))
+        assertTrue(set.add("00:11:22:33:44:56"))
+        assertEquals(2, set.size())
+    }
+
+    @Test
+    fun malformedAddressesAreAlwaysNew() {
+        val set = ScannedDeviceSet()
+        for (address in listOf(null, "", "00:11:22:33:44", "00-11-22-33-44-55", "GG:11:22:33:44:55")) {
+            assertTrue(set.add(address))
+            assertTrue(set.add(address))
+        }
+        assertTrue(set.add(MacAddress.INVALID))
+        assertTrue(set.add(MacAddress.INVALID))
+        assertFalse(set.contains(MacAddress.INVALID))
+        assertEquals(0, set.size())
+    }
+
+    @Test
+    fun keepsThousandsOfAddresses() {
+        val set = ScannedDeviceSet()
+        val addresses = (0 until 5000).map { MacAddress.unpack(0x7C2F80000000L + it * 0x10001L) }
+        for (address in addresses) {
+            assertTrue(set.add(address))
+        }
+        for (address in addresses) {
+            assertFalse(set.add(address))
+            assertTrue(set.contains(MacAddress.pack(address)))
+        }
+        assertEquals(addresses.size, set.size())
+    }
+
+    @Test
+    fun clearForgetsAddresses() {
+        val set = ScannedDeviceSet()
+        set.add("00:11:22:33:44:55")
+        set.clear()
+        assertEquals(0, set.size())
+        assertTrue(set.add("00:11:22:33:44:55"))
+    }
+}
@@ -0,0 +1,81 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue
+
+import android.bluetooth.BluetoothGattCharacteristic
+import android.bluetooth.BluetoothGattService
+import java.util.UUID
+import kotlin.test.BeforeTest
+import kotlin.test.Test
+
+// Finding the including service of every characteristic of a synthetic 50-service tree: 25
+// primary services each including a secondary one, 4 characteristics per service. Calls into
+// the fake services are slow, so the getter calls per discovery are the figure that carries
+// over to a device.
+class ServiceParentsBenchmark {
+
+    private val fakes = FakeServices()
+    private val services: List<BluetoothGattService>
+
+    init {
+        val primaries = ArrayList<BluetoothGattService>()
+        val secondaries = ArrayList<BluetoothGattService>()
+        for (i in 0 until 25) {
+            val secondary = fakes.service(UUID(0x5EC0L shl 32, i.toLong()), primary = false, characteristics = 4)
+            secondaries.add(secondary)
+            primaries.add(fakes.service(UUID(0x9121L shl 32, i.toLong()), primary = true, included = listOf(secondary), characteristics = 4))
+        }
+        services = primaries + secondaries
+    }
+
+    private companion object {
+        const val DISCOVERIES = 50
+    }
+
+    // Keeps the results alive
+    private var sink = 0
+
+    @BeforeTest
+    fun enabled() = Benchmarks.assumeEnabled()
+
+    // The reverse search ProtoMaker and onDescriptorRead made for each characteristic
+    private fun search(characteristic: BluetoothGattCharacteristic): UUID? {
+        var parent: UUID? = null
+        for (s in services) {
+            for (ss in s.includedServices) {
+                if (ss.uuid == characteristic.service.uuid) {
+                    parent = s.uuid
+                    break
+                }
+            }
+        }
+        return parent
+    }
+
+    private fun run(name: String, parentOf: (BluetoothGattCharacteristic) -> UUID?, prepare: () -> Unit = {}) {
+        fakes.calls.set(0)
+        Benchmarks.measure(name, DISCOVERIES) {
+            prepare()
+            for (s in services) {
+                for (c in s.characteristics) {
+                    if (s.type == BluetoothGattService.SERVICE_TYPE_SECONDARY) {
+                        sink += parentOf(c)?.hashCode() ?: 0
+                    }
+                }
+            }
+        }
+        // measure() makes as many warm-up passes as measured ones
+        println(String.format("%-56s %10.0f calls/op", "", fakes.calls.get() / (2.0 * DISCOVERIES)))
+    }
+
+    @Test
+    fun parentsOfA50ServiceTree() {
+        run("reverse search per characteristic", ::search)
+        var parents = ServiceParents(services)
+        run("ServiceParents, built once per discovery", { parents.parentOf(it.service.uuid) }) {
+            parents = ServiceParents(services)
+        }
+    }
+}
@@ -0,0 +1,59 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue
+
+import java.util.UUID
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertNull
+
+class ServiceParentsTest {
+
+    private val fakes = FakeServices()
+    private val battery = ShortUuid.toUuid(0x180F)
+    private val deviceInfo = ShortUuid.toUuid(0x180A)
+    private val secondary = UUID.fromString("6e400001-b5a3-f393-e0a9-e50e24dcca9e")
+    private val nested = UUID.fromString("6e400002-b5a3-f393-e0a9-e50e24dcca9e")
+
+    @Test
+    fun mapsASecondaryServiceToItsIncluder() {
+        val s = fakes.service(secondary, primary = false)
+        val parents = ServiceParents(listOf(fakes.service(battery, primary = true, included = listOf(s)), s))
+
+        assertEquals(battery, parents.parentOf(secondary))
+    }
+
+    @Test
+    fun mapsANestedSecondaryServiceToTheSecondaryIncludingIt() {
+        // Android lists every service, secondary ones included, at the top level
+        val inner = fakes.service(nested, primary = false)
+        val outer = fakes.service(secondary, primary = false, included = listOf(inner))
+        val parents = ServiceParents(listOf(fakes.service(battery, primary = true, included = listOf(outer)), outer, inner))
+
+        assertEquals(battery, parents.parentOf(secondary))
+        assertEquals(secondary, parents.parentOf(nested))
+    }
+
+    @Test
+    fun theLastIncluderWins() {
+        val s = fakes.service(secondary, primary = false)
+        val parents = ServiceParents(listOf(
+                fakes.service(battery, primary = true, included = listOf(s)),
+                fakes.service(deviceInfo, primary = true, included = listOf(s)),
+                s))
+
+        assertEquals(deviceInfo, parents.parentOf(secondary))
+    }
+
+    @Test
+    fun servicesNobodyIncludesHaveNoParent() {
+        val orphan = fakes.service(secondary, primary = false)
+        val parents = ServiceParents(listOf(fakes.service(battery, primary = true), orphan))
+
+        assertNull(parents.parentOf(secondary))
+        assertNull(parents.parentOf(battery))
+        assertNull(parents.parentOf(nested))
+    }
+}
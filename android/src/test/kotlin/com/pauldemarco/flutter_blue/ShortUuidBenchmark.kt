@@ -0,0 +1,42 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue
+
+import java.util.UUID
+import kotlin.test.BeforeTest
+import kotlin.test.Test
+
+// Service data UUID keys, built as AdvertisementParser used to and with ShortUuid.
+class ShortUuidBenchmark {
+
+    // Keeps the results alive
+    private var sink = 0
+
+    @BeforeTest
+    fun enabled() = Benchmarks.assumeEnabled()
+
+    @Test
+    fun sixteenBitServiceDataKeys() {
+        val values = LongArray(64) { 0x1800L + it * 3 }
+        Benchmarks.measure("String.format + UUID.fromString", 200_000) {
+            val uuid = UUID.fromString(String.format("%08x-0000-1000-8000-00805f9b34fb", values[it and 63]))
+            sink += uuid.toString().length
+        }
+        Benchmarks.measure("ShortUuid.toString", 200_000) {
+            sink += ShortUuid.toString(ShortUuid.msb(values[it and 63]), ShortUuid.BASE_UUID_LSB).length
+        }
+    }
+
+    @Test
+    fun thirtyTwoBitServiceDataKeys() {
+        Benchmarks.measure("String.format + UUID.fromString, 32-bit", 200_000) {
+            val uuid = UUID.fromString(String.format("%08x-0000-1000-8000-00805f9b34fb", 0xFEED0000L + it))
+            sink += uuid.toString().length
+        }
+        Benchmarks.measure("ShortUuid.toString, 32-bit", 200_000) {
+            sink += ShortUuid.toString(ShortUuid.msb(0xFEED0000L + it), ShortUuid.BASE_UUID_LSB).length
+        }
+    }
+}
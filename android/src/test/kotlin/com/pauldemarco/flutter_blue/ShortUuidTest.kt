@@ -0,0 +1,64 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.pauldemarco.flutter_blue
+
+import java.util.Random
+import java.util.UUID
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertNotSame
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+
+class ShortUuidTest {
+
+    private fun sigUuid(value: Long) = UUID.fromString(String.format("%08x-0000-1000-8000-00805f9b34fb", value))
+
+    @Test
+    fun expandsAgainstTheBaseUuid() {
+        for (value in listOf(0L, 0x180DL, 0x2902L, 0xFFFFL, 0x10000L, 0xFEEDBEEFL, 0xFFFFFFFFL)) {
+            assertEquals(sigUuid(value), ShortUuid.toUuid(value))
+        }
+        // Only the low 32 bits take part
+        assertEquals(sigUuid(0x180D), ShortUuid.toUuid(0x1_0000_180DL))
+    }
+
+    @Test
+    fun stringsMatchUuidToString() {
+        for (value in 0L..0xFFFFL) {
+            val uuid = sigUuid(value)
+            assertEquals(uuid.toString(), ShortUuid.toString(uuid))
+        }
+        val random = Random(7)
+        repeat(10000) {
+            val value = random.nextInt().toLong() and 0xFFFFFFFFL
+            assertEquals(sigUuid(value).toString(), ShortUuid.toString(ShortUuid.msb(value), ShortUuid.BASE_UUID_LSB))
+            val uuid = UUID(random.nextLong(), random.nextLong())
+            assertEquals(uuid.toString(), ShortUuid.toString(uuid))
+        }
+    }
+
+    @Test
+    fun recognisesOnlyTheBaseUuid() {
+        assertTrue(ShortUuid.isShort(ShortUuid.msb(0x180D), ShortUuid.BASE_UUID_LSB))
+        assertFalse(ShortUuid.isShort(ShortUuid.msb(0x180D) + 1, ShortUuid.BASE_UUID_LSB))
+        assertFalse(ShortUuid.isShort(ShortUuid.msb(0x180D), ShortUuid.BASE_UUID_LSB + 1))
+        val custom = UUID.fromString("6e400001-b5a3-f393-e0a9-e50e24dcca9e")
+        assertEquals("6e400001-b5a3-f393-e0a9-e50e24dcca9e", ShortUuid.toString(custom))
+    }
+
+    @Test
+    fun cachesTheSixteenBitRangeOnly() {
+        for (value in listOf(0L, 0x2902L, 0xFFFFL)) {
+            assertSame(ShortUuid.toString(sigUuid(value)), ShortUuid.toString(sigUuid(value)))
+        }
+        for (value in listOf(0x10000L, 0xFFFFFFFFL)) {
+            val first = ShortUuid.toString(sigUuid(value))
+            assertNotSame(first, ShortUuid.toString(sigUuid(value)))
+            assertEquals(first, ShortUuid.toString(sigUuid(value)))
+        }
+    }
+}
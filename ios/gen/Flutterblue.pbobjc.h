@@ -28,6 +28,7 @@
 CF_EXTERN_C_BEGIN
 
 @class ProtosAdvertisementData;
+@class ProtosAdvertisementFilter;
 @class ProtosBluetoothCharacteristic;
 @class ProtosBluetoothDescriptor;
 @class ProtosBluetoothDevice;
@@ -35,6 +36,7 @@ CF_EXTERN_C_BEGIN
 @class ProtosCharacteristicProperties;
 @class ProtosInt32Value;
 @class ProtosReadDescriptorRequest;
+@class ProtosScanResult;
 @class ProtosWriteCharacteristicRequest;
 @class ProtosWriteDescriptorRequest;
 
@@ -80,6 +82,62 @@ GPBEnumDescriptor *ProtosBluetoothState_State_EnumDescriptor(void);
  **/
 BOOL ProtosBluetoothState_State_IsValidValue(int32_t value);
 
+#pragma mark - Enum ProtosScanSettings_OverflowPolicy
+
+/** 转换队列溢出时的处理策略 */
+typedef GPB_ENUM(ProtosScanSettings_OverflowPolicy) {
+  /**
+   * Value used if any message's field encounters a value that is not defined
+   * by this enum. The message will also have C functions to get/set the rawValue
+   * of the field.
+   **/
+  ProtosScanSettings_OverflowPolicy_GPBUnrecognizedEnumeratorValue = kGPBUnrecognizedEnumeratorValue,
+  /** 丢弃最早的结果 */
+  ProtosScanSettings_OverflowPolicy_DropOldest = 0,
+
+  /** 丢弃新到的结果 */
+  ProtosScanSettings_OverflowPolicy_DropNewest = 1,
+
+  /** 用新结果替换同一设备尚未处理的结果 */
+  ProtosScanSettings_OverflowPolicy_CoalesceByDevice = 2,
+};
+
+GPBEnumDescriptor *ProtosScanSettings_OverflowPolicy_EnumDescriptor(void);
+
+/**
+ * Checks to see if the given value is defined by the enum or was not known at
+ * the time this source was generated.
+ **/
+BOOL ProtosScanSettings_OverflowPolicy_IsValidValue(int32_t value);
+
+#pragma mark - Enum ProtosScanSettings_RssiFilter
+
+/** 合并上报时 RSSI 的平滑方式 */
+typedef GPB_ENUM(ProtosScanSettings_RssiFilter) {
+  /**
+   * Value used if any message's field encounters a value that is not defined
+   * by this enum. The message will also have C functions to get/set the rawValue
+   * of the field.
+   **/
+  ProtosScanSettings_RssiFilter_GPBUnrecognizedEnumeratorValue = kGPBUnrecognizedEnumeratorValue,
+  /** 不平滑，使用最新值 */
+  ProtosScanSettings_RssiFilter_None = 0,
+
+  /** 指数移动平均 */
+  ProtosScanSettings_RssiFilter_Ema = 1,
+
+  /** 一维卡尔曼滤波 */
+  ProtosScanSettings_RssiFilter_Kalman = 2,
+};
+
+GPBEnumDescriptor *ProtosScanSettings_RssiFilter_EnumDescriptor(void);
+
+/**
+ * Checks to see if the given value is defined by the enum or was not known at
+ * the time this source was generated.
+ **/
+BOOL ProtosScanSettings_RssiFilter_IsValidValue(int32_t value);
+
 #pragma mark - Enum ProtosBluetoothDevice_Type
 
 /** 设备类型枚举 */
@@ -235,6 +293,9 @@ typedef GPB_ENUM(ProtosAdvertisementData_FieldNumber) {
   ProtosAdvertisementData_FieldNumber_ManufacturerData = 4,
   ProtosAdvertisementData_FieldNumber_ServiceData = 5,
   ProtosAdvertisementData_FieldNumber_ServiceUuidsArray = 6,
+  ProtosAdvertisementData_FieldNumber_Flags = 7,
+  ProtosAdvertisementData_FieldNumber_Appearance = 8,
+  ProtosAdvertisementData_FieldNumber_SolicitedServiceUuidsArray = 9,
 };
 
 /**
@@ -268,6 +329,21 @@ typedef GPB_ENUM(ProtosAdvertisementData_FieldNumber) {
 /** The number of items in @c serviceUuidsArray without causing the array to be created. */
 @property(nonatomic, readonly) NSUInteger serviceUuidsArray_Count;
 
+/** 广播标志（AD 类型 0x01） */
+@property(nonatomic, readwrite, strong, null_resettable) ProtosInt32Value *flags;
+/** Test to see if @c flags has been set. */
+@property(nonatomic, readwrite) BOOL hasFlags;
+
+/** 外观（AD 类型 0x19） */
+@property(nonatomic, readwrite, strong, null_resettable) ProtosInt32Value *appearance;
+/** Test to see if @c appearance has been set. */
+@property(nonatomic, readwrite) BOOL hasAppearance;
+
+/** 请求的服务 UUID 列表 */
+@property(nonatomic, readwrite, strong, null_resettable) NSMutableArray<NSString*> *solicitedServiceUuidsArray;
+/** The number of items in @c solicitedServiceUuidsArray without causing the array to be created. */
+@property(nonatomic, readonly) NSUInteger solicitedServiceUuidsArray_Count;
+
 @end
 
 #pragma mark - ProtosScanSettings
@@ -276,6 +352,23 @@ typedef GPB_ENUM(ProtosScanSettings_FieldNumber) {
   ProtosScanSettings_FieldNumber_AndroidScanMode = 1,
   ProtosScanSettings_FieldNumber_ServiceUuidsArray = 2,
   ProtosScanSettings_FieldNumber_AllowDuplicates = 3,
+  ProtosScanSettings_FieldNumber_BatchMaxSize = 4,
+  ProtosScanSettings_FieldNumber_BatchMaxLatencyMs = 5,
+  ProtosScanSettings_FieldNumber_AndroidReportDelayMs = 6,
+  ProtosScanSettings_FieldNumber_AndroidMatchMode = 7,
+  ProtosScanSettings_FieldNumber_AndroidNumOfMatches = 8,
+  ProtosScanSettings_FieldNumber_AndroidCallbackType = 9,
+  ProtosScanSettings_FieldNumber_AndroidPipelineCapacity = 10,
+  ProtosScanSettings_FieldNumber_AndroidOverflowPolicy = 11,
+  ProtosScanSettings_FieldNumber_CoalesceIntervalMs = 12,
+  ProtosScanSettings_FieldNumber_RssiFilter = 13,
+  ProtosScanSettings_FieldNumber_RssiEmaAlpha = 14,
+  ProtosScanSettings_FieldNumber_RssiKalmanProcessNoise = 15,
+  ProtosScanSettings_FieldNumber_RssiKalmanMeasurementNoise = 16,
+  ProtosScanSettings_FieldNumber_SuppressUnchangedPayloads = 17,
+  ProtosScanSettings_FieldNumber_UnchangedPayloadHeartbeatMs = 18,
+  ProtosScanSettings_FieldNumber_FiltersArray = 19,
+  ProtosScanSettings_FieldNumber_AndroidRawScanFrames = 20,
 };
 
 /**
@@ -294,6 +387,137 @@ typedef GPB_ENUM(ProtosScanSettings_FieldNumber) {
 /** 是否允许重复结果 */
 @property(nonatomic, readwrite) BOOL allowDuplicates;
 
+/** 批量上报的最大条数，<= 1 表示逐条上报 */
+@property(nonatomic, readwrite) int32_t batchMaxSize;
+
+/** 批量上报的最大延迟（毫秒），<= 0 使用默认值 */
+@property(nonatomic, readwrite) int32_t batchMaxLatencyMs;
+
+/** Android 硬件批量扫描的上报延迟（毫秒），0 表示立即上报 */
+@property(nonatomic, readwrite) int32_t androidReportDelayMs;
+
+/** Android 匹配模式，0 表示使用系统默认值 */
+@property(nonatomic, readwrite) int32_t androidMatchMode;
+
+/** Android 匹配数量，0 表示使用系统默认值 */
+@property(nonatomic, readwrite) int32_t androidNumOfMatches;
+
+/** Android 回调类型，0 表示使用系统默认值 */
+@property(nonatomic, readwrite) int32_t androidCallbackType;
+
+/** Android 后台转换队列容量，0 表示在扫描回调中直接转换 */
+@property(nonatomic, readwrite) int32_t androidPipelineCapacity;
+
+/** 转换队列溢出策略 */
+@property(nonatomic, readwrite) ProtosScanSettings_OverflowPolicy androidOverflowPolicy;
+
+/** 同一设备两次上报的最小间隔（毫秒），0 表示不合并 */
+@property(nonatomic, readwrite) int32_t coalesceIntervalMs;
+
+/** 合并上报时 RSSI 的平滑方式 */
+@property(nonatomic, readwrite) ProtosScanSettings_RssiFilter rssiFilter;
+
+/** EMA 平滑系数 (0, 1]，<= 0 使用默认值 */
+@property(nonatomic, readwrite) float rssiEmaAlpha;
+
+/** 卡尔曼滤波过程噪声，<= 0 使用默认值 */
+@property(nonatomic, readwrite) float rssiKalmanProcessNoise;
+
+/** 卡尔曼滤波测量噪声，<= 0 使用默认值 */
+@property(nonatomic, readwrite) float rssiKalmanMeasurementNoise;
+
+/** 同一设备广播内容未变化时不上报 */
+@property(nonatomic, readwrite) BOOL suppressUnchangedPayloads;
+
+/** 内容未变化时重新上报的间隔（毫秒），0 表示不重新上报 */
+@property(nonatomic, readwrite) int32_t unchangedPayloadHeartbeatMs;
+
+/** 广播过滤条件，满足任意一个即上报，为空表示不过滤 */
+@property(nonatomic, readwrite, strong, null_resettable) NSMutableArray<ProtosAdvertisementFilter*> *filtersArray;
+/** The number of items in @c filtersArray without causing the array to be created. */
+@property(nonatomic, readonly) NSUInteger filtersArray_Count;
+
+/** Android 以定长二进制帧（地址、RSSI、时间戳、原始广播数据）上报，不使用 ScanResult */
+@property(nonatomic, readwrite) BOOL androidRawScanFrames;
+
+@end
+
+/**
+ * Fetches the raw value of a @c ProtosScanSettings's @c androidOverflowPolicy property, even
+ * if the value was not defined by the enum at the time the code was generated.
+ **/
+int32_t ProtosScanSettings_AndroidOverflowPolicy_RawValue(ProtosScanSettings *message);
+/**
+ * Sets the raw value of an @c ProtosScanSettings's @c androidOverflowPolicy property, allowing
+ * it to be set to a value that was not defined by the enum at the time the code
+ * was generated.
+ **/
+void SetProtosScanSettings_AndroidOverflowPolicy_RawValue(ProtosScanSettings *message, int32_t value);
+
+/**
+ * Fetches the raw value of a @c ProtosScanSettings's @c rssiFilter property, even
+ * if the value was not defined by the enum at the time the code was generated.
+ **/
+int32_t ProtosScanSettings_RssiFilter_RawValue(ProtosScanSettings *message);
+/**
+ * Sets the raw value of an @c ProtosScanSettings's @c rssiFilter property, allowing
+ * it to be set to a value that was not defined by the enum at the time the code
+ * was generated.
+ **/
+void SetProtosScanSettings_RssiFilter_RawValue(ProtosScanSettings *message, int32_t value);
+
+#pragma mark - ProtosAdvertisementFilter
+
+typedef GPB_ENUM(ProtosAdvertisementFilter_FieldNumber) {
+  ProtosAdvertisementFilter_FieldNumber_ServiceUuid = 1,
+  ProtosAdvertisementFilter_FieldNumber_ManufacturerId = 2,
+  ProtosAdvertisementFilter_FieldNumber_ManufacturerData = 3,
+  ProtosAdvertisementFilter_FieldNumber_ManufacturerDataMask = 4,
+  ProtosAdvertisementFilter_FieldNumber_DeviceName = 5,
+  ProtosAdvertisementFilter_FieldNumber_NamePrefix = 6,
+  ProtosAdvertisementFilter_FieldNumber_ServiceDataUuid = 7,
+  ProtosAdvertisementFilter_FieldNumber_ServiceData = 8,
+  ProtosAdvertisementFilter_FieldNumber_ServiceDataMask = 9,
+  ProtosAdvertisementFilter_FieldNumber_MinRssi = 10,
+};
+
+/**
+ * 广播过滤条件，已设置的各项需全部满足
+ **/
+@interface ProtosAdvertisementFilter : GPBMessage
+
+/** 广播的服务 UUID */
+@property(nonatomic, readwrite, copy, null_resettable) NSString *serviceUuid;
+
+/** 厂商 ID */
+@property(nonatomic, readwrite, strong, null_resettable) ProtosInt32Value *manufacturerId;
+/** Test to see if @c manufacturerId has been set. */
+@property(nonatomic, readwrite) BOOL hasManufacturerId;
+
+/** 厂商数据前缀（不含厂商 ID），需设置 manufacturer_id */
+@property(nonatomic, readwrite, copy, null_resettable) NSData *manufacturerData;
+
+/** 厂商数据掩码，长度需与 manufacturer_data 相同 */
+@property(nonatomic, readwrite, copy, null_resettable) NSData *manufacturerDataMask;
+
+/** 完整匹配的设备名 */
+@property(nonatomic, readwrite, copy, null_resettable) NSString *deviceName;
+
+/** 设备名前缀 */
+@property(nonatomic, readwrite, copy, null_resettable) NSString *namePrefix;
+
+/** 服务数据的 UUID */
+@property(nonatomic, readwrite, copy, null_resettable) NSString *serviceDataUuid;
+
+/** 服务数据前缀，需设置 service_data_uuid */
+@property(nonatomic, readwrite, copy, null_resettable) NSData *serviceData;
+
+/** 服务数据掩码，长度需与 service_data 相同 */
+@property(nonatomic, readwrite, copy, null_resettable) NSData *serviceDataMask;
+
+/** 最小信号强度，0 表示不限制 */
+@property(nonatomic, readwrite) int32_t minRssi;
+
 @end
 
 #pragma mark - ProtosScanResult
@@ -302,6 +526,7 @@ typedef GPB_ENUM(ProtosScanResult_FieldNumber) {
   ProtosScanResult_FieldNumber_Device = 1,
   ProtosScanResult_FieldNumber_AdvertisementData = 2,
   ProtosScanResult_FieldNumber_Rssi = 3,
+  ProtosScanResult_FieldNumber_MatchLost = 4,
 };
 
 /**
@@ -322,6 +547,151 @@ typedef GPB_ENUM(ProtosScanResult_FieldNumber) {
 /** 信号强度（RSSI） */
 @property(nonatomic, readwrite) int32_t rssi;
 
+/** 设备不再匹配过滤器（仅 Android，MATCH_LOST 回调） */
+@property(nonatomic, readwrite) BOOL matchLost;
+
+@end
+
+#pragma mark - ProtosScanResultBatch
+
+typedef GPB_ENUM(ProtosScanResultBatch_FieldNumber) {
+  ProtosScanResultBatch_FieldNumber_ResultsArray = 1,
+};
+
+/**
+ * 批量扫描结果消息，一次平台通道调用携带多个扫描结果
+ **/
+@interface ProtosScanResultBatch : GPBMessage
+
+/** 扫描结果列表 */
+@property(nonatomic, readwrite, strong, null_resettable) NSMutableArray<ProtosScanResult*> *resultsArray;
+/** The number of items in @c resultsArray without causing the array to be created. */
+@property(nonatomic, readonly) NSUInteger resultsArray_Count;
+
+@end
+
+#pragma mark - ProtosScanPipelineStats
+
+typedef GPB_ENUM(ProtosScanPipelineStats_FieldNumber) {
+  ProtosScanPipelineStats_FieldNumber_Received = 1,
+  ProtosScanPipelineStats_FieldNumber_Delivered = 2,
+  ProtosScanPipelineStats_FieldNumber_Dropped = 3,
+  ProtosScanPipelineStats_FieldNumber_Coalesced = 4,
+  ProtosScanPipelineStats_FieldNumber_QueueDepth = 5,
+  ProtosScanPipelineStats_FieldNumber_MaxQueueDepth = 6,
+  ProtosScanPipelineStats_FieldNumber_AvgQueueLatencyUs = 7,
+  ProtosScanPipelineStats_FieldNumber_AvgConvertLatencyUs = 8,
+};
+
+/**
+ * 扫描结果转换队列的统计信息
+ **/
+@interface ProtosScanPipelineStats : GPBMessage
+
+/** 进入队列的结果数 */
+@property(nonatomic, readwrite) int64_t received;
+
+/** 已转换并上报的结果数 */
+@property(nonatomic, readwrite) int64_t delivered;
+
+/** 因队列已满被丢弃的结果数 */
+@property(nonatomic, readwrite) int64_t dropped;
+
+/** 被同一设备的新结果替换的结果数 */
+@property(nonatomic, readwrite) int64_t coalesced;
+
+/** 当前队列深度 */
+@property(nonatomic, readwrite) int64_t queueDepth;
+
+/** 最大队列深度 */
+@property(nonatomic, readwrite) int64_t maxQueueDepth;
+
+/** 平均排队耗时（微秒） */
+@property(nonatomic, readwrite) int64_t avgQueueLatencyUs;
+
+/** 平均转换耗时（微秒） */
+@property(nonatomic, readwrite) int64_t avgConvertLatencyUs;
+
+@end
+
+#pragma mark - ProtosDeviceCacheStats
+
+typedef GPB_ENUM(ProtosDeviceCacheStats_FieldNumber) {
+  ProtosDeviceCacheStats_FieldNumber_Hits = 1,
+  ProtosDeviceCacheStats_FieldNumber_Misses = 2,
+  ProtosDeviceCacheStats_FieldNumber_Expired = 3,
+  ProtosDeviceCacheStats_FieldNumber_Renamed = 4,
+  ProtosDeviceCacheStats_FieldNumber_Evicted = 5,
+  ProtosDeviceCacheStats_FieldNumber_Size = 6,
+};
+
+/**
+ * Android 端 BluetoothDevice 消息缓存的统计信息
+ **/
+@interface ProtosDeviceCacheStats : GPBMessage
+
+/** 命中次数 */
+@property(nonatomic, readwrite) int64_t hits;
+
+/** 未缓存而新建的次数 */
+@property(nonatomic, readwrite) int64_t misses;
+
+/** 因超过有效期而重建的次数 */
+@property(nonatomic, readwrite) int64_t expired;
+
+/** 因广播名称变化而重建的次数 */
+@property(nonatomic, readwrite) int64_t renamed;
+
+/** 因容量已满被移除的条目数 */
+@property(nonatomic, readwrite) int64_t evicted;
+
+/** 当前条目数 */
+@property(nonatomic, readwrite) int64_t size;
+
+@end
+
+#pragma mark - ProtosEventRingStats
+
+typedef GPB_ENUM(ProtosEventRingStats_FieldNumber) {
+  ProtosEventRingStats_FieldNumber_Capacity = 1,
+  ProtosEventRingStats_FieldNumber_Events = 2,
+  ProtosEventRingStats_FieldNumber_Bytes = 3,
+  ProtosEventRingStats_FieldNumber_DroppedEvents = 4,
+  ProtosEventRingStats_FieldNumber_DroppedBytes = 5,
+  ProtosEventRingStats_FieldNumber_Fill = 6,
+  ProtosEventRingStats_FieldNumber_MaxFill = 7,
+  ProtosEventRingStats_FieldNumber_Signals = 8,
+};
+
+/**
+ * Android 端事件环形缓冲区的统计信息
+ **/
+@interface ProtosEventRingStats : GPBMessage
+
+/** 数据区容量（字节） */
+@property(nonatomic, readwrite) int64_t capacity;
+
+/** 写入的事件数 */
+@property(nonatomic, readwrite) int64_t events;
+
+/** 写入的负载字节数 */
+@property(nonatomic, readwrite) int64_t bytes;
+
+/** 因空间不足被丢弃的事件数 */
+@property(nonatomic, readwrite) int64_t droppedEvents;
+
+/** 被丢弃的负载字节数 */
+@property(nonatomic, readwrite) int64_t droppedBytes;
+
+/** 当前未读字节数 */
+@property(nonatomic, readwrite) int64_t fill;
+
+/** 最大未读字节数 */
+@property(nonatomic, readwrite) int64_t maxFill;
+
+/** 通知 Dart 的次数 */
+@property(nonatomic, readwrite) int64_t signals;
+
 @end
 
 #pragma mark - ProtosConnectRequest
@@ -329,6 +699,8 @@ typedef GPB_ENUM(ProtosScanResult_FieldNumber) {
 typedef GPB_ENUM(ProtosConnectRequest_FieldNumber) {
   ProtosConnectRequest_FieldNumber_RemoteId = 1,
   ProtosConnectRequest_FieldNumber_AndroidAutoConnect = 2,
+  ProtosConnectRequest_FieldNumber_AndroidGattTimeoutMs = 3,
+  ProtosConnectRequest_FieldNumber_AndroidCacheServices = 4,
 };
 
 /**
@@ -342,6 +714,60 @@ typedef GPB_ENUM(ProtosConnectRequest_FieldNumber) {
 /** Android 是否自动重连 */
 @property(nonatomic, readwrite) BOOL androidAutoConnect;
 
+/** Android 单个 GATT 操作的超时时间（毫秒），0 使用默认值 */
+@property(nonatomic, readwrite) int32_t androidGattTimeoutMs;
+
+/** Android 是否在磁盘上缓存发现的服务，重连时先返回缓存结果 */
+@property(nonatomic, readwrite) BOOL androidCacheServices;
+
+@end
+
+#pragma mark - ProtosGattQueueStats
+
+typedef GPB_ENUM(ProtosGattQueueStats_FieldNumber) {
+  ProtosGattQueueStats_FieldNumber_QueueDepth = 1,
+  ProtosGattQueueStats_FieldNumber_MaxQueueDepth = 2,
+  ProtosGattQueueStats_FieldNumber_InFlight = 3,
+  ProtosGattQueueStats_FieldNumber_Completed = 4,
+  ProtosGattQueueStats_FieldNumber_Failed = 5,
+  ProtosGattQueueStats_FieldNumber_TimedOut = 6,
+  ProtosGattQueueStats_FieldNumber_Cancelled = 7,
+  ProtosGattQueueStats_FieldNumber_AvgWaitLatencyUs = 8,
+  ProtosGattQueueStats_FieldNumber_AvgOpLatencyUs = 9,
+};
+
+/**
+ * 单个设备 GATT 操作队列的统计信息
+ **/
+@interface ProtosGattQueueStats : GPBMessage
+
+/** 当前排队的操作数 */
+@property(nonatomic, readwrite) int64_t queueDepth;
+
+/** 最大排队数 */
+@property(nonatomic, readwrite) int64_t maxQueueDepth;
+
+/** 是否有正在执行的操作 */
+@property(nonatomic, readwrite) BOOL inFlight;
+
+/** 已完成的操作数 */
+@property(nonatomic, readwrite) int64_t completed;
+
+/** 发起失败的操作数 */
+@property(nonatomic, readwrite) int64_t failed;
+
+/** 超时的操作数 */
+@property(nonatomic, readwrite) int64_t timedOut;
+
+/** 因断开连接被取消的操作数 */
+@property(nonatomic, readwrite) int64_t cancelled;
+
+/** 平均排队耗时（微秒） */
+@property(nonatomic, readwrite) int64_t avgWaitLatencyUs;
+
+/** 平均执行耗时（微秒） */
+@property(nonatomic, readwrite) int64_t avgOpLatencyUs;
+
 @end
 
 #pragma mark - ProtosBluetoothDevice
@@ -426,6 +852,7 @@ typedef GPB_ENUM(ProtosBluetoothCharacteristic_FieldNumber) {
   ProtosBluetoothCharacteristic_FieldNumber_DescriptorsArray = 5,
   ProtosBluetoothCharacteristic_FieldNumber_Properties = 6,
   ProtosBluetoothCharacteristic_FieldNumber_Value = 7,
+  ProtosBluetoothCharacteristic_FieldNumber_Handle = 8,
 };
 
 /**
@@ -458,6 +885,9 @@ typedef GPB_ENUM(ProtosBluetoothCharacteristic_FieldNumber) {
 /** 特征值数据 */
 @property(nonatomic, readwrite, copy, null_resettable) NSData *value;
 
+/** 特征值句柄，精简通知中用来代替 UUID（仅 Android 7.0 及以上，否则为 0） */
+@property(nonatomic, readwrite) int32_t handle;
+
 @end
 
 #pragma mark - ProtosBluetoothDescriptor
@@ -549,6 +979,8 @@ typedef GPB_ENUM(ProtosCharacteristicProperties_FieldNumber) {
 typedef GPB_ENUM(ProtosDiscoverServicesResult_FieldNumber) {
   ProtosDiscoverServicesResult_FieldNumber_RemoteId = 1,
   ProtosDiscoverServicesResult_FieldNumber_ServicesArray = 2,
+  ProtosDiscoverServicesResult_FieldNumber_FromCache = 3,
+  ProtosDiscoverServicesResult_FieldNumber_Failed = 4,
 };
 
 /**
@@ -564,6 +996,12 @@ typedef GPB_ENUM(ProtosDiscoverServicesResult_FieldNumber) {
 /** The number of items in @c servicesArray without causing the array to be created. */
 @property(nonatomic, readonly) NSUInteger servicesArray_Count;
 
+/** 是否来自磁盘缓存，之后会再发送一次实际发现的结果 */
+@property(nonatomic, readwrite) BOOL fromCache;
+
+/** 实际发现是否失败（仅 Android），失败时不应替换缓存的服务 */
+@property(nonatomic, readwrite) BOOL failed;
+
 @end
 
 #pragma mark - ProtosReadCharacteristicRequest
@@ -740,6 +1178,106 @@ typedef GPB_ENUM(ProtosWriteCharacteristicResponse_FieldNumber) {
 
 @end
 
+#pragma mark - ProtosWriteCharacteristicBulkRequest
+
+typedef GPB_ENUM(ProtosWriteCharacteristicBulkRequest_FieldNumber) {
+  ProtosWriteCharacteristicBulkRequest_FieldNumber_RemoteId = 1,
+  ProtosWriteCharacteristicBulkRequest_FieldNumber_CharacteristicUuid = 2,
+  ProtosWriteCharacteristicBulkRequest_FieldNumber_ServiceUuid = 3,
+  ProtosWriteCharacteristicBulkRequest_FieldNumber_SecondaryServiceUuid = 4,
+  ProtosWriteCharacteristicBulkRequest_FieldNumber_WriteType = 5,
+  ProtosWriteCharacteristicBulkRequest_FieldNumber_Value = 6,
+  ProtosWriteCharacteristicBulkRequest_FieldNumber_TransferId = 7,
+  ProtosWriteCharacteristicBulkRequest_FieldNumber_ProgressIntervalMs = 8,
+};
+
+/**
+ * 批量写入特征值请求消息，由原生端按 MTU 分块连续写入
+ **/
+@interface ProtosWriteCharacteristicBulkRequest : GPBMessage
+
+/** 远程设备 ID */
+@property(nonatomic, readwrite, copy, null_resettable) NSString *remoteId;
+
+/** 特征值 UUID */
+@property(nonatomic, readwrite, copy, null_resettable) NSString *characteristicUuid;
+
+/** 服务 UUID */
+@property(nonatomic, readwrite, copy, null_resettable) NSString *serviceUuid;
+
+/** 次级服务 UUID */
+@property(nonatomic, readwrite, copy, null_resettable) NSString *secondaryServiceUuid;
+
+/** 每个分块的写入类型 */
+@property(nonatomic, readwrite) ProtosWriteCharacteristicRequest_WriteType writeType;
+
+/** 要写入的完整数据 */
+@property(nonatomic, readwrite, copy, null_resettable) NSData *value;
+
+/** 调用方分配的传输 ID，用于匹配进度消息 */
+@property(nonatomic, readwrite) int32_t transferId;
+
+/** 进度消息的最小间隔（毫秒），0 使用默认值 */
+@property(nonatomic, readwrite) int32_t progressIntervalMs;
+
+@end
+
+/**
+ * Fetches the raw value of a @c ProtosWriteCharacteristicBulkRequest's @c writeType property, even
+ * if the value was not defined by the enum at the time the code was generated.
+ **/
+int32_t ProtosWriteCharacteristicBulkRequest_WriteType_RawValue(ProtosWriteCharacteristicBulkRequest *message);
+/**
+ * Sets the raw value of an @c ProtosWriteCharacteristicBulkRequest's @c writeType property, allowing
+ * it to be set to a value that was not defined by the enum at the time the code
+ * was generated.
+ **/
+void SetProtosWriteCharacteristicBulkRequest_WriteType_RawValue(ProtosWriteCharacteristicBulkRequest *message, int32_t value);
+
+#pragma mark - ProtosBulkWriteProgress
+
+typedef GPB_ENUM(ProtosBulkWriteProgress_FieldNumber) {
+  ProtosBulkWriteProgress_FieldNumber_RemoteId = 1,
+  ProtosBulkWriteProgress_FieldNumber_TransferId = 2,
+  ProtosBulkWriteProgress_FieldNumber_BytesWritten = 3,
+  ProtosBulkWriteProgress_FieldNumber_TotalBytes = 4,
+  ProtosBulkWriteProgress_FieldNumber_ChunkSize = 5,
+  ProtosBulkWriteProgress_FieldNumber_ElapsedUs = 6,
+  ProtosBulkWriteProgress_FieldNumber_Done = 7,
+  ProtosBulkWriteProgress_FieldNumber_Error = 8,
+};
+
+/**
+ * 批量写入进度消息
+ **/
+@interface ProtosBulkWriteProgress : GPBMessage
+
+/** 远程设备 ID */
+@property(nonatomic, readwrite, copy, null_resettable) NSString *remoteId;
+
+/** 传输 ID */
+@property(nonatomic, readwrite) int32_t transferId;
+
+/** 已确认写入的字节数 */
+@property(nonatomic, readwrite) int64_t bytesWritten;
+
+/** 总字节数 */
+@property(nonatomic, readwrite) int64_t totalBytes;
+
+/** 分块大小（字节） */
+@property(nonatomic, readwrite) int32_t chunkSize;
+
+/** 从第一个分块开始经过的时间（微秒） */
+@property(nonatomic, readwrite) int64_t elapsedUs;
+
+/** 传输是否已结束 */
+@property(nonatomic, readwrite) BOOL done;
+
+/** 结束时的错误信息，成功时为空 */
+@property(nonatomic, readwrite, copy, null_resettable) NSString *error;
+
+@end
+
 #pragma mark - ProtosWriteDescriptorRequest
 
 typedef GPB_ENUM(ProtosWriteDescriptorRequest_FieldNumber) {
@@ -806,6 +1344,9 @@ typedef GPB_ENUM(ProtosSetNotificationRequest_FieldNumber) {
   ProtosSetNotificationRequest_FieldNumber_SecondaryServiceUuid = 3,
   ProtosSetNotificationRequest_FieldNumber_CharacteristicUuid = 4,
   ProtosSetNotificationRequest_FieldNumber_Enable = 5,
+  ProtosSetNotificationRequest_FieldNumber_Compact = 6,
+  ProtosSetNotificationRequest_FieldNumber_BatchMaxSize = 7,
+  ProtosSetNotificationRequest_FieldNumber_BatchMaxLatencyMs = 8,
 };
 
 /**
@@ -828,6 +1369,15 @@ typedef GPB_ENUM(ProtosSetNotificationRequest_FieldNumber) {
 /** 是否启用通知 */
 @property(nonatomic, readwrite) BOOL enable;
 
+/** 是否以 OnCharacteristicValue 精简消息上报通知 */
+@property(nonatomic, readwrite) BOOL compact;
+
+/** 批量上报的最大条数，<= 1 表示逐条上报 */
+@property(nonatomic, readwrite) int32_t batchMaxSize;
+
+/** 批量上报的最大延迟（毫秒），<= 0 使用默认值 */
+@property(nonatomic, readwrite) int32_t batchMaxLatencyMs;
+
 @end
 
 #pragma mark - ProtosSetNotificationResponse
@@ -878,6 +1428,62 @@ typedef GPB_ENUM(ProtosOnCharacteristicChanged_FieldNumber) {
 
 @end
 
+#pragma mark - ProtosOnCharacteristicValue
+
+typedef GPB_ENUM(ProtosOnCharacteristicValue_FieldNumber) {
+  ProtosOnCharacteristicValue_FieldNumber_RemoteId = 1,
+  ProtosOnCharacteristicValue_FieldNumber_Handle = 2,
+  ProtosOnCharacteristicValue_FieldNumber_Value = 3,
+};
+
+/**
+ * 精简的特征值通知消息，只携带特征值句柄和数据
+ **/
+@interface ProtosOnCharacteristicValue : GPBMessage
+
+/** 远程设备 ID */
+@property(nonatomic, readwrite, copy, null_resettable) NSString *remoteId;
+
+/** 特征值句柄，见 BluetoothCharacteristic.handle */
+@property(nonatomic, readwrite) int32_t handle;
+
+/** 特征值数据 */
+@property(nonatomic, readwrite, copy, null_resettable) NSData *value;
+
+@end
+
+#pragma mark - ProtosOnCharacteristicValueBatch
+
+typedef GPB_ENUM(ProtosOnCharacteristicValueBatch_FieldNumber) {
+  ProtosOnCharacteristicValueBatch_FieldNumber_RemoteId = 1,
+  ProtosOnCharacteristicValueBatch_FieldNumber_Handle = 2,
+  ProtosOnCharacteristicValueBatch_FieldNumber_ValuesArray = 3,
+  ProtosOnCharacteristicValueBatch_FieldNumber_TimestampsUsArray = 4,
+};
+
+/**
+ * 批量的特征值通知消息
+ **/
+@interface ProtosOnCharacteristicValueBatch : GPBMessage
+
+/** 远程设备 ID */
+@property(nonatomic, readwrite, copy, null_resettable) NSString *remoteId;
+
+/** 特征值句柄，见 BluetoothCharacteristic.handle */
+@property(nonatomic, readwrite) int32_t handle;
+
+/** 按到达顺序排列的特征值数据 */
+@property(nonatomic, readwrite, strong, null_resettable) NSMutableArray<NSData*> *valuesArray;
+/** The number of items in @c valuesArray without causing the array to be created. */
+@property(nonatomic, readonly) NSUInteger valuesArray_Count;
+
+/** 每条数据到达时的单调时间戳（微秒） */
+@property(nonatomic, readwrite, strong, null_resettable) GPBInt64Array *timestampsUsArray;
+/** The number of items in @c timestampsUsArray without causing the array to be created. */
+@property(nonatomic, readonly) NSUInteger timestampsUsArray_Count;
+
+@end
+
 #pragma mark - ProtosDeviceStateResponse
 
 typedef GPB_ENUM(ProtosDeviceStateResponse_FieldNumber) {
@@ -203,6 +203,9 @@ BOOL ProtosBluetoothState_State_IsValidValue(int32_t value__) {
 @dynamic manufacturerData, manufacturerData_Count;
 @dynamic serviceData, serviceData_Count;
 @dynamic serviceUuidsArray, serviceUuidsArray_Count;
+@dynamic hasFlags, flags;
+@dynamic hasAppearance, appearance;
+@dynamic solicitedServiceUuidsArray, solicitedServiceUuidsArray_Count;
 
 typedef struct ProtosAdvertisementData__storage_ {
   uint32_t _has_storage_[1];
@@ -211,6 +214,9 @@ typedef struct ProtosAdvertisementData__storage_ {
   GPBInt32ObjectDictionary *manufacturerData;
   NSMutableDictionary *serviceData;
   NSMutableArray *serviceUuidsArray;
+  ProtosInt32Value *flags;
+  ProtosInt32Value *appearance;
+  NSMutableArray *solicitedServiceUuidsArray;
 } ProtosAdvertisementData__storage_;
 
 // This method is threadsafe because it is initially called
@@ -273,6 +279,33 @@ typedef struct ProtosAdvertisementData__storage_ {
         .flags = GPBFieldRepeated,
         .dataType = GPBDataTypeString,
       },
+      {
+        .name = "flags",
+        .dataTypeSpecific.className = GPBStringifySymbol(ProtosInt32Value),
+        .number = ProtosAdvertisementData_FieldNumber_Flags,
+        .hasIndex = 4,
+        .offset = (uint32_t)offsetof(ProtosAdvertisementData__storage_, flags),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeMessage,
+      },
+      {
+        .name = "appearance",
+        .dataTypeSpecific.className = GPBStringifySymbol(ProtosInt32Value),
+        .number = ProtosAdvertisementData_FieldNumber_Appearance,
+        .hasIndex = 5,
+        .offset = (uint32_t)offsetof(ProtosAdvertisementData__storage_, appearance),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeMessage,
+      },
+      {
+        .name = "solicitedServiceUuidsArray",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosAdvertisementData_FieldNumber_SolicitedServiceUuidsArray,
+        .hasIndex = GPBNoHasBit,
+        .offset = (uint32_t)offsetof(ProtosAdvertisementData__storage_, solicitedServiceUuidsArray),
+        .flags = GPBFieldRepeated,
+        .dataType = GPBDataTypeString,
+      },
     };
     GPBDescriptor *localDescriptor =
         [GPBDescriptor allocDescriptorForClass:[ProtosAdvertisementData class]
@@ -299,11 +332,43 @@ typedef struct ProtosAdvertisementData__storage_ {
 @dynamic androidScanMode;
 @dynamic serviceUuidsArray, serviceUuidsArray_Count;
 @dynamic allowDuplicates;
+@dynamic batchMaxSize;
+@dynamic batchMaxLatencyMs;
+@dynamic androidReportDelayMs;
+@dynamic androidMatchMode;
+@dynamic androidNumOfMatches;
+@dynamic androidCallbackType;
+@dynamic androidPipelineCapacity;
+@dynamic androidOverflowPolicy;
+@dynamic coalesceIntervalMs;
+@dynamic rssiFilter;
+@dynamic rssiEmaAlpha;
+@dynamic rssiKalmanProcessNoise;
+@dynamic rssiKalmanMeasurementNoise;
+@dynamic suppressUnchangedPayloads;
+@dynamic unchangedPayloadHeartbeatMs;
+@dynamic filtersArray, filtersArray_Count;
+@dynamic androidRawScanFrames;
 
 typedef struct ProtosScanSettings__storage_ {
   uint32_t _has_storage_[1];
   int32_t androidScanMode;
+  int32_t batchMaxSize;
+  int32_t batchMaxLatencyMs;
+  int32_t androidReportDelayMs;
+  int32_t androidMatchMode;
+  int32_t androidNumOfMatches;
+  int32_t androidCallbackType;
+  int32_t androidPipelineCapacity;
+  ProtosScanSettings_OverflowPolicy androidOverflowPolicy;
+  int32_t coalesceIntervalMs;
+  ProtosScanSettings_RssiFilter rssiFilter;
+  float rssiEmaAlpha;
+  float rssiKalmanProcessNoise;
+  float rssiKalmanMeasurementNoise;
+  int32_t unchangedPayloadHeartbeatMs;
   NSMutableArray *serviceUuidsArray;
+  NSMutableArray *filtersArray;
 } ProtosScanSettings__storage_;
 
 // This method is threadsafe because it is initially called
@@ -339,6 +404,159 @@ typedef struct ProtosScanSettings__storage_ {
         .flags = GPBFieldOptional,
         .dataType = GPBDataTypeBool,
       },
+      {
+        .name = "batchMaxSize",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosScanSettings_FieldNumber_BatchMaxSize,
+        .hasIndex = 3,
+        .offset = (uint32_t)offsetof(ProtosScanSettings__storage_, batchMaxSize),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt32,
+      },
+      {
+        .name = "batchMaxLatencyMs",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosScanSettings_FieldNumber_BatchMaxLatencyMs,
+        .hasIndex = 4,
+        .offset = (uint32_t)offsetof(ProtosScanSettings__storage_, batchMaxLatencyMs),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt32,
+      },
+      {
+        .name = "androidReportDelayMs",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosScanSettings_FieldNumber_AndroidReportDelayMs,
+        .hasIndex = 5,
+        .offset = (uint32_t)offsetof(ProtosScanSettings__storage_, androidReportDelayMs),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt32,
+      },
+      {
+        .name = "androidMatchMode",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosScanSettings_FieldNumber_AndroidMatchMode,
+        .hasIndex = 6,
+        .offset = (uint32_t)offsetof(ProtosScanSettings__storage_, androidMatchMode),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt32,
+      },
+      {
+        .name = "androidNumOfMatches",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosScanSettings_FieldNumber_AndroidNumOfMatches,
+        .hasIndex = 7,
+        .offset = (uint32_t)offsetof(ProtosScanSettings__storage_, androidNumOfMatches),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt32,
+      },
+      {
+        .name = "androidCallbackType",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosScanSettings_FieldNumber_AndroidCallbackType,
+        .hasIndex = 8,
+        .offset = (uint32_t)offsetof(ProtosScanSettings__storage_, androidCallbackType),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt32,
+      },
+      {
+        .name = "androidPipelineCapacity",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosScanSettings_FieldNumber_AndroidPipelineCapacity,
+        .hasIndex = 9,
+        .offset = (uint32_t)offsetof(ProtosScanSettings__storage_, androidPipelineCapacity),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt32,
+      },
+      {
+        .name = "androidOverflowPolicy",
+        .dataTypeSpecific.enumDescFunc = ProtosScanSettings_OverflowPolicy_EnumDescriptor,
+        .number = ProtosScanSettings_FieldNumber_AndroidOverflowPolicy,
+        .hasIndex = 10,
+        .offset = (uint32_t)offsetof(ProtosScanSettings__storage_, androidOverflowPolicy),
+        .flags = (GPBFieldFlags)(GPBFieldOptional | GPBFieldHasEnumDescriptor),
+        .dataType = GPBDataTypeEnum,
+      },
+      {
+        .name = "coalesceIntervalMs",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosScanSettings_FieldNumber_CoalesceIntervalMs,
+        .hasIndex = 11,
+        .offset = (uint32_t)offsetof(ProtosScanSettings__storage_, coalesceIntervalMs),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt32,
+      },
+      {
+        .name = "rssiFilter",
+        .dataTypeSpecific.enumDescFunc = ProtosScanSettings_RssiFilter_EnumDescriptor,
+        .number = ProtosScanSettings_FieldNumber_RssiFilter,
+        .hasIndex = 12,
+        .offset = (uint32_t)offsetof(ProtosScanSettings__storage_, rssiFilter),
+        .flags = (GPBFieldFlags)(GPBFieldOptional | GPBFieldHasEnumDescriptor),
+        .dataType = GPBDataTypeEnum,
+      },
+      {
+        .name = "rssiEmaAlpha",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosScanSettings_FieldNumber_RssiEmaAlpha,
+        .hasIndex = 13,
+        .offset = (uint32_t)offsetof(ProtosScanSettings__storage_, rssiEmaAlpha),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeFloat,
+      },
+      {
+        .name = "rssiKalmanProcessNoise",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosScanSettings_FieldNumber_RssiKalmanProcessNoise,
+        .hasIndex = 14,
+        .offset = (uint32_t)offsetof(ProtosScanSettings__storage_, rssiKalmanProcessNoise),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeFloat,
+      },
+      {
+        .name = "rssiKalmanMeasurementNoise",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosScanSettings_FieldNumber_RssiKalmanMeasurementNoise,
+        .hasIndex = 15,
+        .offset = (uint32_t)offsetof(ProtosScanSettings__storage_, rssiKalmanMeasurementNoise),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeFloat,
+      },
+      {
+        .name = "suppressUnchangedPayloads",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosScanSettings_FieldNumber_SuppressUnchangedPayloads,
+        .hasIndex = 16,
+        .offset = 17,  // Stored in _has_storage_ to save space.
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeBool,
+      },
+      {
+        .name = "unchangedPayloadHeartbeatMs",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosScanSettings_FieldNumber_UnchangedPayloadHeartbeatMs,
+        .hasIndex = 18,
+        .offset = (uint32_t)offsetof(ProtosScanSettings__storage_, unchangedPayloadHeartbeatMs),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt32,
+      },
+      {
+        .name = "filtersArray",
+        .dataTypeSpecific.className = GPBStringifySymbol(ProtosAdvertisementFilter),
+        .number = ProtosScanSettings_FieldNumber_FiltersArray,
+        .hasIndex = GPBNoHasBit,
+        .offset = (uint32_t)offsetof(ProtosScanSettings__storage_, filtersArray),
+        .flags = GPBFieldRepeated,
+        .dataType = GPBDataTypeMessage,
+      },
+      {
+        .name = "androidRawScanFrames",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosScanSettings_FieldNumber_AndroidRawScanFrames,
+        .hasIndex = 19,
+        .offset = 20,  // Stored in _has_storage_ to save space.
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeBool,
+      },
     };
     GPBDescriptor *localDescriptor =
         [GPBDescriptor allocDescriptorForClass:[ProtosScanSettings class]
@@ -358,20 +576,132 @@ typedef struct ProtosScanSettings__storage_ {
 
 @end
 
-#pragma mark - ProtosScanResult
+int32_t ProtosScanSettings_AndroidOverflowPolicy_RawValue(ProtosScanSettings *message) {
+  GPBDescriptor *descriptor = [ProtosScanSettings descriptor];
+  GPBFieldDescriptor *field = [descriptor fieldWithNumber:ProtosScanSettings_FieldNumber_AndroidOverflowPolicy];
+  return GPBGetMessageInt32Field(message, field);
+}
 
-@implementation ProtosScanResult
+void SetProtosScanSettings_AndroidOverflowPolicy_RawValue(ProtosScanSettings *message, int32_t value) {
+  GPBDescriptor *descriptor = [ProtosScanSettings descriptor];
+  GPBFieldDescriptor *field = [descriptor fieldWithNumber:ProtosScanSettings_FieldNumber_AndroidOverflowPolicy];
+  GPBSetInt32IvarWithFieldInternal(message, field, value, descriptor.file.syntax);
+}
 
-@dynamic hasDevice, device;
-@dynamic hasAdvertisementData, advertisementData;
-@dynamic rssi;
+int32_t ProtosScanSettings_RssiFilter_RawValue(ProtosScanSettings *message) {
+  GPBDescriptor *descriptor = [ProtosScanSettings descriptor];
+  GPBFieldDescriptor *field = [descriptor fieldWithNumber:ProtosScanSettings_FieldNumber_RssiFilter];
+  return GPBGetMessageInt32Field(message, field);
+}
 
-typedef struct ProtosScanResult__storage_ {
+void SetProtosScanSettings_RssiFilter_RawValue(ProtosScanSettings *message, int32_t value) {
+  GPBDescriptor *descriptor = [ProtosScanSettings descriptor];
+  GPBFieldDescriptor *field = [descriptor fieldWithNumber:ProtosScanSettings_FieldNumber_RssiFilter];
+  GPBSetInt32IvarWithFieldInternal(message, field, value, descriptor.file.syntax);
+}
+
+#pragma mark - Enum ProtosScanSettings_OverflowPolicy
+
+GPBEnumDescriptor *ProtosScanSettings_OverflowPolicy_EnumDescriptor(void) {
+  static _Atomic(GPBEnumDescriptor*) descriptor = nil;
+  if (!descriptor) {
+    static const char *valueNames =
+        "DropOldest\000DropNewest\000CoalesceByDevice\000";
+    static const int32_t values[] = {
+        ProtosScanSettings_OverflowPolicy_DropOldest,
+        ProtosScanSettings_OverflowPolicy_DropNewest,
+        ProtosScanSettings_OverflowPolicy_CoalesceByDevice,
+    };
+    GPBEnumDescriptor *worker =
+        [GPBEnumDescriptor allocDescriptorForName:GPBNSStringifySymbol(ProtosScanSettings_OverflowPolicy)
+                                       valueNames:valueNames
+                                           values:values
+                                            count:(uint32_t)(sizeof(values) / sizeof(int32_t))
+                                     enumVerifier:ProtosScanSettings_OverflowPolicy_IsValidValue];
+    GPBEnumDescriptor *expected = nil;
+    if (!atomic_compare_exchange_strong(&descriptor, &expected, worker)) {
+      [worker release];
+    }
+  }
+  return descriptor;
+}
+
+BOOL ProtosScanSettings_OverflowPolicy_IsValidValue(int32_t value__) {
+  switch (value__) {
+    case ProtosScanSettings_OverflowPolicy_DropOldest:
+    case ProtosScanSettings_OverflowPolicy_DropNewest:
+    case ProtosScanSettings_OverflowPolicy_CoalesceByDevice:
+      return YES;
+    default:
+      return NO;
+  }
+}
+
+#pragma mark - Enum ProtosScanSettings_RssiFilter
+
+GPBEnumDescriptor *ProtosScanSettings_RssiFilter_EnumDescriptor(void) {
+  static _Atomic(GPBEnumDescriptor*) descriptor = nil;
+  if (!descriptor) {
+    static const char *valueNames =
+        "None\000Ema\000Kalman\000";
+    static const int32_t values[] = {
+        ProtosScanSettings_RssiFilter_None,
+        ProtosScanSettings_RssiFilter_Ema,
+        ProtosScanSettings_RssiFilter_Kalman,
+    };
+    GPBEnumDescriptor *worker =
+        [GPBEnumDescriptor allocDescriptorForName:GPBNSStringifySymbol(ProtosScanSettings_RssiFilter)
+                                       valueNames:valueNames
+                                           values:values
+                                            count:(uint32_t)(sizeof(values) / sizeof(int32_t))
+                                     enumVerifier:ProtosScanSettings_RssiFilter_IsValidValue];
+    GPBEnumDescriptor *expected = nil;
+    if (!atomic_compare_exchange_strong(&descriptor, &expected, worker)) {
+      [worker release];
+    }
+  }
+  return descriptor;
+}
+
+BOOL ProtosScanSettings_RssiFilter_IsValidValue(int32_t value__) {
+  switch (value__) {
+    case ProtosScanSettings_RssiFilter_None:
+    case ProtosScanSettings_RssiFilter_Ema:
+    case ProtosScanSettings_RssiFilter_Kalman:
+      return YES;
+    default:
+      return NO;
+  }
+}
+
+#pragma mark - ProtosAdvertisementFilter
+
+@implementation ProtosAdvertisementFilter
+
+@dynamic serviceUuid;
+@dynamic hasManufacturerId, manufacturerId;
+@dynamic manufacturerData;
+@dynamic manufacturerDataMask;
+@dynamic deviceName;
+@dynamic namePrefix;
+@dynamic serviceDataUuid;
+@dynamic serviceData;
+@dynamic serviceDataMask;
+@dynamic minRssi;
+
+typedef struct ProtosAdvertisementFilter__storage_ {
   uint32_t _has_storage_[1];
-  int32_t rssi;
-  ProtosBluetoothDevice *device;
-  ProtosAdvertisementData *advertisementData;
-} ProtosScanResult__storage_;
+  int32_t minRssi;
+  NSString *serviceUuid;
+  ProtosInt32Value *manufacturerId;
+  NSData *manufacturerData;
+  NSData *manufacturerDataMask;
+  NSString *deviceName;
+  NSString *namePrefix;
+  NSString *serviceDataUuid;
+  NSData *serviceData;
+  NSData *serviceDataMask;
+} ProtosAdvertisementFilter__storage_;
 
 // This method is threadsafe because it is initially called
 // in +initialize for each subclass.
@@ -380,40 +710,103 @@ typedef struct ProtosScanResult__storage_ {
   if (!descriptor) {
     static GPBMessageFieldDescription fields[] = {
       {
-        .name = "device",
-        .dataTypeSpecific.className = GPBStringifySymbol(ProtosBluetoothDevice),
-        .number = ProtosScanResult_FieldNumber_Device,
+        .name = "serviceUuid",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosAdvertisementFilter_FieldNumber_ServiceUuid,
         .hasIndex = 0,
-        .offset = (uint32_t)offsetof(ProtosScanResult__storage_, device),
+        .offset = (uint32_t)offsetof(ProtosAdvertisementFilter__storage_, serviceUuid),
         .flags = GPBFieldOptional,
-        .dataType = GPBDataTypeMessage,
+        .dataType = GPBDataTypeString,
       },
       {
-        .name = "advertisementData",
-        .dataTypeSpecific.className = GPBStringifySymbol(ProtosAdvertisementData),
-        .number = ProtosScanResult_FieldNumber_AdvertisementData,
+        .name = "manufacturerId",
+        .dataTypeSpecific.className = GPBStringifySymbol(ProtosInt32Value),
+        .number = ProtosAdvertisementFilter_FieldNumber_ManufacturerId,
         .hasIndex = 1,
-        .offset = (uint32_t)offsetof(ProtosScanResult__storage_, advertisementData),
+        .offset = (uint32_t)offsetof(ProtosAdvertisementFilter__storage_, manufacturerId),
         .flags = GPBFieldOptional,
         .dataType = GPBDataTypeMessage,
       },
       {
-        .name = "rssi",
+        .name = "manufacturerData",
         .dataTypeSpecific.className = NULL,
-        .number = ProtosScanResult_FieldNumber_Rssi,
+        .number = ProtosAdvertisementFilter_FieldNumber_ManufacturerData,
         .hasIndex = 2,
-        .offset = (uint32_t)offsetof(ProtosScanResult__storage_, rssi),
+        .offset = (uint32_t)offsetof(ProtosAdvertisementFilter__storage_, manufacturerData),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeBytes,
+      },
+      {
+        .name = "manufacturerDataMask",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosAdvertisementFilter_FieldNumber_ManufacturerDataMask,
+        .hasIndex = 3,
+        .offset = (uint32_t)offsetof(ProtosAdvertisementFilter__storage_, manufacturerDataMask),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeBytes,
+      },
+      {
+        .name = "deviceName",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosAdvertisementFilter_FieldNumber_DeviceName,
+        .hasIndex = 4,
+        .offset = (uint32_t)offsetof(ProtosAdvertisementFilter__storage_, deviceName),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeString,
+      },
+      {
+        .name = "namePrefix",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosAdvertisementFilter_FieldNumber_NamePrefix,
+        .hasIndex = 5,
+        .offset = (uint32_t)offsetof(ProtosAdvertisementFilter__storage_, namePrefix),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeString,
+      },
+      {
+        .name = "serviceDataUuid",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosAdvertisementFilter_FieldNumber_ServiceDataUuid,
+        .hasIndex = 6,
+        .offset = (uint32_t)offsetof(ProtosAdvertisementFilter__storage_, serviceDataUuid),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeString,
+      },
+      {
+        .name = "serviceData",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosAdvertisementFilter_FieldNumber_ServiceData,
+        .hasIndex = 7,
+        .offset = (uint32_t)offsetof(ProtosAdvertisementFilter__storage_, serviceData),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeBytes,
+      },
+      {
+        .name = "serviceDataMask",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosAdvertisementFilter_FieldNumber_ServiceDataMask,
+        .hasIndex = 8,
+        .offset = (uint32_t)offsetof(ProtosAdvertisementFilter__storage_, serviceDataMask),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeBytes,
+      },
+      {
+        .name = "minRssi",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosAdvertisementFilter_FieldNumber_MinRssi,
+        .hasIndex = 9,
+        .offset = (uint32_t)offsetof(ProtosAdvertisementFilter__storage_, minRssi),
         .flags = GPBFieldOptional,
         .dataType = GPBDataTypeInt32,
       },
     };
     GPBDescriptor *localDescriptor =
-        [GPBDescriptor allocDescriptorForClass:[ProtosScanResult class]
+        [GPBDescriptor allocDescriptorForClass:[ProtosAdvertisementFilter class]
                                      rootClass:[ProtosFlutterblueRoot class]
                                           file:ProtosFlutterblueRoot_FileDescriptor()
                                         fields:fields
                                     fieldCount:(uint32_t)(sizeof(fields) / sizeof(GPBMessageFieldDescription))
-                                   storageSize:sizeof(ProtosScanResult__storage_)
+                                   storageSize:sizeof(ProtosAdvertisementFilter__storage_)
                                          flags:GPBDescriptorInitializationFlag_None];
     #if defined(DEBUG) && DEBUG
       NSAssert(descriptor == nil, @"Startup recursed!");
@@ -425,18 +818,271 @@ typedef struct ProtosScanResult__storage_ {
 
 @end
 
-#pragma mark - ProtosConnectRequest
+#pragma mark - ProtosScanResult
 
-@implementation ProtosConnectRequest
+@implementation ProtosScanResult
 
-@dynamic remoteId;
-@dynamic androidAutoConnect;
+@dynamic hasDevice, device;
+@dynamic hasAdvertisementData, advertisementData;
+@dynamic rssi;
+@dynamic matchLost;
 
-typedef struct ProtosConnectRequest__storage_ {
+typedef struct ProtosScanResult__storage_ {
   uint32_t _has_storage_[1];
-  NSString *remoteId;
-} ProtosConnectRequest__storage_;
-
+  int32_t rssi;
+  ProtosBluetoothDevice *device;
+  ProtosAdvertisementData *advertisementData;
+} ProtosScanResult__storage_;
+
+// This method is threadsafe because it is initially called
+// in +initialize for each subclass.
++ (GPBDescriptor *)descriptor {
+  static GPBDescriptor *descriptor = nil;
+  if (!descriptor) {
+    static GPBMessageFieldDescription fields[] = {
+      {
+        .name = "device",
+        .dataTypeSpecific.className = GPBStringifySymbol(ProtosBluetoothDevice),
+        .number = ProtosScanResult_FieldNumber_Device,
+        .hasIndex = 0,
+        .offset = (uint32_t)offsetof(ProtosScanResult__storage_, device),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeMessage,
+      },
+      {
+        .name = "advertisementData",
+        .dataTypeSpecific.className = GPBStringifySymbol(ProtosAdvertisementData),
+        .number = ProtosScanResult_FieldNumber_AdvertisementData,
+        .hasIndex = 1,
+        .offset = (uint32_t)offsetof(ProtosScanResult__storage_, advertisementData),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeMessage,
+      },
+      {
+        .name = "rssi",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosScanResult_FieldNumber_Rssi,
+        .hasIndex = 2,
+        .offset = (uint32_t)offsetof(ProtosScanResult__storage_, rssi),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt32,
+      },
+      {
+        .name = "matchLost",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosScanResult_FieldNumber_MatchLost,
+        .hasIndex = 3,
+        .offset = 4,  // Stored in _has_storage_ to save space.
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeBool,
+      },
+    };
+    GPBDescriptor *localDescriptor =
+        [GPBDescriptor allocDescriptorForClass:[ProtosScanResult class]
+                                     rootClass:[ProtosFlutterblueRoot class]
+                                          file:ProtosFlutterblueRoot_FileDescriptor()
+                                        fields:fields
+                                    fieldCount:(uint32_t)(sizeof(fields) / sizeof(GPBMessageFieldDescription))
+                                   storageSize:sizeof(ProtosScanResult__storage_)
+                                         flags:GPBDescriptorInitializationFlag_None];
+    #if defined(DEBUG) && DEBUG
+      NSAssert(descriptor == nil, @"Startup recursed!");
+    #endif  // DEBUG
+    descriptor = localDescriptor;
+  }
+  return descriptor;
+}
+
+@end
+
+#pragma mark - ProtosScanResultBatch
+
+@implementation ProtosScanResultBatch
+
+@dynamic resultsArray, resultsArray_Count;
+
+typedef struct ProtosScanResultBatch__storage_ {
+  uint32_t _has_storage_[1];
+  NSMutableArray *resultsArray;
+} ProtosScanResultBatch__storage_;
+
+// This method is threadsafe because it is initially called
+// in +initialize for each subclass.
++ (GPBDescriptor *)descriptor {
+  static GPBDescriptor *descriptor = nil;
+  if (!descriptor) {
+    static GPBMessageFieldDescription fields[] = {
+      {
+        .name = "resultsArray",
+        .dataTypeSpecific.className = GPBStringifySymbol(ProtosScanResult),
+        .number = ProtosScanResultBatch_FieldNumber_ResultsArray,
+        .hasIndex = GPBNoHasBit,
+        .offset = (uint32_t)offsetof(ProtosScanResultBatch__storage_, resultsArray),
+        .flags = GPBFieldRepeated,
+        .dataType = GPBDataTypeMessage,
+      },
+    };
+    GPBDescriptor *localDescriptor =
+        [GPBDescriptor allocDescriptorForClass:[ProtosScanResultBatch class]
+                                     rootClass:[ProtosFlutterblueRoot class]
+                                          file:ProtosFlutterblueRoot_FileDescriptor()
+                                        fields:fields
+                                    fieldCount:(uint32_t)(sizeof(fields) / sizeof(GPBMessageFieldDescription))
+                                   storageSize:sizeof(ProtosScanResultBatch__storage_)
+                                         flags:GPBDescriptorInitializationFlag_None];
+    #if defined(DEBUG) && DEBUG
+      NSAssert(descriptor == nil, @"Startup recursed!");
+    #endif  // DEBUG
+    descriptor = localDescriptor;
+  }
+  return descriptor;
+}
+
+@end
+
+#pragma mark - ProtosScanPipelineStats
+
+@implementation ProtosScanPipelineStats
+
+@dynamic received;
+@dynamic delivered;
+@dynamic dropped;
+@dynamic coalesced;
+@dynamic queueDepth;
+@dynamic maxQueueDepth;
+@dynamic avgQueueLatencyUs;
+@dynamic avgConvertLatencyUs;
+
+typedef struct ProtosScanPipelineStats__storage_ {
+  uint32_t _has_storage_[1];
+  int64_t received;
+  int64_t delivered;
+  int64_t dropped;
+  int64_t coalesced;
+  int64_t queueDepth;
+  int64_t maxQueueDepth;
+  int64_t avgQueueLatencyUs;
+  int64_t avgConvertLatencyUs;
+} ProtosScanPipelineStats__storage_;
+
+// This method is threadsafe because it is initially called
+// in +initialize for each subclass.
++ (GPBDescriptor *)descriptor {
+  static GPBDescriptor *descriptor = nil;
+  if (!descriptor) {
+    static GPBMessageFieldDescription fields[] = {
+      {
+        .name = "received",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosScanPipelineStats_FieldNumber_Received,
+        .hasIndex = 0,
+        .offset = (uint32_t)offsetof(ProtosScanPipelineStats__storage_, received),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "delivered",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosScanPipelineStats_FieldNumber_Delivered,
+        .hasIndex = 1,
+        .offset = (uint32_t)offsetof(ProtosScanPipelineStats__storage_, delivered),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "dropped",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosScanPipelineStats_FieldNumber_Dropped,
+        .hasIndex = 2,
+        .offset = (uint32_t)offsetof(ProtosScanPipelineStats__storage_, dropped),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "coalesced",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosScanPipelineStats_FieldNumber_Coalesced,
+        .hasIndex = 3,
+        .offset = (uint32_t)offsetof(ProtosScanPipelineStats__storage_, coalesced),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "queueDepth",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosScanPipelineStats_FieldNumber_QueueDepth,
+        .hasIndex = 4,
+        .offset = (uint32_t)offsetof(ProtosScanPipelineStats__storage_, queueDepth),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "maxQueueDepth",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosScanPipelineStats_FieldNumber_MaxQueueDepth,
+        .hasIndex = 5,
+        .offset = (uint32_t)offsetof(ProtosScanPipelineStats__storage_, maxQueueDepth),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "avgQueueLatencyUs",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosScanPipelineStats_FieldNumber_AvgQueueLatencyUs,
+        .hasIndex = 6,
+        .offset = (uint32_t)offsetof(ProtosScanPipelineStats__storage_, avgQueueLatencyUs),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "avgConvertLatencyUs",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosScanPipelineStats_FieldNumber_AvgConvertLatencyUs,
+        .hasIndex = 7,
+        .offset = (uint32_t)offsetof(ProtosScanPipelineStats__storage_, avgConvertLatencyUs),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+    };
+    GPBDescriptor *localDescriptor =
+        [GPBDescriptor allocDescriptorForClass:[ProtosScanPipelineStats class]
+                                     rootClass:[ProtosFlutterblueRoot class]
+                                          file:ProtosFlutterblueRoot_FileDescriptor()
+                                        fields:fields
+                                    fieldCount:(uint32_t)(sizeof(fields) / sizeof(GPBMessageFieldDescription))
+                                   storageSize:sizeof(ProtosScanPipelineStats__storage_)
+                                         flags:GPBDescriptorInitializationFlag_None];
+    #if defined(DEBUG) && DEBUG
+      NSAssert(descriptor == nil, @"Startup recursed!");
+    #endif  // DEBUG
+    descriptor = localDescriptor;
+  }
+  return descriptor;
+}
+
+@end
+
+#pragma mark - ProtosDeviceCacheStats
+
+@implementation ProtosDeviceCacheStats
+
+@dynamic hits;
+@dynamic misses;
+@dynamic expired;
+@dynamic renamed;
+@dynamic evicted;
+@dynamic size;
+
+typedef struct ProtosDeviceCacheStats__storage_ {
+  uint32_t _has_storage_[1];
+  int64_t hits;
+  int64_t misses;
+  int64_t expired;
+  int64_t renamed;
+  int64_t evicted;
+  int64_t size;
+} ProtosDeviceCacheStats__storage_;
+
 // This method is threadsafe because it is initially called
 // in +initialize for each subclass.
 + (GPBDescriptor *)descriptor {
@@ -444,31 +1090,397 @@ typedef struct ProtosConnectRequest__storage_ {
   if (!descriptor) {
     static GPBMessageFieldDescription fields[] = {
       {
-        .name = "remoteId",
+        .name = "hits",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosDeviceCacheStats_FieldNumber_Hits,
+        .hasIndex = 0,
+        .offset = (uint32_t)offsetof(ProtosDeviceCacheStats__storage_, hits),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "misses",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosDeviceCacheStats_FieldNumber_Misses,
+        .hasIndex = 1,
+        .offset = (uint32_t)offsetof(ProtosDeviceCacheStats__storage_, misses),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "expired",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosDeviceCacheStats_FieldNumber_Expired,
+        .hasIndex = 2,
+        .offset = (uint32_t)offsetof(ProtosDeviceCacheStats__storage_, expired),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "renamed",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosDeviceCacheStats_FieldNumber_Renamed,
+        .hasIndex = 3,
+        .offset = (uint32_t)offsetof(ProtosDeviceCacheStats__storage_, renamed),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "evicted",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosDeviceCacheStats_FieldNumber_Evicted,
+        .hasIndex = 4,
+        .offset = (uint32_t)offsetof(ProtosDeviceCacheStats__storage_, evicted),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "size",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosDeviceCacheStats_FieldNumber_Size,
+        .hasIndex = 5,
+        .offset = (uint32_t)offsetof(ProtosDeviceCacheStats__storage_, size),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+    };
+    GPBDescriptor *localDescriptor =
+        [GPBDescriptor allocDescriptorForClass:[ProtosDeviceCacheStats class]
+                                     rootClass:[ProtosFlutterblueRoot class]
+                                          file:ProtosFlutterblueRoot_FileDescriptor()
+                                        fields:fields
+                                    fieldCount:(uint32_t)(sizeof(fields) / sizeof(GPBMessageFieldDescription))
+                                   storageSize:sizeof(ProtosDeviceCacheStats__storage_)
+                                         flags:GPBDescriptorInitializationFlag_None];
+    #if defined(DEBUG) && DEBUG
+      NSAssert(descriptor == nil, @"Startup recursed!");
+    #endif  // DEBUG
+    descriptor = localDescriptor;
+  }
+  return descriptor;
+}
+
+@end
+
+#pragma mark - ProtosEventRingStats
+
+@implementation ProtosEventRingStats
+
+@dynamic capacity;
+@dynamic events;
+@dynamic bytes;
+@dynamic droppedEvents;
+@dynamic droppedBytes;
+@dynamic fill;
+@dynamic maxFill;
+@dynamic signals;
+
+typedef struct ProtosEventRingStats__storage_ {
+  uint32_t _has_storage_[1];
+  int64_t capacity;
+  int64_t events;
+  int64_t bytes;
+  int64_t droppedEvents;
+  int64_t droppedBytes;
+  int64_t fill;
+  int64_t maxFill;
+  int64_t signals;
+} ProtosEventRingStats__storage_;
+
+// This method is threadsafe because it is initially called
+// in +initialize for each subclass.
++ (GPBDescriptor *)descriptor {
+  static GPBDescriptor *descriptor = nil;
+  if (!descriptor) {
+    static GPBMessageFieldDescription fields[] = {
+      {
+        .name = "capacity",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosEventRingStats_FieldNumber_Capacity,
+        .hasIndex = 0,
+        .offset = (uint32_t)offsetof(ProtosEventRingStats__storage_, capacity),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "events",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosEventRingStats_FieldNumber_Events,
+        .hasIndex = 1,
+        .offset = (uint32_t)offsetof(ProtosEventRingStats__storage_, events),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "bytes",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosEventRingStats_FieldNumber_Bytes,
+        .hasIndex = 2,
+        .offset = (uint32_t)offsetof(ProtosEventRingStats__storage_, bytes),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "droppedEvents",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosEventRingStats_FieldNumber_DroppedEvents,
+        .hasIndex = 3,
+        .offset = (uint32_t)offsetof(ProtosEventRingStats__storage_, droppedEvents),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "droppedBytes",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosEventRingStats_FieldNumber_DroppedBytes,
+        .hasIndex = 4,
+        .offset = (uint32_t)offsetof(ProtosEventRingStats__storage_, droppedBytes),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "fill",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosEventRingStats_FieldNumber_Fill,
+        .hasIndex = 5,
+        .offset = (uint32_t)offsetof(ProtosEventRingStats__storage_, fill),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "maxFill",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosEventRingStats_FieldNumber_MaxFill,
+        .hasIndex = 6,
+        .offset = (uint32_t)offsetof(ProtosEventRingStats__storage_, maxFill),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "signals",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosEventRingStats_FieldNumber_Signals,
+        .hasIndex = 7,
+        .offset = (uint32_t)offsetof(ProtosEventRingStats__storage_, signals),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+    };
+    GPBDescriptor *localDescriptor =
+        [GPBDescriptor allocDescriptorForClass:[ProtosEventRingStats class]
+                                     rootClass:[ProtosFlutterblueRoot class]
+                                          file:ProtosFlutterblueRoot_FileDescriptor()
+                                        fields:fields
+                                    fieldCount:(uint32_t)(sizeof(fields) / sizeof(GPBMessageFieldDescription))
+                                   storageSize:sizeof(ProtosEventRingStats__storage_)
+                                         flags:GPBDescriptorInitializationFlag_None];
+    #if defined(DEBUG) && DEBUG
+      NSAssert(descriptor == nil, @"Startup recursed!");
+    #endif  // DEBUG
+    descriptor = localDescriptor;
+  }
+  return descriptor;
+}
+
+@end
+
+#pragma mark - ProtosConnectRequest
+
+@implementation ProtosConnectRequest
+
+@dynamic remoteId;
+@dynamic androidAutoConnect;
+@dynamic androidGattTimeoutMs;
+@dynamic androidCacheServices;
+
+typedef struct ProtosConnectRequest__storage_ {
+  uint32_t _has_storage_[1];
+  int32_t androidGattTimeoutMs;
+  NSString *remoteId;
+} ProtosConnectRequest__storage_;
+
+// This method is threadsafe because it is initially called
+// in +initialize for each subclass.
++ (GPBDescriptor *)descriptor {
+  static GPBDescriptor *descriptor = nil;
+  if (!descriptor) {
+    static GPBMessageFieldDescription fields[] = {
+      {
+        .name = "remoteId",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosConnectRequest_FieldNumber_RemoteId,
+        .hasIndex = 0,
+        .offset = (uint32_t)offsetof(ProtosConnectRequest__storage_, remoteId),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeString,
+      },
+      {
+        .name = "androidAutoConnect",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosConnectRequest_FieldNumber_AndroidAutoConnect,
+        .hasIndex = 1,
+        .offset = 2,  // Stored in _has_storage_ to save space.
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeBool,
+      },
+      {
+        .name = "androidGattTimeoutMs",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosConnectRequest_FieldNumber_AndroidGattTimeoutMs,
+        .hasIndex = 3,
+        .offset = (uint32_t)offsetof(ProtosConnectRequest__storage_, androidGattTimeoutMs),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt32,
+      },
+      {
+        .name = "androidCacheServices",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosConnectRequest_FieldNumber_AndroidCacheServices,
+        .hasIndex = 4,
+        .offset = 5,  // Stored in _has_storage_ to save space.
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeBool,
+      },
+    };
+    GPBDescriptor *localDescriptor =
+        [GPBDescriptor allocDescriptorForClass:[ProtosConnectRequest class]
+                                     rootClass:[ProtosFlutterblueRoot class]
+                                          file:ProtosFlutterblueRoot_FileDescriptor()
+                                        fields:fields
+                                    fieldCount:(uint32_t)(sizeof(fields) / sizeof(GPBMessageFieldDescription))
+                                   storageSize:sizeof(ProtosConnectRequest__storage_)
+                                         flags:GPBDescriptorInitializationFlag_None];
+    #if defined(DEBUG) && DEBUG
+      NSAssert(descriptor == nil, @"Startup recursed!");
+    #endif  // DEBUG
+    descriptor = localDescriptor;
+  }
+  return descriptor;
+}
+
+@end
+
+#pragma mark - ProtosGattQueueStats
+
+@implementation ProtosGattQueueStats
+
+@dynamic queueDepth;
+@dynamic maxQueueDepth;
+@dynamic inFlight;
+@dynamic completed;
+@dynamic failed;
+@dynamic timedOut;
+@dynamic cancelled;
+@dynamic avgWaitLatencyUs;
+@dynamic avgOpLatencyUs;
+
+typedef struct ProtosGattQueueStats__storage_ {
+  uint32_t _has_storage_[1];
+  int64_t queueDepth;
+  int64_t maxQueueDepth;
+  int64_t completed;
+  int64_t failed;
+  int64_t timedOut;
+  int64_t cancelled;
+  int64_t avgWaitLatencyUs;
+  int64_t avgOpLatencyUs;
+} ProtosGattQueueStats__storage_;
+
+// This method is threadsafe because it is initially called
+// in +initialize for each subclass.
++ (GPBDescriptor *)descriptor {
+  static GPBDescriptor *descriptor = nil;
+  if (!descriptor) {
+    static GPBMessageFieldDescription fields[] = {
+      {
+        .name = "queueDepth",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosGattQueueStats_FieldNumber_QueueDepth,
+        .hasIndex = 0,
+        .offset = (uint32_t)offsetof(ProtosGattQueueStats__storage_, queueDepth),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "maxQueueDepth",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosGattQueueStats_FieldNumber_MaxQueueDepth,
+        .hasIndex = 1,
+        .offset = (uint32_t)offsetof(ProtosGattQueueStats__storage_, maxQueueDepth),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "inFlight",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosGattQueueStats_FieldNumber_InFlight,
+        .hasIndex = 2,
+        .offset = 3,  // Stored in _has_storage_ to save space.
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeBool,
+      },
+      {
+        .name = "completed",
         .dataTypeSpecific.className = NULL,
-        .number = ProtosConnectRequest_FieldNumber_RemoteId,
-        .hasIndex = 0,
-        .offset = (uint32_t)offsetof(ProtosConnectRequest__storage_, remoteId),
+        .number = ProtosGattQueueStats_FieldNumber_Completed,
+        .hasIndex = 4,
+        .offset = (uint32_t)offsetof(ProtosGattQueueStats__storage_, completed),
         .flags = GPBFieldOptional,
-        .dataType = GPBDataTypeString,
+        .dataType = GPBDataTypeInt64,
       },
       {
-        .name = "androidAutoConnect",
+        .name = "failed",
         .dataTypeSpecific.className = NULL,
-        .number = ProtosConnectRequest_FieldNumber_AndroidAutoConnect,
-        .hasIndex = 1,
-        .offset = 2,  // Stored in _has_storage_ to save space.
+        .number = ProtosGattQueueStats_FieldNumber_Failed,
+        .hasIndex = 5,
+        .offset = (uint32_t)offsetof(ProtosGattQueueStats__storage_, failed),
         .flags = GPBFieldOptional,
-        .dataType = GPBDataTypeBool,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "timedOut",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosGattQueueStats_FieldNumber_TimedOut,
+        .hasIndex = 6,
+        .offset = (uint32_t)offsetof(ProtosGattQueueStats__storage_, timedOut),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "cancelled",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosGattQueueStats_FieldNumber_Cancelled,
+        .hasIndex = 7,
+        .offset = (uint32_t)offsetof(ProtosGattQueueStats__storage_, cancelled),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "avgWaitLatencyUs",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosGattQueueStats_FieldNumber_AvgWaitLatencyUs,
+        .hasIndex = 8,
+        .offset = (uint32_t)offsetof(ProtosGattQueueStats__storage_, avgWaitLatencyUs),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "avgOpLatencyUs",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosGattQueueStats_FieldNumber_AvgOpLatencyUs,
+        .hasIndex = 9,
+        .offset = (uint32_t)offsetof(ProtosGattQueueStats__storage_, avgOpLatencyUs),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
       },
     };
     GPBDescriptor *localDescriptor =
-        [GPBDescriptor allocDescriptorForClass:[ProtosConnectRequest class]
+        [GPBDescriptor allocDescriptorForClass:[ProtosGattQueueStats class]
                                      rootClass:[ProtosFlutterblueRoot class]
                                           file:ProtosFlutterblueRoot_FileDescriptor()
                                         fields:fields
                                     fieldCount:(uint32_t)(sizeof(fields) / sizeof(GPBMessageFieldDescription))
-                                   storageSize:sizeof(ProtosConnectRequest__storage_)
+                                   storageSize:sizeof(ProtosGattQueueStats__storage_)
                                          flags:GPBDescriptorInitializationFlag_None];
     #if defined(DEBUG) && DEBUG
       NSAssert(descriptor == nil, @"Startup recursed!");
@@ -697,9 +1709,11 @@ typedef struct ProtosBluetoothService__storage_ {
 @dynamic descriptorsArray, descriptorsArray_Count;
 @dynamic hasProperties, properties;
 @dynamic value;
+@dynamic handle;
 
 typedef struct ProtosBluetoothCharacteristic__storage_ {
   uint32_t _has_storage_[1];
+  int32_t handle;
   NSString *uuid;
   NSString *remoteId;
   NSString *serviceUuid;
@@ -778,6 +1792,15 @@ typedef struct ProtosBluetoothCharacteristic__storage_ {
         .flags = GPBFieldOptional,
         .dataType = GPBDataTypeBytes,
       },
+      {
+        .name = "handle",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosBluetoothCharacteristic_FieldNumber_Handle,
+        .hasIndex = 6,
+        .offset = (uint32_t)offsetof(ProtosBluetoothCharacteristic__storage_, handle),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt32,
+      },
     };
     GPBDescriptor *localDescriptor =
         [GPBDescriptor allocDescriptorForClass:[ProtosBluetoothCharacteristic class]
@@ -1036,6 +2059,8 @@ typedef struct ProtosCharacteristicProperties__storage_ {
 
 @dynamic remoteId;
 @dynamic servicesArray, servicesArray_Count;
+@dynamic fromCache;
+@dynamic failed;
 
 typedef struct ProtosDiscoverServicesResult__storage_ {
   uint32_t _has_storage_[1];
@@ -1067,6 +2092,24 @@ typedef struct ProtosDiscoverServicesResult__storage_ {
         .flags = GPBFieldRepeated,
         .dataType = GPBDataTypeMessage,
       },
+      {
+        .name = "fromCache",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosDiscoverServicesResult_FieldNumber_FromCache,
+        .hasIndex = 1,
+        .offset = 2,  // Stored in _has_storage_ to save space.
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeBool,
+      },
+      {
+        .name = "failed",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosDiscoverServicesResult_FieldNumber_Failed,
+        .hasIndex = 3,
+        .offset = 4,  // Stored in _has_storage_ to save space.
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeBool,
+      },
     };
     GPBDescriptor *localDescriptor =
         [GPBDescriptor allocDescriptorForClass:[ProtosDiscoverServicesResult class]
@@ -1344,16 +2387,218 @@ typedef struct ProtosReadDescriptorResponse__storage_ {
         .hasIndex = 1,
         .offset = (uint32_t)offsetof(ProtosReadDescriptorResponse__storage_, value),
         .flags = GPBFieldOptional,
-        .dataType = GPBDataTypeBytes,
+        .dataType = GPBDataTypeBytes,
+      },
+    };
+    GPBDescriptor *localDescriptor =
+        [GPBDescriptor allocDescriptorForClass:[ProtosReadDescriptorResponse class]
+                                     rootClass:[ProtosFlutterblueRoot class]
+                                          file:ProtosFlutterblueRoot_FileDescriptor()
+                                        fields:fields
+                                    fieldCount:(uint32_t)(sizeof(fields) / sizeof(GPBMessageFieldDescription))
+                                   storageSize:sizeof(ProtosReadDescriptorResponse__storage_)
+                                         flags:GPBDescriptorInitializationFlag_None];
+    #if defined(DEBUG) && DEBUG
+      NSAssert(descriptor == nil, @"Startup recursed!");
+    #endif  // DEBUG
+    descriptor = localDescriptor;
+  }
+  return descriptor;
+}
+
+@end
+
+#pragma mark - ProtosWriteCharacteristicRequest
+
+@implementation ProtosWriteCharacteristicRequest
+
+@dynamic remoteId;
+@dynamic characteristicUuid;
+@dynamic serviceUuid;
+@dynamic secondaryServiceUuid;
+@dynamic writeType;
+@dynamic value;
+
+typedef struct ProtosWriteCharacteristicRequest__storage_ {
+  uint32_t _has_storage_[1];
+  ProtosWriteCharacteristicRequest_WriteType writeType;
+  NSString *remoteId;
+  NSString *characteristicUuid;
+  NSString *serviceUuid;
+  NSString *secondaryServiceUuid;
+  NSData *value;
+} ProtosWriteCharacteristicRequest__storage_;
+
+// This method is threadsafe because it is initially called
+// in +initialize for each subclass.
++ (GPBDescriptor *)descriptor {
+  static GPBDescriptor *descriptor = nil;
+  if (!descriptor) {
+    static GPBMessageFieldDescription fields[] = {
+      {
+        .name = "remoteId",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosWriteCharacteristicRequest_FieldNumber_RemoteId,
+        .hasIndex = 0,
+        .offset = (uint32_t)offsetof(ProtosWriteCharacteristicRequest__storage_, remoteId),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeString,
+      },
+      {
+        .name = "characteristicUuid",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosWriteCharacteristicRequest_FieldNumber_CharacteristicUuid,
+        .hasIndex = 1,
+        .offset = (uint32_t)offsetof(ProtosWriteCharacteristicRequest__storage_, characteristicUuid),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeString,
+      },
+      {
+        .name = "serviceUuid",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosWriteCharacteristicRequest_FieldNumber_ServiceUuid,
+        .hasIndex = 2,
+        .offset = (uint32_t)offsetof(ProtosWriteCharacteristicRequest__storage_, serviceUuid),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeString,
+      },
+      {
+        .name = "secondaryServiceUuid",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosWriteCharacteristicRequest_FieldNumber_SecondaryServiceUuid,
+        .hasIndex = 3,
+        .offset = (uint32_t)offsetof(ProtosWriteCharacteristicRequest__storage_, secondaryServiceUuid),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeString,
+      },
+      {
+        .name = "writeType",
+        .dataTypeSpecific.enumDescFunc = ProtosWriteCharacteristicRequest_WriteType_EnumDescriptor,
+        .number = ProtosWriteCharacteristicRequest_FieldNumber_WriteType,
+        .hasIndex = 4,
+        .offset = (uint32_t)offsetof(ProtosWriteCharacteristicRequest__storage_, writeType),
+        .flags = (GPBFieldFlags)(GPBFieldOptional | GPBFieldHasEnumDescriptor),
+        .dataType = GPBDataTypeEnum,
+      },
+      {
+        .name = "value",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosWriteCharacteristicRequest_FieldNumber_Value,
+        .hasIndex = 5,
+        .offset = (uint32_t)offsetof(ProtosWriteCharacteristicRequest__storage_, value),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeBytes,
+      },
+    };
+    GPBDescriptor *localDescriptor =
+        [GPBDescriptor allocDescriptorForClass:[ProtosWriteCharacteristicRequest class]
+                                     rootClass:[ProtosFlutterblueRoot class]
+                                          file:ProtosFlutterblueRoot_FileDescriptor()
+                                        fields:fields
+                                    fieldCount:(uint32_t)(sizeof(fields) / sizeof(GPBMessageFieldDescription))
+                                   storageSize:sizeof(ProtosWriteCharacteristicRequest__storage_)
+                                         flags:GPBDescriptorInitializationFlag_None];
+    #if defined(DEBUG) && DEBUG
+      NSAssert(descriptor == nil, @"Startup recursed!");
+    #endif  // DEBUG
+    descriptor = localDescriptor;
+  }
+  return descriptor;
+}
+
+@end
+
+int32_t ProtosWriteCharacteristicRequest_WriteType_RawValue(ProtosWriteCharacteristicRequest *message) {
+  GPBDescriptor *descriptor = [ProtosWriteCharacteristicRequest descriptor];
+  GPBFieldDescriptor *field = [descriptor fieldWithNumber:ProtosWriteCharacteristicRequest_FieldNumber_WriteType];
+  return GPBGetMessageInt32Field(message, field);
+}
+
+void SetProtosWriteCharacteristicRequest_WriteType_RawValue(ProtosWriteCharacteristicRequest *message, int32_t value) {
+  GPBDescriptor *descriptor = [ProtosWriteCharacteristicRequest descriptor];
+  GPBFieldDescriptor *field = [descriptor fieldWithNumber:ProtosWriteCharacteristicRequest_FieldNumber_WriteType];
+  GPBSetInt32IvarWithFieldInternal(message, field, value, descriptor.file.syntax);
+}
+
+#pragma mark - Enum ProtosWriteCharacteristicRequest_WriteType
+
+GPBEnumDescriptor *ProtosWriteCharacteristicRequest_WriteType_EnumDescriptor(void) {
+  static _Atomic(GPBEnumDescriptor*) descriptor = nil;
+  if (!descriptor) {
+    static const char *valueNames =
+        "WithResponse\000WithoutResponse\000";
+    static const int32_t values[] = {
+        ProtosWriteCharacteristicRequest_WriteType_WithResponse,
+        ProtosWriteCharacteristicRequest_WriteType_WithoutResponse,
+    };
+    GPBEnumDescriptor *worker =
+        [GPBEnumDescriptor allocDescriptorForName:GPBNSStringifySymbol(ProtosWriteCharacteristicRequest_WriteType)
+                                       valueNames:valueNames
+                                           values:values
+                                            count:(uint32_t)(sizeof(values) / sizeof(int32_t))
+                                     enumVerifier:ProtosWriteCharacteristicRequest_WriteType_IsValidValue];
+    GPBEnumDescriptor *expected = nil;
+    if (!atomic_compare_exchange_strong(&descriptor, &expected, worker)) {
+      [worker release];
+    }
+  }
+  return descriptor;
+}
+
+BOOL ProtosWriteCharacteristicRequest_WriteType_IsValidValue(int32_t value__) {
+  switch (value__) {
+    case ProtosWriteCharacteristicRequest_WriteType_WithResponse:
+    case ProtosWriteCharacteristicRequest_WriteType_WithoutResponse:
+      return YES;
+    default:
+      return NO;
+  }
+}
+
+#pragma mark - ProtosWriteCharacteristicResponse
+
+@implementation ProtosWriteCharacteristicResponse
+
+@dynamic hasRequest, request;
+@dynamic success;
+
+typedef struct ProtosWriteCharacteristicResponse__storage_ {
+  uint32_t _has_storage_[1];
+  ProtosWriteCharacteristicRequest *request;
+} ProtosWriteCharacteristicResponse__storage_;
+
+// This method is threadsafe because it is initially called
+// in +initialize for each subclass.
++ (GPBDescriptor *)descriptor {
+  static GPBDescriptor *descriptor = nil;
+  if (!descriptor) {
+    static GPBMessageFieldDescription fields[] = {
+      {
+        .name = "request",
+        .dataTypeSpecific.className = GPBStringifySymbol(ProtosWriteCharacteristicRequest),
+        .number = ProtosWriteCharacteristicResponse_FieldNumber_Request,
+        .hasIndex = 0,
+        .offset = (uint32_t)offsetof(ProtosWriteCharacteristicResponse__storage_, request),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeMessage,
+      },
+      {
+        .name = "success",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosWriteCharacteristicResponse_FieldNumber_Success,
+        .hasIndex = 1,
+        .offset = 2,  // Stored in _has_storage_ to save space.
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeBool,
       },
     };
     GPBDescriptor *localDescriptor =
-        [GPBDescriptor allocDescriptorForClass:[ProtosReadDescriptorResponse class]
+        [GPBDescriptor allocDescriptorForClass:[ProtosWriteCharacteristicResponse class]
                                      rootClass:[ProtosFlutterblueRoot class]
                                           file:ProtosFlutterblueRoot_FileDescriptor()
                                         fields:fields
                                     fieldCount:(uint32_t)(sizeof(fields) / sizeof(GPBMessageFieldDescription))
-                                   storageSize:sizeof(ProtosReadDescriptorResponse__storage_)
+                                   storageSize:sizeof(ProtosWriteCharacteristicResponse__storage_)
                                          flags:GPBDescriptorInitializationFlag_None];
     #if defined(DEBUG) && DEBUG
       NSAssert(descriptor == nil, @"Startup recursed!");
@@ -1365,9 +2610,9 @@ typedef struct ProtosReadDescriptorResponse__storage_ {
 
 @end
 
-#pragma mark - ProtosWriteCharacteristicRequest
+#pragma mark - ProtosWriteCharacteristicBulkRequest
 
-@implementation ProtosWriteCharacteristicRequest
+@implementation ProtosWriteCharacteristicBulkRequest
 
 @dynamic remoteId;
 @dynamic characteristicUuid;
@@ -1375,16 +2620,20 @@ typedef struct ProtosReadDescriptorResponse__storage_ {
 @dynamic secondaryServiceUuid;
 @dynamic writeType;
 @dynamic value;
+@dynamic transferId;
+@dynamic progressIntervalMs;
 
-typedef struct ProtosWriteCharacteristicRequest__storage_ {
+typedef struct ProtosWriteCharacteristicBulkRequest__storage_ {
   uint32_t _has_storage_[1];
   ProtosWriteCharacteristicRequest_WriteType writeType;
+  int32_t transferId;
+  int32_t progressIntervalMs;
   NSString *remoteId;
   NSString *characteristicUuid;
   NSString *serviceUuid;
   NSString *secondaryServiceUuid;
   NSData *value;
-} ProtosWriteCharacteristicRequest__storage_;
+} ProtosWriteCharacteristicBulkRequest__storage_;
 
 // This method is threadsafe because it is initially called
 // in +initialize for each subclass.
@@ -1395,65 +2644,83 @@ typedef struct ProtosWriteCharacteristicRequest__storage_ {
       {
         .name = "remoteId",
         .dataTypeSpecific.className = NULL,
-        .number = ProtosWriteCharacteristicRequest_FieldNumber_RemoteId,
+        .number = ProtosWriteCharacteristicBulkRequest_FieldNumber_RemoteId,
         .hasIndex = 0,
-        .offset = (uint32_t)offsetof(ProtosWriteCharacteristicRequest__storage_, remoteId),
+        .offset = (uint32_t)offsetof(ProtosWriteCharacteristicBulkRequest__storage_, remoteId),
         .flags = GPBFieldOptional,
         .dataType = GPBDataTypeString,
       },
       {
         .name = "characteristicUuid",
         .dataTypeSpecific.className = NULL,
-        .number = ProtosWriteCharacteristicRequest_FieldNumber_CharacteristicUuid,
+        .number = ProtosWriteCharacteristicBulkRequest_FieldNumber_CharacteristicUuid,
         .hasIndex = 1,
-        .offset = (uint32_t)offsetof(ProtosWriteCharacteristicRequest__storage_, characteristicUuid),
+        .offset = (uint32_t)offsetof(ProtosWriteCharacteristicBulkRequest__storage_, characteristicUuid),
         .flags = GPBFieldOptional,
         .dataType = GPBDataTypeString,
       },
       {
         .name = "serviceUuid",
         .dataTypeSpecific.className = NULL,
-        .number = ProtosWriteCharacteristicRequest_FieldNumber_ServiceUuid,
+        .number = ProtosWriteCharacteristicBulkRequest_FieldNumber_ServiceUuid,
         .hasIndex = 2,
-        .offset = (uint32_t)offsetof(ProtosWriteCharacteristicRequest__storage_, serviceUuid),
+        .offset = (uint32_t)offsetof(ProtosWriteCharacteristicBulkRequest__storage_, serviceUuid),
         .flags = GPBFieldOptional,
         .dataType = GPBDataTypeString,
       },
       {
         .name = "secondaryServiceUuid",
         .dataTypeSpecific.className = NULL,
-        .number = ProtosWriteCharacteristicRequest_FieldNumber_SecondaryServiceUuid,
+        .number = ProtosWriteCharacteristicBulkRequest_FieldNumber_SecondaryServiceUuid,
         .hasIndex = 3,
-        .offset = (uint32_t)offsetof(ProtosWriteCharacteristicRequest__storage_, secondaryServiceUuid),
+        .offset = (uint32_t)offsetof(ProtosWriteCharacteristicBulkRequest__storage_, secondaryServiceUuid),
         .flags = GPBFieldOptional,
         .dataType = GPBDataTypeString,
       },
       {
         .name = "writeType",
         .dataTypeSpecific.enumDescFunc = ProtosWriteCharacteristicRequest_WriteType_EnumDescriptor,
-        .number = ProtosWriteCharacteristicRequest_FieldNumber_WriteType,
+        .number = ProtosWriteCharacteristicBulkRequest_FieldNumber_WriteType,
         .hasIndex = 4,
-        .offset = (uint32_t)offsetof(ProtosWriteCharacteristicRequest__storage_, writeType),
+        .offset = (uint32_t)offsetof(ProtosWriteCharacteristicBulkRequest__storage_, writeType),
         .flags = (GPBFieldFlags)(GPBFieldOptional | GPBFieldHasEnumDescriptor),
         .dataType = GPBDataTypeEnum,
       },
       {
         .name = "value",
         .dataTypeSpecific.className = NULL,
-        .number = ProtosWriteCharacteristicRequest_FieldNumber_Value,
+        .number = ProtosWriteCharacteristicBulkRequest_FieldNumber_Value,
         .hasIndex = 5,
-        .offset = (uint32_t)offsetof(ProtosWriteCharacteristicRequest__storage_, value),
+        .offset = (uint32_t)offsetof(ProtosWriteCharacteristicBulkRequest__storage_, value),
         .flags = GPBFieldOptional,
         .dataType = GPBDataTypeBytes,
       },
+      {
+        .name = "transferId",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosWriteCharacteristicBulkRequest_FieldNumber_TransferId,
+        .hasIndex = 6,
+        .offset = (uint32_t)offsetof(ProtosWriteCharacteristicBulkRequest__storage_, transferId),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt32,
+      },
+      {
+        .name = "progressIntervalMs",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosWriteCharacteristicBulkRequest_FieldNumber_ProgressIntervalMs,
+        .hasIndex = 7,
+        .offset = (uint32_t)offsetof(ProtosWriteCharacteristicBulkRequest__storage_, progressIntervalMs),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt32,
+      },
     };
     GPBDescriptor *localDescriptor =
-        [GPBDescriptor allocDescriptorForClass:[ProtosWriteCharacteristicRequest class]
+        [GPBDescriptor allocDescriptorForClass:[ProtosWriteCharacteristicBulkRequest class]
                                      rootClass:[ProtosFlutterblueRoot class]
                                           file:ProtosFlutterblueRoot_FileDescriptor()
                                         fields:fields
                                     fieldCount:(uint32_t)(sizeof(fields) / sizeof(GPBMessageFieldDescription))
-                                   storageSize:sizeof(ProtosWriteCharacteristicRequest__storage_)
+                                   storageSize:sizeof(ProtosWriteCharacteristicBulkRequest__storage_)
                                          flags:GPBDescriptorInitializationFlag_None];
     #if defined(DEBUG) && DEBUG
       NSAssert(descriptor == nil, @"Startup recursed!");
@@ -1465,64 +2732,41 @@ typedef struct ProtosWriteCharacteristicRequest__storage_ {
 
 @end
 
-int32_t ProtosWriteCharacteristicRequest_WriteType_RawValue(ProtosWriteCharacteristicRequest *message) {
-  GPBDescriptor *descriptor = [ProtosWriteCharacteristicRequest descriptor];
-  GPBFieldDescriptor *field = [descriptor fieldWithNumber:ProtosWriteCharacteristicRequest_FieldNumber_WriteType];
+int32_t ProtosWriteCharacteristicBulkRequest_WriteType_RawValue(ProtosWriteCharacteristicBulkRequest *message) {
+  GPBDescriptor *descriptor = [ProtosWriteCharacteristicBulkRequest descriptor];
+  GPBFieldDescriptor *field = [descriptor fieldWithNumber:ProtosWriteCharacteristicBulkRequest_FieldNumber_WriteType];
   return GPBGetMessageInt32Field(message, field);
 }
 
-void SetProtosWriteCharacteristicRequest_WriteType_RawValue(ProtosWriteCharacteristicRequest *message, int32_t value) {
-  GPBDescriptor *descriptor = [ProtosWriteCharacteristicRequest descriptor];
-  GPBFieldDescriptor *field = [descriptor fieldWithNumber:ProtosWriteCharacteristicRequest_FieldNumber_WriteType];
+void SetProtosWriteCharacteristicBulkRequest_WriteType_RawValue(ProtosWriteCharacteristicBulkRequest *message, int32_t value) {
+  GPBDescriptor *descriptor = [ProtosWriteCharacteristicBulkRequest descriptor];
+  GPBFieldDescriptor *field = [descriptor fieldWithNumber:ProtosWriteCharacteristicBulkRequest_FieldNumber_WriteType];
   GPBSetInt32IvarWithFieldInternal(message, field, value, descriptor.file.syntax);
 }
 
-#pragma mark - Enum ProtosWriteCharacteristicRequest_WriteType
-
-GPBEnumDescriptor *ProtosWriteCharacteristicRequest_WriteType_EnumDescriptor(void) {
-  static _Atomic(GPBEnumDescriptor*) descriptor = nil;
-  if (!descriptor) {
-    static const char *valueNames =
-        "WithResponse\000WithoutResponse\000";
-    static const int32_t values[] = {
-        ProtosWriteCharacteristicRequest_WriteType_WithResponse,
-        ProtosWriteCharacteristicRequest_WriteType_WithoutResponse,
-    };
-    GPBEnumDescriptor *worker =
-        [GPBEnumDescriptor allocDescriptorForName:GPBNSStringifySymbol(ProtosWriteCharacteristicRequest_WriteType)
-                                       valueNames:valueNames
-                                           values:values
-                                            count:(uint32_t)(sizeof(values) / sizeof(int32_t))
-                                     enumVerifier:ProtosWriteCharacteristicRequest_WriteType_IsValidValue];
-    GPBEnumDescriptor *expected = nil;
-    if (!atomic_compare_exchange_strong(&descriptor, &expected, worker)) {
-      [worker release];
-    }
-  }
-  return descriptor;
-}
-
-BOOL ProtosWriteCharacteristicRequest_WriteType_IsValidValue(int32_t value__) {
-  switch (value__) {
-    case ProtosWriteCharacteristicRequest_WriteType_WithResponse:
-    case ProtosWriteCharacteristicRequest_WriteType_WithoutResponse:
-      return YES;
-    default:
-      return NO;
-  }
-}
-
-#pragma mark - ProtosWriteCharacteristicResponse
-
-@implementation ProtosWriteCharacteristicResponse
+#pragma mark - ProtosBulkWriteProgress
 
-@dynamic hasRequest, request;
-@dynamic success;
+@implementation ProtosBulkWriteProgress
 
-typedef struct ProtosWriteCharacteristicResponse__storage_ {
+@dynamic remoteId;
+@dynamic transferId;
+@dynamic bytesWritten;
+@dynamic totalBytes;
+@dynamic chunkSize;
+@dynamic elapsedUs;
+@dynamic done;
+@dynamic error;
+
+typedef struct ProtosBulkWriteProgress__storage_ {
   uint32_t _has_storage_[1];
-  ProtosWriteCharacteristicRequest *request;
-} ProtosWriteCharacteristicResponse__storage_;
+  int32_t transferId;
+  int32_t chunkSize;
+  NSString *remoteId;
+  NSString *error;
+  int64_t bytesWritten;
+  int64_t totalBytes;
+  int64_t elapsedUs;
+} ProtosBulkWriteProgress__storage_;
 
 // This method is threadsafe because it is initially called
 // in +initialize for each subclass.
@@ -1531,31 +2775,85 @@ typedef struct ProtosWriteCharacteristicResponse__storage_ {
   if (!descriptor) {
     static GPBMessageFieldDescription fields[] = {
       {
-        .name = "request",
-        .dataTypeSpecific.className = GPBStringifySymbol(ProtosWriteCharacteristicRequest),
-        .number = ProtosWriteCharacteristicResponse_FieldNumber_Request,
+        .name = "remoteId",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosBulkWriteProgress_FieldNumber_RemoteId,
         .hasIndex = 0,
-        .offset = (uint32_t)offsetof(ProtosWriteCharacteristicResponse__storage_, request),
+        .offset = (uint32_t)offsetof(ProtosBulkWriteProgress__storage_, remoteId),
         .flags = GPBFieldOptional,
-        .dataType = GPBDataTypeMessage,
+        .dataType = GPBDataTypeString,
       },
       {
-        .name = "success",
+        .name = "transferId",
         .dataTypeSpecific.className = NULL,
-        .number = ProtosWriteCharacteristicResponse_FieldNumber_Success,
+        .number = ProtosBulkWriteProgress_FieldNumber_TransferId,
         .hasIndex = 1,
-        .offset = 2,  // Stored in _has_storage_ to save space.
+        .offset = (uint32_t)offsetof(ProtosBulkWriteProgress__storage_, transferId),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt32,
+      },
+      {
+        .name = "bytesWritten",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosBulkWriteProgress_FieldNumber_BytesWritten,
+        .hasIndex = 2,
+        .offset = (uint32_t)offsetof(ProtosBulkWriteProgress__storage_, bytesWritten),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "totalBytes",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosBulkWriteProgress_FieldNumber_TotalBytes,
+        .hasIndex = 3,
+        .offset = (uint32_t)offsetof(ProtosBulkWriteProgress__storage_, totalBytes),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "chunkSize",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosBulkWriteProgress_FieldNumber_ChunkSize,
+        .hasIndex = 4,
+        .offset = (uint32_t)offsetof(ProtosBulkWriteProgress__storage_, chunkSize),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt32,
+      },
+      {
+        .name = "elapsedUs",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosBulkWriteProgress_FieldNumber_ElapsedUs,
+        .hasIndex = 5,
+        .offset = (uint32_t)offsetof(ProtosBulkWriteProgress__storage_, elapsedUs),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt64,
+      },
+      {
+        .name = "done",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosBulkWriteProgress_FieldNumber_Done,
+        .hasIndex = 6,
+        .offset = 7,  // Stored in _has_storage_ to save space.
         .flags = GPBFieldOptional,
         .dataType = GPBDataTypeBool,
       },
+      {
+        .name = "error",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosBulkWriteProgress_FieldNumber_Error,
+        .hasIndex = 8,
+        .offset = (uint32_t)offsetof(ProtosBulkWriteProgress__storage_, error),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeString,
+      },
     };
     GPBDescriptor *localDescriptor =
-        [GPBDescriptor allocDescriptorForClass:[ProtosWriteCharacteristicResponse class]
+        [GPBDescriptor allocDescriptorForClass:[ProtosBulkWriteProgress class]
                                      rootClass:[ProtosFlutterblueRoot class]
                                           file:ProtosFlutterblueRoot_FileDescriptor()
                                         fields:fields
                                     fieldCount:(uint32_t)(sizeof(fields) / sizeof(GPBMessageFieldDescription))
-                                   storageSize:sizeof(ProtosWriteCharacteristicResponse__storage_)
+                                   storageSize:sizeof(ProtosBulkWriteProgress__storage_)
                                          flags:GPBDescriptorInitializationFlag_None];
     #if defined(DEBUG) && DEBUG
       NSAssert(descriptor == nil, @"Startup recursed!");
@@ -1731,9 +3029,14 @@ typedef struct ProtosWriteDescriptorResponse__storage_ {
 @dynamic secondaryServiceUuid;
 @dynamic characteristicUuid;
 @dynamic enable;
+@dynamic compact;
+@dynamic batchMaxSize;
+@dynamic batchMaxLatencyMs;
 
 typedef struct ProtosSetNotificationRequest__storage_ {
   uint32_t _has_storage_[1];
+  int32_t batchMaxSize;
+  int32_t batchMaxLatencyMs;
   NSString *remoteId;
   NSString *serviceUuid;
   NSString *secondaryServiceUuid;
@@ -1791,6 +3094,33 @@ typedef struct ProtosSetNotificationRequest__storage_ {
         .flags = GPBFieldOptional,
         .dataType = GPBDataTypeBool,
       },
+      {
+        .name = "compact",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosSetNotificationRequest_FieldNumber_Compact,
+        .hasIndex = 6,
+        .offset = 7,  // Stored in _has_storage_ to save space.
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeBool,
+      },
+      {
+        .name = "batchMaxSize",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosSetNotificationRequest_FieldNumber_BatchMaxSize,
+        .hasIndex = 8,
+        .offset = (uint32_t)offsetof(ProtosSetNotificationRequest__storage_, batchMaxSize),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt32,
+      },
+      {
+        .name = "batchMaxLatencyMs",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosSetNotificationRequest_FieldNumber_BatchMaxLatencyMs,
+        .hasIndex = 9,
+        .offset = (uint32_t)offsetof(ProtosSetNotificationRequest__storage_, batchMaxLatencyMs),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt32,
+      },
     };
     GPBDescriptor *localDescriptor =
         [GPBDescriptor allocDescriptorForClass:[ProtosSetNotificationRequest class]
@@ -1932,6 +3262,151 @@ typedef struct ProtosOnCharacteristicChanged__storage_ {
 
 @end
 
+#pragma mark - ProtosOnCharacteristicValue
+
+@implementation ProtosOnCharacteristicValue
+
+@dynamic remoteId;
+@dynamic handle;
+@dynamic value;
+
+typedef struct ProtosOnCharacteristicValue__storage_ {
+  uint32_t _has_storage_[1];
+  int32_t handle;
+  NSString *remoteId;
+  NSData *value;
+} ProtosOnCharacteristicValue__storage_;
+
+// This method is threadsafe because it is initially called
+// in +initialize for each subclass.
++ (GPBDescriptor *)descriptor {
+  static GPBDescriptor *descriptor = nil;
+  if (!descriptor) {
+    static GPBMessageFieldDescription fields[] = {
+      {
+        .name = "remoteId",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosOnCharacteristicValue_FieldNumber_RemoteId,
+        .hasIndex = 0,
+        .offset = (uint32_t)offsetof(ProtosOnCharacteristicValue__storage_, remoteId),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeString,
+      },
+      {
+        .name = "handle",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosOnCharacteristicValue_FieldNumber_Handle,
+        .hasIndex = 1,
+        .offset = (uint32_t)offsetof(ProtosOnCharacteristicValue__storage_, handle),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt32,
+      },
+      {
+        .name = "value",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosOnCharacteristicValue_FieldNumber_Value,
+        .hasIndex = 2,
+        .offset = (uint32_t)offsetof(ProtosOnCharacteristicValue__storage_, value),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeBytes,
+      },
+    };
+    GPBDescriptor *localDescriptor =
+        [GPBDescriptor allocDescriptorForClass:[ProtosOnCharacteristicValue class]
+                                     rootClass:[ProtosFlutterblueRoot class]
+                                          file:ProtosFlutterblueRoot_FileDescriptor()
+                                        fields:fields
+                                    fieldCount:(uint32_t)(sizeof(fields) / sizeof(GPBMessageFieldDescription))
+                                   storageSize:sizeof(ProtosOnCharacteristicValue__storage_)
+                                         flags:GPBDescriptorInitializationFlag_None];
+    #if defined(DEBUG) && DEBUG
+      NSAssert(descriptor == nil, @"Startup recursed!");
+    #endif  // DEBUG
+    descriptor = localDescriptor;
+  }
+  return descriptor;
+}
+
+@end
+
+#pragma mark - ProtosOnCharacteristicValueBatch
+
+@implementation ProtosOnCharacteristicValueBatch
+
+@dynamic remoteId;
+@dynamic handle;
+@dynamic valuesArray, valuesArray_Count;
+@dynamic timestampsUsArray, timestampsUsArray_Count;
+
+typedef struct ProtosOnCharacteristicValueBatch__storage_ {
+  uint32_t _has_storage_[1];
+  int32_t handle;
+  NSString *remoteId;
+  NSMutableArray *valuesArray;
+  GPBInt64Array *timestampsUsArray;
+} ProtosOnCharacteristicValueBatch__storage_;
+
+// This method is threadsafe because it is initially called
+// in +initialize for each subclass.
++ (GPBDescriptor *)descriptor {
+  static GPBDescriptor *descriptor = nil;
+  if (!descriptor) {
+    static GPBMessageFieldDescription fields[] = {
+      {
+        .name = "remoteId",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosOnCharacteristicValueBatch_FieldNumber_RemoteId,
+        .hasIndex = 0,
+        .offset = (uint32_t)offsetof(ProtosOnCharacteristicValueBatch__storage_, remoteId),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeString,
+      },
+      {
+        .name = "handle",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosOnCharacteristicValueBatch_FieldNumber_Handle,
+        .hasIndex = 1,
+        .offset = (uint32_t)offsetof(ProtosOnCharacteristicValueBatch__storage_, handle),
+        .flags = GPBFieldOptional,
+        .dataType = GPBDataTypeInt32,
+      },
+      {
+        .name = "valuesArray",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosOnCharacteristicValueBatch_FieldNumber_ValuesArray,
+        .hasIndex = GPBNoHasBit,
+        .offset = (uint32_t)offsetof(ProtosOnCharacteristicValueBatch__storage_, valuesArray),
+        .flags = GPBFieldRepeated,
+        .dataType = GPBDataTypeBytes,
+      },
+      {
+        .name = "timestampsUsArray",
+        .dataTypeSpecific.className = NULL,
+        .number = ProtosOnCharacteristicValueBatch_FieldNumber_TimestampsUsArray,
+        .hasIndex = GPBNoHasBit,
+        .offset = (uint32_t)offsetof(ProtosOnCharacteristicValueBatch__storage_, timestampsUsArray),
+        .flags = (GPBFieldFlags)(GPBFieldRepeated | GPBFieldPacked),
+        .dataType = GPBDataTypeInt64,
+      },
+    };
+    GPBDescriptor *localDescriptor =
+        [GPBDescriptor allocDescriptorForClass:[ProtosOnCharacteristicValueBatch class]
+                                     rootClass:[ProtosFlutterblueRoot class]
+                                          file:ProtosFlutterblueRoot_FileDescriptor()
+                                        fields:fields
+                                    fieldCount:(uint32_t)(sizeof(fields) / sizeof(GPBMessageFieldDescription))
+                                   storageSize:sizeof(ProtosOnCharacteristicValueBatch__storage_)
+                                         flags:GPBDescriptorInitializationFlag_None];
+    #if defined(DEBUG) && DEBUG
+      NSAssert(descriptor == nil, @"Startup recursed!");
+    #endif  // DEBUG
+    descriptor = localDescriptor;
+  }
+  return descriptor;
+}
+
+@end
+
 #pragma mark - ProtosDeviceStateResponse
 
 @implementation ProtosDeviceStateResponse
@@ -7,6 +7,7 @@
 
 import 'dart:core' as $core;
 
+import 'package:fixnum/fixnum.dart' as $fixnum;
 import 'package:protobuf/protobuf.dart' as $pb;
 
 import 'flutterblue.pbenum.dart';
@@ -115,6 +116,9 @@ class AdvertisementData extends $pb.GeneratedMessage {
     ..m<$core.int, $core.List<$core.int>>(4, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'manufacturerData', entryClassName: 'AdvertisementData.ManufacturerDataEntry', keyFieldType: $pb.PbFieldType.O3, valueFieldType: $pb.PbFieldType.OY)
     ..m<$core.String, $core.List<$core.int>>(5, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'serviceData', entryClassName: 'AdvertisementData.ServiceDataEntry', keyFieldType: $pb.PbFieldType.OS, valueFieldType: $pb.PbFieldType.OY)
     ..pPS(6, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'serviceUuids')
+    ..aOM<Int32Value>(7, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'flags', subBuilder: Int32Value.create)
+    ..aOM<Int32Value>(8, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'appearance', subBuilder: Int32Value.create)
+    ..pPS(9, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'solicitedServiceUuids')
     ..hasRequiredFields = false
   ;
 
@@ -126,6 +130,9 @@ class AdvertisementData extends $pb.GeneratedMessage {
     $core.Map<$core.int, $core.List<$core.int>>? manufacturerData,
     $core.Map<$core.String, $core.List<$core.int>>? serviceData,
     $core.Iterable<$core.String>? serviceUuids,
+    Int32Value? flags,
+    Int32Value? appearance,
+    $core.Iterable<$core.String>? solicitedServiceUuids,
   }) {
     final _result = create();
     if (localName != null) {
@@ -146,6 +153,15 @@ class AdvertisementData extends $pb.GeneratedMessage {
     if (serviceUuids != null) {
       _result.serviceUuids.addAll(serviceUuids);
     }
+    if (flags != null) {
+      _result.flags = flags;
+    }
+    if (appearance != null) {
+      _result.appearance = appearance;
+    }
+    if (solicitedServiceUuids != null) {
+      _result.solicitedServiceUuids.addAll(solicitedServiceUuids);
+    }
     return _result;
   }
   factory AdvertisementData.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
@@ -206,6 +222,31 @@ class AdvertisementData extends $pb.GeneratedMessage {
 
   @$pb.TagNumber(6)
   $core.List<$core.String> get serviceUuids => $_getList(5);
+
+  @$pb.TagNumber(7)
+  Int32Value get flags => $_getN(6);
+  @$pb.TagNumber(7)
+  set flags(Int32Value v) { setField(7, v); }
+  @$pb.TagNumber(7)
+  $core.bool hasFlags() => $_has(6);
+  @$pb.TagNumber(7)
+  void clearFlags() => clearField(7);
+  @$pb.TagNumber(7)
+  Int32Value ensureFlags() => $_ensure(6);
+
+  @$pb.TagNumber(8)
+  Int32Value get appearance => $_getN(7);
+  @$pb.TagNumber(8)
+  set appearance(Int32Value v) { setField(8, v); }
+  @$pb.TagNumber(8)
+  $core.bool hasAppearance() => $_has(7);
+  @$pb.TagNumber(8)
+  void clearAppearance() => clearField(8);
+  @$pb.TagNumber(8)
+  Int32Value ensureAppearance() => $_ensure(7);
+
+  @$pb.TagNumber(9)
+  $core.List<$core.String> get solicitedServiceUuids => $_getList(8);
 }
 
 class ScanSettings extends $pb.GeneratedMessage {
@@ -213,6 +254,23 @@ class ScanSettings extends $pb.GeneratedMessage {
     ..a<$core.int>(1, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'androidScanMode', $pb.PbFieldType.O3)
     ..pPS(2, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'serviceUuids')
     ..aOB(3, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'allowDuplicates')
+    ..a<$core.int>(4, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'batchMaxSize', $pb.PbFieldType.O3)
+    ..a<$core.int>(5, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'batchMaxLatencyMs', $pb.PbFieldType.O3)
+    ..a<$core.int>(6, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'androidReportDelayMs', $pb.PbFieldType.O3)
+    ..a<$core.int>(7, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'androidMatchMode', $pb.PbFieldType.O3)
+    ..a<$core.int>(8, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'androidNumOfMatches', $pb.PbFieldType.O3)
+    ..a<$core.int>(9, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'androidCallbackType', $pb.PbFieldType.O3)
+    ..a<$core.int>(10, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'androidPipelineCapacity', $pb.PbFieldType.O3)
+    ..e<ScanSettings_OverflowPolicy>(11, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'androidOverflowPolicy', $pb.PbFieldType.OE, defaultOrMaker: ScanSettings_OverflowPolicy.DROP_OLDEST, valueOf: ScanSettings_OverflowPolicy.valueOf, enumValues: ScanSettings_OverflowPolicy.values)
+    ..a<$core.int>(12, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'coalesceIntervalMs', $pb.PbFieldType.O3)
+    ..e<ScanSettings_RssiFilter>(13, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'rssiFilter', $pb.PbFieldType.OE, defaultOrMaker: ScanSettings_RssiFilter.NONE, valueOf: ScanSettings_RssiFilter.valueOf, enumValues: ScanSettings_RssiFilter.values)
+    ..a<$core.double>(14, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'rssiEmaAlpha', $pb.PbFieldType.OF)
+    ..a<$core.double>(15, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'rssiKalmanProcessNoise', $pb.PbFieldType.OF)
+    ..a<$core.double>(16, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'rssiKalmanMeasurementNoise', $pb.PbFieldType.OF)
+    ..aOB(17, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'suppressUnchangedPayloads')
+    ..a<$core.int>(18, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'unchangedPayloadHeartbeatMs', $pb.PbFieldType.O3)
+    ..pc<AdvertisementFilter>(19, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'filters', $pb.PbFieldType.PM, subBuilder: AdvertisementFilter.create)
+    ..aOB(20, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'androidRawScanFrames')
     ..hasRequiredFields = false
   ;
 
@@ -221,6 +279,23 @@ class ScanSettings extends $pb.GeneratedMessage {
     $core.int? androidScanMode,
     $core.Iterable<$core.String>? serviceUuids,
     $core.bool? allowDuplicates,
+    $core.int? batchMaxSize,
+    $core.int? batchMaxLatencyMs,
+    $core.int? androidReportDelayMs,
+    $core.int? androidMatchMode,
+    $core.int? androidNumOfMatches,
+    $core.int? androidCallbackType,
+    $core.int? androidPipelineCapacity,
+    ScanSettings_OverflowPolicy? androidOverflowPolicy,
+    $core.int? coalesceIntervalMs,
+    ScanSettings_RssiFilter? rssiFilter,
+    $core.double? rssiEmaAlpha,
+    $core.double? rssiKalmanProcessNoise,
+    $core.double? rssiKalmanMeasurementNoise,
+    $core.bool? suppressUnchangedPayloads,
+    $core.int? unchangedPayloadHeartbeatMs,
+    $core.Iterable<AdvertisementFilter>? filters,
+    $core.bool? androidRawScanFrames,
   }) {
     final _result = create();
     if (androidScanMode != null) {
@@ -232,6 +307,57 @@ class ScanSettings extends $pb.GeneratedMessage {
     if (allowDuplicates != null) {
       _result.allowDuplicates = allowDuplicates;
     }
+    if (batchMaxSize != null) {
+      _result.batchMaxSize = batchMaxSize;
+    }
+    if (batchMaxLatencyMs != null) {
+      _result.batchMaxLatencyMs = batchMaxLatencyMs;
+    }
+    if (androidReportDelayMs != null) {
+      _result.androidReportDelayMs = androidReportDelayMs;
+    }
+    if (androidMatchMode != null) {
+      _result.androidMatchMode = androidMatchMode;
+    }
+    if (androidNumOfMatches != null) {
+      _result.androidNumOfMatches = androidNumOfMatches;
+    }
+    if (androidCallbackType != null) {
+      _result.androidCallbackType = androidCallbackType;
+    }
+    if (androidPipelineCapacity != null) {
+      _result.androidPipelineCapacity = androidPipelineCapacity;
+    }
+    if (androidOverflowPolicy != null) {
+      _result.androidOverflowPolicy = androidOverflowPolicy;
+    }
+    if (coalesceIntervalMs != null) {
+      _result.coalesceIntervalMs = coalesceIntervalMs;
+    }
+    if (rssiFilter != null) {
+      _result.rssiFilter = rssiFilter;
+    }
+    if (rssiEmaAlpha != null) {
+      _result.rssiEmaAlpha = rssiEmaAlpha;
+    }
+    if (rssiKalmanProcessNoise != null) {
+      _result.rssiKalmanProcessNoise = rssiKalmanProcessNoise;
+    }
+    if (rssiKalmanMeasurementNoise != null) {
+      _result.rssiKalmanMeasurementNoise = rssiKalmanMeasurementNoise;
+    }
+    if (suppressUnchangedPayloads != null) {
+      _result.suppressUnchangedPayloads = suppressUnchangedPayloads;
+    }
+    if (unchangedPayloadHeartbeatMs != null) {
+      _result.unchangedPayloadHeartbeatMs = unchangedPayloadHeartbeatMs;
+    }
+    if (filters != null) {
+      _result.filters.addAll(filters);
+    }
+    if (androidRawScanFrames != null) {
+      _result.androidRawScanFrames = androidRawScanFrames;
+    }
     return _result;
   }
   factory ScanSettings.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
@@ -275,6 +401,328 @@ class ScanSettings extends $pb.GeneratedMessage {
   $core.bool hasAllowDuplicates() => $_has(2);
   @$pb.TagNumber(3)
   void clearAllowDuplicates() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $core.int get batchMaxSize => $_getIZ(3);
+  @$pb.TagNumber(4)
+  set batchMaxSize($core.int v) { $_setSignedInt32(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasBatchMaxSize() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearBatchMaxSize() => clearField(4);
+
+  @$pb.TagNumber(5)
+  $core.int get batchMaxLatencyMs => $_getIZ(4);
+  @$pb.TagNumber(5)
+  set batchMaxLatencyMs($core.int v) { $_setSignedInt32(4, v); }
+  @$pb.TagNumber(5)
+  $core.bool hasBatchMaxLatencyMs() => $_has(4);
+  @$pb.TagNumber(5)
+  void clearBatchMaxLatencyMs() => clearField(5);
+
+  @$pb.TagNumber(6)
+  $core.int get androidReportDelayMs => $_getIZ(5);
+  @$pb.TagNumber(6)
+  set androidReportDelayMs($core.int v) { $_setSignedInt32(5, v); }
+  @$pb.TagNumber(6)
+  $core.bool hasAndroidReportDelayMs() => $_has(5);
+  @$pb.TagNumber(6)
+  void clearAndroidReportDelayMs() => clearField(6);
+
+  @$pb.TagNumber(7)
+  $core.int get androidMatchMode => $_getIZ(6);
+  @$pb.TagNumber(7)
+  set androidMatchMode($core.int v) { $_setSignedInt32(6, v); }
+  @$pb.TagNumber(7)
+  $core.bool hasAndroidMatchMode() => $_has(6);
+  @$pb.TagNumber(7)
+  void clearAndroidMatchMode() => clearField(7);
+
+  @$pb.TagNumber(8)
+  $core.int get androidNumOfMatches => $_getIZ(7);
+  @$pb.TagNumber(8)
+  set androidNumOfMatches($core.int v) { $_setSignedInt32(7, v); }
+  @$pb.TagNumber(8)
+  $core.bool hasAndroidNumOfMatches() => $_has(7);
+  @$pb.TagNumber(8)
+  void clearAndroidNumOfMatches() => clearField(8);
+
+  @$pb.TagNumber(9)
+  $core.int get androidCallbackType => $_getIZ(8);
+  @$pb.TagNumber(9)
+  set androidCallbackType($core.int v) { $_setSignedInt32(8, v); }
+  @$pb.TagNumber(9)
+  $core.bool hasAndroidCallbackType() => $_has(8);
+  @$pb.TagNumber(9)
+  void clearAndroidCallbackType() => clearField(9);
+
+  @$pb.TagNumber(10)
+  $core.int get androidPipelineCapacity => $_getIZ(9);
+  @$pb.TagNumber(10)
+  set androidPipelineCapacity($core.int v) { $_setSignedInt32(9, v); }
+  @$pb.TagNumber(10)
+  $core.bool hasAndroidPipelineCapacity() => $_has(9);
+  @$pb.TagNumber(10)
+  void clearAndroidPipelineCapacity() => clearField(10);
+
+  @$pb.TagNumber(11)
+  ScanSettings_OverflowPolicy get androidOverflowPolicy => $_getN(10);
+  @$pb.TagNumber(11)
+  set androidOverflowPolicy(ScanSettings_OverflowPolicy v) { setField(11, v); }
+  @$pb.TagNumber(11)
+  $core.bool hasAndroidOverflowPolicy() => $_has(10);
+  @$pb.TagNumber(11)
+  void clearAndroidOverflowPolicy() => clearField(11);
+
+  @$pb.TagNumber(12)
+  $core.int get coalesceIntervalMs => $_getIZ(11);
+  @$pb.TagNumber(12)
+  set coalesceIntervalMs($core.int v) { $_setSignedInt32(11, v); }
+  @$pb.TagNumber(12)
+  $core.bool hasCoalesceIntervalMs() => $_has(11);
+  @$pb.TagNumber(12)
+  void clearCoalesceIntervalMs() => clearField(12);
+
+  @$pb.TagNumber(13)
+  ScanSettings_RssiFilter get rssiFilter => $_getN(12);
+  @$pb.TagNumber(13)
+  set rssiFilter(ScanSettings_RssiFilter v) { setField(13, v); }
+  @$pb.TagNumber(13)
+  $core.bool hasRssiFilter() => $_has(12);
+  @$pb.TagNumber(13)
+  void clearRssiFilter() => clearField(13);
+
+  @$pb.TagNumber(14)
+  $core.double get rssiEmaAlpha => $_getN(13);
+  @$pb.TagNumber(14)
+  set rssiEmaAlpha($core.double v) { $_setFloat(13, v); }
+  @$pb.TagNumber(14)
+  $core.bool hasRssiEmaAlpha() => $_has(13);
+  @$pb.TagNumber(14)
+  void clearRssiEmaAlpha() => clearField(14);
+
+  @$pb.TagNumber(15)
+  $core.double get rssiKalmanProcessNoise => $_getN(14);
+  @$pb.TagNumber(15)
+  set rssiKalmanProcessNoise($core.double v) { $_setFloat(14, v); }
+  @$pb.TagNumber(15)
+  $core.bool hasRssiKalmanProcessNoise() => $_has(14);
+  @$pb.TagNumber(15)
+  void clearRssiKalmanProcessNoise() => clearField(15);
+
+  @$pb.TagNumber(16)
+  $core.double get rssiKalmanMeasurementNoise => $_getN(15);
+  @$pb.TagNumber(16)
+  set rssiKalmanMeasurementNoise($core.double v) { $_setFloat(15, v); }
+  @$pb.TagNumber(16)
+  $core.bool hasRssiKalmanMeasurementNoise() => $_has(15);
+  @$pb.TagNumber(16)
+  void clearRssiKalmanMeasurementNoise() => clearField(16);
+
+  @$pb.TagNumber(17)
+  $core.bool get suppressUnchangedPayloads => $_getBF(16);
+  @$pb.TagNumber(17)
+  set suppressUnchangedPayloads($core.bool v) { $_setBool(16, v); }
+  @$pb.TagNumber(17)
+  $core.bool hasSuppressUnchangedPayloads() => $_has(16);
+  @$pb.TagNumber(17)
+  void clearSuppressUnchangedPayloads() => clearField(17);
+
+  @$pb.TagNumber(18)
+  $core.int get unchangedPayloadHeartbeatMs => $_getIZ(17);
+  @$pb.TagNumber(18)
+  set unchangedPayloadHeartbeatMs($core.int v) { $_setSignedInt32(17, v); }
+  @$pb.TagNumber(18)
+  $core.bool hasUnchangedPayloadHeartbeatMs() => $_has(17);
+  @$pb.TagNumber(18)
+  void clearUnchangedPayloadHeartbeatMs() => clearField(18);
+
+  @$pb.TagNumber(19)
+  $core.List<AdvertisementFilter> get filters => $_getList(18);
+
+  @$pb.TagNumber(20)
+  $core.bool get androidRawScanFrames => $_getBF(19);
+  @$pb.TagNumber(20)
+  set androidRawScanFrames($core.bool v) { $_setBool(19, v); }
+  @$pb.TagNumber(20)
+  $core.bool hasAndroidRawScanFrames() => $_has(19);
+  @$pb.TagNumber(20)
+  void clearAndroidRawScanFrames() => clearField(20);
+}
+
+class AdvertisementFilter extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo(const $core.bool.fromEnvironment('protobuf.omit_message_names') ? '' : 'AdvertisementFilter', createEmptyInstance: create)
+    ..aOS(1, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'serviceUuid')
+    ..aOM<Int32Value>(2, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'manufacturerId', subBuilder: Int32Value.create)
+    ..a<$core.List<$core.int>>(3, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'manufacturerData', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(4, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'manufacturerDataMask', $pb.PbFieldType.OY)
+    ..aOS(5, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'deviceName')
+    ..aOS(6, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'namePrefix')
+    ..aOS(7, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'serviceDataUuid')
+    ..a<$core.List<$core.int>>(8, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'serviceData', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(9, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'serviceDataMask', $pb.PbFieldType.OY)
+    ..a<$core.int>(10, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'minRssi', $pb.PbFieldType.O3)
+    ..hasRequiredFields = false
+  ;
+
+  AdvertisementFilter._() : super();
+  factory AdvertisementFilter({
+    $core.String? serviceUuid,
+    Int32Value? manufacturerId,
+    $core.List<$core.int>? manufacturerData,
+    $core.List<$core.int>? manufacturerDataMask,
+    $core.String? deviceName,
+    $core.String? namePrefix,
+    $core.String? serviceDataUuid,
+    $core.List<$core.int>? serviceData,
+    $core.List<$core.int>? serviceDataMask,
+    $core.int? minRssi,
+  }) {
+    final _result = create();
+    if (serviceUuid != null) {
+      _result.serviceUuid = serviceUuid;
+    }
+    if (manufacturerId != null) {
+      _result.manufacturerId = manufacturerId;
+    }
+    if (manufacturerData != null) {
+      _result.manufacturerData = manufacturerData;
+    }
+    if (manufacturerDataMask != null) {
+      _result.manufacturerDataMask = manufacturerDataMask;
+    }
+    if (deviceName != null) {
+      _result.deviceName = deviceName;
+    }
+    if (namePrefix != null) {
+      _result.namePrefix = namePrefix;
+    }
+    if (serviceDataUuid != null) {
+      _result.serviceDataUuid = serviceDataUuid;
+    }
+    if (serviceData != null) {
+      _result.serviceData = serviceData;
+    }
+    if (serviceDataMask != null) {
+      _result.serviceDataMask = serviceDataMask;
+    }
+    if (minRssi != null) {
+      _result.minRssi = minRssi;
+    }
+    return _result;
+  }
+  factory AdvertisementFilter.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory AdvertisementFilter.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  @$core.Deprecated(
+  'Using this can add significant overhead to your binary. '
+  'Use [GeneratedMessageGenericExtensions.deepCopy] instead. '
+  'Will be removed in next major version')
+  AdvertisementFilter clone() => AdvertisementFilter()..mergeFromMessage(this);
+  @$core.Deprecated(
+  'Using this can add significant overhead to your binary. '
+  'Use [GeneratedMessageGenericExtensions.rebuild] instead. '
+  'Will be removed in next major version')
+  AdvertisementFilter copyWith(void Function(AdvertisementFilter) updates) => super.copyWith((message) => updates(message as AdvertisementFilter)) as AdvertisementFilter; // ignore: deprecated_member_use
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static AdvertisementFilter create() => AdvertisementFilter._();
+  AdvertisementFilter createEmptyInstance() => create();
+  static $pb.PbList<AdvertisementFilter> createRepeated() => $pb.PbList<AdvertisementFilter>();
+  @$core.pragma('dart2js:noInline')
+  static AdvertisementFilter getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<AdvertisementFilter>(create);
+  static AdvertisementFilter? _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.String get serviceUuid => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set serviceUuid($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasServiceUuid() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearServiceUuid() => clearField(1);
+
+  @$pb.TagNumber(2)
+  Int32Value get manufacturerId => $_getN(1);
+  @$pb.TagNumber(2)
+  set manufacturerId(Int32Value v) { setField(2, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasManufacturerId() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearManufacturerId() => clearField(2);
+  @$pb.TagNumber(2)
+  Int32Value ensureManufacturerId() => $_ensure(1);
+
+  @$pb.TagNumber(3)
+  $core.List<$core.int> get manufacturerData => $_getN(2);
+  @$pb.TagNumber(3)
+  set manufacturerData($core.List<$core.int> v) { $_setBytes(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasManufacturerData() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearManufacturerData() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $core.List<$core.int> get manufacturerDataMask => $_getN(3);
+  @$pb.TagNumber(4)
+  set manufacturerDataMask($core.List<$core.int> v) { $_setBytes(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasManufacturerDataMask() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearManufacturerDataMask() => clearField(4);
+
+  @$pb.TagNumber(5)
+  $core.String get deviceName => $_getSZ(4);
+  @$pb.TagNumber(5)
+  set deviceName($core.String v) { $_setString(4, v); }
+  @$pb.TagNumber(5)
+  $core.bool hasDeviceName() => $_has(4);
+  @$pb.TagNumber(5)
+  void clearDeviceName() => clearField(5);
+
+  @$pb.TagNumber(6)
+  $core.String get namePrefix => $_getSZ(5);
+  @$pb.TagNumber(6)
+  set namePrefix($core.String v) { $_setString(5, v); }
+  @$pb.TagNumber(6)
+  $core.bool hasNamePrefix() => $_has(5);
+  @$pb.TagNumber(6)
+  void clearNamePrefix() => clearField(6);
+
+  @$pb.TagNumber(7)
+  $core.String get serviceDataUuid => $_getSZ(6);
+  @$pb.TagNumber(7)
+  set serviceDataUuid($core.String v) { $_setString(6, v); }
+  @$pb.TagNumber(7)
+  $core.bool hasServiceDataUuid() => $_has(6);
+  @$pb.TagNumber(7)
+  void clearServiceDataUuid() => clearField(7);
+
+  @$pb.TagNumber(8)
+  $core.List<$core.int> get serviceData => $_getN(7);
+  @$pb.TagNumber(8)
+  set serviceData($core.List<$core.int> v) { $_setBytes(7, v); }
+  @$pb.TagNumber(8)
+  $core.bool hasServiceData() => $_has(7);
+  @$pb.TagNumber(8)
+  void clearServiceData() => clearField(8);
+
+  @$pb.TagNumber(9)
+  $core.List<$core.int> get serviceDataMask => $_getN(8);
+  @$pb.TagNumber(9)
+  set serviceDataMask($core.List<$core.int> v) { $_setBytes(8, v); }
+  @$pb.TagNumber(9)
+  $core.bool hasServiceDataMask() => $_has(8);
+  @$pb.TagNumber(9)
+  void clearServiceDataMask() => clearField(9);
+
+  @$pb.TagNumber(10)
+  $core.int get minRssi => $_getIZ(9);
+  @$pb.TagNumber(10)
+  set minRssi($core.int v) { $_setSignedInt32(9, v); }
+  @$pb.TagNumber(10)
+  $core.bool hasMinRssi() => $_has(9);
+  @$pb.TagNumber(10)
+  void clearMinRssi() => clearField(10);
 }
 
 class ScanResult extends $pb.GeneratedMessage {
@@ -282,6 +730,7 @@ class ScanResult extends $pb.GeneratedMessage {
     ..aOM<BluetoothDevice>(1, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'device', subBuilder: BluetoothDevice.create)
     ..aOM<AdvertisementData>(2, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'advertisementData', subBuilder: AdvertisementData.create)
     ..a<$core.int>(3, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'rssi', $pb.PbFieldType.O3)
+    ..aOB(4, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'matchLost')
     ..hasRequiredFields = false
   ;
 
@@ -290,6 +739,7 @@ class ScanResult extends $pb.GeneratedMessage {
     BluetoothDevice? device,
     AdvertisementData? advertisementData,
     $core.int? rssi,
+    $core.bool? matchLost,
   }) {
     final _result = create();
     if (device != null) {
@@ -301,6 +751,9 @@ class ScanResult extends $pb.GeneratedMessage {
     if (rssi != null) {
       _result.rssi = rssi;
     }
+    if (matchLost != null) {
+      _result.matchLost = matchLost;
+    }
     return _result;
   }
   factory ScanResult.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
@@ -354,12 +807,471 @@ class ScanResult extends $pb.GeneratedMessage {
   $core.bool hasRssi() => $_has(2);
   @$pb.TagNumber(3)
   void clearRssi() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $core.bool get matchLost => $_getBF(3);
+  @$pb.TagNumber(4)
+  set matchLost($core.bool v) { $_setBool(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasMatchLost() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearMatchLost() => clearField(4);
+}
+
+class ScanResultBatch extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo(const $core.bool.fromEnvironment('protobuf.omit_message_names') ? '' : 'ScanResultBatch', createEmptyInstance: create)
+    ..pc<ScanResult>(1, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'results', $pb.PbFieldType.PM, subBuilder: ScanResult.create)
+    ..hasRequiredFields = false
+  ;
+
+  ScanResultBatch._() : super();
+  factory ScanResultBatch({
+    $core.Iterable<ScanResult>? results,
+  }) {
+    final _result = create();
+    if (results != null) {
+      _result.results.addAll(results);
+    }
+    return _result;
+  }
+  factory ScanResultBatch.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory ScanResultBatch.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  @$core.Deprecated(
+  'Using this can add significant overhead to your binary. '
+  'Use [GeneratedMessageGenericExtensions.deepCopy] instead. '
+  'Will be removed in next major version')
+  ScanResultBatch clone() => ScanResultBatch()..mergeFromMessage(this);
+  @$core.Deprecated(
+  'Using this can add significant overhead to your binary. '
+  'Use [GeneratedMessageGenericExtensions.rebuild] instead. '
+  'Will be removed in next major version')
+  ScanResultBatch copyWith(void Function(ScanResultBatch) updates) => super.copyWith((message) => updates(message as ScanResultBatch)) as ScanResultBatch; // ignore: deprecated_member_use
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static ScanResultBatch create() => ScanResultBatch._();
+  ScanResultBatch createEmptyInstance() => create();
+  static $pb.PbList<ScanResultBatch> createRepeated() => $pb.PbList<ScanResultBatch>();
+  @$core.pragma('dart2js:noInline')
+  static ScanResultBatch getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ScanResultBatch>(create);
+  static ScanResultBatch? _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.List<ScanResult> get results => $_getList(0);
+}
+
+class ScanPipelineStats extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo(const $core.bool.fromEnvironment('protobuf.omit_message_names') ? '' : 'ScanPipelineStats', createEmptyInstance: create)
+    ..aInt64(1, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'received')
+    ..aInt64(2, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'delivered')
+    ..aInt64(3, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'dropped')
+    ..aInt64(4, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'coalesced')
+    ..aInt64(5, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'queueDepth')
+    ..aInt64(6, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'maxQueueDepth')
+    ..aInt64(7, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'avgQueueLatencyUs')
+    ..aInt64(8, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'avgConvertLatencyUs')
+    ..hasRequiredFields = false
+  ;
+
+  ScanPipelineStats._() : super();
+  factory ScanPipelineStats({
+    $fixnum.Int64? received,
+    $fixnum.Int64? delivered,
+    $fixnum.Int64? dropped,
+    $fixnum.Int64? coalesced,
+    $fixnum.Int64? queueDepth,
+    $fixnum.Int64? maxQueueDepth,
+    $fixnum.Int64? avgQueueLatencyUs,
+    $fixnum.Int64? avgConvertLatencyUs,
+  }) {
+    final _result = create();
+    if (received != null) {
+      _result.received = received;
+    }
+    if (delivered != null) {
+      _result.delivered = delivered;
+    }
+    if (dropped != null) {
+      _result.dropped = dropped;
+    }
+    if (coalesced != null) {
+      _result.coalesced = coalesced;
+    }
+    if (queueDepth != null) {
+      _result.queueDepth = queueDepth;
+    }
+    if (maxQueueDepth != null) {
+      _result.maxQueueDepth = maxQueueDepth;
+    }
+    if (avgQueueLatencyUs != null) {
+      _result.avgQueueLatencyUs = avgQueueLatencyUs;
+    }
+    if (avgConvertLatencyUs != null) {
+      _result.avgConvertLatencyUs = avgConvertLatencyUs;
+    }
+    return _result;
+  }
+  factory ScanPipelineStats.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory ScanPipelineStats.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  @$core.Deprecated(
+  'Using this can add significant overhead to your binary. '
+  'Use [GeneratedMessageGenericExtensions.deepCopy] instead. '
+  'Will be removed in next major version')
+  ScanPipelineStats clone() => ScanPipelineStats()..mergeFromMessage(this);
+  @$core.Deprecated(
+  'Using this can add significant overhead to your binary. '
+  'Use [GeneratedMessageGenericExtensions.rebuild] instead. '
+  'Will be removed in next major version')
+  ScanPipelineStats copyWith(void Function(ScanPipelineStats) updates) => super.copyWith((message) => updates(message as ScanPipelineStats)) as ScanPipelineStats; // ignore: deprecated_member_use
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static ScanPipelineStats create() => ScanPipelineStats._();
+  ScanPipelineStats createEmptyInstance() => create();
+  static $pb.PbList<ScanPipelineStats> createRepeated() => $pb.PbList<ScanPipelineStats>();
+  @$core.pragma('dart2js:noInline')
+  static ScanPipelineStats getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ScanPipelineStats>(create);
+  static ScanPipelineStats? _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $fixnum.Int64 get received => $_getI64(0);
+  @$pb.TagNumber(1)
+  set received($fixnum.Int64 v) { $_setInt64(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasReceived() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearReceived() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $fixnum.Int64 get delivered => $_getI64(1);
+  @$pb.TagNumber(2)
+  set delivered($fixnum.Int64 v) { $_setInt64(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasDelivered() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearDelivered() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $fixnum.Int64 get dropped => $_getI64(2);
+  @$pb.TagNumber(3)
+  set dropped($fixnum.Int64 v) { $_setInt64(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasDropped() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearDropped() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $fixnum.Int64 get coalesced => $_getI64(3);
+  @$pb.TagNumber(4)
+  set coalesced($fixnum.Int64 v) { $_setInt64(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasCoalesced() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearCoalesced() => clearField(4);
+
+  @$pb.TagNumber(5)
+  $fixnum.Int64 get queueDepth => $_getI64(4);
+  @$pb.TagNumber(5)
+  set queueDepth($fixnum.Int64 v) { $_setInt64(4, v); }
+  @$pb.TagNumber(5)
+  $core.bool hasQueueDepth() => $_has(4);
+  @$pb.TagNumber(5)
+  void clearQueueDepth() => clearField(5);
+
+  @$pb.TagNumber(6)
+  $fixnum.Int64 get maxQueueDepth => $_getI64(5);
+  @$pb.TagNumber(6)
+  set maxQueueDepth($fixnum.Int64 v) { $_setInt64(5, v); }
+  @$pb.TagNumber(6)
+  $core.bool hasMaxQueueDepth() => $_has(5);
+  @$pb.TagNumber(6)
+  void clearMaxQueueDepth() => clearField(6);
+
+  @$pb.TagNumber(7)
+  $fixnum.Int64 get avgQueueLatencyUs => $_getI64(6);
+  @$pb.TagNumber(7)
+  set avgQueueLatencyUs($fixnum.Int64 v) { $_setInt64(6, v); }
+  @$pb.TagNumber(7)
+  $core.bool hasAvgQueueLatencyUs() => $_has(6);
+  @$pb.TagNumber(7)
+  void clearAvgQueueLatencyUs() => clearField(7);
+
+  @$pb.TagNumber(8)
+  $fixnum.Int64 get avgConvertLatencyUs => $_getI64(7);
+  @$pb.TagNumber(8)
+  set avgConvertLatencyUs($fixnum.Int64 v) { $_setInt64(7, v); }
+  @$pb.TagNumber(8)
+  $core.bool hasAvgConvertLatencyUs() => $_has(7);
+  @$pb.TagNumber(8)
+  void clearAvgConvertLatencyUs() => clearField(8);
+}
+
+class DeviceCacheStats extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo(const $core.bool.fromEnvironment('protobuf.omit_message_names') ? '' : 'DeviceCacheStats', createEmptyInstance: create)
+    ..aInt64(1, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'hits')
+    ..aInt64(2, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'misses')
+    ..aInt64(3, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'expired')
+    ..aInt64(4, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'renamed')
+    ..aInt64(5, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'evicted')
+    ..aInt64(6, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'size')
+    ..hasRequiredFields = false
+  ;
+
+  DeviceCacheStats._() : super();
+  factory DeviceCacheStats({
+    $fixnum.Int64? hits,
+    $fixnum.Int64? misses,
+    $fixnum.Int64? expired,
+    $fixnum.Int64? renamed,
+    $fixnum.Int64? evicted,
+    $fixnum.Int64? size,
+  }) {
+    final _result = create();
+    if (hits != null) {
+      _result.hits = hits;
+    }
+    if (misses != null) {
+      _result.misses = misses;
+    }
+    if (expired != null) {
+      _result.expired = expired;
+    }
+    if (renamed != null) {
+      _result.renamed = renamed;
+    }
+    if (evicted != null) {
+      _result.evicted = evicted;
+    }
+    if (size != null) {
+      _result.size = size;
+    }
+    return _result;
+  }
+  factory DeviceCacheStats.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory DeviceCacheStats.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  @$core.Deprecated(
+  'Using this can add significant overhead to your binary. '
+  'Use [GeneratedMessageGenericExtensions.deepCopy] instead. '
+  'Will be removed in next major version')
+  DeviceCacheStats clone() => DeviceCacheStats()..mergeFromMessage(this);
+  @$core.Deprecated(
+  'Using this can add significant overhead to your binary. '
+  'Use [GeneratedMessageGenericExtensions.rebuild] instead. '
+  'Will be removed in next major version')
+  DeviceCacheStats copyWith(void Function(DeviceCacheStats) updates) => super.copyWith((message) => updates(message as DeviceCacheStats)) as DeviceCacheStats; // ignore: deprecated_member_use
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static DeviceCacheStats create() => DeviceCacheStats._();
+  DeviceCacheStats createEmptyInstance() => create();
+  static $pb.PbList<DeviceCacheStats> createRepeated() => $pb.PbList<DeviceCacheStats>();
+  @$core.pragma('dart2js:noInline')
+  static DeviceCacheStats getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<DeviceCacheStats>(create);
+  static DeviceCacheStats? _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $fixnum.Int64 get hits => $_getI64(0);
+  @$pb.TagNumber(1)
+  set hits($fixnum.Int64 v) { $_setInt64(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasHits() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearHits() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $fixnum.Int64 get misses => $_getI64(1);
+  @$pb.TagNumber(2)
+  set misses($fixnum.Int64 v) { $_setInt64(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasMisses() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearMisses() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $fixnum.Int64 get expired => $_getI64(2);
+  @$pb.TagNumber(3)
+  set expired($fixnum.Int64 v) { $_setInt64(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasExpired() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearExpired() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $fixnum.Int64 get renamed => $_getI64(3);
+  @$pb.TagNumber(4)
+  set renamed($fixnum.Int64 v) { $_setInt64(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasRenamed() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearRenamed() => clearField(4);
+
+  @$pb.TagNumber(5)
+  $fixnum.Int64 get evicted => $_getI64(4);
+  @$pb.TagNumber(5)
+  set evicted($fixnum.Int64 v) { $_setInt64(4, v); }
+  @$pb.TagNumber(5)
+  $core.bool hasEvicted() => $_has(4);
+  @$pb.TagNumber(5)
+  void clearEvicted() => clearField(5);
+
+  @$pb.TagNumber(6)
+  $fixnum.Int64 get size => $_getI64(5);
+  @$pb.TagNumber(6)
+  set size($fixnum.Int64 v) { $_setInt64(5, v); }
+  @$pb.TagNumber(6)
+  $core.bool hasSize() => $_has(5);
+  @$pb.TagNumber(6)
+  void clearSize() => clearField(6);
+}
+
+class EventRingStats extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo(const $core.bool.fromEnvironment('protobuf.omit_message_names') ? '' : 'EventRingStats', createEmptyInstance: create)
+    ..aInt64(1, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'capacity')
+    ..aInt64(2, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'events')
+    ..aInt64(3, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'bytes')
+    ..aInt64(4, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'droppedEvents')
+    ..aInt64(5, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'droppedBytes')
+    ..aInt64(6, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'fill')
+    ..aInt64(7, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'maxFill')
+    ..aInt64(8, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'signals')
+    ..hasRequiredFields = false
+  ;
+
+  EventRingStats._() : super();
+  factory EventRingStats({
+    $fixnum.Int64? capacity,
+    $fixnum.Int64? events,
+    $fixnum.Int64? bytes,
+    $fixnum.Int64? droppedEvents,
+    $fixnum.Int64? droppedBytes,
+    $fixnum.Int64? fill,
+    $fixnum.Int64? maxFill,
+    $fixnum.Int64? signals,
+  }) {
+    final _result = create();
+    if (capacity != null) {
+      _result.capacity = capacity;
+    }
+    if (events != null) {
+      _result.events = events;
+    }
+    if (bytes != null) {
+      _result.bytes = bytes;
+    }
+    if (droppedEvents != null) {
+      _result.droppedEvents = droppedEvents;
+    }
+    if (droppedBytes != null) {
+      _result.droppedBytes = droppedBytes;
+    }
+    if (fill != null) {
+      _result.fill = fill;
+    }
+    if (maxFill != null) {
+      _result.maxFill = maxFill;
+    }
+    if (signals != null) {
+      _result.signals = signals;
+    }
+    return _result;
+  }
+  factory EventRingStats.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory EventRingStats.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  @$core.Deprecated(
+  'Using this can add significant overhead to your binary. '
+  'Use [GeneratedMessageGenericExtensions.deepCopy] instead. '
+  'Will be removed in next major version')
+  EventRingStats clone() => EventRingStats()..mergeFromMessage(this);
+  @$core.Deprecated(
+  'Using this can add significant overhead to your binary. '
+  'Use [GeneratedMessageGenericExtensions.rebuild] instead. '
+  'Will be removed in next major version')
+  EventRingStats copyWith(void Function(EventRingStats) updates) => super.copyWith((message) => updates(message as EventRingStats)) as EventRingStats; // ignore: deprecated_member_use
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static EventRingStats create() => EventRingStats._();
+  EventRingStats createEmptyInstance() => create();
+  static $pb.PbList<EventRingStats> createRepeated() => $pb.PbList<EventRingStats>();
+  @$core.pragma('dart2js:noInline')
+  static EventRingStats getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<EventRingStats>(create);
+  static EventRingStats? _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $fixnum.Int64 get capacity => $_getI64(0);
+  @$pb.TagNumber(1)
+  set capacity($fixnum.Int64 v) { $_setInt64(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasCapacity() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearCapacity() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $fixnum.Int64 get events => $_getI64(1);
+  @$pb.TagNumber(2)
+  set events($fixnum.Int64 v) { $_setInt64(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasEvents() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearEvents() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $fixnum.Int64 get bytes => $_getI64(2);
+  @$pb.TagNumber(3)
+  set bytes($fixnum.Int64 v) { $_setInt64(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasBytes() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearBytes() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $fixnum.Int64 get droppedEvents => $_getI64(3);
+  @$pb.TagNumber(4)
+  set droppedEvents($fixnum.Int64 v) { $_setInt64(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasDroppedEvents() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearDroppedEvents() => clearField(4);
+
+  @$pb.TagNumber(5)
+  $fixnum.Int64 get droppedBytes => $_getI64(4);
+  @$pb.TagNumber(5)
+  set droppedBytes($fixnum.Int64 v) { $_setInt64(4, v); }
+  @$pb.TagNumber(5)
+  $core.bool hasDroppedBytes() => $_has(4);
+  @$pb.TagNumber(5)
+  void clearDroppedBytes() => clearField(5);
+
+  @$pb.TagNumber(6)
+  $fixnum.Int64 get fill => $_getI64(5);
+  @$pb.TagNumber(6)
+  set fill($fixnum.Int64 v) { $_setInt64(5, v); }
+  @$pb.TagNumber(6)
+  $core.bool hasFill() => $_has(5);
+  @$pb.TagNumber(6)
+  void clearFill() => clearField(6);
+
+  @$pb.TagNumber(7)
+  $fixnum.Int64 get maxFill => $_getI64(6);
+  @$pb.TagNumber(7)
+  set maxFill($fixnum.Int64 v) { $_setInt64(6, v); }
+  @$pb.TagNumber(7)
+  $core.bool hasMaxFill() => $_has(6);
+  @$pb.TagNumber(7)
+  void clearMaxFill() => clearField(7);
+
+  @$pb.TagNumber(8)
+  $fixnum.Int64 get signals => $_getI64(7);
+  @$pb.TagNumber(8)
+  set signals($fixnum.Int64 v) { $_setInt64(7, v); }
+  @$pb.TagNumber(8)
+  $core.bool hasSignals() => $_has(7);
+  @$pb.TagNumber(8)
+  void clearSignals() => clearField(8);
 }
 
 class ConnectRequest extends $pb.GeneratedMessage {
   static final $pb.BuilderInfo _i = $pb.BuilderInfo(const $core.bool.fromEnvironment('protobuf.omit_message_names') ? '' : 'ConnectRequest', createEmptyInstance: create)
     ..aOS(1, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'remoteId')
     ..aOB(2, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'androidAutoConnect')
+    ..a<$core.int>(3, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'androidGattTimeoutMs', $pb.PbFieldType.O3)
+    ..aOB(4, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'androidCacheServices')
     ..hasRequiredFields = false
   ;
 
@@ -367,54 +1279,239 @@ class ConnectRequest extends $pb.GeneratedMessage {
   factory ConnectRequest({
     $core.String? remoteId,
     $core.bool? androidAutoConnect,
+    $core.int? androidGattTimeoutMs,
+    $core.bool? androidCacheServices,
+  }) {
+    final _result = create();
+    if (remoteId != null) {
+      _result.remoteId = remoteId;
+    }
+    if (androidAutoConnect != null) {
+      _result.androidAutoConnect = androidAutoConnect;
+    }
+    if (androidGattTimeoutMs != null) {
+      _result.androidGattTimeoutMs = androidGattTimeoutMs;
+    }
+    if (androidCacheServices != null) {
+      _result.androidCacheServices = androidCacheServices;
+    }
+    return _result;
+  }
+  factory ConnectRequest.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory ConnectRequest.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  @$core.Deprecated(
+  'Using this can add significant overhead to your binary. '
+  'Use [GeneratedMessageGenericExtensions.deepCopy] instead. '
+  'Will be removed in next major version')
+  ConnectRequest clone() => ConnectRequest()..mergeFromMessage(this);
+  @$core.Deprecated(
+  'Using this can add significant overhead to your binary. '
+  'Use [GeneratedMessageGenericExtensions.rebuild] instead. '
+  'Will be removed in next major version')
+  ConnectRequest copyWith(void Function(ConnectRequest) updates) => super.copyWith((message) => updates(message as ConnectRequest)) as ConnectRequest; // ignore: deprecated_member_use
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static ConnectRequest create() => ConnectRequest._();
+  ConnectRequest createEmptyInstance() => create();
+  static $pb.PbList<ConnectRequest> createRepeated() => $pb.PbList<ConnectRequest>();
+  @$core.pragma('dart2js:noInline')
+  static ConnectRequest getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ConnectRequest>(create);
+  static ConnectRequest? _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.String get remoteId => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set remoteId($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasRemoteId() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearRemoteId() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.bool get androidAutoConnect => $_getBF(1);
+  @$pb.TagNumber(2)
+  set androidAutoConnect($core.bool v) { $_setBool(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasAndroidAutoConnect() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearAndroidAutoConnect() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $core.int get androidGattTimeoutMs => $_getIZ(2);
+  @$pb.TagNumber(3)
+  set androidGattTimeoutMs($core.int v) { $_setSignedInt32(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasAndroidGattTimeoutMs() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearAndroidGattTimeoutMs() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $core.bool get androidCacheServices => $_getBF(3);
+  @$pb.TagNumber(4)
+  set androidCacheServices($core.bool v) { $_setBool(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasAndroidCacheServices() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearAndroidCacheServices() => clearField(4);
+}
+
+class GattQueueStats extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo(const $core.bool.fromEnvironment('protobuf.omit_message_names') ? '' : 'GattQueueStats', createEmptyInstance: create)
+    ..aInt64(1, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'queueDepth')
+    ..aInt64(2, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'maxQueueDepth')
+    ..aOB(3, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'inFlight')
+    ..aInt64(4, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'completed')
+    ..aInt64(5, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'failed')
+    ..aInt64(6, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'timedOut')
+    ..aInt64(7, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'cancelled')
+    ..aInt64(8, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'avgWaitLatencyUs')
+    ..aInt64(9, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'avgOpLatencyUs')
+    ..hasRequiredFields = false
+  ;
+
+  GattQueueStats._() : super();
+  factory GattQueueStats({
+    $fixnum.Int64? queueDepth,
+    $fixnum.Int64? maxQueueDepth,
+    $core.bool? inFlight,
+    $fixnum.Int64? completed,
+    $fixnum.Int64? failed,
+    $fixnum.Int64? timedOut,
+    $fixnum.Int64? cancelled,
+    $fixnum.Int64? avgWaitLatencyUs,
+    $fixnum.Int64? avgOpLatencyUs,
   }) {
     final _result = create();
-    if (remoteId != null) {
-      _result.remoteId = remoteId;
+    if (queueDepth != null) {
+      _result.queueDepth = queueDepth;
     }
-    if (androidAutoConnect != null) {
-      _result.androidAutoConnect = androidAutoConnect;
+    if (maxQueueDepth != null) {
+      _result.maxQueueDepth = maxQueueDepth;
+    }
+    if (inFlight != null) {
+      _result.inFlight = inFlight;
+    }
+    if (completed != null) {
+      _result.completed = completed;
+    }
+    if (failed != null) {
+      _result.failed = failed;
+    }
+    if (timedOut != null) {
+      _result.timedOut = timedOut;
+    }
+    if (cancelled != null) {
+      _result.cancelled = cancelled;
+    }
+    if (avgWaitLatencyUs != null) {
+      _result.avgWaitLatencyUs = avgWaitLatencyUs;
+    }
+    if (avgOpLatencyUs != null) {
+      _result.avgOpLatencyUs = avgOpLatencyUs;
     }
     return _result;
   }
-  factory ConnectRequest.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory ConnectRequest.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  factory GattQueueStats.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory GattQueueStats.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
   @$core.Deprecated(
   'Using this can add significant overhead to your binary. '
   'Use [GeneratedMessageGenericExtensions.deepCopy] instead. '
   'Will be removed in next major version')
-  ConnectRequest clone() => ConnectRequest()..mergeFromMessage(this);
+  GattQueueStats clone() => GattQueueStats()..mergeFromMessage(this);
   @$core.Deprecated(
   'Using this can add significant overhead to your binary. '
   'Use [GeneratedMessageGenericExtensions.rebuild] instead. '
   'Will be removed in next major version')
-  ConnectRequest copyWith(void Function(ConnectRequest) updates) => super.copyWith((message) => updates(message as ConnectRequest)) as ConnectRequest; // ignore: deprecated_member_use
+  GattQueueStats copyWith(void Function(GattQueueStats) updates) => super.copyWith((message) => updates(message as GattQueueStats)) as GattQueueStats; // ignore: deprecated_member_use
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static ConnectRequest create() => ConnectRequest._();
-  ConnectRequest createEmptyInstance() => create();
-  static $pb.PbList<ConnectRequest> createRepeated() => $pb.PbList<ConnectRequest>();
+  static GattQueueStats create() => GattQueueStats._();
+  GattQueueStats createEmptyInstance() => create();
+  static $pb.PbList<GattQueueStats> createRepeated() => $pb.PbList<GattQueueStats>();
   @$core.pragma('dart2js:noInline')
-  static ConnectRequest getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ConnectRequest>(create);
-  static ConnectRequest? _defaultInstance;
+  static GattQueueStats getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<GattQueueStats>(create);
+  static GattQueueStats? _defaultInstance;
 
   @$pb.TagNumber(1)
-  $core.String get remoteId => $_getSZ(0);
+  $fixnum.Int64 get queueDepth => $_getI64(0);
   @$pb.TagNumber(1)
-  set remoteId($core.String v) { $_setString(0, v); }
+  set queueDepth($fixnum.Int64 v) { $_setInt64(0, v); }
   @$pb.TagNumber(1)
-  $core.bool hasRemoteId() => $_has(0);
+  $core.bool hasQueueDepth() => $_has(0);
   @$pb.TagNumber(1)
-  void clearRemoteId() => clearField(1);
+  void clearQueueDepth() => clearField(1);
 
   @$pb.TagNumber(2)
-  $core.bool get androidAutoConnect => $_getBF(1);
+  $fixnum.Int64 get maxQueueDepth => $_getI64(1);
   @$pb.TagNumber(2)
-  set androidAutoConnect($core.bool v) { $_setBool(1, v); }
+  set maxQueueDepth($fixnum.Int64 v) { $_setInt64(1, v); }
   @$pb.TagNumber(2)
-  $core.bool hasAndroidAutoConnect() => $_has(1);
+  $core.bool hasMaxQueueDepth() => $_has(1);
   @$pb.TagNumber(2)
-  void clearAndroidAutoConnect() => clearField(2);
+  void clearMaxQueueDepth() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $core.bool get inFlight => $_getBF(2);
+  @$pb.TagNumber(3)
+  set inFlight($core.bool v) { $_setBool(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasInFlight() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearInFlight() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $fixnum.Int64 get completed => $_getI64(3);
+  @$pb.TagNumber(4)
+  set completed($fixnum.Int64 v) { $_setInt64(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasCompleted() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearCompleted() => clearField(4);
+
+  @$pb.TagNumber(5)
+  $fixnum.Int64 get failed => $_getI64(4);
+  @$pb.TagNumber(5)
+  set failed($fixnum.Int64 v) { $_setInt64(4, v); }
+  @$pb.TagNumber(5)
+  $core.bool hasFailed() => $_has(4);
+  @$pb.TagNumber(5)
+  void clearFailed() => clearField(5);
+
+  @$pb.TagNumber(6)
+  $fixnum.Int64 get timedOut => $_getI64(5);
+  @$pb.TagNumber(6)
+  set timedOut($fixnum.Int64 v) { $_setInt64(5, v); }
+  @$pb.TagNumber(6)
+  $core.bool hasTimedOut() => $_has(5);
+  @$pb.TagNumber(6)
+  void clearTimedOut() => clearField(6);
+
+  @$pb.TagNumber(7)
+  $fixnum.Int64 get cancelled => $_getI64(6);
+  @$pb.TagNumber(7)
+  set cancelled($fixnum.Int64 v) { $_setInt64(6, v); }
+  @$pb.TagNumber(7)
+  $core.bool hasCancelled() => $_has(6);
+  @$pb.TagNumber(7)
+  void clearCancelled() => clearField(7);
+
+  @$pb.TagNumber(8)
+  $fixnum.Int64 get avgWaitLatencyUs => $_getI64(7);
+  @$pb.TagNumber(8)
+  set avgWaitLatencyUs($fixnum.Int64 v) { $_setInt64(7, v); }
+  @$pb.TagNumber(8)
+  $core.bool hasAvgWaitLatencyUs() => $_has(7);
+  @$pb.TagNumber(8)
+  void clearAvgWaitLatencyUs() => clearField(8);
+
+  @$pb.TagNumber(9)
+  $fixnum.Int64 get avgOpLatencyUs => $_getI64(8);
+  @$pb.TagNumber(9)
+  set avgOpLatencyUs($fixnum.Int64 v) { $_setInt64(8, v); }
+  @$pb.TagNumber(9)
+  $core.bool hasAvgOpLatencyUs() => $_has(8);
+  @$pb.TagNumber(9)
+  void clearAvgOpLatencyUs() => clearField(9);
 }
 
 class BluetoothDevice extends $pb.GeneratedMessage {
@@ -592,6 +1689,7 @@ class BluetoothCharacteristic extends $pb.GeneratedMessage {
     ..pc<BluetoothDescriptor>(5, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'descriptors', $pb.PbFieldType.PM, subBuilder: BluetoothDescriptor.create)
     ..aOM<CharacteristicProperties>(6, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'properties', subBuilder: CharacteristicProperties.create)
     ..a<$core.List<$core.int>>(7, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'value', $pb.PbFieldType.OY)
+    ..a<$core.int>(8, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'handle', $pb.PbFieldType.O3)
     ..hasRequiredFields = false
   ;
 
@@ -604,6 +1702,7 @@ class BluetoothCharacteristic extends $pb.GeneratedMessage {
     $core.Iterable<BluetoothDescriptor>? descriptors,
     CharacteristicProperties? properties,
     $core.List<$core.int>? value,
+    $core.int? handle,
   }) {
     final _result = create();
     if (uuid != null) {
@@ -627,6 +1726,9 @@ class BluetoothCharacteristic extends $pb.GeneratedMessage {
     if (value != null) {
       _result.value = value;
     }
+    if (handle != null) {
+      _result.handle = handle;
+    }
     return _result;
   }
   factory BluetoothCharacteristic.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
@@ -708,6 +1810,15 @@ class BluetoothCharacteristic extends $pb.GeneratedMessage {
   $core.bool hasValue() => $_has(6);
   @$pb.TagNumber(7)
   void clearValue() => clearField(7);
+
+  @$pb.TagNumber(8)
+  $core.int get handle => $_getIZ(7);
+  @$pb.TagNumber(8)
+  set handle($core.int v) { $_setSignedInt32(7, v); }
+  @$pb.TagNumber(8)
+  $core.bool hasHandle() => $_has(7);
+  @$pb.TagNumber(8)
+  void clearHandle() => clearField(8);
 }
 
 class BluetoothDescriptor extends $pb.GeneratedMessage {
@@ -990,6 +2101,8 @@ class DiscoverServicesResult extends $pb.GeneratedMessage {
   static final $pb.BuilderInfo _i = $pb.BuilderInfo(const $core.bool.fromEnvironment('protobuf.omit_message_names') ? '' : 'DiscoverServicesResult', createEmptyInstance: create)
     ..aOS(1, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'remoteId')
     ..pc<BluetoothService>(2, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'services', $pb.PbFieldType.PM, subBuilder: BluetoothService.create)
+    ..aOB(3, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'fromCache')
+    ..aOB(4, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'failed')
     ..hasRequiredFields = false
   ;
 
@@ -997,6 +2110,8 @@ class DiscoverServicesResult extends $pb.GeneratedMessage {
   factory DiscoverServicesResult({
     $core.String? remoteId,
     $core.Iterable<BluetoothService>? services,
+    $core.bool? fromCache,
+    $core.bool? failed,
   }) {
     final _result = create();
     if (remoteId != null) {
@@ -1005,6 +2120,12 @@ class DiscoverServicesResult extends $pb.GeneratedMessage {
     if (services != null) {
       _result.services.addAll(services);
     }
+    if (fromCache != null) {
+      _result.fromCache = fromCache;
+    }
+    if (failed != null) {
+      _result.failed = failed;
+    }
     return _result;
   }
   factory DiscoverServicesResult.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
@@ -1039,6 +2160,24 @@ class DiscoverServicesResult extends $pb.GeneratedMessage {
 
   @$pb.TagNumber(2)
   $core.List<BluetoothService> get services => $_getList(1);
+
+  @$pb.TagNumber(3)
+  $core.bool get fromCache => $_getBF(2);
+  @$pb.TagNumber(3)
+  set fromCache($core.bool v) { $_setBool(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasFromCache() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearFromCache() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $core.bool get failed => $_getBF(3);
+  @$pb.TagNumber(4)
+  set failed($core.bool v) { $_setBool(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasFailed() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearFailed() => clearField(4);
 }
 
 class ReadCharacteristicRequest extends $pb.GeneratedMessage {
@@ -1312,72 +2451,256 @@ class ReadDescriptorResponse extends $pb.GeneratedMessage {
     if (request != null) {
       _result.request = request;
     }
-    if (value != null) {
-      _result.value = value;
+    if (value != null) {
+      _result.value = value;
+    }
+    return _result;
+  }
+  factory ReadDescriptorResponse.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory ReadDescriptorResponse.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  @$core.Deprecated(
+  'Using this can add significant overhead to your binary. '
+  'Use [GeneratedMessageGenericExtensions.deepCopy] instead. '
+  'Will be removed in next major version')
+  ReadDescriptorResponse clone() => ReadDescriptorResponse()..mergeFromMessage(this);
+  @$core.Deprecated(
+  'Using this can add significant overhead to your binary. '
+  'Use [GeneratedMessageGenericExtensions.rebuild] instead. '
+  'Will be removed in next major version')
+  ReadDescriptorResponse copyWith(void Function(ReadDescriptorResponse) updates) => super.copyWith((message) => updates(message as ReadDescriptorResponse)) as ReadDescriptorResponse; // ignore: deprecated_member_use
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static ReadDescriptorResponse create() => ReadDescriptorResponse._();
+  ReadDescriptorResponse createEmptyInstance() => create();
+  static $pb.PbList<ReadDescriptorResponse> createRepeated() => $pb.PbList<ReadDescriptorResponse>();
+  @$core.pragma('dart2js:noInline')
+  static ReadDescriptorResponse getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ReadDescriptorResponse>(create);
+  static ReadDescriptorResponse? _defaultInstance;
+
+  @$pb.TagNumber(1)
+  ReadDescriptorRequest get request => $_getN(0);
+  @$pb.TagNumber(1)
+  set request(ReadDescriptorRequest v) { setField(1, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasRequest() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearRequest() => clearField(1);
+  @$pb.TagNumber(1)
+  ReadDescriptorRequest ensureRequest() => $_ensure(0);
+
+  @$pb.TagNumber(2)
+  $core.List<$core.int> get value => $_getN(1);
+  @$pb.TagNumber(2)
+  set value($core.List<$core.int> v) { $_setBytes(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasValue() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearValue() => clearField(2);
+}
+
+class WriteCharacteristicRequest extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo(const $core.bool.fromEnvironment('protobuf.omit_message_names') ? '' : 'WriteCharacteristicRequest', createEmptyInstance: create)
+    ..aOS(1, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'remoteId')
+    ..aOS(2, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'characteristicUuid')
+    ..aOS(3, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'serviceUuid')
+    ..aOS(4, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'secondaryServiceUuid')
+    ..e<WriteCharacteristicRequest_WriteType>(5, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'writeType', $pb.PbFieldType.OE, defaultOrMaker: WriteCharacteristicRequest_WriteType.WITH_RESPONSE, valueOf: WriteCharacteristicRequest_WriteType.valueOf, enumValues: WriteCharacteristicRequest_WriteType.values)
+    ..a<$core.List<$core.int>>(6, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'value', $pb.PbFieldType.OY)
+    ..hasRequiredFields = false
+  ;
+
+  WriteCharacteristicRequest._() : super();
+  factory WriteCharacteristicRequest({
+    $core.String? remoteId,
+    $core.String? characteristicUuid,
+    $core.String? serviceUuid,
+    $core.String? secondaryServiceUuid,
+    WriteCharacteristicRequest_WriteType? writeType,
+    $core.List<$core.int>? value,
+  }) {
+    final _result = create();
+    if (remoteId != null) {
+      _result.remoteId = remoteId;
+    }
+    if (characteristicUuid != null) {
+      _result.characteristicUuid = characteristicUuid;
+    }
+    if (serviceUuid != null) {
+      _result.serviceUuid = serviceUuid;
+    }
+    if (secondaryServiceUuid != null) {
+      _result.secondaryServiceUuid = secondaryServiceUuid;
+    }
+    if (writeType != null) {
+      _result.writeType = writeType;
+    }
+    if (value != null) {
+      _result.value = value;
+    }
+    return _result;
+  }
+  factory WriteCharacteristicRequest.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory WriteCharacteristicRequest.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  @$core.Deprecated(
+  'Using this can add significant overhead to your binary. '
+  'Use [GeneratedMessageGenericExtensions.deepCopy] instead. '
+  'Will be removed in next major version')
+  WriteCharacteristicRequest clone() => WriteCharacteristicRequest()..mergeFromMessage(this);
+  @$core.Deprecated(
+  'Using this can add significant overhead to your binary. '
+  'Use [GeneratedMessageGenericExtensions.rebuild] instead. '
+  'Will be removed in next major version')
+  WriteCharacteristicRequest copyWith(void Function(WriteCharacteristicRequest) updates) => super.copyWith((message) => updates(message as WriteCharacteristicRequest)) as WriteCharacteristicRequest; // ignore: deprecated_member_use
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static WriteCharacteristicRequest create() => WriteCharacteristicRequest._();
+  WriteCharacteristicRequest createEmptyInstance() => create();
+  static $pb.PbList<WriteCharacteristicRequest> createRepeated() => $pb.PbList<WriteCharacteristicRequest>();
+  @$core.pragma('dart2js:noInline')
+  static WriteCharacteristicRequest getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<WriteCharacteristicRequest>(create);
+  static WriteCharacteristicRequest? _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.String get remoteId => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set remoteId($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasRemoteId() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearRemoteId() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.String get characteristicUuid => $_getSZ(1);
+  @$pb.TagNumber(2)
+  set characteristicUuid($core.String v) { $_setString(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasCharacteristicUuid() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearCharacteristicUuid() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $core.String get serviceUuid => $_getSZ(2);
+  @$pb.TagNumber(3)
+  set serviceUuid($core.String v) { $_setString(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasServiceUuid() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearServiceUuid() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $core.String get secondaryServiceUuid => $_getSZ(3);
+  @$pb.TagNumber(4)
+  set secondaryServiceUuid($core.String v) { $_setString(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasSecondaryServiceUuid() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearSecondaryServiceUuid() => clearField(4);
+
+  @$pb.TagNumber(5)
+  WriteCharacteristicRequest_WriteType get writeType => $_getN(4);
+  @$pb.TagNumber(5)
+  set writeType(WriteCharacteristicRequest_WriteType v) { setField(5, v); }
+  @$pb.TagNumber(5)
+  $core.bool hasWriteType() => $_has(4);
+  @$pb.TagNumber(5)
+  void clearWriteType() => clearField(5);
+
+  @$pb.TagNumber(6)
+  $core.List<$core.int> get value => $_getN(5);
+  @$pb.TagNumber(6)
+  set value($core.List<$core.int> v) { $_setBytes(5, v); }
+  @$pb.TagNumber(6)
+  $core.bool hasValue() => $_has(5);
+  @$pb.TagNumber(6)
+  void clearValue() => clearField(6);
+}
+
+class WriteCharacteristicResponse extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo(const $core.bool.fromEnvironment('protobuf.omit_message_names') ? '' : 'WriteCharacteristicResponse', createEmptyInstance: create)
+    ..aOM<WriteCharacteristicRequest>(1, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'request', subBuilder: WriteCharacteristicRequest.create)
+    ..aOB(2, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'success')
+    ..hasRequiredFields = false
+  ;
+
+  WriteCharacteristicResponse._() : super();
+  factory WriteCharacteristicResponse({
+    WriteCharacteristicRequest? request,
+    $core.bool? success,
+  }) {
+    final _result = create();
+    if (request != null) {
+      _result.request = request;
+    }
+    if (success != null) {
+      _result.success = success;
     }
     return _result;
   }
-  factory ReadDescriptorResponse.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory ReadDescriptorResponse.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  factory WriteCharacteristicResponse.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory WriteCharacteristicResponse.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
   @$core.Deprecated(
   'Using this can add significant overhead to your binary. '
   'Use [GeneratedMessageGenericExtensions.deepCopy] instead. '
   'Will be removed in next major version')
-  ReadDescriptorResponse clone() => ReadDescriptorResponse()..mergeFromMessage(this);
+  WriteCharacteristicResponse clone() => WriteCharacteristicResponse()..mergeFromMessage(this);
   @$core.Deprecated(
   'Using this can add significant overhead to your binary. '
   'Use [GeneratedMessageGenericExtensions.rebuild] instead. '
   'Will be removed in next major version')
-  ReadDescriptorResponse copyWith(void Function(ReadDescriptorResponse) updates) => super.copyWith((message) => updates(message as ReadDescriptorResponse)) as ReadDescriptorResponse; // ignore: deprecated_member_use
+  WriteCharacteristicResponse copyWith(void Function(WriteCharacteristicResponse) updates) => super.copyWith((message) => updates(message as WriteCharacteristicResponse)) as WriteCharacteristicResponse; // ignore: deprecated_member_use
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static ReadDescriptorResponse create() => ReadDescriptorResponse._();
-  ReadDescriptorResponse createEmptyInstance() => create();
-  static $pb.PbList<ReadDescriptorResponse> createRepeated() => $pb.PbList<ReadDescriptorResponse>();
+  static WriteCharacteristicResponse create() => WriteCharacteristicResponse._();
+  WriteCharacteristicResponse createEmptyInstance() => create();
+  static $pb.PbList<WriteCharacteristicResponse> createRepeated() => $pb.PbList<WriteCharacteristicResponse>();
   @$core.pragma('dart2js:noInline')
-  static ReadDescriptorResponse getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ReadDescriptorResponse>(create);
-  static ReadDescriptorResponse? _defaultInstance;
+  static WriteCharacteristicResponse getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<WriteCharacteristicResponse>(create);
+  static WriteCharacteristicResponse? _defaultInstance;
 
   @$pb.TagNumber(1)
-  ReadDescriptorRequest get request => $_getN(0);
+  WriteCharacteristicRequest get request => $_getN(0);
   @$pb.TagNumber(1)
-  set request(ReadDescriptorRequest v) { setField(1, v); }
+  set request(WriteCharacteristicRequest v) { setField(1, v); }
   @$pb.TagNumber(1)
   $core.bool hasRequest() => $_has(0);
   @$pb.TagNumber(1)
   void clearRequest() => clearField(1);
   @$pb.TagNumber(1)
-  ReadDescriptorRequest ensureRequest() => $_ensure(0);
+  WriteCharacteristicRequest ensureRequest() => $_ensure(0);
 
   @$pb.TagNumber(2)
-  $core.List<$core.int> get value => $_getN(1);
+  $core.bool get success => $_getBF(1);
   @$pb.TagNumber(2)
-  set value($core.List<$core.int> v) { $_setBytes(1, v); }
+  set success($core.bool v) { $_setBool(1, v); }
   @$pb.TagNumber(2)
-  $core.bool hasValue() => $_has(1);
+  $core.bool hasSuccess() => $_has(1);
   @$pb.TagNumber(2)
-  void clearValue() => clearField(2);
+  void clearSuccess() => clearField(2);
 }
 
-class WriteCharacteristicRequest extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo(const $core.bool.fromEnvironment('protobuf.omit_message_names') ? '' : 'WriteCharacteristicRequest', createEmptyInstance: create)
+class WriteCharacteristicBulkRequest extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo(const $core.bool.fromEnvironment('protobuf.omit_message_names') ? '' : 'WriteCharacteristicBulkRequest', createEmptyInstance: create)
     ..aOS(1, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'remoteId')
     ..aOS(2, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'characteristicUuid')
     ..aOS(3, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'serviceUuid')
     ..aOS(4, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'secondaryServiceUuid')
     ..e<WriteCharacteristicRequest_WriteType>(5, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'writeType', $pb.PbFieldType.OE, defaultOrMaker: WriteCharacteristicRequest_WriteType.WITH_RESPONSE, valueOf: WriteCharacteristicRequest_WriteType.valueOf, enumValues: WriteCharacteristicRequest_WriteType.values)
     ..a<$core.List<$core.int>>(6, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'value', $pb.PbFieldType.OY)
+    ..a<$core.int>(7, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'transferId', $pb.PbFieldType.O3)
+    ..a<$core.int>(8, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'progressIntervalMs', $pb.PbFieldType.O3)
     ..hasRequiredFields = false
   ;
 
-  WriteCharacteristicRequest._() : super();
-  factory WriteCharacteristicRequest({
+  WriteCharacteristicBulkRequest._() : super();
+  factory WriteCharacteristicBulkRequest({
     $core.String? remoteId,
     $core.String? characteristicUuid,
     $core.String? serviceUuid,
     $core.String? secondaryServiceUuid,
     WriteCharacteristicRequest_WriteType? writeType,
     $core.List<$core.int>? value,
+    $core.int? transferId,
+    $core.int? progressIntervalMs,
   }) {
     final _result = create();
     if (remoteId != null) {
@@ -1398,28 +2721,34 @@ class WriteCharacteristicRequest extends $pb.GeneratedMessage {
     if (value != null) {
       _result.value = value;
     }
+    if (transferId != null) {
+      _result.transferId = transferId;
+    }
+    if (progressIntervalMs != null) {
+      _result.progressIntervalMs = progressIntervalMs;
+    }
     return _result;
   }
-  factory WriteCharacteristicRequest.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory WriteCharacteristicRequest.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  factory WriteCharacteristicBulkRequest.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory WriteCharacteristicBulkRequest.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
   @$core.Deprecated(
   'Using this can add significant overhead to your binary. '
   'Use [GeneratedMessageGenericExtensions.deepCopy] instead. '
   'Will be removed in next major version')
-  WriteCharacteristicRequest clone() => WriteCharacteristicRequest()..mergeFromMessage(this);
+  WriteCharacteristicBulkRequest clone() => WriteCharacteristicBulkRequest()..mergeFromMessage(this);
   @$core.Deprecated(
   'Using this can add significant overhead to your binary. '
   'Use [GeneratedMessageGenericExtensions.rebuild] instead. '
   'Will be removed in next major version')
-  WriteCharacteristicRequest copyWith(void Function(WriteCharacteristicRequest) updates) => super.copyWith((message) => updates(message as WriteCharacteristicRequest)) as WriteCharacteristicRequest; // ignore: deprecated_member_use
+  WriteCharacteristicBulkRequest copyWith(void Function(WriteCharacteristicBulkRequest) updates) => super.copyWith((message) => updates(message as WriteCharacteristicBulkRequest)) as WriteCharacteristicBulkRequest; // ignore: deprecated_member_use
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static WriteCharacteristicRequest create() => WriteCharacteristicRequest._();
-  WriteCharacteristicRequest createEmptyInstance() => create();
-  static $pb.PbList<WriteCharacteristicRequest> createRepeated() => $pb.PbList<WriteCharacteristicRequest>();
+  static WriteCharacteristicBulkRequest create() => WriteCharacteristicBulkRequest._();
+  WriteCharacteristicBulkRequest createEmptyInstance() => create();
+  static $pb.PbList<WriteCharacteristicBulkRequest> createRepeated() => $pb.PbList<WriteCharacteristicBulkRequest>();
   @$core.pragma('dart2js:noInline')
-  static WriteCharacteristicRequest getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<WriteCharacteristicRequest>(create);
-  static WriteCharacteristicRequest? _defaultInstance;
+  static WriteCharacteristicBulkRequest getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<WriteCharacteristicBulkRequest>(create);
+  static WriteCharacteristicBulkRequest? _defaultInstance;
 
   @$pb.TagNumber(1)
   $core.String get remoteId => $_getSZ(0);
@@ -1474,69 +2803,169 @@ class WriteCharacteristicRequest extends $pb.GeneratedMessage {
   $core.bool hasValue() => $_has(5);
   @$pb.TagNumber(6)
   void clearValue() => clearField(6);
+
+  @$pb.TagNumber(7)
+  $core.int get transferId => $_getIZ(6);
+  @$pb.TagNumber(7)
+  set transferId($core.int v) { $_setSignedInt32(6, v); }
+  @$pb.TagNumber(7)
+  $core.bool hasTransferId() => $_has(6);
+  @$pb.TagNumber(7)
+  void clearTransferId() => clearField(7);
+
+  @$pb.TagNumber(8)
+  $core.int get progressIntervalMs => $_getIZ(7);
+  @$pb.TagNumber(8)
+  set progressIntervalMs($core.int v) { $_setSignedInt32(7, v); }
+  @$pb.TagNumber(8)
+  $core.bool hasProgressIntervalMs() => $_has(7);
+  @$pb.TagNumber(8)
+  void clearProgressIntervalMs() => clearField(8);
 }
 
-class WriteCharacteristicResponse extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo(const $core.bool.fromEnvironment('protobuf.omit_message_names') ? '' : 'WriteCharacteristicResponse', createEmptyInstance: create)
-    ..aOM<WriteCharacteristicRequest>(1, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'request', subBuilder: WriteCharacteristicRequest.create)
-    ..aOB(2, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'success')
+class BulkWriteProgress extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo(const $core.bool.fromEnvironment('protobuf.omit_message_names') ? '' : 'BulkWriteProgress', createEmptyInstance: create)
+    ..aOS(1, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'remoteId')
+    ..a<$core.int>(2, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'transferId', $pb.PbFieldType.O3)
+    ..aInt64(3, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'bytesWritten')
+    ..aInt64(4, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'totalBytes')
+    ..a<$core.int>(5, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'chunkSize', $pb.PbFieldType.O3)
+    ..aInt64(6, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'elapsedUs')
+    ..aOB(7, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'done')
+    ..aOS(8, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'error')
     ..hasRequiredFields = false
   ;
 
-  WriteCharacteristicResponse._() : super();
-  factory WriteCharacteristicResponse({
-    WriteCharacteristicRequest? request,
-    $core.bool? success,
+  BulkWriteProgress._() : super();
+  factory BulkWriteProgress({
+    $core.String? remoteId,
+    $core.int? transferId,
+    $fixnum.Int64? bytesWritten,
+    $fixnum.Int64? totalBytes,
+    $core.int? chunkSize,
+    $fixnum.Int64? elapsedUs,
+    $core.bool? done,
+    $core.String? error,
   }) {
     final _result = create();
-    if (request != null) {
-      _result.request = request;
+    if (remoteId != null) {
+      _result.remoteId = remoteId;
     }
-    if (success != null) {
-      _result.success = success;
+    if (transferId != null) {
+      _result.transferId = transferId;
+    }
+    if (bytesWritten != null) {
+      _result.bytesWritten = bytesWritten;
+    }
+    if (totalBytes != null) {
+      _result.totalBytes = totalBytes;
+    }
+    if (chunkSize != null) {
+      _result.chunkSize = chunkSize;
+    }
+    if (elapsedUs != null) {
+      _result.elapsedUs = elapsedUs;
+    }
+    if (done != null) {
+      _result.done = done;
+    }
+    if (error != null) {
+      _result.error = error;
     }
     return _result;
   }
-  factory WriteCharacteristicResponse.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory WriteCharacteristicResponse.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  factory BulkWriteProgress.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory BulkWriteProgress.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
   @$core.Deprecated(
   'Using this can add significant overhead to your binary. '
   'Use [GeneratedMessageGenericExtensions.deepCopy] instead. '
   'Will be removed in next major version')
-  WriteCharacteristicResponse clone() => WriteCharacteristicResponse()..mergeFromMessage(this);
+  BulkWriteProgress clone() => BulkWriteProgress()..mergeFromMessage(this);
   @$core.Deprecated(
   'Using this can add significant overhead to your binary. '
   'Use [GeneratedMessageGenericExtensions.rebuild] instead. '
   'Will be removed in next major version')
-  WriteCharacteristicResponse copyWith(void Function(WriteCharacteristicResponse) updates) => super.copyWith((message) => updates(message as WriteCharacteristicResponse)) as WriteCharacteristicResponse; // ignore: deprecated_member_use
+  BulkWriteProgress copyWith(void Function(BulkWriteProgress) updates) => super.copyWith((message) => updates(message as BulkWriteProgress)) as BulkWriteProgress; // ignore: deprecated_member_use
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static WriteCharacteristicResponse create() => WriteCharacteristicResponse._();
-  WriteCharacteristicResponse createEmptyInstance() => create();
-  static $pb.PbList<WriteCharacteristicResponse> createRepeated() => $pb.PbList<WriteCharacteristicResponse>();
+  static BulkWriteProgress create() => BulkWriteProgress._();
+  BulkWriteProgress createEmptyInstance() => create();
+  static $pb.PbList<BulkWriteProgress> createRepeated() => $pb.PbList<BulkWriteProgress>();
   @$core.pragma('dart2js:noInline')
-  static WriteCharacteristicResponse getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<WriteCharacteristicResponse>(create);
-  static WriteCharacteristicResponse? _defaultInstance;
+  static BulkWriteProgress getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<BulkWriteProgress>(create);
+  static BulkWriteProgress? _defaultInstance;
 
   @$pb.TagNumber(1)
-  WriteCharacteristicRequest get request => $_getN(0);
-  @$pb.TagNumber(1)
-  set request(WriteCharacteristicRequest v) { setField(1, v); }
+  $core.String get remoteId => $_getSZ(0);
   @$pb.TagNumber(1)
-  $core.bool hasRequest() => $_has(0);
+  set remoteId($core.String v) { $_setString(0, v); }
   @$pb.TagNumber(1)
-  void clearRequest() => clearField(1);
+  $core.bool hasRemoteId() => $_has(0);
   @$pb.TagNumber(1)
-  WriteCharacteristicRequest ensureRequest() => $_ensure(0);
+  void clearRemoteId() => clearField(1);
 
   @$pb.TagNumber(2)
-  $core.bool get success => $_getBF(1);
+  $core.int get transferId => $_getIZ(1);
   @$pb.TagNumber(2)
-  set success($core.bool v) { $_setBool(1, v); }
+  set transferId($core.int v) { $_setSignedInt32(1, v); }
   @$pb.TagNumber(2)
-  $core.bool hasSuccess() => $_has(1);
+  $core.bool hasTransferId() => $_has(1);
   @$pb.TagNumber(2)
-  void clearSuccess() => clearField(2);
+  void clearTransferId() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $fixnum.Int64 get bytesWritten => $_getI64(2);
+  @$pb.TagNumber(3)
+  set bytesWritten($fixnum.Int64 v) { $_setInt64(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasBytesWritten() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearBytesWritten() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $fixnum.Int64 get totalBytes => $_getI64(3);
+  @$pb.TagNumber(4)
+  set totalBytes($fixnum.Int64 v) { $_setInt64(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasTotalBytes() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearTotalBytes() => clearField(4);
+
+  @$pb.TagNumber(5)
+  $core.int get chunkSize => $_getIZ(4);
+  @$pb.TagNumber(5)
+  set chunkSize($core.int v) { $_setSignedInt32(4, v); }
+  @$pb.TagNumber(5)
+  $core.bool hasChunkSize() => $_has(4);
+  @$pb.TagNumber(5)
+  void clearChunkSize() => clearField(5);
+
+  @$pb.TagNumber(6)
+  $fixnum.Int64 get elapsedUs => $_getI64(5);
+  @$pb.TagNumber(6)
+  set elapsedUs($fixnum.Int64 v) { $_setInt64(5, v); }
+  @$pb.TagNumber(6)
+  $core.bool hasElapsedUs() => $_has(5);
+  @$pb.TagNumber(6)
+  void clearElapsedUs() => clearField(6);
+
+  @$pb.TagNumber(7)
+  $core.bool get done => $_getBF(6);
+  @$pb.TagNumber(7)
+  set done($core.bool v) { $_setBool(6, v); }
+  @$pb.TagNumber(7)
+  $core.bool hasDone() => $_has(6);
+  @$pb.TagNumber(7)
+  void clearDone() => clearField(7);
+
+  @$pb.TagNumber(8)
+  $core.String get error => $_getSZ(7);
+  @$pb.TagNumber(8)
+  set error($core.String v) { $_setString(7, v); }
+  @$pb.TagNumber(8)
+  $core.bool hasError() => $_has(7);
+  @$pb.TagNumber(8)
+  void clearError() => clearField(8);
 }
 
 class WriteDescriptorRequest extends $pb.GeneratedMessage {
@@ -1726,6 +3155,9 @@ class SetNotificationRequest extends $pb.GeneratedMessage {
     ..aOS(3, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'secondaryServiceUuid')
     ..aOS(4, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'characteristicUuid')
     ..aOB(5, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'enable')
+    ..aOB(6, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'compact')
+    ..a<$core.int>(7, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'batchMaxSize', $pb.PbFieldType.O3)
+    ..a<$core.int>(8, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'batchMaxLatencyMs', $pb.PbFieldType.O3)
     ..hasRequiredFields = false
   ;
 
@@ -1736,6 +3168,9 @@ class SetNotificationRequest extends $pb.GeneratedMessage {
     $core.String? secondaryServiceUuid,
     $core.String? characteristicUuid,
     $core.bool? enable,
+    $core.bool? compact,
+    $core.int? batchMaxSize,
+    $core.int? batchMaxLatencyMs,
   }) {
     final _result = create();
     if (remoteId != null) {
@@ -1753,6 +3188,15 @@ class SetNotificationRequest extends $pb.GeneratedMessage {
     if (enable != null) {
       _result.enable = enable;
     }
+    if (compact != null) {
+      _result.compact = compact;
+    }
+    if (batchMaxSize != null) {
+      _result.batchMaxSize = batchMaxSize;
+    }
+    if (batchMaxLatencyMs != null) {
+      _result.batchMaxLatencyMs = batchMaxLatencyMs;
+    }
     return _result;
   }
   factory SetNotificationRequest.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
@@ -1820,6 +3264,33 @@ class SetNotificationRequest extends $pb.GeneratedMessage {
   $core.bool hasEnable() => $_has(4);
   @$pb.TagNumber(5)
   void clearEnable() => clearField(5);
+
+  @$pb.TagNumber(6)
+  $core.bool get compact => $_getBF(5);
+  @$pb.TagNumber(6)
+  set compact($core.bool v) { $_setBool(5, v); }
+  @$pb.TagNumber(6)
+  $core.bool hasCompact() => $_has(5);
+  @$pb.TagNumber(6)
+  void clearCompact() => clearField(6);
+
+  @$pb.TagNumber(7)
+  $core.int get batchMaxSize => $_getIZ(6);
+  @$pb.TagNumber(7)
+  set batchMaxSize($core.int v) { $_setSignedInt32(6, v); }
+  @$pb.TagNumber(7)
+  $core.bool hasBatchMaxSize() => $_has(6);
+  @$pb.TagNumber(7)
+  void clearBatchMaxSize() => clearField(7);
+
+  @$pb.TagNumber(8)
+  $core.int get batchMaxLatencyMs => $_getIZ(7);
+  @$pb.TagNumber(8)
+  set batchMaxLatencyMs($core.int v) { $_setSignedInt32(7, v); }
+  @$pb.TagNumber(8)
+  $core.bool hasBatchMaxLatencyMs() => $_has(7);
+  @$pb.TagNumber(8)
+  void clearBatchMaxLatencyMs() => clearField(8);
 }
 
 class SetNotificationResponse extends $pb.GeneratedMessage {
@@ -1962,6 +3433,158 @@ class OnCharacteristicChanged extends $pb.GeneratedMessage {
   BluetoothCharacteristic ensureCharacteristic() => $_ensure(1);
 }
 
+class OnCharacteristicValue extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo(const $core.bool.fromEnvironment('protobuf.omit_message_names') ? '' : 'OnCharacteristicValue', createEmptyInstance: create)
+    ..aOS(1, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'remoteId')
+    ..a<$core.int>(2, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'handle', $pb.PbFieldType.O3)
+    ..a<$core.List<$core.int>>(3, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'value', $pb.PbFieldType.OY)
+    ..hasRequiredFields = false
+  ;
+
+  OnCharacteristicValue._() : super();
+  factory OnCharacteristicValue({
+    $core.String? remoteId,
+    $core.int? handle,
+    $core.List<$core.int>? value,
+  }) {
+    final _result = create();
+    if (remoteId != null) {
+      _result.remoteId = remoteId;
+    }
+    if (handle != null) {
+      _result.handle = handle;
+    }
+    if (value != null) {
+      _result.value = value;
+    }
+    return _result;
+  }
+  factory OnCharacteristicValue.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory OnCharacteristicValue.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  @$core.Deprecated(
+  'Using this can add significant overhead to your binary. '
+  'Use [GeneratedMessageGenericExtensions.deepCopy] instead. '
+  'Will be removed in next major version')
+  OnCharacteristicValue clone() => OnCharacteristicValue()..mergeFromMessage(this);
+  @$core.Deprecated(
+  'Using this can add significant overhead to your binary. '
+  'Use [GeneratedMessageGenericExtensions.rebuild] instead. '
+  'Will be removed in next major version')
+  OnCharacteristicValue copyWith(void Function(OnCharacteristicValue) updates) => super.copyWith((message) => updates(message as OnCharacteristicValue)) as OnCharacteristicValue; // ignore: deprecated_member_use
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static OnCharacteristicValue create() => OnCharacteristicValue._();
+  OnCharacteristicValue createEmptyInstance() => create();
+  static $pb.PbList<OnCharacteristicValue> createRepeated() => $pb.PbList<OnCharacteristicValue>();
+  @$core.pragma('dart2js:noInline')
+  static OnCharacteristicValue getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<OnCharacteristicValue>(create);
+  static OnCharacteristicValue? _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.String get remoteId => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set remoteId($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasRemoteId() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearRemoteId() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.int get handle => $_getIZ(1);
+  @$pb.TagNumber(2)
+  set handle($core.int v) { $_setSignedInt32(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasHandle() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearHandle() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $core.List<$core.int> get value => $_getN(2);
+  @$pb.TagNumber(3)
+  set value($core.List<$core.int> v) { $_setBytes(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasValue() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearValue() => clearField(3);
+}
+
+class OnCharacteristicValueBatch extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo(const $core.bool.fromEnvironment('protobuf.omit_message_names') ? '' : 'OnCharacteristicValueBatch', createEmptyInstance: create)
+    ..aOS(1, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'remoteId')
+    ..a<$core.int>(2, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'handle', $pb.PbFieldType.O3)
+    ..p<$core.List<$core.int>>(3, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'values', $pb.PbFieldType.PY)
+    ..p<$fixnum.Int64>(4, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'timestampsUs', $pb.PbFieldType.K6)
+    ..hasRequiredFields = false
+  ;
+
+  OnCharacteristicValueBatch._() : super();
+  factory OnCharacteristicValueBatch({
+    $core.String? remoteId,
+    $core.int? handle,
+    $core.Iterable<$core.List<$core.int>>? values,
+    $core.Iterable<$fixnum.Int64>? timestampsUs,
+  }) {
+    final _result = create();
+    if (remoteId != null) {
+      _result.remoteId = remoteId;
+    }
+    if (handle != null) {
+      _result.handle = handle;
+    }
+    if (values != null) {
+      _result.values.addAll(values);
+    }
+    if (timestampsUs != null) {
+      _result.timestampsUs.addAll(timestampsUs);
+    }
+    return _result;
+  }
+  factory OnCharacteristicValueBatch.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory OnCharacteristicValueBatch.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  @$core.Deprecated(
+  'Using this can add significant overhead to your binary. '
+  'Use [GeneratedMessageGenericExtensions.deepCopy] instead. '
+  'Will be removed in next major version')
+  OnCharacteristicValueBatch clone() => OnCharacteristicValueBatch()..mergeFromMessage(this);
+  @$core.Deprecated(
+  'Using this can add significant overhead to your binary. '
+  'Use [GeneratedMessageGenericExtensions.rebuild] instead. '
+  'Will be removed in next major version')
+  OnCharacteristicValueBatch copyWith(void Function(OnCharacteristicValueBatch) updates) => super.copyWith((message) => updates(message as OnCharacteristicValueBatch)) as OnCharacteristicValueBatch; // ignore: deprecated_member_use
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static OnCharacteristicValueBatch create() => OnCharacteristicValueBatch._();
+  OnCharacteristicValueBatch createEmptyInstance() => create();
+  static $pb.PbList<OnCharacteristicValueBatch> createRepeated() => $pb.PbList<OnCharacteristicValueBatch>();
+  @$core.pragma('dart2js:noInline')
+  static OnCharacteristicValueBatch getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<OnCharacteristicValueBatch>(create);
+  static OnCharacteristicValueBatch? _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.String get remoteId => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set remoteId($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasRemoteId() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearRemoteId() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.int get handle => $_getIZ(1);
+  @$pb.TagNumber(2)
+  set handle($core.int v) { $_setSignedInt32(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasHandle() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearHandle() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $core.List<$core.List<$core.int>> get values => $_getList(2);
+
+  @$pb.TagNumber(4)
+  $core.List<$fixnum.Int64> get timestampsUs => $_getList(3);
+}
+
 class DeviceStateResponse extends $pb.GeneratedMessage {
   static final $pb.BuilderInfo _i = $pb.BuilderInfo(const $core.bool.fromEnvironment('protobuf.omit_message_names') ? '' : 'DeviceStateResponse', createEmptyInstance: create)
     ..aOS(1, const $core.bool.fromEnvironment('protobuf.omit_field_names') ? '' : 'remoteId')
@@ -34,6 +34,40 @@ class BluetoothState_State extends $pb.ProtobufEnum {
   const BluetoothState_State._($core.int v, $core.String n) : super(v, n);
 }
 
+class ScanSettings_OverflowPolicy extends $pb.ProtobufEnum {
+  static const ScanSettings_OverflowPolicy DROP_OLDEST = ScanSettings_OverflowPolicy._(0, const $core.bool.fromEnvironment('protobuf.omit_enum_names') ? '' : 'DROP_OLDEST');
+  static const ScanSettings_OverflowPolicy DROP_NEWEST = ScanSettings_OverflowPolicy._(1, const $core.bool.fromEnvironment('protobuf.omit_enum_names') ? '' : 'DROP_NEWEST');
+  static const ScanSettings_OverflowPolicy COALESCE_BY_DEVICE = ScanSettings_OverflowPolicy._(2, const $core.bool.fromEnvironment('protobuf.omit_enum_names') ? '' : 'COALESCE_BY_DEVICE');
+
+  static const $core.List<ScanSettings_OverflowPolicy> values = <ScanSettings_OverflowPolicy> [
+    DROP_OLDEST,
+    DROP_NEWEST,
+    COALESCE_BY_DEVICE,
+  ];
+
+  static final $core.Map<$core.int, ScanSettings_OverflowPolicy> _byValue = $pb.ProtobufEnum.initByValue(values);
+  static ScanSettings_OverflowPolicy? valueOf($core.int value) => _byValue[value];
+
+  const ScanSettings_OverflowPolicy._($core.int v, $core.String n) : super(v, n);
+}
+
+class ScanSettings_RssiFilter extends $pb.ProtobufEnum {
+  static const ScanSettings_RssiFilter NONE = ScanSettings_RssiFilter._(0, const $core.bool.fromEnvironment('protobuf.omit_enum_names') ? '' : 'NONE');
+  static const ScanSettings_RssiFilter EMA = ScanSettings_RssiFilter._(1, const $core.bool.fromEnvironment('protobuf.omit_enum_names') ? '' : 'EMA');
+  static const ScanSettings_RssiFilter KALMAN = ScanSettings_RssiFilter._(2, const $core.bool.fromEnvironment('protobuf.omit_enum_names') ? '' : 'KALMAN');
+
+  static const $core.List<ScanSettings_RssiFilter> values = <ScanSettings_RssiFilter> [
+    NONE,
+    EMA,
+    KALMAN,
+  ];
+
+  static final $core.Map<$core.int, ScanSettings_RssiFilter> _byValue = $pb.ProtobufEnum.initByValue(values);
+  static ScanSettings_RssiFilter? valueOf($core.int value) => _byValue[value];
+
+  const ScanSettings_RssiFilter._($core.int v, $core.String n) : super(v, n);
+}
+
 class BluetoothDevice_Type extends $pb.ProtobufEnum {
   static const BluetoothDevice_Type UNKNOWN = BluetoothDevice_Type._(0, const $core.bool.fromEnvironment('protobuf.omit_enum_names') ? '' : 'UNKNOWN');
   static const BluetoothDevice_Type CLASSIC = BluetoothDevice_Type._(1, const $core.bool.fromEnvironment('protobuf.omit_enum_names') ? '' : 'CLASSIC');
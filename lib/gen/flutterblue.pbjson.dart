@@ -53,6 +53,9 @@ const AdvertisementData$json = const {
     const {'1': 'manufacturer_data', '3': 4, '4': 3, '5': 11, '6': '.AdvertisementData.ManufacturerDataEntry', '10': 'manufacturerData'},
     const {'1': 'service_data', '3': 5, '4': 3, '5': 11, '6': '.AdvertisementData.ServiceDataEntry', '10': 'serviceData'},
     const {'1': 'service_uuids', '3': 6, '4': 3, '5': 9, '10': 'serviceUuids'},
+    const {'1': 'flags', '3': 7, '4': 1, '5': 11, '6': '.Int32Value', '10': 'flags'},
+    const {'1': 'appearance', '3': 8, '4': 1, '5': 11, '6': '.Int32Value', '10': 'appearance'},
+    const {'1': 'solicited_service_uuids', '3': 9, '4': 3, '5': 9, '10': 'solicitedServiceUuids'},
   ],
   '3': const [AdvertisementData_ManufacturerDataEntry$json, AdvertisementData_ServiceDataEntry$json],
 };
@@ -78,7 +81,7 @@ const AdvertisementData_ServiceDataEntry$json = const {
 };
 
 /// Descriptor for `AdvertisementData`. Decode as a `google.protobuf.DescriptorProto`.
-final $typed_data.Uint8List advertisementDataDescriptor = $convert.base64Decode('ChFBZHZlcnRpc2VtZW50RGF0YRIdCgpsb2NhbF9uYW1lGAEgASgJUglsb2NhbE5hbWUSMQoOdHhfcG93ZXJfbGV2ZWwYAiABKAsyCy5JbnQzMlZhbHVlUgx0eFBvd2VyTGV2ZWwSIAoLY29ubmVjdGFibGUYAyABKAhSC2Nvbm5lY3RhYmxlElUKEW1hbnVmYWN0dXJlcl9kYXRhGAQgAygLMiguQWR2ZXJ0aXNlbWVudERhdGEuTWFudWZhY3R1cmVyRGF0YUVudHJ5UhBtYW51ZmFjdHVyZXJEYXRhEkYKDHNlcnZpY2VfZGF0YRgFIAMoCzIjLkFkdmVydGlzZW1lbnREYXRhLlNlcnZpY2VEYXRhRW50cnlSC3NlcnZpY2VEYXRhEiMKDXNlcnZpY2VfdXVpZHMYBiADKAlSDHNlcnZpY2VVdWlkcxpDChVNYW51ZmFjdHVyZXJEYXRhRW50cnkSEAoDa2V5GAEgASgFUgNrZXkSFAoFdmFsdWUYAiABKAxSBXZhbHVlOgI4ARo+ChBTZXJ2aWNlRGF0YUVudHJ5EhAKA2tleRgBIAEoCVIDa2V5EhQKBXZhbHVlGAIgASgMUgV2YWx1ZToCOAE=');
+final $typed_data.Uint8List advertisementDataDescriptor = $convert.base64Decode('ChFBZHZlcnRpc2VtZW50RGF0YRIdCgpsb2NhbF9uYW1lGAEgASgJUglsb2NhbE5hbWUSMQoOdHhfcG93ZXJfbGV2ZWwYAiABKAsyCy5JbnQzMlZhbHVlUgx0eFBvd2VyTGV2ZWwSIAoLY29ubmVjdGFibGUYAyABKAhSC2Nvbm5lY3RhYmxlElUKEW1hbnVmYWN0dXJlcl9kYXRhGAQgAygLMiguQWR2ZXJ0aXNlbWVudERhdGEuTWFudWZhY3R1cmVyRGF0YUVudHJ5UhBtYW51ZmFjdHVyZXJEYXRhEkYKDHNlcnZpY2VfZGF0YRgFIAMoCzIjLkFkdmVydGlzZW1lbnREYXRhLlNlcnZpY2VEYXRhRW50cnlSC3NlcnZpY2VEYXRhEiMKDXNlcnZpY2VfdXVpZHMYBiADKAlSDHNlcnZpY2VVdWlkcxIhCgVmbGFncxgHIAEoCzILLkludDMyVmFsdWVSBWZsYWdzEisKCmFwcGVhcmFuY2UYCCABKAsyCy5JbnQzMlZhbHVlUgphcHBlYXJhbmNlEjYKF3NvbGljaXRlZF9zZXJ2aWNlX3V1aWRzGAkgAygJUhVzb2xpY2l0ZWRTZXJ2aWNlVXVpZHMaQwoVTWFudWZhY3R1cmVyRGF0YUVudHJ5EhAKA2tleRgBIAEoBVIDa2V5EhQKBXZhbHVlGAIgASgMUgV2YWx1ZToCOAEaPgoQU2VydmljZURhdGFFbnRyeRIQCgNrZXkYASABKAlSA2tleRIUCgV2YWx1ZRgCIAEoDFIFdmFsdWU6AjgB');
 @$core.Deprecated('Use scanSettingsDescriptor instead')
 const ScanSettings$json = const {
   '1': 'ScanSettings',
@@ -86,11 +89,68 @@ const ScanSettings$json = const {
     const {'1': 'android_scan_mode', '3': 1, '4': 1, '5': 5, '10': 'androidScanMode'},
     const {'1': 'service_uuids', '3': 2, '4': 3, '5': 9, '10': 'serviceUuids'},
     const {'1': 'allow_duplicates', '3': 3, '4': 1, '5': 8, '10': 'allowDuplicates'},
+    const {'1': 'batch_max_size', '3': 4, '4': 1, '5': 5, '10': 'batchMaxSize'},
+    const {'1': 'batch_max_latency_ms', '3': 5, '4': 1, '5': 5, '10': 'batchMaxLatencyMs'},
+    const {'1': 'android_report_delay_ms', '3': 6, '4': 1, '5': 5, '10': 'androidReportDelayMs'},
+    const {'1': 'android_match_mode', '3': 7, '4': 1, '5': 5, '10': 'androidMatchMode'},
+    const {'1': 'android_num_of_matches', '3': 8, '4': 1, '5': 5, '10': 'androidNumOfMatches'},
+    const {'1': 'android_callback_type', '3': 9, '4': 1, '5': 5, '10': 'androidCallbackType'},
+    const {'1': 'android_pipeline_capacity', '3': 10, '4': 1, '5': 5, '10': 'androidPipelineCapacity'},
+    const {'1': 'android_overflow_policy', '3': 11, '4': 1, '5': 14, '6': '.ScanSettings.OverflowPolicy', '10': 'androidOverflowPolicy'},
+    const {'1': 'coalesce_interval_ms', '3': 12, '4': 1, '5': 5, '10': 'coalesceIntervalMs'},
+    const {'1': 'rssi_filter', '3': 13, '4': 1, '5': 14, '6': '.ScanSettings.RssiFilter', '10': 'rssiFilter'},
+    const {'1': 'rssi_ema_alpha', '3': 14, '4': 1, '5': 2, '10': 'rssiEmaAlpha'},
+    const {'1': 'rssi_kalman_process_noise', '3': 15, '4': 1, '5': 2, '10': 'rssiKalmanProcessNoise'},
+    const {'1': 'rssi_kalman_measurement_noise', '3': 16, '4': 1, '5': 2, '10': 'rssiKalmanMeasurementNoise'},
+    const {'1': 'suppress_unchanged_payloads', '3': 17, '4': 1, '5': 8, '10': 'suppressUnchangedPayloads'},
+    const {'1': 'unchanged_payload_heartbeat_ms', '3': 18, '4': 1, '5': 5, '10': 'unchangedPayloadHeartbeatMs'},
+    const {'1': 'filters', '3': 19, '4': 3, '5': 11, '6': '.AdvertisementFilter', '10': 'filters'},
+    const {'1': 'android_raw_scan_frames', '3': 20, '4': 1, '5': 8, '10': 'androidRawScanFrames'},
+  ],
+  '4': const [ScanSettings_OverflowPolicy$json, ScanSettings_RssiFilter$json],
+};
+
+@$core.Deprecated('Use scanSettingsDescriptor instead')
+const ScanSettings_OverflowPolicy$json = const {
+  '1': 'OverflowPolicy',
+  '2': const [
+    const {'1': 'DROP_OLDEST', '2': 0},
+    const {'1': 'DROP_NEWEST', '2': 1},
+    const {'1': 'COALESCE_BY_DEVICE', '2': 2},
+  ],
+};
+
+@$core.Deprecated('Use scanSettingsDescriptor instead')
+const ScanSettings_RssiFilter$json = const {
+  '1': 'RssiFilter',
+  '2': const [
+    const {'1': 'NONE', '2': 0},
+    const {'1': 'EMA', '2': 1},
+    const {'1': 'KALMAN', '2': 2},
   ],
 };
 
 /// Descriptor for `ScanSettings`. Decode as a `google.protobuf.DescriptorProto`.
-final $typed_data.Uint8List scanSettingsDescriptor = $convert.base64Decode('CgxTY2FuU2V0dGluZ3MSKgoRYW5kcm9pZF9zY2FuX21vZGUYASABKAVSD2FuZHJvaWRTY2FuTW9kZRIjCg1zZXJ2aWNlX3V1aWRzGAIgAygJUgxzZXJ2aWNlVXVpZHMSKQoQYWxsb3dfZHVwbGljYXRlcxgDIAEoCFIPYWxsb3dEdXBsaWNhdGVz');
+final $typed_data.Uint8List scanSettingsDescriptor = $convert.base64Decode('CgxTY2FuU2V0dGluZ3MSKgoRYW5kcm9pZF9zY2FuX21vZGUYASABKAVSD2FuZHJvaWRTY2FuTW9kZRIjCg1zZXJ2aWNlX3V1aWRzGAIgAygJUgxzZXJ2aWNlVXVpZHMSKQoQYWxsb3dfZHVwbGljYXRlcxgDIAEoCFIPYWxsb3dEdXBsaWNhdGVzEiQKDmJhdGNoX21heF9zaXplGAQgASgFUgxiYXRjaE1heFNpemUSLwoUYmF0Y2hfbWF4X2xhdGVuY3lfbXMYBSABKAVSEWJhdGNoTWF4TGF0ZW5jeU1zEjUKF2FuZHJvaWRfcmVwb3J0X2RlbGF5X21zGAYgASgFUhRhbmRyb2lkUmVwb3J0RGVsYXlNcxIsChJhbmRyb2lkX21hdGNoX21vZGUYByABKAVSEGFuZHJvaWRNYXRjaE1vZGUSMwoWYW5kcm9pZF9udW1fb2ZfbWF0Y2hlcxgIIAEoBVITYW5kcm9pZE51bU9mTWF0Y2hlcxIyChVhbmRyb2lkX2NhbGxiYWNrX3R5cGUYCSABKAVSE2FuZHJvaWRDYWxsYmFja1R5cGUSOgoZYW5kcm9pZF9waXBlbGluZV9jYXBhY2l0eRgKIAEoBVIXYW5kcm9pZFBpcGVsaW5lQ2FwYWNpdHkSVAoXYW5kcm9pZF9vdmVyZmxvd19wb2xpY3kYCyABKA4yHC5TY2FuU2V0dGluZ3MuT3ZlcmZsb3dQb2xpY3lSFWFuZHJvaWRPdmVyZmxvd1BvbGljeRIwChRjb2FsZXNjZV9pbnRlcnZhbF9tcxgMIAEoBVISY29hbGVzY2VJbnRlcnZhbE1zEjkKC3Jzc2lfZmlsdGVyGA0gASgOMhguU2NhblNldHRpbmdzLlJzc2lGaWx0ZXJSCnJzc2lGaWx0ZXISJAoOcnNzaV9lbWFfYWxwaGEYDiABKAJSDHJzc2lFbWFBbHBoYRI5Chlyc3NpX2thbG1hbl9wcm9jZXNzX25vaXNlGA8gASgCUhZyc3NpS2FsbWFuUHJvY2Vzc05vaXNlEkEKHXJzc2lfa2FsbWFuX21lYXN1cmVtZW50X25vaXNlGBAgASgCUhpyc3NpS2FsbWFuTWVhc3VyZW1lbnROb2lzZRI+ChtzdXBwcmVzc191bmNoYW5nZWRfcGF5bG9hZHMYESABKAhSGXN1cHByZXNzVW5jaGFuZ2VkUGF5bG9hZHMSQwoedW5jaGFuZ2VkX3BheWxvYWRfaGVhcnRiZWF0X21zGBIgASgFUht1bmNoYW5nZWRQYXlsb2FkSGVhcnRiZWF0TXMSLgoHZmlsdGVycxgTIAMoCzIULkFkdmVydGlzZW1lbnRGaWx0ZXJSB2ZpbHRlcnMSNQoXYW5kcm9pZF9yYXdfc2Nhbl9mcmFtZXMYFCABKAhSFGFuZHJvaWRSYXdTY2FuRnJhbWVzIkoKDk92ZXJmbG93UG9saWN5Eg8KC0RST1BfT0xERVNUEAASDwoLRFJPUF9ORVdFU1QQARIWChJDT0FMRVNDRV9CWV9ERVZJQ0UQAiIrCgpSc3NpRmlsdGVyEggKBE5PTkUQABIHCgNFTUEQARIKCgZLQUxNQU4QAg==');
+@$core.Deprecated('Use advertisementFilterDescriptor instead')
+const AdvertisementFilter$json = const {
+  '1': 'AdvertisementFilter',
+  '2': const [
+    const {'1': 'service_uuid', '3': 1, '4': 1, '5': 9, '10': 'serviceUuid'},
+    const {'1': 'manufacturer_id', '3': 2, '4': 1, '5': 11, '6': '.Int32Value', '10': 'manufacturerId'},
+    const {'1': 'manufacturer_data', '3': 3, '4': 1, '5': 12, '10': 'manufacturerData'},
+    const {'1': 'manufacturer_data_mask', '3': 4, '4': 1, '5': 12, '10': 'manufacturerDataMask'},
+    const {'1': 'device_name', '3': 5, '4': 1, '5': 9, '10': 'deviceName'},
+    const {'1': 'name_prefix', '3': 6, '4': 1, '5': 9, '10': 'namePrefix'},
+    const {'1': 'service_data_uuid', '3': 7, '4': 1, '5': 9, '10': 'serviceDataUuid'},
+    const {'1': 'service_data', '3': 8, '4': 1, '5': 12, '10': 'serviceData'},
+    const {'1': 'service_data_mask', '3': 9, '4': 1, '5': 12, '10': 'serviceDataMask'},
+    const {'1': 'min_rssi', '3': 10, '4': 1, '5': 5, '10': 'minRssi'},
+  ],
+};
+
+/// Descriptor for `AdvertisementFilter`. Decode as a `google.protobuf.DescriptorProto`.
+final $typed_data.Uint8List advertisementFilterDescriptor = $convert.base64Decode('ChNBZHZlcnRpc2VtZW50RmlsdGVyEiEKDHNlcnZpY2VfdXVpZBgBIAEoCVILc2VydmljZVV1aWQSNAoPbWFudWZhY3R1cmVyX2lkGAIgASgLMgsuSW50MzJWYWx1ZVIObWFudWZhY3R1cmVySWQSKwoRbWFudWZhY3R1cmVyX2RhdGEYAyABKAxSEG1hbnVmYWN0dXJlckRhdGESNAoWbWFudWZhY3R1cmVyX2RhdGFfbWFzaxgEIAEoDFIUbWFudWZhY3R1cmVyRGF0YU1hc2sSHwoLZGV2aWNlX25hbWUYBSABKAlSCmRldmljZU5hbWUSHwoLbmFtZV9wcmVmaXgYBiABKAlSCm5hbWVQcmVmaXgSKgoRc2VydmljZV9kYXRhX3V1aWQYByABKAlSD3NlcnZpY2VEYXRhVXVpZBIhCgxzZXJ2aWNlX2RhdGEYCCABKAxSC3NlcnZpY2VEYXRhEioKEXNlcnZpY2VfZGF0YV9tYXNrGAkgASgMUg9zZXJ2aWNlRGF0YU1hc2sSGQoIbWluX3Jzc2kYCiABKAVSB21pblJzc2k=');
 @$core.Deprecated('Use scanResultDescriptor instead')
 const ScanResult$json = const {
   '1': 'ScanResult',
@@ -98,22 +158,102 @@ const ScanResult$json = const {
     const {'1': 'device', '3': 1, '4': 1, '5': 11, '6': '.BluetoothDevice', '10': 'device'},
     const {'1': 'advertisement_data', '3': 2, '4': 1, '5': 11, '6': '.AdvertisementData', '10': 'advertisementData'},
     const {'1': 'rssi', '3': 3, '4': 1, '5': 5, '10': 'rssi'},
+    const {'1': 'match_lost', '3': 4, '4': 1, '5': 8, '10': 'matchLost'},
   ],
 };
 
 /// Descriptor for `ScanResult`. Decode as a `google.protobuf.DescriptorProto`.
-final $typed_data.Uint8List scanResultDescriptor = $convert.base64Decode('CgpTY2FuUmVzdWx0EigKBmRldmljZRgBIAEoCzIQLkJsdWV0b290aERldmljZVIGZGV2aWNlEkEKEmFkdmVydGlzZW1lbnRfZGF0YRgCIAEoCzISLkFkdmVydGlzZW1lbnREYXRhUhFhZHZlcnRpc2VtZW50RGF0YRISCgRyc3NpGAMgASgFUgRyc3Np');
+final $typed_data.Uint8List scanResultDescriptor = $convert.base64Decode('CgpTY2FuUmVzdWx0EigKBmRldmljZRgBIAEoCzIQLkJsdWV0b290aERldmljZVIGZGV2aWNlEkEKEmFkdmVydGlzZW1lbnRfZGF0YRgCIAEoCzISLkFkdmVydGlzZW1lbnREYXRhUhFhZHZlcnRpc2VtZW50RGF0YRISCgRyc3NpGAMgASgFUgRyc3NpEh0KCm1hdGNoX2xvc3QYBCABKAhSCW1hdGNoTG9zdA==');
+@$core.Deprecated('Use scanResultBatchDescriptor instead')
+const ScanResultBatch$json = const {
+  '1': 'ScanResultBatch',
+  '2': const [
+    const {'1': 'results', '3': 1, '4': 3, '5': 11, '6': '.ScanResult', '10': 'results'},
+  ],
+};
+
+/// Descriptor for `ScanResultBatch`. Decode as a `google.protobuf.DescriptorProto`.
+final $typed_data.Uint8List scanResultBatchDescriptor = $convert.base64Decode('Cg9TY2FuUmVzdWx0QmF0Y2gSJQoHcmVzdWx0cxgBIAMoCzILLlNjYW5SZXN1bHRSB3Jlc3VsdHM=');
+@$core.Deprecated('Use scanPipelineStatsDescriptor instead')
+const ScanPipelineStats$json = const {
+  '1': 'ScanPipelineStats',
+  '2': const [
+    const {'1': 'received', '3': 1, '4': 1, '5': 3, '10': 'received'},
+    const {'1': 'delivered', '3': 2, '4': 1, '5': 3, '10': 'delivered'},
+    const {'1': 'dropped', '3': 3, '4': 1, '5': 3, '10': 'dropped'},
+    const {'1': 'coalesced', '3': 4, '4': 1, '5': 3, '10': 'coalesced'},
+    const {'1': 'queue_depth', '3': 5, '4': 1, '5': 3, '10': 'queueDepth'},
+    const {'1': 'max_queue_depth', '3': 6, '4': 1, '5': 3, '10': 'maxQueueDepth'},
+    const {'1': 'avg_queue_latency_us', '3': 7, '4': 1, '5': 3, '10': 'avgQueueLatencyUs'},
+    const {'1': 'avg_convert_latency_us', '3': 8, '4': 1, '5': 3, '10': 'avgConvertLatencyUs'},
+  ],
+};
+
+/// Descriptor for `ScanPipelineStats`. Decode as a `google.protobuf.DescriptorProto`.
+final $typed_data.Uint8List scanPipelineStatsDescriptor = $convert.base64Decode('ChFTY2FuUGlwZWxpbmVTdGF0cxIaCghyZWNlaXZlZBgBIAEoA1IIcmVjZWl2ZWQSHAoJZGVsaXZlcmVkGAIgASgDUglkZWxpdmVyZWQSGAoHZHJvcHBlZBgDIAEoA1IHZHJvcHBlZBIcCgljb2FsZXNjZWQYBCABKANSCWNvYWxlc2NlZBIfCgtxdWV1ZV9kZXB0aBgFIAEoA1IKcXVldWVEZXB0aBImCg9tYXhfcXVldWVfZGVwdGgYBiABKANSDW1heFF1ZXVlRGVwdGgSLwoUYXZnX3F1ZXVlX2xhdGVuY3lfdXMYByABKANSEWF2Z1F1ZXVlTGF0ZW5jeVVzEjMKFmF2Z19jb252ZXJ0X2xhdGVuY3lfdXMYCCABKANSE2F2Z0NvbnZlcnRMYXRlbmN5VXM=');
+@$core.Deprecated('Use deviceCacheStatsDescriptor instead')
+const DeviceCacheStats$json = const {
+  '1': 'DeviceCacheStats',
+  '2': const [
+    const {'1': 'hits', '3': 1, '4': 1, '5': 3, '10': 'hits'},
+    const {'1': 'misses', '3': 2, '4': 1, '5': 3, '10': 'misses'},
+    const {'1': 'expired', '3': 3, '4': 1, '5': 3, '10': 'expired'},
+    const {'1': 'renamed', '3': 4, '4': 1, '5': 3, '10': 'renamed'},
+    const {'1': 'evicted', '3': 5, '4': 1, '5': 3, '10': 'evicted'},
+    const {'1': 'size', '3': 6, '4': 1, '5': 3, '10': 'size'},
+  ],
+};
+
+/// Descriptor for `DeviceCacheStats`. Decode as a `google.protobuf.DescriptorProto`.
+final $typed_data.Uint8List deviceCacheStatsDescriptor = $convert.base64Decode('ChBEZXZpY2VDYWNoZVN0YXRzEhIKBGhpdHMYASABKANSBGhpdHMSFgoGbWlzc2VzGAIgASgDUgZtaXNzZXMSGAoHZXhwaXJlZBgDIAEoA1IHZXhwaXJlZBIYCgdyZW5hbWVkGAQgASgDUgdyZW5hbWVkEhgKB2V2aWN0ZWQYBSABKANSB2V2aWN0ZWQSEgoEc2l6ZRgGIAEoA1IEc2l6ZQ==');
+@$core.Deprecated('Use eventRingStatsDescriptor instead')
+const EventRingStats$json = const {
+  '1': 'EventRingStats',
+  '2': const [
+    const {'1': 'capacity', '3': 1, '4': 1, '5': 3, '10': 'capacity'},
+    const {'1': 'events', '3': 2, '4': 1, '5': 3, '10': 'events'},
+    const {'1': 'bytes', '3': 3, '4': 1, '5': 3, '10': 'bytes'},
+    const {'1': 'dropped_events', '3': 4, '4': 1, '5': 3, '10': 'droppedEvents'},
+    const {'1': 'dropped_bytes', '3': 5, '4': 1, '5': 3, '10': 'droppedBytes'},
+    const {'1': 'fill', '3': 6, '4': 1, '5': 3, '10': 'fill'},
+    const {'1': 'max_fill', '3': 7, '4': 1, '5': 3, '10': 'maxFill'},
+    const {'1': 'signals', '3': 8, '4': 1, '5': 3, '10': 'signals'},
+  ],
+};
+
+/// Descriptor for `EventRingStats`. Decode as a `google.protobuf.DescriptorProto`.
+final $typed_data.Uint8List eventRingStatsDescriptor = $convert.base64Decode('Cg5FdmVudFJpbmdTdGF0cxIaCghjYXBhY2l0eRgBIAEoA1IIY2FwYWNpdHkSFgoGZXZlbnRzGAIgASgDUgZldmVudHMSFAoFYnl0ZXMYAyABKANSBWJ5dGVzEiUKDmRyb3BwZWRfZXZlbnRzGAQgASgDUg1kcm9wcGVkRXZlbnRzEiMKDWRyb3BwZWRfYnl0ZXMYBSABKANSDGRyb3BwZWRCeXRlcxISCgRmaWxsGAYgASgDUgRmaWxsEhkKCG1heF9maWxsGAcgASgDUgdtYXhGaWxsEhgKB3NpZ25hbHMYCCABKANSB3NpZ25hbHM=');
 @$core.Deprecated('Use connectRequestDescriptor instead')
 const ConnectRequest$json = const {
   '1': 'ConnectRequest',
   '2': const [
     const {'1': 'remote_id', '3': 1, '4': 1, '5': 9, '10': 'remoteId'},
     const {'1': 'android_auto_connect', '3': 2, '4': 1, '5': 8, '10': 'androidAutoConnect'},
+    const {'1': 'android_gatt_timeout_ms', '3': 3, '4': 1, '5': 5, '10': 'androidGattTimeoutMs'},
+    const {'1': 'android_cache_services', '3': 4, '4': 1, '5': 8, '10': 'androidCacheServices'},
   ],
 };
 
 /// Descriptor for `ConnectRequest`. Decode as a `google.protobuf.DescriptorProto`.
-final $typed_data.Uint8List connectRequestDescriptor = $convert.base64Decode('Cg5Db25uZWN0UmVxdWVzdBIbCglyZW1vdGVfaWQYASABKAlSCHJlbW90ZUlkEjAKFGFuZHJvaWRfYXV0b19jb25uZWN0GAIgASgIUhJhbmRyb2lkQXV0b0Nvbm5lY3Q=');
+final $typed_data.Uint8List connectRequestDescriptor = $convert.base64Decode('Cg5Db25uZWN0UmVxdWVzdBIbCglyZW1vdGVfaWQYASABKAlSCHJlbW90ZUlkEjAKFGFuZHJvaWRfYXV0b19jb25uZWN0GAIgASgIUhJhbmRyb2lkQXV0b0Nvbm5lY3QSNQoXYW5kcm9pZF9nYXR0X3RpbWVvdXRfbXMYAyABKAVSFGFuZHJvaWRHYXR0VGltZW91dE1zEjQKFmFuZHJvaWRfY2FjaGVfc2VydmljZXMYBCABKAhSFGFuZHJvaWRDYWNoZVNlcnZpY2Vz');
+@$core.Deprecated('Use gattQueueStatsDescriptor instead')
+const GattQueueStats$json = const {
+  '1': 'GattQueueStats',
+  '2': const [
+    const {'1': 'queue_depth', '3': 1, '4': 1, '5': 3, '10': 'queueDepth'},
+    const {'1': 'max_queue_depth', '3': 2, '4': 1, '5': 3, '10': 'maxQueueDepth'},
+    const {'1': 'in_flight', '3': 3, '4': 1, '5': 8, '10': 'inFlight'},
+    const {'1': 'completed', '3': 4, '4': 1, '5': 3, '10': 'completed'},
+    const {'1': 'failed', '3': 5, '4': 1, '5': 3, '10': 'failed'},
+    const {'1': 'timed_out', '3': 6, '4': 1, '5': 3, '10': 'timedOut'},
+    const {'1': 'cancelled', '3': 7, '4': 1, '5': 3, '10': 'cancelled'},
+    const {'1': 'avg_wait_latency_us', '3': 8, '4': 1, '5': 3, '10': 'avgWaitLatencyUs'},
+    const {'1': 'avg_op_latency_us', '3': 9, '4': 1, '5': 3, '10': 'avgOpLatencyUs'},
+  ],
+};
+
+/// Descriptor for `GattQueueStats`. Decode as a `google.protobuf.DescriptorProto`.
+final $typed_data.Uint8List gattQueueStatsDescriptor = $convert.base64Decode('Cg5HYXR0UXVldWVTdGF0cxIfCgtxdWV1ZV9kZXB0aBgBIAEoA1IKcXVldWVEZXB0aBImCg9tYXhfcXVldWVfZGVwdGgYAiABKANSDW1heFF1ZXVlRGVwdGgSGwoJaW5fZmxpZ2h0GAMgASgIUghpbkZsaWdodBIcCgljb21wbGV0ZWQYBCABKANSCWNvbXBsZXRlZBIWCgZmYWlsZWQYBSABKANSBmZhaWxlZBIbCgl0aW1lZF9vdXQYBiABKANSCHRpbWVkT3V0EhwKCWNhbmNlbGxlZBgHIAEoA1IJY2FuY2VsbGVkEi0KE2F2Z193YWl0X2xhdGVuY3lfdXMYCCABKANSEGF2Z1dhaXRMYXRlbmN5VXMSKQoRYXZnX29wX2xhdGVuY3lfdXMYCSABKANSDmF2Z09wTGF0ZW5jeVVz');
 @$core.Deprecated('Use bluetoothDeviceDescriptor instead')
 const BluetoothDevice$json = const {
   '1': 'BluetoothDevice',
@@ -163,11 +303,12 @@ const BluetoothCharacteristic$json = const {
     const {'1': 'descriptors', '3': 5, '4': 3, '5': 11, '6': '.BluetoothDescriptor', '10': 'descriptors'},
     const {'1': 'properties', '3': 6, '4': 1, '5': 11, '6': '.CharacteristicProperties', '10': 'properties'},
     const {'1': 'value', '3': 7, '4': 1, '5': 12, '10': 'value'},
+    const {'1': 'handle', '3': 8, '4': 1, '5': 5, '10': 'handle'},
   ],
 };
 
 /// Descriptor for `BluetoothCharacteristic`. Decode as a `google.protobuf.DescriptorProto`.
-final $typed_data.Uint8List bluetoothCharacteristicDescriptor = $convert.base64Decode('ChdCbHVldG9vdGhDaGFyYWN0ZXJpc3RpYxISCgR1dWlkGAEgASgJUgR1dWlkEhsKCXJlbW90ZV9pZBgCIAEoCVIIcmVtb3RlSWQSIAoLc2VydmljZVV1aWQYAyABKAlSC3NlcnZpY2VVdWlkEjIKFHNlY29uZGFyeVNlcnZpY2VVdWlkGAQgASgJUhRzZWNvbmRhcnlTZXJ2aWNlVXVpZBI2CgtkZXNjcmlwdG9ycxgFIAMoCzIULkJsdWV0b290aERlc2NyaXB0b3JSC2Rlc2NyaXB0b3JzEjkKCnByb3BlcnRpZXMYBiABKAsyGS5DaGFyYWN0ZXJpc3RpY1Byb3BlcnRpZXNSCnByb3BlcnRpZXMSFAoFdmFsdWUYByABKAxSBXZhbHVl');
+final $typed_data.Uint8List bluetoothCharacteristicDescriptor = $convert.base64Decode('ChdCbHVldG9vdGhDaGFyYWN0ZXJpc3RpYxISCgR1dWlkGAEgASgJUgR1dWlkEhsKCXJlbW90ZV9pZBgCIAEoCVIIcmVtb3RlSWQSIAoLc2VydmljZVV1aWQYAyABKAlSC3NlcnZpY2VVdWlkEjIKFHNlY29uZGFyeVNlcnZpY2VVdWlkGAQgASgJUhRzZWNvbmRhcnlTZXJ2aWNlVXVpZBI2CgtkZXNjcmlwdG9ycxgFIAMoCzIULkJsdWV0b290aERlc2NyaXB0b3JSC2Rlc2NyaXB0b3JzEjkKCnByb3BlcnRpZXMYBiABKAsyGS5DaGFyYWN0ZXJpc3RpY1Byb3BlcnRpZXNSCnByb3BlcnRpZXMSFAoFdmFsdWUYByABKAxSBXZhbHVlEhYKBmhhbmRsZRgIIAEoBVIGaGFuZGxl');
 @$core.Deprecated('Use bluetoothDescriptorDescriptor instead')
 const BluetoothDescriptor$json = const {
   '1': 'BluetoothDescriptor',
@@ -207,11 +348,13 @@ const DiscoverServicesResult$json = const {
   '2': const [
     const {'1': 'remote_id', '3': 1, '4': 1, '5': 9, '10': 'remoteId'},
     const {'1': 'services', '3': 2, '4': 3, '5': 11, '6': '.BluetoothService', '10': 'services'},
+    const {'1': 'from_cache', '3': 3, '4': 1, '5': 8, '10': 'fromCache'},
+    const {'1': 'failed', '3': 4, '4': 1, '5': 8, '10': 'failed'},
   ],
 };
 
 /// Descriptor for `DiscoverServicesResult`. Decode as a `google.protobuf.DescriptorProto`.
-final $typed_data.Uint8List discoverServicesResultDescriptor = $convert.base64Decode('ChZEaXNjb3ZlclNlcnZpY2VzUmVzdWx0EhsKCXJlbW90ZV9pZBgBIAEoCVIIcmVtb3RlSWQSLQoIc2VydmljZXMYAiADKAsyES5CbHVldG9vdGhTZXJ2aWNlUghzZXJ2aWNlcw==');
+final $typed_data.Uint8List discoverServicesResultDescriptor = $convert.base64Decode('ChZEaXNjb3ZlclNlcnZpY2VzUmVzdWx0EhsKCXJlbW90ZV9pZBgBIAEoCVIIcmVtb3RlSWQSLQoIc2VydmljZXMYAiADKAsyES5CbHVldG9vdGhTZXJ2aWNlUghzZXJ2aWNlcxIdCgpmcm9tX2NhY2hlGAMgASgIUglmcm9tQ2FjaGUSFgoGZmFpbGVkGAQgASgIUgZmYWlsZWQ=');
 @$core.Deprecated('Use readCharacteristicRequestDescriptor instead')
 const ReadCharacteristicRequest$json = const {
   '1': 'ReadCharacteristicRequest',
@@ -297,6 +440,40 @@ const WriteCharacteristicResponse$json = const {
 
 /// Descriptor for `WriteCharacteristicResponse`. Decode as a `google.protobuf.DescriptorProto`.
 final $typed_data.Uint8List writeCharacteristicResponseDescriptor = $convert.base64Decode('ChtXcml0ZUNoYXJhY3RlcmlzdGljUmVzcG9uc2USNQoHcmVxdWVzdBgBIAEoCzIbLldyaXRlQ2hhcmFjdGVyaXN0aWNSZXF1ZXN0UgdyZXF1ZXN0EhgKB3N1Y2Nlc3MYAiABKAhSB3N1Y2Nlc3M=');
+@$core.Deprecated('Use writeCharacteristicBulkRequestDescriptor instead')
+const WriteCharacteristicBulkRequest$json = const {
+  '1': 'WriteCharacteristicBulkRequest',
+  '2': const [
+    const {'1': 'remote_id', '3': 1, '4': 1, '5': 9, '10': 'remoteId'},
+    const {'1': 'characteristic_uuid', '3': 2, '4': 1, '5': 9, '10': 'characteristicUuid'},
+    const {'1': 'service_uuid', '3': 3, '4': 1, '5': 9, '10': 'serviceUuid'},
+    const {'1': 'secondary_service_uuid', '3': 4, '4': 1, '5': 9, '10': 'secondaryServiceUuid'},
+    const {'1': 'write_type', '3': 5, '4': 1, '5': 14, '6': '.WriteCharacteristicRequest.WriteType', '10': 'writeType'},
+    const {'1': 'value', '3': 6, '4': 1, '5': 12, '10': 'value'},
+    const {'1': 'transfer_id', '3': 7, '4': 1, '5': 5, '10': 'transferId'},
+    const {'1': 'progress_interval_ms', '3': 8, '4': 1, '5': 5, '10': 'progressIntervalMs'},
+  ],
+};
+
+/// Descriptor for `WriteCharacteristicBulkRequest`. Decode as a `google.protobuf.DescriptorProto`.
+final $typed_data.Uint8List writeCharacteristicBulkRequestDescriptor = $convert.base64Decode('Ch5Xcml0ZUNoYXJhY3RlcmlzdGljQnVsa1JlcXVlc3QSGwoJcmVtb3RlX2lkGAEgASgJUghyZW1vdGVJZBIvChNjaGFyYWN0ZXJpc3RpY191dWlkGAIgASgJUhJjaGFyYWN0ZXJpc3RpY1V1aWQSIQoMc2VydmljZV91dWlkGAMgASgJUgtzZXJ2aWNlVXVpZBI0ChZzZWNvbmRhcnlfc2VydmljZV91dWlkGAQgASgJUhRzZWNvbmRhcnlTZXJ2aWNlVXVpZBJECgp3cml0ZV90eXBlGAUgASgOMiUuV3JpdGVDaGFyYWN0ZXJpc3RpY1JlcXVlc3QuV3JpdGVUeXBlUgl3cml0ZVR5cGUSFAoFdmFsdWUYBiABKAxSBXZhbHVlEh8KC3RyYW5zZmVyX2lkGAcgASgFUgp0cmFuc2ZlcklkEjAKFHByb2dyZXNzX2ludGVydmFsX21zGAggASgFUhJwcm9ncmVzc0ludGVydmFsTXM=');
+@$core.Deprecated('Use bulkWriteProgressDescriptor instead')
+const BulkWriteProgress$json = const {
+  '1': 'BulkWriteProgress',
+  '2': const [
+    const {'1': 'remote_id', '3': 1, '4': 1, '5': 9, '10': 'remoteId'},
+    const {'1': 'transfer_id', '3': 2, '4': 1, '5': 5, '10': 'transferId'},
+    const {'1': 'bytes_written', '3': 3, '4': 1, '5': 3, '10': 'bytesWritten'},
+    const {'1': 'total_bytes', '3': 4, '4': 1, '5': 3, '10': 'totalBytes'},
+    const {'1': 'chunk_size', '3': 5, '4': 1, '5': 5, '10': 'chunkSize'},
+    const {'1': 'elapsed_us', '3': 6, '4': 1, '5': 3, '10': 'elapsedUs'},
+    const {'1': 'done', '3': 7, '4': 1, '5': 8, '10': 'done'},
+    const {'1': 'error', '3': 8, '4': 1, '5': 9, '10': 'error'},
+  ],
+};
+
+/// Descriptor for `BulkWriteProgress`. Decode as a `google.protobuf.DescriptorProto`.
+final $typed_data.Uint8List bulkWriteProgressDescriptor = $convert.base64Decode('ChFCdWxrV3JpdGVQcm9ncmVzcxIbCglyZW1vdGVfaWQYASABKAlSCHJlbW90ZUlkEh8KC3RyYW5zZmVyX2lkGAIgASgFUgp0cmFuc2ZlcklkEiMKDWJ5dGVzX3dyaXR0ZW4YAyABKANSDGJ5dGVzV3JpdHRlbhIfCgt0b3RhbF9ieXRlcxgEIAEoA1IKdG90YWxCeXRlcxIdCgpjaHVua19zaXplGAUgASgFUgljaHVua1NpemUSHQoKZWxhcHNlZF91cxgGIAEoA1IJZWxhcHNlZFVzEhIKBGRvbmUYByABKAhSBGRvbmUSFAoFZXJyb3IYCCABKAlSBWVycm9y');
 @$core.Deprecated('Use writeDescriptorRequestDescriptor instead')
 const WriteDescriptorRequest$json = const {
   '1': 'WriteDescriptorRequest',
@@ -332,11 +509,14 @@ const SetNotificationRequest$json = const {
     const {'1': 'secondary_service_uuid', '3': 3, '4': 1, '5': 9, '10': 'secondaryServiceUuid'},
     const {'1': 'characteristic_uuid', '3': 4, '4': 1, '5': 9, '10': 'characteristicUuid'},
     const {'1': 'enable', '3': 5, '4': 1, '5': 8, '10': 'enable'},
+    const {'1': 'compact', '3': 6, '4': 1, '5': 8, '10': 'compact'},
+    const {'1': 'batch_max_size', '3': 7, '4': 1, '5': 5, '10': 'batchMaxSize'},
+    const {'1': 'batch_max_latency_ms', '3': 8, '4': 1, '5': 5, '10': 'batchMaxLatencyMs'},
   ],
 };
 
 /// Descriptor for `SetNotificationRequest`. Decode as a `google.protobuf.DescriptorProto`.
-final $typed_data.Uint8List setNotificationRequestDescriptor = $convert.base64Decode('ChZTZXROb3RpZmljYXRpb25SZXF1ZXN0EhsKCXJlbW90ZV9pZBgBIAEoCVIIcmVtb3RlSWQSIQoMc2VydmljZV91dWlkGAIgASgJUgtzZXJ2aWNlVXVpZBI0ChZzZWNvbmRhcnlfc2VydmljZV91dWlkGAMgASgJUhRzZWNvbmRhcnlTZXJ2aWNlVXVpZBIvChNjaGFyYWN0ZXJpc3RpY191dWlkGAQgASgJUhJjaGFyYWN0ZXJpc3RpY1V1aWQSFgoGZW5hYmxlGAUgASgIUgZlbmFibGU=');
+final $typed_data.Uint8List setNotificationRequestDescriptor = $convert.base64Decode('ChZTZXROb3RpZmljYXRpb25SZXF1ZXN0EhsKCXJlbW90ZV9pZBgBIAEoCVIIcmVtb3RlSWQSIQoMc2VydmljZV91dWlkGAIgASgJUgtzZXJ2aWNlVXVpZBI0ChZzZWNvbmRhcnlfc2VydmljZV91dWlkGAMgASgJUhRzZWNvbmRhcnlTZXJ2aWNlVXVpZBIvChNjaGFyYWN0ZXJpc3RpY191dWlkGAQgASgJUhJjaGFyYWN0ZXJpc3RpY1V1aWQSFgoGZW5hYmxlGAUgASgIUgZlbmFibGUSGAoHY29tcGFjdBgGIAEoCFIHY29tcGFjdBIkCg5iYXRjaF9tYXhfc2l6ZRgHIAEoBVIMYmF0Y2hNYXhTaXplEi8KFGJhdGNoX21heF9sYXRlbmN5X21zGAggASgFUhFiYXRjaE1heExhdGVuY3lNcw==');
 @$core.Deprecated('Use setNotificationResponseDescriptor instead')
 const SetNotificationResponse$json = const {
   '1': 'SetNotificationResponse',
@@ -360,6 +540,31 @@ const OnCharacteristicChanged$json = const {
 
 /// Descriptor for `OnCharacteristicChanged`. Decode as a `google.protobuf.DescriptorProto`.
 final $typed_data.Uint8List onCharacteristicChangedDescriptor = $convert.base64Decode('ChdPbkNoYXJhY3RlcmlzdGljQ2hhbmdlZBIbCglyZW1vdGVfaWQYASABKAlSCHJlbW90ZUlkEkAKDmNoYXJhY3RlcmlzdGljGAIgASgLMhguQmx1ZXRvb3RoQ2hhcmFjdGVyaXN0aWNSDmNoYXJhY3RlcmlzdGlj');
+@$core.Deprecated('Use onCharacteristicValueDescriptor instead')
+const OnCharacteristicValue$json = const {
+  '1': 'OnCharacteristicValue',
+  '2': const [
+    const {'1': 'remote_id', '3': 1, '4': 1, '5': 9, '10': 'remoteId'},
+    const {'1': 'handle', '3': 2, '4': 1, '5': 5, '10': 'handle'},
+    const {'1': 'value', '3': 3, '4': 1, '5': 12, '10': 'value'},
+  ],
+};
+
+/// Descriptor for `OnCharacteristicValue`. Decode as a `google.protobuf.DescriptorProto`.
+final $typed_data.Uint8List onCharacteristicValueDescriptor = $convert.base64Decode('ChVPbkNoYXJhY3RlcmlzdGljVmFsdWUSGwoJcmVtb3RlX2lkGAEgASgJUghyZW1vdGVJZBIWCgZoYW5kbGUYAiABKAVSBmhhbmRsZRIUCgV2YWx1ZRgDIAEoDFIFdmFsdWU=');
+@$core.Deprecated('Use onCharacteristicValueBatchDescriptor instead')
+const OnCharacteristicValueBatch$json = const {
+  '1': 'OnCharacteristicValueBatch',
+  '2': const [
+    const {'1': 'remote_id', '3': 1, '4': 1, '5': 9, '10': 'remoteId'},
+    const {'1': 'handle', '3': 2, '4': 1, '5': 5, '10': 'handle'},
+    const {'1': 'values', '3': 3, '4': 3, '5': 12, '10': 'values'},
+    const {'1': 'timestamps_us', '3': 4, '4': 3, '5': 3, '10': 'timestampsUs'},
+  ],
+};
+
+/// Descriptor for `OnCharacteristicValueBatch`. Decode as a `google.protobuf.DescriptorProto`.
+final $typed_data.Uint8List onCharacteristicValueBatchDescriptor = $convert.base64Decode('ChpPbkNoYXJhY3RlcmlzdGljVmFsdWVCYXRjaBIbCglyZW1vdGVfaWQYASABKAlSCHJlbW90ZUlkEhYKBmhhbmRsZRgCIAEoBVIGaGFuZGxlEhYKBnZhbHVlcxgDIAMoDFIGdmFsdWVzEiMKDXRpbWVzdGFtcHNfdXMYBCADKANSDHRpbWVzdGFtcHNVcw==');
 @$core.Deprecated('Use deviceStateResponseDescriptor instead')
 const DeviceStateResponse$json = const {
   '1': 'DeviceStateResponse',
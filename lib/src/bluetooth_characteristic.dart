@@ -11,6 +11,12 @@ class BluetoothCharacteristic {
   final Guid? secondaryServiceUuid;
   final CharacteristicProperties properties;
   final List<BluetoothDescriptor> descriptors;
+
+  /// Identifies the characteristic on its device in compact notifications,
+  /// see [setNotifyValue]. 0 where the platform does not provide a unique
+  /// one: on iOS and before Android 7.0.
+  final int handle;
+
   bool get isNotifying {
     try {
       var cccd =
@@ -25,8 +31,15 @@ class BluetoothCharacteristic {
   Stream<List<int>> get value => Rx.merge([
         _value.stream,
         _onValueChangedStream,
+        _onCompactValueStream,
+        _onValueBatchStream.expand((b) => b.map((v) => v.value)),
       ]);
 
+  /// Notifications received in batches (see [setNotifyValue]), each with the
+  /// monotonic time at which it reached the platform side.
+  Stream<TimestampedValue> get timestampedValues =>
+      _onValueBatchStream.expand((b) => b);
+
   List<int> get lastValue => _value.value ?? [];
 
   BluetoothCharacteristic.fromProto(protos.BluetoothCharacteristic p)
@@ -40,6 +53,7 @@ class BluetoothCharacteristic {
             .map((d) => new BluetoothDescriptor.fromProto(d))
             .toList(),
         properties = new CharacteristicProperties.fromProto(p.properties),
+        handle = p.handle,
         _value = BehaviorSubject.seeded(p.value);
 
   Stream<BluetoothCharacteristic> get _onCharacteristicChangedStream =>
@@ -60,6 +74,32 @@ class BluetoothCharacteristic {
   Stream<List<int>> get _onValueChangedStream =>
       _onCharacteristicChangedStream.map((c) => c.lastValue);
 
+  Stream<List<int>> get _onCompactValueStream =>
+      FlutterBlue.instance._methodStream
+          .where((m) => m.method == "OnCharacteristicValue")
+          .map((m) => m.arguments)
+          .map((buffer) => new protos.OnCharacteristicValue.fromBuffer(buffer))
+          .where((p) =>
+              handle != 0 &&
+              p.handle == handle &&
+              p.remoteId == deviceId.toString())
+          .map((p) => p.value);
+
+  Stream<List<TimestampedValue>> get _onValueBatchStream =>
+      FlutterBlue.instance._methodStream
+          .where((m) => m.method == "OnCharacteristicValueBatch")
+          .map((m) => m.arguments)
+          .map((buffer) =>
+              new protos.OnCharacteristicValueBatch.fromBuffer(buffer))
+          .where((p) =>
+              handle != 0 &&
+              p.handle == handle &&
+              p.remoteId == deviceId.toString())
+          .map((p) => List<TimestampedValue>.generate(
+              p.values.length,
+              (i) => TimestampedValue._(p.values[i],
+                  Duration(microseconds: p.timestampsUs[i].toInt()))));
+
   void _updateDescriptors(List<BluetoothDescriptor> newDescriptors) {
     for (var d in descriptors) {
       for (var newD in newDescriptors) {
@@ -141,13 +181,87 @@ class BluetoothCharacteristic {
         .then((_) => null);
   }
 
+  static int _nextTransferId = 1;
+
+  /// Writes a [value] of any length, split on the platform side into chunks
+  /// that fit the negotiated MTU and written back to back.
+  ///
+  /// This avoids a channel round trip per chunk for large payloads such as
+  /// firmware images. [onProgress] is called at most every [progressInterval]
+  /// (100 ms by default) and once more when the transfer ends. The returned
+  /// future completes when the last chunk has been written, or with an error
+  /// if the transfer cannot start or a chunk fails. Android only.
+  Future<void> writeBulk(List<int> value,
+      {bool withoutResponse = false,
+      void Function(BulkWriteProgress progress)? onProgress,
+      Duration? progressInterval}) async {
+    final type = withoutResponse
+        ? CharacteristicWriteType.withoutResponse
+        : CharacteristicWriteType.withResponse;
+
+    var request = protos.WriteCharacteristicBulkRequest.create()
+      ..remoteId = deviceId.toString()
+      ..characteristicUuid = uuid.toString()
+      ..serviceUuid = serviceUuid.toString()
+      ..writeType =
+          protos.WriteCharacteristicRequest_WriteType.valueOf(type.index)!
+      ..value = value
+      ..transferId = _nextTransferId++
+      ..progressIntervalMs = progressInterval?.inMilliseconds ?? 0;
+
+    final last = new Completer<BulkWriteProgress>();
+    final subscription = FlutterBlue.instance._methodStream
+        .where((m) => m.method == "BulkWriteProgress")
+        .map((m) => m.arguments)
+        .map((buffer) => new protos.BulkWriteProgress.fromBuffer(buffer))
+        .where((p) =>
+            (p.remoteId == request.remoteId) &&
+            (p.transferId == request.transferId))
+        .map((p) => new BulkWriteProgress._fromProto(p))
+        .listen((p) {
+      onProgress?.call(p);
+      if (p.done && !last.isCompleted) {
+        last.complete(p);
+      }
+    });
+
+    // The call fails without a last progress if the transfer is never queued
+    try {
+      await FlutterBlue.instance._channel
+          .invokeMethod('writeCharacteristicBulk', request.writeToBuffer());
+
+      final p = await last.future;
+      if (p.error.isNotEmpty) {
+        throw new Exception('Failed to write the characteristic: ${p.error}');
+      }
+    } finally {
+      await subscription.cancel();
+    }
+  }
+
   /// Sets notifications or indications for the value of a specified characteristic
-  Future<bool> setNotifyValue(bool notify) async {
+  ///
+  /// With [compact], Android reports each notification with just the value
+  /// and this characteristic's [handle] instead of the full characteristic,
+  /// which is cheaper for high-rate streams; descriptors are then not
+  /// refreshed by notifications.
+  ///
+  /// With [batchMaxSize] greater than 1, Android collects up to that many
+  /// notifications, at most [batchMaxLatency] apart (50 ms by default), and
+  /// delivers them in one message; see [timestampedValues]. This implies
+  /// [compact].
+  Future<bool> setNotifyValue(bool notify,
+      {bool compact = false,
+      int batchMaxSize = 1,
+      Duration? batchMaxLatency}) async {
     var request = protos.SetNotificationRequest.create()
       ..remoteId = deviceId.toString()
       ..serviceUuid = serviceUuid.toString()
       ..characteristicUuid = uuid.toString()
-      ..enable = notify;
+      ..enable = notify
+      ..compact = compact && handle != 0
+      ..batchMaxSize = (handle != 0) ? batchMaxSize : 1
+      ..batchMaxLatencyMs = batchMaxLatency?.inMilliseconds ?? 0;
 
     await FlutterBlue.instance._channel
         .invokeMethod('setNotification', request.writeToBuffer());
@@ -218,3 +332,51 @@ class CharacteristicProperties {
     return 'CharacteristicProperties{broadcast: $broadcast, read: $read, writeWithoutResponse: $writeWithoutResponse, write: $write, notify: $notify, indicate: $indicate, authenticatedSignedWrites: $authenticatedSignedWrites, extendedProperties: $extendedProperties, notifyEncryptionRequired: $notifyEncryptionRequired, indicateEncryptionRequired: $indicateEncryptionRequired}';
   }
 }
+
+/// A characteristic value together with the monotonic time it arrived at.
+class TimestampedValue {
+  TimestampedValue._(this.value, this.timestamp);
+
+  final List<int> value;
+
+  /// Time since an arbitrary, fixed point (Android: elapsedRealtime).
+  final Duration timestamp;
+
+  @override
+  String toString() => 'TimestampedValue{value: $value, timestamp: $timestamp}';
+}
+
+/// Progress of a [BluetoothCharacteristic.writeBulk] transfer.
+class BulkWriteProgress {
+  final int bytesWritten;
+  final int totalBytes;
+
+  /// Bytes per write, derived from the negotiated MTU.
+  final int chunkSize;
+
+  /// Time since the first chunk was written.
+  final Duration elapsed;
+
+  /// Whether the transfer has ended, see [error].
+  final bool done;
+
+  /// Why the transfer failed; empty while running or on success.
+  final String error;
+
+  BulkWriteProgress._fromProto(protos.BulkWriteProgress p)
+      : bytesWritten = p.bytesWritten.toInt(),
+        totalBytes = p.totalBytes.toInt(),
+        chunkSize = p.chunkSize,
+        elapsed = Duration(microseconds: p.elapsedUs.toInt()),
+        done = p.done,
+        error = p.error;
+
+  /// Average throughput so far.
+  double get bytesPerSecond => (elapsed.inMicroseconds > 0)
+      ? bytesWritten * 1000000 / elapsed.inMicroseconds
+      : 0;
+
+  @override
+  String toString() =>
+      'BulkWriteProgress{bytesWritten: $bytesWritten, totalBytes: $totalBytes, chunkSize: $chunkSize, elapsed: $elapsed, done: $done, error: $error}';
+}
@@ -18,13 +18,28 @@ class BluetoothDevice {
   Stream<bool> get isDiscoveringServices => _isDiscoveringServices.stream;
 
   /// Establishes a connection to the Bluetooth Device.
+  ///
+  /// On Android, GATT operations on the device are queued and run one at a
+  /// time; an operation fails once it has waited [androidGattTimeout] for the
+  /// stack to report completion (10 seconds by default). The next one still
+  /// waits until the stack reports the late completion or the device
+  /// disconnects.
+  ///
+  /// With [androidCacheServices], Android stores discovered services on disk
+  /// and answers later [discoverServices] calls for the device from there
+  /// straight away. This only makes the services available to Dart sooner;
+  /// connecting and discovery take as long as before. See [discoverServices].
   Future<void> connect({
     Duration? timeout,
     bool autoConnect = true,
+    Duration? androidGattTimeout,
+    bool androidCacheServices = false,
   }) async {
     var request = protos.ConnectRequest.create()
       ..remoteId = id.toString()
-      ..androidAutoConnect = autoConnect;
+      ..androidAutoConnect = autoConnect
+      ..androidGattTimeoutMs = androidGattTimeout?.inMilliseconds ?? 0
+      ..androidCacheServices = androidCacheServices;
 
     Timer? timer;
     if (timeout != null) {
@@ -53,21 +68,40 @@ class BluetoothDevice {
       BehaviorSubject.seeded([]);
 
   /// Discovers services offered by the remote device as well as their characteristics and descriptors
+  ///
+  /// If the device was connected with `androidCacheServices`, the result may
+  /// come from the services stored at the last discovery of the same address.
+  /// This saves Dart-side latency only: Android still runs the full
+  /// over-the-air discovery, and GATT operations on the device wait until it
+  /// is done, so reads, writes and notifications start no earlier than
+  /// without the cache. The discovery's result is then published to
+  /// [services], unless it failed. The stored services are not checked
+  /// against the device's Database Hash, so they may be out of date until
+  /// that result arrives.
   Future<List<BluetoothService>> discoverServices() async {
     final s = await state.first;
     if (s != BluetoothDeviceState.connected) {
       return Future.error(new Exception(
           'Cannot discoverServices while device is not connected. State == $s'));
     }
-    var response = FlutterBlue.instance._methodStream
+    var results = FlutterBlue.instance._methodStream
         .where((m) => m.method == "DiscoverServicesResult")
         .map((m) => m.arguments)
         .map((buffer) => new protos.DiscoverServicesResult.fromBuffer(buffer))
-        .where((p) => p.remoteId == id.toString())
-        .map((p) => p.services)
-        .map((s) => s.map((p) => new BluetoothService.fromProto(p)).toList())
-        .first
-        .then((list) {
+        .where((p) => p.remoteId == id.toString());
+    var response = results.first.then((p) {
+      if (p.fromCache) {
+        // Android's own discovery follows; keep the stored services if it
+        // fails, and stop waiting for it if the device disconnects first.
+        results
+            .where((p) => !p.fromCache)
+            .takeUntil(
+                state.where((s) => s == BluetoothDeviceState.disconnected))
+            .take(1)
+            .where((p) => !p.failed)
+            .listen((p) => _services.add(_servicesFromProto(p)));
+      }
+      var list = _servicesFromProto(p);
       _services.add(list);
       _isDiscoveringServices.add(false);
       return list;
@@ -81,6 +115,10 @@ class BluetoothDevice {
     return response;
   }
 
+  static List<BluetoothService> _servicesFromProto(
+          protos.DiscoverServicesResult p) =>
+      p.services.map((s) => new BluetoothService.fromProto(s)).toList();
+
   /// Returns a list of Bluetooth GATT services offered by the remote device
   /// This function requires that discoverServices has been completed for this device
   Stream<List<BluetoothService>> get services async* {
@@ -133,6 +171,12 @@ class BluetoothDevice {
         .invokeMethod('requestMtu', request.writeToBuffer());
   }
 
+  /// Android only. Counters of the device's GATT operation queue.
+  Future<GattQueueStats> get gattQueueStats => FlutterBlue.instance._channel
+      .invokeMethod('gattQueueStats', id.toString())
+      .then((buffer) => protos.GattQueueStats.fromBuffer(buffer))
+      .then((p) => GattQueueStats.fromProto(p));
+
   /// Indicates whether the Bluetooth Device can send a write without response
   Future<bool> get canSendWriteWithoutResponse =>
       new Future.error(new UnimplementedError());
@@ -153,6 +197,35 @@ class BluetoothDevice {
   }
 }
 
+class GattQueueStats {
+  GattQueueStats.fromProto(protos.GattQueueStats p)
+      : queueDepth = p.queueDepth.toInt(),
+        maxQueueDepth = p.maxQueueDepth.toInt(),
+        inFlight = p.inFlight,
+        completed = p.completed.toInt(),
+        failed = p.failed.toInt(),
+        timedOut = p.timedOut.toInt(),
+        cancelled = p.cancelled.toInt(),
+        averageWaitLatency = Duration(microseconds: p.avgWaitLatencyUs.toInt()),
+        averageOperationLatency =
+            Duration(microseconds: p.avgOpLatencyUs.toInt());
+
+  final int queueDepth;
+  final int maxQueueDepth;
+  final bool inFlight;
+  final int completed;
+  final int failed;
+  final int timedOut;
+  final int cancelled;
+  final Duration averageWaitLatency;
+  final Duration averageOperationLatency;
+
+  @override
+  String toString() {
+    return 'GattQueueStats{queueDepth: $queueDepth, maxQueueDepth: $maxQueueDepth, inFlight: $inFlight, completed: $completed, failed: $failed, timedOut: $timedOut, cancelled: $cancelled, averageWaitLatency: $averageWaitLatency, averageOperationLatency: $averageOperationLatency}';
+  }
+}
+
 enum BluetoothDeviceType { unknown, classic, le, dual }
 
 enum BluetoothDeviceState { disconnected, connecting, connected, disconnecting }
@@ -15,7 +15,11 @@ class FlutterBlue {
   /// Singleton boilerplate
   FlutterBlue._() {
     _channel.setMethodCallHandler((MethodCall call) async {
-      _methodStreamController.add(call);
+      if (call.method == 'EventRingCursor') {
+        _readEventRing();
+      } else {
+        _methodStreamController.add(call);
+      }
     });
 
     _setLogLevelIfAvailable();
@@ -86,18 +90,141 @@ class FlutterBlue {
   /// timeout calls stopStream after a specified [Duration].
   /// You can also get a list of ongoing results in the [scanResults] stream.
   /// If scanning is already in progress, this will throw an [Exception].
+  ///
+  /// On Android, [batchMaxSize] greater than 1 makes the platform side deliver
+  /// results in groups of up to that many, at most [batchMaxLatency] apart,
+  /// which reduces platform channel traffic in dense environments.
+  ///
+  /// [androidReportDelay] enables controller-side batch scanning where the
+  /// hardware supports it; [androidMatchMode], [androidNumOfMatches] and
+  /// [androidCallbackType] are passed to Android's ScanSettings (API 23+).
+  /// With [ScanCallbackType.matchLost], a device that stops matching is
+  /// reported once more with [ScanResult.matchLost] set, and removed from
+  /// [scanResults]; to hear of it again once it is found anew, also set
+  /// [allowDuplicates]. If Android cannot run the scan with these settings,
+  /// the stream ends with an error.
+  ///
+  /// [androidPipelineCapacity] greater than 0 moves the conversion of Android
+  /// scan results onto a background worker with a queue of that size;
+  /// [androidOverflowPolicy] decides which results are lost when it fills up.
+  /// See [scanPipelineStats].
+  ///
+  /// On Android, [coalesceInterval] keeps only the latest result of each
+  /// device and reports a device at most once per interval, with its RSSI
+  /// smoothed by [rssiFilter]. This is mostly useful with [allowDuplicates].
+  ///
+  /// [suppressUnchangedPayloads] drops advertisements whose raw payload is
+  /// identical to the last one reported for the device (Android only); with
+  /// [unchangedPayloadHeartbeat] set, an unchanged payload is reported again
+  /// once that much time has passed.
+  ///
+  /// [filters] are evaluated on the Android side before results are
+  /// converted: a result is reported if it matches any of them. When given,
+  /// each of [withServices] counts as one more filter.
   Stream<ScanResult> scan({
     ScanMode scanMode = ScanMode.lowLatency,
     List<Guid> withServices = const [],
     List<Guid> withDevices = const [],
     Duration? timeout,
     bool allowDuplicates = false,
+    int batchMaxSize = 1,
+    Duration? batchMaxLatency,
+    Duration? androidReportDelay,
+    ScanMatchMode? androidMatchMode,
+    ScanNumOfMatches? androidNumOfMatches,
+    ScanCallbackType? androidCallbackType,
+    int androidPipelineCapacity = 0,
+    ScanOverflowPolicy androidOverflowPolicy = ScanOverflowPolicy.dropOldest,
+    Duration? coalesceInterval,
+    RssiFilter rssiFilter = RssiFilter.none,
+    double? rssiEmaAlpha,
+    double? rssiKalmanProcessNoise,
+    double? rssiKalmanMeasurementNoise,
+    bool suppressUnchangedPayloads = false,
+    Duration? unchangedPayloadHeartbeat,
+    List<AdvertisementFilter> filters = const [],
+  }) async* {
+    var settings = protos.ScanSettings.create()
+      ..androidScanMode = scanMode.value
+      ..allowDuplicates = allowDuplicates
+      ..batchMaxSize = batchMaxSize
+      ..batchMaxLatencyMs = batchMaxLatency?.inMilliseconds ?? 0
+      ..androidReportDelayMs = androidReportDelay?.inMilliseconds ?? 0
+      ..androidMatchMode = androidMatchMode?.value ?? 0
+      ..androidNumOfMatches = androidNumOfMatches?.value ?? 0
+      ..androidCallbackType = androidCallbackType?.value ?? 0
+      ..androidPipelineCapacity = androidPipelineCapacity
+      ..androidOverflowPolicy =
+          protos.ScanSettings_OverflowPolicy.valueOf(androidOverflowPolicy.index)!
+      ..coalesceIntervalMs = coalesceInterval?.inMilliseconds ?? 0
+      ..rssiFilter = protos.ScanSettings_RssiFilter.valueOf(rssiFilter.index)!
+      ..rssiEmaAlpha = rssiEmaAlpha ?? 0
+      ..rssiKalmanProcessNoise = rssiKalmanProcessNoise ?? 0
+      ..rssiKalmanMeasurementNoise = rssiKalmanMeasurementNoise ?? 0
+      ..suppressUnchangedPayloads = suppressUnchangedPayloads
+      ..unchangedPayloadHeartbeatMs =
+          unchangedPayloadHeartbeat?.inMilliseconds ?? 0
+      ..serviceUuids.addAll(withServices.map((g) => g.toString()).toList())
+      ..filters.addAll(filters.map((f) => f._toProto()));
+
+    yield* _scanEvents(settings, timeout, const ["ScanResult", "ScanResultBatch"])
+        .expand((m) => (m.method == "ScanResultBatch")
+            ? new protos.ScanResultBatch.fromBuffer(m.arguments).results
+            : [new protos.ScanResult.fromBuffer(m.arguments)])
+        .map((p) {
+      final result = new ScanResult.fromProto(p);
+      final list = _scanResults.value ?? [];
+      int index = list.indexOf(result);
+      if (result.matchLost) {
+        list.remove(result);
+      } else if (index != -1) {
+        list[index] = result;
+      } else {
+        list.add(result);
+      }
+      _scanResults.add(list);
+      return result;
+    });
+  }
+
+  /// Android only. Scans like [scan], but reports each advertisement as a
+  /// [RawScanFrame] holding just the address, RSSI, timestamp and raw record,
+  /// which the platform side passes through without decoding it.
+  ///
+  /// Results are not added to [scanResults]. [batchMaxSize] and
+  /// [batchMaxLatency] group frames into one message as in [scan].
+  Stream<RawScanFrame> scanRaw({
+    ScanMode scanMode = ScanMode.lowLatency,
+    List<Guid> withServices = const [],
+    Duration? timeout,
+    bool allowDuplicates = false,
+    int batchMaxSize = 1,
+    Duration? batchMaxLatency,
+    Duration? androidReportDelay,
+    bool suppressUnchangedPayloads = false,
+    Duration? unchangedPayloadHeartbeat,
+    List<AdvertisementFilter> filters = const [],
   }) async* {
     var settings = protos.ScanSettings.create()
       ..androidScanMode = scanMode.value
       ..allowDuplicates = allowDuplicates
-      ..serviceUuids.addAll(withServices.map((g) => g.toString()).toList());
+      ..batchMaxSize = batchMaxSize
+      ..batchMaxLatencyMs = batchMaxLatency?.inMilliseconds ?? 0
+      ..androidReportDelayMs = androidReportDelay?.inMilliseconds ?? 0
+      ..suppressUnchangedPayloads = suppressUnchangedPayloads
+      ..unchangedPayloadHeartbeatMs =
+          unchangedPayloadHeartbeat?.inMilliseconds ?? 0
+      ..serviceUuids.addAll(withServices.map((g) => g.toString()).toList())
+      ..filters.addAll(filters.map((f) => f._toProto()))
+      ..androidRawScanFrames = true;
+
+    yield* _scanEvents(settings, timeout, const ["RawScanResults"])
+        .expand((m) => RawScanFrame._decodeAll(m.arguments));
+  }
 
+  // Starts the scan and returns its events until it is stopped, times out or fails.
+  Stream<MethodCall> _scanEvents(protos.ScanSettings settings,
+      Duration? timeout, List<String> methods) async* {
     if (_isScanning.value == true) {
       throw Exception('Another scan is already in progress.');
     }
@@ -123,24 +250,17 @@ class FlutterBlue {
       throw e;
     }
 
-    yield* FlutterBlue.instance._methodStream
-        .where((m) => m.method == "ScanResult")
-        .map((m) => m.arguments)
+    final events = FlutterBlue.instance._methodStream
+        .where((m) => methods.contains(m.method) || m.method == "ScanFailed")
         .takeUntil(Rx.merge(killStreams))
-        .doOnDone(stopScan)
-        .map((buffer) => new protos.ScanResult.fromBuffer(buffer))
-        .map((p) {
-      final result = new ScanResult.fromProto(p);
-      final list = _scanResults.value ?? [];
-      int index = list.indexOf(result);
-      if (index != -1) {
-        list[index] = result;
-      } else {
-        list.add(result);
+        .doOnDone(stopScan);
+    await for (final m in events) {
+      if (m.method == "ScanFailed") {
+        await stopScan();
+        throw Exception('Scan failed, Android error code ${m.arguments}');
       }
-      _scanResults.add(list);
-      return result;
-    });
+      yield m;
+    }
   }
 
   /// Starts a scan and returns a future that will complete once the scan has finished.
@@ -157,13 +277,45 @@ class FlutterBlue {
     List<Guid> withDevices = const [],
     Duration? timeout,
     bool allowDuplicates = false,
+    int batchMaxSize = 1,
+    Duration? batchMaxLatency,
+    Duration? androidReportDelay,
+    ScanMatchMode? androidMatchMode,
+    ScanNumOfMatches? androidNumOfMatches,
+    ScanCallbackType? androidCallbackType,
+    int androidPipelineCapacity = 0,
+    ScanOverflowPolicy androidOverflowPolicy = ScanOverflowPolicy.dropOldest,
+    Duration? coalesceInterval,
+    RssiFilter rssiFilter = RssiFilter.none,
+    double? rssiEmaAlpha,
+    double? rssiKalmanProcessNoise,
+    double? rssiKalmanMeasurementNoise,
+    bool suppressUnchangedPayloads = false,
+    Duration? unchangedPayloadHeartbeat,
+    List<AdvertisementFilter> filters = const [],
   }) async {
     await scan(
             scanMode: scanMode,
             withServices: withServices,
             withDevices: withDevices,
             timeout: timeout,
-            allowDuplicates: allowDuplicates)
+            allowDuplicates: allowDuplicates,
+            batchMaxSize: batchMaxSize,
+            batchMaxLatency: batchMaxLatency,
+            androidReportDelay: androidReportDelay,
+            androidMatchMode: androidMatchMode,
+            androidNumOfMatches: androidNumOfMatches,
+            androidCallbackType: androidCallbackType,
+            androidPipelineCapacity: androidPipelineCapacity,
+            androidOverflowPolicy: androidOverflowPolicy,
+            coalesceInterval: coalesceInterval,
+            rssiFilter: rssiFilter,
+            rssiEmaAlpha: rssiEmaAlpha,
+            rssiKalmanProcessNoise: rssiKalmanProcessNoise,
+            rssiKalmanMeasurementNoise: rssiKalmanMeasurementNoise,
+            suppressUnchangedPayloads: suppressUnchangedPayloads,
+            unchangedPayloadHeartbeat: unchangedPayloadHeartbeat,
+            filters: filters)
         .drain();
     return _scanResults.value;
   }
@@ -175,6 +327,90 @@ class FlutterBlue {
     _isScanning.add(false);
   }
 
+  /// Android only. Counters of the scan result pipeline, for the running scan or
+  /// else the last one that used it. See [scan].
+  Future<ScanPipelineStats> get scanPipelineStats => _channel
+      .invokeMethod('scanPipelineStats')
+      .then((buffer) => protos.ScanPipelineStats.fromBuffer(buffer))
+      .then((p) => ScanPipelineStats.fromProto(p));
+
+  /// Counters of the Android cache that saves a Bluetooth service call per
+  /// scan result for the name and type of the device.
+  Future<DeviceCacheStats> get deviceCacheStats => _channel
+      .invokeMethod('deviceCacheStats')
+      .then((buffer) => protos.DeviceCacheStats.fromBuffer(buffer))
+      .then((p) => DeviceCacheStats.fromProto(p));
+
+  /// Android only. With a [capacity] in bytes, scan results and characteristic
+  /// notifications are written into one shared ring buffer instead of being
+  /// sent as a platform channel message each, and are read from it in bulk
+  /// whenever Android signals new data. They reach the same streams as before,
+  /// but are no longer ordered with respect to other platform events.
+  ///
+  /// Events that arrive while the ring is full are dropped; see
+  /// [eventRingStats]. A [capacity] of 0 turns the ring off, discarding events
+  /// not yet read.
+  ///
+  /// Each read still copies the frames through a platform channel call. Reading
+  /// them in place with dart:ffi would need a native shim that gets the
+  /// buffer's address with JNI GetDirectBufferAddress, which this plugin does
+  /// not have yet.
+  Future<void> setEventRing(int capacity) =>
+      _channel.invokeMethod('setEventRing', capacity);
+
+  /// Counters of the ring set with [setEventRing].
+  Future<EventRingStats> get eventRingStats => _channel
+      .invokeMethod('eventRingStats')
+      .then((buffer) => protos.EventRingStats.fromBuffer(buffer))
+      .then((p) => EventRingStats.fromProto(p));
+
+  // Frame indices of the ring, as in EventRing.METHODS on Android.
+  static const List<String> _eventRingMethods = [
+    'ScanResult',
+    'ScanResultBatch',
+    'RawScanResults',
+    'OnCharacteristicChanged',
+    'OnCharacteristicValue',
+    'OnCharacteristicValueBatch',
+  ];
+
+  bool _readingEventRing = false;
+  bool _eventRingSignalled = false;
+
+  // Reads again if signalled meanwhile, since the signal is re-armed by a read.
+  Future<void> _readEventRing() async {
+    if (_readingEventRing) {
+      _eventRingSignalled = true;
+      return;
+    }
+    _readingEventRing = true;
+    try {
+      do {
+        _eventRingSignalled = false;
+        final Uint8List? frames = await _channel.invokeMethod('eventRingRead');
+        if (frames != null) {
+          _dispatchEventFrames(frames);
+        }
+      } while (_eventRingSignalled);
+    } finally {
+      _readingEventRing = false;
+    }
+  }
+
+  // Frames are back to back, little-endian: int32 payload length, int32
+  // method index, the payload, padding to a multiple of 8 bytes.
+  void _dispatchEventFrames(Uint8List frames) {
+    final data = ByteData.sublistView(frames);
+    var offset = 0;
+    while (offset + 8 <= frames.length) {
+      final length = data.getInt32(offset, Endian.little);
+      final index = data.getInt32(offset + 4, Endian.little);
+      _methodStreamController.add(MethodCall(_eventRingMethods[index],
+          Uint8List.sublistView(frames, offset + 8, offset + 8 + length)));
+      offset += (8 + length + 7) & ~7;
+    }
+  }
+
   /// The list of connected peripherals can include those that are connected
   /// by other apps and that will need to be connected locally using the
   /// device.connect() method before they can be used.
@@ -249,6 +485,226 @@ class ScanMode {
   final int value;
 }
 
+/// How aggressively the Android controller matches advertisements against filters.
+class ScanMatchMode {
+  const ScanMatchMode(this.value);
+  static const aggressive = const ScanMatchMode(1);
+  static const sticky = const ScanMatchMode(2);
+  final int value;
+}
+
+/// How many advertisements the Android controller needs before reporting a match.
+class ScanNumOfMatches {
+  const ScanNumOfMatches(this.value);
+  static const oneAdvertisement = const ScanNumOfMatches(1);
+  static const fewAdvertisements = const ScanNumOfMatches(2);
+  static const maxAdvertisements = const ScanNumOfMatches(3);
+  final int value;
+}
+
+/// Which filter matches trigger a result on Android.
+class ScanCallbackType {
+  const ScanCallbackType(this.value);
+  static const allMatches = const ScanCallbackType(1);
+  static const firstMatch = const ScanCallbackType(2);
+  static const matchLost = const ScanCallbackType(4);
+  final int value;
+}
+
+/// Conditions an advertisement must meet to be reported by [FlutterBlue.scan].
+///
+/// Every field that is set must match. [manufacturerData] and [serviceData]
+/// match the start of the respective payload, optionally through a mask of
+/// the same length. Android only.
+class AdvertisementFilter {
+  const AdvertisementFilter({
+    this.serviceUuid,
+    this.manufacturerId,
+    this.manufacturerData,
+    this.manufacturerDataMask,
+    this.deviceName,
+    this.namePrefix,
+    this.serviceDataUuid,
+    this.serviceData,
+    this.serviceDataMask,
+    this.minRssi,
+  });
+
+  final Guid? serviceUuid;
+  final int? manufacturerId;
+  final List<int>? manufacturerData;
+  final List<int>? manufacturerDataMask;
+  final String? deviceName;
+  final String? namePrefix;
+  final Guid? serviceDataUuid;
+  final List<int>? serviceData;
+  final List<int>? serviceDataMask;
+  final int? minRssi;
+
+  protos.AdvertisementFilter _toProto() {
+    final p = protos.AdvertisementFilter.create();
+    if (serviceUuid != null) p.serviceUuid = serviceUuid.toString();
+    if (manufacturerId != null) {
+      p.manufacturerId = protos.Int32Value.create()..value = manufacturerId!;
+    }
+    if (manufacturerData != null) p.manufacturerData = manufacturerData!;
+    if (manufacturerDataMask != null) {
+      p.manufacturerDataMask = manufacturerDataMask!;
+    }
+    if (deviceName != null) p.deviceName = deviceName!;
+    if (namePrefix != null) p.namePrefix = namePrefix!;
+    if (serviceDataUuid != null) p.serviceDataUuid = serviceDataUuid.toString();
+    if (serviceData != null) p.serviceData = serviceData!;
+    if (serviceDataMask != null) p.serviceDataMask = serviceDataMask!;
+    if (minRssi != null) p.minRssi = minRssi!;
+    return p;
+  }
+}
+
+/// What the Android scan result pipeline gives up when its queue is full.
+enum ScanOverflowPolicy {
+  dropOldest,
+  dropNewest,
+  coalesceByDevice,
+}
+
+/// How the RSSI of a coalesced device is smoothed, see [FlutterBlue.scan].
+enum RssiFilter {
+  /// Report the latest reading.
+  none,
+
+  /// Exponential moving average weighted by `rssiEmaAlpha` (default 0.25).
+  ema,
+
+  /// One-dimensional Kalman filter.
+  kalman,
+}
+
+class ScanPipelineStats {
+  ScanPipelineStats.fromProto(protos.ScanPipelineStats p)
+      : received = p.received.toInt(),
+        delivered = p.delivered.toInt(),
+        dropped = p.dropped.toInt(),
+        coalesced = p.coalesced.toInt(),
+        queueDepth = p.queueDepth.toInt(),
+        maxQueueDepth = p.maxQueueDepth.toInt(),
+        averageQueueLatency =
+            Duration(microseconds: p.avgQueueLatencyUs.toInt()),
+        averageConvertLatency =
+            Duration(microseconds: p.avgConvertLatencyUs.toInt());
+
+  final int received;
+  final int delivered;
+  final int dropped;
+  final int coalesced;
+  final int queueDepth;
+  final int maxQueueDepth;
+  final Duration averageQueueLatency;
+  final Duration averageConvertLatency;
+
+  @override
+  String toString() {
+    return 'ScanPipelineStats{received: $received, delivered: $delivered, dropped: $dropped, coalesced: $coalesced, queueDepth: $queueDepth, maxQueueDepth: $maxQueueDepth, averageQueueLatency: $averageQueueLatency, averageConvertLatency: $averageConvertLatency}';
+  }
+}
+
+/// Android only; see [FlutterBlue.deviceCacheStats].
+class DeviceCacheStats {
+  DeviceCacheStats.fromProto(protos.DeviceCacheStats p)
+      : hits = p.hits.toInt(),
+        misses = p.misses.toInt(),
+        expired = p.expired.toInt(),
+        renamed = p.renamed.toInt(),
+        evicted = p.evicted.toInt(),
+        size = p.size.toInt();
+
+  final int hits;
+  final int misses;
+  final int expired;
+  final int renamed;
+  final int evicted;
+  final int size;
+
+  @override
+  String toString() {
+    return 'DeviceCacheStats{hits: $hits, misses: $misses, expired: $expired, renamed: $renamed, evicted: $evicted, size: $size}';
+  }
+}
+
+/// Android only; see [FlutterBlue.setEventRing].
+class EventRingStats {
+  EventRingStats.fromProto(protos.EventRingStats p)
+      : capacity = p.capacity.toInt(),
+        events = p.events.toInt(),
+        bytes = p.bytes.toInt(),
+        droppedEvents = p.droppedEvents.toInt(),
+        droppedBytes = p.droppedBytes.toInt(),
+        fill = p.fill.toInt(),
+        maxFill = p.maxFill.toInt(),
+        signals = p.signals.toInt();
+
+  final int capacity;
+  final int events;
+  final int bytes;
+  final int droppedEvents;
+  final int droppedBytes;
+
+  /// Bytes written and not yet read.
+  final int fill;
+  final int maxFill;
+  final int signals;
+
+  @override
+  String toString() {
+    return 'EventRingStats{capacity: $capacity, events: $events, bytes: $bytes, droppedEvents: $droppedEvents, droppedBytes: $droppedBytes, fill: $fill, maxFill: $maxFill, signals: $signals}';
+  }
+}
+
+/// An advertisement as reported by [FlutterBlue.scanRaw].
+class RawScanFrame {
+  RawScanFrame._(this.address, this.rssi, this.timestamp, this.record);
+
+  /// The six bytes of the device address, most significant first.
+  final Uint8List address;
+  final int rssi;
+
+  /// Time since an arbitrary, fixed point (Android: elapsedRealtime).
+  final Duration timestamp;
+
+  /// The advertisement and scan response AD structures as received.
+  final Uint8List record;
+
+  /// The address in the form used by [BluetoothDevice.id].
+  DeviceIdentifier get deviceId => DeviceIdentifier(address
+      .map((b) => b.toRadixString(16).padLeft(2, '0').toUpperCase())
+      .join(':'));
+
+  static const int _headerLength = 17;
+
+  // Frames are back to back, big-endian: 6 bytes address, 1 byte RSSI,
+  // 8 bytes timestamp in nanoseconds, 2 bytes record length, the record.
+  static List<RawScanFrame> _decodeAll(Uint8List bytes) {
+    final data = ByteData.sublistView(bytes);
+    final frames = <RawScanFrame>[];
+    var offset = 0;
+    while (offset + _headerLength <= bytes.length) {
+      final recordLength = data.getUint16(offset + 15);
+      final end = offset + _headerLength + recordLength;
+      frames.add(RawScanFrame._(
+          Uint8List.sublistView(bytes, offset, offset + 6),
+          data.getInt8(offset + 6),
+          Duration(microseconds: data.getInt64(offset + 7) ~/ 1000),
+          Uint8List.sublistView(bytes, offset + _headerLength, end)));
+      offset = end;
+    }
+    return frames;
+  }
+
+  @override
+  String toString() =>
+      'RawScanFrame{deviceId: $deviceId, rssi: $rssi, timestamp: $timestamp, record: $record}';
+}
+
 class DeviceIdentifier {
   final String id;
   const DeviceIdentifier(this.id);
@@ -269,12 +725,17 @@ class ScanResult {
       : device = new BluetoothDevice.fromProto(p.device),
         advertisementData =
             new AdvertisementData.fromProto(p.advertisementData),
-        rssi = p.rssi;
+        rssi = p.rssi,
+        matchLost = p.matchLost;
 
   final BluetoothDevice device;
   final AdvertisementData advertisementData;
   final int rssi;
 
+  /// Android only. Whether the device stopped matching the scan's filters;
+  /// see [ScanCallbackType.matchLost].
+  final bool matchLost;
+
   @override
   bool operator ==(Object other) =>
       identical(this, other) ||
@@ -287,7 +748,7 @@ class ScanResult {
 
   @override
   String toString() {
-    return 'ScanResult{device: $device, advertisementData: $advertisementData, rssi: $rssi}';
+    return 'ScanResult{device: $device, advertisementData: $advertisementData, rssi: $rssi, matchLost: $matchLost}';
   }
 }
 
@@ -299,6 +760,15 @@ class AdvertisementData {
   final Map<String, List<int>> serviceData;
   final List<String> serviceUuids;
 
+  /// The advertising flags (AD type 0x01), if advertised. Android only.
+  final int? flags;
+
+  /// The GAP appearance (AD type 0x19), if advertised. Android only.
+  final int? appearance;
+
+  /// Services the device asks centrals to offer. Android only.
+  final List<String> solicitedServiceUuids;
+
   AdvertisementData.fromProto(protos.AdvertisementData p)
       : localName = p.localName,
         txPowerLevel =
@@ -306,10 +776,13 @@ class AdvertisementData {
         connectable = p.connectable,
         manufacturerData = p.manufacturerData,
         serviceData = p.serviceData,
-        serviceUuids = p.serviceUuids;
+        serviceUuids = p.serviceUuids,
+        flags = (p.hasFlags()) ? p.flags.value : null,
+        appearance = (p.hasAppearance()) ? p.appearance.value : null,
+        solicitedServiceUuids = p.solicitedServiceUuids;
 
   @override
   String toString() {
-    return 'AdvertisementData{localName: $localName, txPowerLevel: $txPowerLevel, connectable: $connectable, manufacturerData: $manufacturerData, serviceData: $serviceData, serviceUuids: $serviceUuids}';
+    return 'AdvertisementData{localName: $localName, txPowerLevel: $txPowerLevel, connectable: $connectable, manufacturerData: $manufacturerData, serviceData: $serviceData, serviceUuids: $serviceUuids, flags: $flags, appearance: $appearance, solicitedServiceUuids: $solicitedServiceUuids}';
   }
 }